@@ -0,0 +1,138 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.benchmarks;
+
+import com.joelapenna.foursquare.parsers.json.Parser;
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.FoursquareType;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Responses of any size built from the recorded ones in captures/api/v1, which the build copies
+ * in as resources. The elements of a capture are repeated, in order, until there are as many as
+ * asked for, each copy with its own ids so that nothing downstream can tell them apart by id.
+ * The rest of the content is left as recorded.
+ *
+ * @date October 18, 2010
+ */
+public class Fixtures {
+
+    public static final String CHARSET = "UTF-8";
+
+    /** A response shape, and the parser the client reads it with. */
+    public enum Fixture {
+        /** /v1/venues as the client reads it: groups of venues, through nested GroupParsers. */
+        VENUE_GROUPS(Parsers.VENUE_GROUP_GROUP),
+        /** A flat list of the same venues, through VenueParser. */
+        VENUES(Parsers.VENUE_GROUP),
+        /** /v1/checkins, through CheckinParser. */
+        CHECKINS(Parsers.CHECKIN_GROUP),
+        /** /v1/friends, made of the /v1/user capture, through UserParser. */
+        USERS(Parsers.USER_GROUP);
+
+        private final Parser<? extends FoursquareType> mParser;
+
+        private Fixture(Parser<? extends FoursquareType> parser) {
+            mParser = parser;
+        }
+
+        public Parser<? extends FoursquareType> getParser() {
+            return mParser;
+        }
+    }
+
+    private Fixtures() {
+    }
+
+    /** The response for fixture with size elements. */
+    public static String build(Fixture fixture, int size) throws IOException, JSONException {
+        switch (fixture) {
+            case VENUE_GROUPS: {
+                // {"venues":[{"group":[venue, ...]}]}
+                JSONObject group = new JSONObject();
+                group.put("type", "Nearby");
+                group.put("group", repeat(venues(), size));
+                return wrap("venues", new JSONArray().put(group));
+            }
+            case VENUES:
+                return wrap("venues", repeat(venues(), size));
+            case CHECKINS:
+                return wrap("checkins", repeat(load("checkins.xml").getJSONArray("checkins"),
+                        size));
+            case USERS:
+                return wrap("friends", repeat(new JSONArray().put(load("user.xml")
+                        .getJSONObject("user")), size));
+            default:
+                throw new IllegalArgumentException("No fixture " + fixture);
+        }
+    }
+
+    private static JSONArray venues() throws IOException, JSONException {
+        return load("venues.xml").getJSONArray("venues").getJSONObject(0).getJSONArray("group");
+    }
+
+    /** size copies of the elements of template, in order, renumbered. */
+    private static JSONArray repeat(JSONArray template, int size) throws JSONException {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            JSONObject copy = new JSONObject(template.getJSONObject(i % template.length())
+                    .toString());
+            renumber(copy, i);
+            array.put(copy);
+        }
+        return array;
+    }
+
+    /** Gives element and the objects within it the ids of its copy'th copy. */
+    private static void renumber(JSONObject element, int copy) throws JSONException {
+        if (copy > 0 && element.has("id")) {
+            element.put("id", element.getString("id") + "_" + copy);
+        }
+        Iterator<?> keys = element.keys();
+        while (keys.hasNext()) {
+            Object value = element.get((String) keys.next());
+            if (value instanceof JSONObject) {
+                renumber((JSONObject) value, copy);
+            } else if (value instanceof JSONArray) {
+                JSONArray array = (JSONArray) value;
+                for (int i = 0; i < array.length(); i++) {
+                    if (array.get(i) instanceof JSONObject) {
+                        renumber(array.getJSONObject(i), copy);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String wrap(String key, Object value) throws JSONException {
+        return new JSONObject().put(key, value).toString();
+    }
+
+    private static JSONObject load(String capture) throws IOException, JSONException {
+        InputStream in = Fixtures.class.getResourceAsStream("/captures/" + capture);
+        if (in == null) {
+            throw new IOException("Missing capture " + capture + ", was it built with maven?");
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new JSONObject(out.toString(CHARSET));
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.benchmarks;
+
+import com.joelapenna.foursquare.benchmarks.Fixtures.Fixture;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.util.JSONUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Responses parsed per second by JSONUtils.consume(), for each Fixture at each size, both the
+ * way the client reads them off the wire (stream) and through org.json's tree (tree). Run with
+ * "-prof gc" for the allocation rate and bytes allocated per response, RetainedSize reports what
+ * each parsed response keeps alive.
+ *
+ * @date October 18, 2010
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({
+            "VENUE_GROUPS", "VENUES", "CHECKINS", "USERS"
+    })
+    public Fixture fixture;
+
+    @Param({
+            "10", "100", "1000"
+    })
+    public int size;
+
+    private String mContent;
+    private byte[] mBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        mContent = Fixtures.build(fixture, size);
+        mBody = mContent.getBytes(Fixtures.CHARSET);
+    }
+
+    @Benchmark
+    public FoursquareType stream() throws Exception {
+        return JSONUtils.consume(fixture.getParser(), new ByteArrayInputStream(mBody),
+                Fixtures.CHARSET);
+    }
+
+    @Benchmark
+    public FoursquareType tree() throws Exception {
+        return JSONUtils.consume(fixture.getParser(), mContent);
+    }
+}
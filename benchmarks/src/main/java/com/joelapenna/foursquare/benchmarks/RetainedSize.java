@@ -0,0 +1,81 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.benchmarks;
+
+import com.joelapenna.foursquare.benchmarks.Fixtures.Fixture;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.util.JSONUtils;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * The heap each parsed response keeps alive, for the same fixtures and sizes as ParserBenchmark,
+ * which JMH has no way to report. The figure is heap in use after a gc with a batch of responses
+ * held, divided by the batch, so it's approximate, run with a fixed heap (-Xms = -Xmx) to steady
+ * it.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.joelapenna.foursquare.benchmarks.RetainedSize
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class RetainedSize {
+
+    private static final int[] SIZES = {
+            10, 100, 1000
+    };
+
+    /** Responses held at once, fewer for the bigger ones. */
+    private static final int HELD_ELEMENTS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println(String.format("%-14s %6s %12s %12s %12s", "", "size", "json B",
+                "retained B", "B/element"));
+        for (Fixture fixture : Fixture.values()) {
+            for (int size : SIZES) {
+                byte[] body = Fixtures.build(fixture, size).getBytes(Fixtures.CHARSET);
+                long retained = retained(fixture, body, Math.max(1, HELD_ELEMENTS / size));
+                System.out.println(String.format("%-14s %6d %12d %12d %12d", fixture, size,
+                        body.length, retained, retained / size));
+            }
+        }
+    }
+
+    private static long retained(Fixture fixture, byte[] body, int batch) throws Exception {
+        // Parse once beforehand so class loading and the string pool don't count.
+        parse(fixture, body);
+        long before = usedAfterGc();
+        // Filled in its own frame: with the loop here, once jitted, the last call's batch
+        // could still be reachable at the next call's first reading.
+        Object[] held = hold(fixture, body, batch);
+        long after = usedAfterGc();
+        if (held[held.length - 1] == null) {
+            throw new IllegalStateException("Nothing parsed");
+        }
+        return (after - before) / held.length;
+    }
+
+    private static Object[] hold(Fixture fixture, byte[] body, int batch) throws Exception {
+        Object[] held = new Object[batch];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = parse(fixture, body);
+        }
+        return held;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static FoursquareType parse(Fixture fixture, byte[] body) throws Exception {
+        return JSONUtils.consume(fixture.getParser(), new ByteArrayInputStream(body),
+                Fixtures.CHARSET);
+    }
+}
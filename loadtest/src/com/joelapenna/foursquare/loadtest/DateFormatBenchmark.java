@@ -0,0 +1,215 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import com.joelapenna.foursquare.util.DateLabelCache;
+import com.joelapenna.foursquare.util.ServerDates;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Times reading the api's created dates, and formatting list labels, the old way and through
+ * ServerDates and DateLabelCache. Before timing anything it checks ServerDates against
+ * SimpleDateFormat over a spread of dates and zones, and exits non-zero if they disagree.
+ *
+ * <pre>
+ * java com.joelapenna.foursquare.loadtest.DateFormatBenchmark [iterations] [threads]
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class DateFormatBenchmark {
+
+    private static final String CREATED_FORMAT = "EEE, dd MMM yy HH:mm:ss Z";
+
+    private static final int DATES = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+
+        Random random = new Random(42);
+        String[] created = new String[DATES];
+        long[] millis = new long[DATES];
+        // A day of checkins ending now, as a friends list would show.
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < DATES; i++) {
+            millis[i] = now - (long)(random.nextDouble() * 24 * 60 * 60 * 1000L) / 1000 * 1000;
+            created[i] = ServerDates.format(millis[i]);
+        }
+
+        if (!verify(random)) {
+            System.exit(1);
+        }
+
+        final SimpleDateFormat shared = new SimpleDateFormat(CREATED_FORMAT, Locale.US);
+        final ThreadLocal<SimpleDateFormat> perThread = new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return new SimpleDateFormat(CREATED_FORMAT, Locale.US);
+            }
+        };
+
+        Task sharedParse = new Task() {
+            public long run(String[] created, long[] millis) throws Exception {
+                long sum = 0;
+                for (String s : created) {
+                    synchronized (shared) {
+                        sum += shared.parse(s).getTime();
+                    }
+                }
+                return sum;
+            }
+        };
+        Task threadLocalParse = new Task() {
+            public long run(String[] created, long[] millis) throws Exception {
+                long sum = 0;
+                for (String s : created) {
+                    sum += perThread.get().parse(s).getTime();
+                }
+                return sum;
+            }
+        };
+        Task serverDatesParse = new Task() {
+            public long run(String[] created, long[] millis) throws Exception {
+                long sum = 0;
+                for (String s : created) {
+                    sum += ServerDates.parse(s);
+                }
+                return sum;
+            }
+        };
+
+        final SimpleDateFormat today = new SimpleDateFormat("h:mm a");
+        final SimpleDateFormat older = new SimpleDateFormat("E MMM d");
+        final DateLabelCache todayCache = new DateLabelCache("h:mm a", DateLabelCache.MINUTE);
+        final DateLabelCache olderCache = new DateLabelCache("E MMM d", DateLabelCache.DAY);
+        Task formatLabels = new Task() {
+            public long run(String[] created, long[] millis) throws Exception {
+                long sum = 0;
+                for (long m : millis) {
+                    synchronized (today) {
+                        sum += today.format(new Date(m)).length();
+                        sum += older.format(new Date(m)).length();
+                    }
+                }
+                return sum;
+            }
+        };
+        Task cachedLabels = new Task() {
+            public long run(String[] created, long[] millis) throws Exception {
+                long sum = 0;
+                for (long m : millis) {
+                    sum += todayCache.format(m).length();
+                    sum += olderCache.format(m).length();
+                }
+                return sum;
+            }
+        };
+
+        System.out.println(String.format("%-34s %10s %14s", "", "ns/date", threads
+                + " threads ns"));
+        report("parse, shared SimpleDateFormat", sharedParse, created, millis, iterations,
+                threads);
+        report("parse, per-thread SimpleDateFormat", threadLocalParse, created, millis,
+                iterations, threads);
+        report("parse, ServerDates", serverDatesParse, created, millis, iterations, threads);
+        report("labels, SimpleDateFormat", formatLabels, created, millis, iterations, threads);
+        report("labels, DateLabelCache", cachedLabels, created, millis, iterations, threads);
+    }
+
+    /**
+     * ServerDates against SimpleDateFormat, both ways, for random instants and zones.
+     */
+    private static boolean verify(Random random) throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat(CREATED_FORMAT, Locale.US);
+        String[] zones = {
+                "UTC", "America/New_York", "Asia/Kolkata", "Pacific/Chatham"
+        };
+        for (int i = 0; i < 10000; i++) {
+            // 1971 to 2040, where ServerDates' two digit year window and SimpleDateFormat's,
+            // which moves with the clock, agree.
+            long millis = (long)((1 + random.nextDouble() * 69) * 365.25 * 24 * 60 * 60 * 1000)
+                    / 1000 * 1000;
+            format.setTimeZone(TimeZone.getTimeZone(zones[i % zones.length]));
+            String expected = format.format(new Date(millis));
+            long parsed = ServerDates.parse(expected);
+            String written = ServerDates.format(millis);
+            if (parsed != millis || format.parse(written).getTime() != millis) {
+                System.out.println("mismatch for " + expected + ": parsed " + parsed
+                        + ", wrote " + written);
+                return false;
+            }
+        }
+        String[] invalid = {
+                null, "", "garbage", "Mon, 32 Jun 09 01:53:09 +0000",
+                "Mon, 08 Jux 09 01:53:09 +0000", "Mon, 08 Jun 09 01:53 +0000",
+                "Mon, 08 Jun 09 01:53:09 +00"
+        };
+        for (String s : invalid) {
+            if (ServerDates.parse(s) != -1) {
+                System.out.println("accepted " + s);
+                return false;
+            }
+        }
+        System.out.println("ServerDates agrees with SimpleDateFormat on 10000 dates");
+        return true;
+    }
+
+    private static void report(String name, final Task task, final String[] created,
+            final long[] millis, final int iterations, int threads) throws Exception {
+        // Warm up so the JIT has settled before anything is counted.
+        for (int i = 0; i < iterations; i++) {
+            task.run(created, millis);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run(created, millis);
+        }
+        double single = (System.nanoTime() - start) / (double)iterations / DATES;
+
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread() {
+                @Override
+                public void run() {
+                    ready.countDown();
+                    try {
+                        go.await();
+                        for (int i = 0; i < iterations; i++) {
+                            task.run(created, millis);
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            workers[t].start();
+        }
+        ready.await();
+        start = System.nanoTime();
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Wall time per date with every thread working, lower is better.
+        double contended = (System.nanoTime() - start) / (double)iterations / DATES / threads;
+
+        System.out.println(String.format("%-34s %10.1f %14.1f", name, single, contended));
+    }
+
+    private interface Task {
+        long run(String[] created, long[] millis) throws Exception;
+    }
+}
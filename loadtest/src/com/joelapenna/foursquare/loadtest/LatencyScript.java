@@ -0,0 +1,74 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A latency distribution for the StandInServer, made of weighted bands which are each uniform
+ * between a minimum and a maximum. A long-tailed server, for example:
+ *
+ * <pre>
+ * new LatencyScript(1).add(90, 20, 60).add(9, 100, 400).add(1, 1500, 3000)
+ * </pre>
+ *
+ * waits 20-60ms nine times in ten, and over a second and a half once in a hundred.
+ *
+ * @date October 18, 2010
+ */
+public class LatencyScript {
+
+    private final Random mRandom;
+    private final List<long[]> mBands = new ArrayList<long[]>();
+    private long mTotalWeight;
+
+    public LatencyScript(long seed) {
+        mRandom = new Random(seed);
+    }
+
+    public static LatencyScript none() {
+        return new LatencyScript(0);
+    }
+
+    public static LatencyScript fixed(long millis) {
+        return new LatencyScript(0).add(1, millis, millis);
+    }
+
+    public static LatencyScript uniform(long minMillis, long maxMillis) {
+        return new LatencyScript(0).add(1, minMillis, maxMillis);
+    }
+
+    /**
+     * Adds a band chosen in proportion to its weight.
+     */
+    public synchronized LatencyScript add(long weight, long minMillis, long maxMillis) {
+        if (weight <= 0 || minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Bad latency band: " + weight + ", " + minMillis
+                    + ", " + maxMillis);
+        }
+        mBands.add(new long[] {
+                weight, minMillis, maxMillis
+        });
+        mTotalWeight += weight;
+        return this;
+    }
+
+    public synchronized long nextMillis() {
+        if (mTotalWeight == 0) {
+            return 0;
+        }
+        long pick = (long) (mRandom.nextDouble() * mTotalWeight);
+        for (long[] band : mBands) {
+            pick -= band[0];
+            if (pick < 0) {
+                return band[1] + (long) (mRandom.nextDouble() * (band[2] - band[1]));
+            }
+        }
+        long[] last = mBands.get(mBands.size() - 1);
+        return last[2];
+    }
+}
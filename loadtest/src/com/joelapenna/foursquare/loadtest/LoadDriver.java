@@ -0,0 +1,240 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import com.joelapenna.foursquare.Foursquare;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a call on N threads at once against one Foursquare instance, back to back for a fixed
+ * time, and reports throughput and latency percentiles. Every latency is kept, so the
+ * percentiles are exact rather than bucketed. A warm-up period, whose calls aren't counted,
+ * lets the JIT and the connection pool settle first.
+ * <p>
+ * From the command line it starts a StandInServer and loads /v1/venues:
+ *
+ * <pre>
+ * java com.joelapenna.foursquare.loadtest.LoadDriver [callers] [seconds] [venues]
+ *         [min latency ms] [max latency ms]
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class LoadDriver {
+
+    /** One request, made as caller number caller on its iteration'th time round. */
+    public interface Call {
+        void call(Foursquare foursquare, int caller, int iteration) throws Exception;
+    }
+
+    private final Foursquare mFoursquare;
+    private final int mCallers;
+
+    public LoadDriver(Foursquare foursquare, int callers) {
+        mFoursquare = foursquare;
+        mCallers = callers;
+    }
+
+    public Report run(final Call call, long warmupMillis, long durationMillis)
+            throws InterruptedException {
+        final CountDownLatch ready = new CountDownLatch(mCallers);
+        final CountDownLatch go = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(mCallers);
+        final AtomicLong errors = new AtomicLong();
+        final List<Throwable> firstError = new ArrayList<Throwable>(1);
+        final long[][] samples = new long[mCallers][];
+        final int[] counts = new int[mCallers];
+        final long[] window = new long[2];
+
+        for (int i = 0; i < mCallers; i++) {
+            final int caller = i;
+            Thread thread = new Thread("LoadDriver-" + caller) {
+                @Override
+                public void run() {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    ready.countDown();
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        done.countDown();
+                        return;
+                    }
+                    long measureFrom = window[0];
+                    long measureTo = window[1];
+                    for (int iteration = 0;; iteration++) {
+                        long start = System.nanoTime();
+                        if (start >= measureTo) {
+                            break;
+                        }
+                        boolean failed = false;
+                        try {
+                            call.call(mFoursquare, caller, iteration);
+                        } catch (Throwable t) {
+                            failed = true;
+                            if (start >= measureFrom) {
+                                errors.incrementAndGet();
+                                synchronized (firstError) {
+                                    if (firstError.isEmpty()) {
+                                        firstError.add(t);
+                                    }
+                                }
+                            }
+                        }
+                        long end = System.nanoTime();
+                        if (!failed && start >= measureFrom && end <= measureTo) {
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = end - start;
+                        }
+                    }
+                    samples[caller] = latencies;
+                    counts[caller] = count;
+                    done.countDown();
+                }
+            };
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        ready.await();
+        long now = System.nanoTime();
+        window[0] = now + warmupMillis * 1000000L;
+        window[1] = window[0] + durationMillis * 1000000L;
+        // The latch's countDown/await publishes the window to the callers.
+        go.countDown();
+        done.await();
+
+        int total = 0;
+        for (int i = 0; i < mCallers; i++) {
+            total += counts[i];
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < mCallers; i++) {
+            System.arraycopy(samples[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Report(mCallers, all, errors.get(), durationMillis,
+                firstError.isEmpty() ? null : firstError.get(0));
+    }
+
+    /**
+     * What a run measured. Latencies are in milliseconds.
+     */
+    public static class Report {
+        private final int mCallers;
+        private final long[] mSortedNanos;
+        private final long mErrors;
+        private final long mDurationMillis;
+        private final Throwable mFirstError;
+
+        Report(int callers, long[] sortedNanos, long errors, long durationMillis,
+                Throwable firstError) {
+            mCallers = callers;
+            mSortedNanos = sortedNanos;
+            mErrors = errors;
+            mDurationMillis = durationMillis;
+            mFirstError = firstError;
+        }
+
+        public long getCount() {
+            return mSortedNanos.length;
+        }
+
+        public long getErrors() {
+            return mErrors;
+        }
+
+        /** An example of what went wrong, or null. */
+        public Throwable getFirstError() {
+            return mFirstError;
+        }
+
+        /** Successful calls per second. */
+        public double getThroughput() {
+            return mSortedNanos.length * 1000.0 / mDurationMillis;
+        }
+
+        /** The latency below which the given fraction of calls finished, e.g. 0.99. */
+        public double getPercentile(double fraction) {
+            if (mSortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * mSortedNanos.length) - 1;
+            index = Math.max(0, Math.min(mSortedNanos.length - 1, index));
+            return mSortedNanos[index] / 1000000.0;
+        }
+
+        public double getMean() {
+            if (mSortedNanos.length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (long nanos : mSortedNanos) {
+                sum += nanos;
+            }
+            return sum / mSortedNanos.length / 1000000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("callers=%d calls=%d errors=%d throughput=%.1f/s "
+                    + "mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms", mCallers,
+                    getCount(), mErrors, getThroughput(), getMean(), getPercentile(0.5),
+                    getPercentile(0.9), getPercentile(0.99), getPercentile(1.0));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int callers = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+        int venues = (args.length > 2) ? Integer.parseInt(args[2]) : 500;
+        long minLatency = (args.length > 3) ? Long.parseLong(args[3]) : 20;
+        long maxLatency = (args.length > 4) ? Long.parseLong(args[4]) : 80;
+
+        StandInServer server = new StandInServer(0, Math.max(callers, 4));
+        server.setVenueCount(venues);
+        server.setLatency(LatencyScript.uniform(minLatency, maxLatency));
+        server.start();
+        try {
+            Foursquare foursquare = new Foursquare(Foursquare.createHttpApi(server.getDomain(),
+                    "loadtest", false));
+            foursquare.setCredentials("loadtest", "loadtest");
+            // Every call must reach the server, so no caching, and each call asks for a
+            // slightly different location so the coalescer doesn't fold callers together.
+            foursquare.setResponseCache(null);
+
+            Report report = new LoadDriver(foursquare, callers).run(new Call() {
+                public void call(Foursquare foursquare, int caller, int iteration)
+                        throws Exception {
+                    Foursquare.Location location = new Foursquare.Location(
+                            String.valueOf(40.7 + caller / 1000.0 + iteration / 10000000.0),
+                            "-74.0");
+                    foursquare.venues(location, null, 50);
+                }
+            }, 2000, seconds * 1000L);
+
+            System.out.println("/v1/venues with " + venues + " venues, " + minLatency + "-"
+                    + maxLatency + "ms server latency");
+            System.out.println(report);
+            if (report.getFirstError() != null) {
+                System.out.println("first error: " + report.getFirstError());
+            }
+            System.out.println(String.format("server: requests=%d gzipped=%d bytes=%d",
+                    server.getRequestCount(), server.getGzippedCount(), server.getBytesSent()));
+            System.out.println(foursquare.getRequestMetrics());
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import com.joelapenna.foursquare.parsers.json.GroupParser;
+import com.joelapenna.foursquare.parsers.json.Parser;
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.parsers.json.Projection;
+import com.joelapenna.foursquare.parsers.json.VenueParser;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.util.JSONUtils;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated and the time taken to stream-parse one response, for the
+ * StandInServer's payloads at a few sizes, and the heap each parsed response keeps alive.
+ * Allocation is read from the JVM's per-thread counter, so it needs a HotSpot-style JVM
+ * (com.sun.management.ThreadMXBean). The retained figure is heap in use after a gc with a batch
+ * of responses held, divided by the batch, so it's approximate.
+ *
+ * <pre>
+ * java com.joelapenna.foursquare.loadtest.ParserAllocationBenchmark [iterations]
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class ParserAllocationBenchmark {
+
+    private static final String CHARSET = "UTF-8";
+
+    private static final int RETAINED_BATCH = 100;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** The search suggestions' projection, and the venue lists'. */
+    private static final Projection SEARCH = Projection.of("id", "name", "address");
+    private static final Projection LIST =
+        Projection.ALL.defer("checkins", "specials", "tips", "todos");
+
+    public static void main(String[] args) throws Exception {
+        int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+
+        int[] sizes = {
+                10, 50, 500
+        };
+        for (int size : sizes) {
+            run("venues x" + size, Parsers.VENUE_GROUP_GROUP, Payloads.venues(size), iterations);
+        }
+        for (int size : sizes) {
+            run("checkins x" + size, Parsers.CHECKIN_GROUP, Payloads.checkins(size), iterations);
+        }
+        for (int size : sizes) {
+            run("venues x" + size + " search", new GroupParser(new GroupParser(
+                    new VenueParser(SEARCH))), Payloads.venues(size), iterations);
+        }
+        run("venue detail", Parsers.VENUE, Payloads.venue(30, 50), iterations);
+        run("venue detail lazy", new VenueParser(LIST), Payloads.venue(30, 50), iterations);
+        run("tips x50", Parsers.TIP_GROUP, Payloads.tips(50), iterations);
+        run("todos x50", Parsers.TODO_GROUP, Payloads.todos(50), iterations);
+
+        System.out.println(String.format("string pool: %d of %d slots used, %d hits, %d misses, "
+                + "%d bytes saved", Parsers.STRINGS.getSize(), Parsers.STRINGS.getMaxSize(),
+                Parsers.STRINGS.getHits(), Parsers.STRINGS.getMisses(),
+                Parsers.STRINGS.getSavedBytes()));
+    }
+
+    private static void run(String name, Parser<? extends FoursquareType> parser, String json,
+            int iterations) throws Exception {
+        byte[] body = json.getBytes(CHARSET);
+        // Warm up so the JIT has settled before anything is counted.
+        for (int i = 0; i < iterations; i++) {
+            parse(parser, body);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parse(parser, body);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.println(String.format(
+                "%-22s %8d bytes in, %10d bytes allocated, %9d retained, %8.3fms", name,
+                body.length, allocated / iterations, retained(parser, body),
+                elapsed / 1000000.0 / iterations));
+    }
+
+    private static long retained(Parser<? extends FoursquareType> parser, byte[] body)
+            throws Exception {
+        Object[] held = new Object[RETAINED_BATCH];
+        long before = usedAfterGc();
+        for (int i = 0; i < held.length; i++) {
+            held[i] = parse(parser, body);
+        }
+        long after = usedAfterGc();
+        if (held[held.length - 1] == null) {
+            throw new IllegalStateException("Nothing parsed");
+        }
+        return (after - before) / held.length;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static FoursquareType parse(Parser<? extends FoursquareType> parser, byte[] body)
+            throws Exception {
+        return JSONUtils.consume(parser, new ByteArrayInputStream(body), CHARSET);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+/**
+ * Builds v1 api JSON responses of any size, shaped like the real ones closely enough to go
+ * through the same parsers. The content is synthetic but deterministic, so two runs with the
+ * same sizes parse exactly the same bytes.
+ *
+ * @date October 18, 2010
+ */
+public class Payloads {
+
+    private static final String CREATED = "Mon, 18 Oct 10 12:00:00 +0000";
+
+    private Payloads() {
+    }
+
+    /** /v1/venues: one "Nearby" group holding count venues. */
+    public static String venues(int count) {
+        StringBuilder sb = new StringBuilder(count * 512);
+        sb.append("{\"groups\":[{\"type\":\"Nearby\",\"venues\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendVenue(sb, i, false);
+        }
+        sb.append("]}]}");
+        return sb.toString();
+    }
+
+    /** /v1/venue: one venue with its tips and checkins. */
+    public static String venue(int tips, int checkins) {
+        StringBuilder sb = new StringBuilder(1024 + tips * 512 + checkins * 512);
+        sb.append("{\"venue\":");
+        appendVenue(sb, 1, true);
+        // Replace the closing brace to append the nested lists.
+        sb.setLength(sb.length() - 1);
+        sb.append(",\"tips\":[");
+        for (int i = 0; i < tips; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendTip(sb, i, false);
+        }
+        sb.append("],\"checkins\":[");
+        for (int i = 0; i < checkins; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendCheckin(sb, i, false);
+        }
+        sb.append("]}}");
+        return sb.toString();
+    }
+
+    /** /v1/checkins: friends' latest checkins. */
+    public static String checkins(int count) {
+        StringBuilder sb = new StringBuilder(count * 768);
+        sb.append("{\"checkins\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendCheckin(sb, i, true);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** /v1/tips: tips, each with its user and venue. */
+    public static String tips(int count) {
+        StringBuilder sb = new StringBuilder(count * 768);
+        sb.append("{\"tips\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendTip(sb, i, true);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** /v1/todos. */
+    public static String todos(int count) {
+        StringBuilder sb = new StringBuilder(count * 768);
+        sb.append("{\"todos\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"todoid\":\"").append(70000 + i).append("\",\"created\":\"")
+                    .append(CREATED).append("\",\"tip\":");
+            appendTip(sb, i, true);
+            sb.append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** /v1/friends. */
+    public static String friends(int count) {
+        StringBuilder sb = new StringBuilder(count * 256);
+        sb.append("{\"friends\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendUser(sb, i);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** /v1/user. */
+    public static String user() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"user\":");
+        appendUser(sb, 0);
+        sb.setLength(sb.length() - 1);
+        sb.append(",\"checkincount\":\"1234\",\"tipcount\":\"56\",\"badgecount\":\"12\"}}");
+        return sb.toString();
+    }
+
+    /** /v1/checkin, the result of checking in. */
+    public static String checkinResult() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"checkin\":{\"id\":\"900001\",\"created\":\"").append(CREATED)
+                .append("\",\"message\":\"OK! We've got you @ Venue 1.\",\"venue\":");
+        appendVenue(sb, 1, false);
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    /** /v1/addtip and the tip detail. */
+    public static String tip() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"tip\":");
+        appendTip(sb, 1, true);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /** /v1/mark/todo. */
+    public static String todo() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"todo\":{\"todoid\":\"70001\",\"created\":\"").append(CREATED)
+                .append("\",\"tip\":");
+        appendTip(sb, 1, false);
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    /** Flags, edits and the like. */
+    public static String ok() {
+        return "{\"response\":\"ok\"}";
+    }
+
+    private static void appendVenue(StringBuilder sb, int i, boolean detail) {
+        sb.append("{\"id\":\"").append(100000 + i).append("\",\"name\":\"Venue ").append(i)
+                .append("\",\"address\":\"").append(i).append(" Broadway\"")
+                .append(",\"crossstreet\":\"at ").append(i % 100).append("th St\"")
+                .append(",\"city\":\"New York\",\"state\":\"NY\",\"zip\":\"10012\"")
+                .append(",\"cityid\":\"22\",\"phone\":\"2125550").append(100 + i % 900)
+                .append("\",\"geolat\":\"").append(40.7 + (i % 1000) / 100000.0)
+                .append("\",\"geolong\":\"").append(-74.0 - (i % 1000) / 100000.0)
+                .append("\",\"distance\":\"").append(10 + i * 7)
+                .append("\",\"primarycategory\":{\"id\":\"").append(79000 + i % 40)
+                .append("\",\"fullpathname\":\"Food:Coffee Shop\",\"nodename\":\"Coffee Shop\"")
+                .append(",\"iconurl\":\"http://foursquare.com/img/categories/food/coffeeshop.png\"}")
+                .append(",\"stats\":{\"herenow\":\"").append(i % 9)
+                .append("\",\"checkins\":\"").append(i * 13 % 5000).append("\"}");
+        if (detail) {
+            sb.append(",\"twitter\":\"venue").append(i).append("\",\"hasTodo\":\"false\"")
+                    .append(",\"tags\":[\"coffee\",\"wifi\",\"espresso\"]");
+        }
+        sb.append('}');
+    }
+
+    private static void appendUser(StringBuilder sb, int i) {
+        sb.append("{\"id\":\"").append(200000 + i).append("\",\"firstname\":\"First")
+                .append(i).append("\",\"lastname\":\"L.\",\"gender\":\"")
+                .append((i % 2 == 0) ? "female" : "male")
+                .append("\",\"photo\":\"http://playfoursquare.s3.amazonaws.com/userpix_thumbs/")
+                .append(200000 + i).append(".jpg\",\"friendstatus\":\"friend\"}");
+    }
+
+    private static void appendTip(StringBuilder sb, int i, boolean withVenue) {
+        sb.append("{\"id\":\"").append(300000 + i).append("\",\"text\":\"Tip number ").append(i)
+                .append(": try the espresso, skip the muffins.\",\"created\":\"").append(CREATED)
+                .append("\",\"distance\":\"").append(20 + i).append("\",\"user\":");
+        appendUser(sb, i);
+        if (withVenue) {
+            sb.append(",\"venue\":");
+            appendVenue(sb, i, false);
+        }
+        sb.append('}');
+    }
+
+    private static void appendCheckin(StringBuilder sb, int i, boolean withVenue) {
+        sb.append("{\"id\":\"").append(400000 + i).append("\",\"created\":\"").append(CREATED)
+                .append("\",\"display\":\"First").append(i).append(" L. @ Venue ").append(i)
+                .append("\",\"shout\":\"Checking in #").append(i).append("\",\"distance\":\"")
+                .append(30 + i).append("\",\"ismayor\":\"false\",\"user\":");
+        appendUser(sb, i);
+        if (withVenue) {
+            sb.append(",\"venue\":");
+            appendVenue(sb, i, false);
+        }
+        sb.append('}');
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import com.joelapenna.foursquare.codec.Codec;
+import com.joelapenna.foursquare.codec.Codecs;
+import com.joelapenna.foursquare.parsers.json.Parser;
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.util.JSONUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Compares a binary snapshot of each of the StandInServer's payloads with its json: the size of
+ * each, and the time to read each back into objects. Every payload is first parsed, encoded,
+ * decoded and encoded again, and the run stops if the two encodings differ.
+ *
+ * <pre>
+ * java com.joelapenna.foursquare.loadtest.SnapshotBenchmark [iterations]
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class SnapshotBenchmark {
+
+    private static final String CHARSET = "UTF-8";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+
+        System.out.println(String.format("%-16s %10s %10s %12s %12s %12s", "", "json B",
+                "binary B", "parse us", "decode us", "encode us"));
+        int[] sizes = {
+                10, 50, 500
+        };
+        for (int size : sizes) {
+            run("venues x" + size, Parsers.VENUE_GROUP_GROUP, Codecs.VENUE_GROUP_GROUP,
+                    Payloads.venues(size), iterations);
+        }
+        for (int size : sizes) {
+            run("checkins x" + size, Parsers.CHECKIN_GROUP, Codecs.CHECKIN_GROUP,
+                    Payloads.checkins(size), iterations);
+        }
+        run("venue detail", Parsers.VENUE, Codecs.VENUE, Payloads.venue(30, 50), iterations);
+        run("tips x50", Parsers.TIP_GROUP, Codecs.TIP_GROUP, Payloads.tips(50), iterations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends FoursquareType> void run(String name,
+            Parser<? extends FoursquareType> parser, Codec<T> codec, String json,
+            int iterations) throws Exception {
+        byte[] body = json.getBytes(CHARSET);
+        T value = (T) parse(parser, body);
+        ByteBuffer snapshot = Codecs.encode(codec, value);
+        ByteBuffer again = Codecs.encode(codec, Codecs.decode(codec, snapshot.duplicate()));
+        if (!snapshot.equals(again)) {
+            throw new IllegalStateException(name + " didn't survive a round trip");
+        }
+
+        // Warm up so the JIT has settled before anything is counted.
+        for (int i = 0; i < iterations; i++) {
+            parse(parser, body);
+            Codecs.decode(codec, snapshot.duplicate());
+            Codecs.encode(codec, value);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parse(parser, body);
+        }
+        double parseMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Codecs.decode(codec, snapshot.duplicate());
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Codecs.encode(codec, value);
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+        System.out.println(String.format("%-16s %10d %10d %12.1f %12.1f %12.1f", name,
+                body.length, snapshot.remaining(), parseMicros, decodeMicros, encodeMicros));
+    }
+
+    private static FoursquareType parse(Parser<? extends FoursquareType> parser, byte[] body)
+            throws Exception {
+        return JSONUtils.consume(parser, new ByteArrayInputStream(body), CHARSET);
+    }
+}
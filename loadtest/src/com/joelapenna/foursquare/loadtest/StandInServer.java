@@ -0,0 +1,288 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A local stand-in for the v1 api, for driving the real client over real sockets: its
+ * connection pool, keep-alive, gzip handling and timeouts all come into play, which a
+ * CaptureTransport skips. Point a client at it with
+ *
+ * <pre>
+ * Foursquare foursquare = new Foursquare(Foursquare.createHttpApi(server.getDomain(),
+ *         "loadtest", false));
+ * </pre>
+ *
+ * Response sizes are set per endpoint (setVenueCount(5000) makes every /v1/venues answer hold
+ * 5000 venues) and each endpoint can have its own LatencyScript. Bodies are built once per size
+ * and gzipped when the client asks, so the server's own cost stays small next to the client's.
+ * A script with delays past the client's socket timeout exercises the timeout path.
+ * Credentials are not checked.
+ *
+ * @date October 18, 2010
+ */
+public class StandInServer {
+    private static final Logger LOG = Logger.getLogger(StandInServer.class.getCanonicalName());
+
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String CHARSET = "UTF-8";
+
+    private final HttpServer mServer;
+    private final ExecutorService mExecutor;
+
+    private final ConcurrentHashMap<String, LatencyScript> mLatencies =
+        new ConcurrentHashMap<String, LatencyScript>();
+    private final ConcurrentHashMap<String, byte[][]> mBodies =
+        new ConcurrentHashMap<String, byte[][]>();
+    private volatile LatencyScript mDefaultLatency = LatencyScript.none();
+
+    private volatile int mVenueCount = 50;
+    private volatile int mCheckinCount = 50;
+    private volatile int mTipCount = 30;
+    private volatile int mTodoCount = 20;
+    private volatile int mFriendCount = 50;
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final AtomicLong mRequests = new AtomicLong();
+    private final AtomicLong mGzipped = new AtomicLong();
+    private final AtomicLong mBytesSent = new AtomicLong();
+    private final AtomicLong mNotFound = new AtomicLong();
+
+    /**
+     * @param port 0 picks a free one
+     * @param threads requests served at once; more wait in the socket backlog
+     */
+    public StandInServer(int port, int threads) throws IOException {
+        // The server writes the headers and the body separately and leaves Nagle on, so each
+        // response would sit out the client's delayed ack and the harness would mostly time its
+        // own stall. The jdk reads this once, when the first server is created.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        mServer = HttpServer.create(new InetSocketAddress("localhost", port), 128);
+        mExecutor = Executors.newFixedThreadPool(threads);
+        mServer.setExecutor(mExecutor);
+        mServer.createContext("/v1/", new V1Handler());
+    }
+
+    public void start() {
+        mServer.start();
+    }
+
+    public void stop() {
+        mServer.stop(0);
+        mExecutor.shutdownNow();
+        try {
+            mExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return mServer.getAddress().getPort();
+    }
+
+    /** What to pass to Foursquare.createHttpApi(). */
+    public String getDomain() {
+        return "localhost:" + getPort();
+    }
+
+    /** Latency for every endpoint without its own script. */
+    public void setLatency(LatencyScript script) {
+        mDefaultLatency = script;
+    }
+
+    /**
+     * Latency for one endpoint, e.g. ("/v1/venues", script), or a null script to fall back to
+     * the default.
+     */
+    public void setLatency(String path, LatencyScript script) {
+        if (script == null) {
+            mLatencies.remove(path);
+        } else {
+            mLatencies.put(path, script);
+        }
+    }
+
+    public void setVenueCount(int count) {
+        mVenueCount = count;
+        mBodies.clear();
+    }
+
+    public void setCheckinCount(int count) {
+        mCheckinCount = count;
+        mBodies.clear();
+    }
+
+    public void setTipCount(int count) {
+        mTipCount = count;
+        mBodies.clear();
+    }
+
+    public void setTodoCount(int count) {
+        mTodoCount = count;
+        mBodies.clear();
+    }
+
+    public void setFriendCount(int count) {
+        mFriendCount = count;
+        mBodies.clear();
+    }
+
+    public long getRequestCount() {
+        return mRequests.get();
+    }
+
+    public long getGzippedCount() {
+        return mGzipped.get();
+    }
+
+    public long getBytesSent() {
+        return mBytesSent.get();
+    }
+
+    public long getNotFoundCount() {
+        return mNotFound.get();
+    }
+
+    /**
+     * The JSON for an endpoint at the current sizes, or null if the stand-in doesn't know it.
+     */
+    String createBody(String path) {
+        if (path.equals("/v1/venues")) {
+            return Payloads.venues(mVenueCount);
+        } else if (path.equals("/v1/venue")) {
+            return Payloads.venue(mTipCount, mCheckinCount);
+        } else if (path.equals("/v1/checkins") || path.equals("/v1/history")) {
+            return Payloads.checkins(mCheckinCount);
+        } else if (path.equals("/v1/tips")) {
+            return Payloads.tips(mTipCount);
+        } else if (path.equals("/v1/todos")) {
+            return Payloads.todos(mTodoCount);
+        } else if (path.equals("/v1/friends") || path.equals("/v1/friend/requests")) {
+            return Payloads.friends(mFriendCount);
+        } else if (path.equals("/v1/user")) {
+            return Payloads.user();
+        } else if (path.equals("/v1/checkin")) {
+            return Payloads.checkinResult();
+        } else if (path.equals("/v1/addtip") || path.equals("/v1/tip/detail")
+                || path.equals("/v1/mark/done") || path.equals("/v1/mark/ignore")
+                || path.equals("/v1/unmark/todo") || path.equals("/v1/unmark/done")) {
+            return Payloads.tip();
+        } else if (path.equals("/v1/mark/todo")) {
+            return Payloads.todo();
+        } else if (path.equals("/v1/venue/flagclosed") || path.equals("/v1/venue/flagmislocated")
+                || path.equals("/v1/venue/flagduplicate")
+                || path.equals("/v1/venue/proposeedit")) {
+            return Payloads.ok();
+        }
+        return null;
+    }
+
+    /**
+     * The plain and gzipped body for a path, built on first use at the current sizes.
+     */
+    private byte[][] getBodies(String path) throws IOException {
+        byte[][] bodies = mBodies.get(path);
+        if (bodies == null) {
+            String body = createBody(path);
+            if (body == null) {
+                return null;
+            }
+            byte[] plain = body.getBytes(CHARSET);
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(plain.length / 4);
+            GZIPOutputStream out = new GZIPOutputStream(gzipped);
+            out.write(plain);
+            out.close();
+            bodies = new byte[][] {
+                    plain, gzipped.toByteArray()
+            };
+            mBodies.put(path, bodies);
+        }
+        return bodies;
+    }
+
+    private class V1Handler implements HttpHandler {
+
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                serve(exchange);
+            } catch (IOException e) {
+                // Usually the client giving up on a slow response.
+                LOG.log(Level.FINE, "Exchange failed: " + e);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private void serve(HttpExchange exchange) throws IOException {
+            mRequests.incrementAndGet();
+            drain(exchange.getRequestBody());
+
+            String path = exchange.getRequestURI().getPath();
+            LatencyScript script = mLatencies.get(path);
+            if (script == null) {
+                script = mDefaultLatency;
+            }
+            long delay = script.nextMillis();
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            byte[][] bodies = getBodies(path);
+            if (bodies == null) {
+                mNotFound.incrementAndGet();
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = bodies[0];
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.indexOf("gzip") >= 0) {
+                body = bodies[1];
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                mGzipped.incrementAndGet();
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.close();
+            mBytesSent.addAndGet(body.length);
+        }
+
+        private void drain(InputStream in) throws IOException {
+            byte[] buffer = new byte[4096];
+            while (in.read(buffer) >= 0) {
+                // Keep-alive needs the request fully read.
+            }
+            in.close();
+        }
+    }
+}
@@ -7,11 +7,22 @@ package com.joelapenna.foursquare;
 import com.joelapenna.foursquare.error.FoursquareCredentialsException;
 import com.joelapenna.foursquare.error.FoursquareError;
 import com.joelapenna.foursquare.error.FoursquareException;
-import com.joelapenna.foursquare.error.FoursquareParseException;
+import com.joelapenna.foursquare.http.CircuitBreaker;
+import com.joelapenna.foursquare.http.HttpTransport;
+import com.joelapenna.foursquare.http.MultipartEntity;
+import com.joelapenna.foursquare.http.RequestCoalescer;
+import com.joelapenna.foursquare.http.RequestMetrics;
+import com.joelapenna.foursquare.http.ResponseCache;
+import com.joelapenna.foursquare.http.RetryPolicy;
+import com.joelapenna.foursquare.http.TransferStats;
+import com.joelapenna.foursquare.parsers.json.Projection;
+import com.joelapenna.foursquare.queue.PendingWrite;
+import com.joelapenna.foursquare.queue.WriteQueue;
 import com.joelapenna.foursquare.types.Category;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.CheckinResult;
 import com.joelapenna.foursquare.types.Credentials;
+import com.joelapenna.foursquare.types.FoursquareType;
 import com.joelapenna.foursquare.types.FriendInvitesResult;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Response;
@@ -21,11 +32,15 @@ import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
 
-import android.net.Uri;
-import android.text.TextUtils;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HTTP;
 
 import java.io.IOException;
-import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -50,6 +65,7 @@ public class Foursquare {
     private String mPhone;
     private String mPassword;
     private FoursquareHttpApiV1 mFoursquareV1;
+    private volatile WriteQueue mWriteQueue;
 
     @V1
     public Foursquare(FoursquareHttpApiV1 httpApi) {
@@ -87,6 +103,86 @@ public class Foursquare {
         return mFoursquareV1.hasCredentials();
     }
 
+    /**
+     * Swaps in a different store for cacheable GET responses, or turns caching off with null.
+     */
+    public void setResponseCache(ResponseCache cache) {
+        mFoursquareV1.setResponseCache(cache);
+    }
+
+    /**
+     * Per-endpoint byte counts for api responses, before and after gzip decompression.
+     */
+    public TransferStats getTransferStats() {
+        return mFoursquareV1.getTransferStats();
+    }
+
+    /**
+     * How many identical concurrent GETs (checkins, user, ...) were merged into one request.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return mFoursquareV1.getRequestCoalescer();
+    }
+
+    /**
+     * Per-endpoint latency histograms (connect, first byte, download, parse), response sizes,
+     * status codes and retry counts.
+     */
+    public RequestMetrics getRequestMetrics() {
+        return mFoursquareV1.getRequestMetrics();
+    }
+
+    /**
+     * Retry and circuit breaker settings for api requests. Changes take effect immediately.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return mFoursquareV1.getRetryPolicy();
+    }
+
+    /**
+     * The circuit breaker for each host we've talked to, keyed by host name.
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return mFoursquareV1.getCircuitBreakers();
+    }
+
+    /**
+     * Where api requests are sent, normally the pooled HttpClient. Pass a
+     * capture.CaptureTransport to record traffic or to replay it without a network, on a desktop
+     * or server JVM transport-jdk's JdkHttpTransport to multiplex requests over HTTP/2, or null
+     * to go back to the HttpClient.
+     */
+    public void setTransport(HttpTransport transport) {
+        mFoursquareV1.setTransport(transport);
+    }
+
+    public HttpTransport getTransport() {
+        return mFoursquareV1.getTransport();
+    }
+
+    /** The HttpClient-backed transport, whatever setTransport() was given. */
+    public HttpTransport getClientTransport() {
+        return mFoursquareV1.getClientTransport();
+    }
+
+    /**
+     * Sends checkins, tips, todos, venue flags and edits through the given queue, or straight
+     * to the server if it's null. Queued calls return an optimistic result as soon as the write
+     * is saved to disk, see WriteQueue. Checkins still try the server first, since the real
+     * result (points, badges, mayorships, specials) is what the user checks in for, and are
+     * only queued if that fails with an IOException.
+     */
+    public void setWriteQueue(WriteQueue queue) {
+        if (queue != null) {
+            queue.setSender(new QueuedWriteSender());
+        }
+        mWriteQueue = queue;
+    }
+
+    public WriteQueue getWriteQueue() {
+        return mWriteQueue;
+    }
+
     @V1
     public Credentials authExchange() throws FoursquareException, FoursquareError,
             FoursquareCredentialsException, IOException {
@@ -100,6 +196,12 @@ public class Foursquare {
     @V1
     public Tip addTip(String vid, String text, String type, Location location)
             throws FoursquareException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Tip) queue.submit(PendingWrite.Type.ADD_TIP, vid, text, type,
+                    location.geolat, location.geolong, location.geohacc, location.geovacc,
+                    location.geoalt);
+        }
         return mFoursquareV1.addtip(vid, text, type, location.geolat, location.geolong,
                 location.geohacc, location.geovacc, location.geoalt);
     }
@@ -127,9 +229,22 @@ public class Foursquare {
             throws FoursquareException,
             FoursquareError,
             IOException {
-        return mFoursquareV1.checkin(venueId, venueName, location.geolat, location.geolong,
-                location.geohacc, location.geovacc, location.geoalt, shout, isPrivate, 
-                tellFollowers, twitter, facebook);
+        WriteQueue queue = mWriteQueue;
+        try {
+            return mFoursquareV1.checkin(venueId, venueName, location.geolat, location.geolong,
+                    location.geohacc, location.geovacc, location.geoalt, shout, isPrivate, 
+                    tellFollowers, twitter, facebook);
+        } catch (IOException e) {
+            if (queue == null) {
+                throw e;
+            }
+            if (DEBUG) LOG.log(Level.FINE, "Couldn't check in, queueing it.", e);
+            return (CheckinResult) queue.submit(PendingWrite.Type.CHECKIN, venueId, venueName,
+                    location.geolat, location.geolong, location.geohacc, location.geovacc,
+                    location.geoalt, shout, String.valueOf(isPrivate),
+                    String.valueOf(tellFollowers), String.valueOf(twitter),
+                    String.valueOf(facebook));
+        }
     }
 
     @V1
@@ -208,6 +323,18 @@ public class Foursquare {
         return mFoursquareV1.venues(location.geolat, location.geolong, location.geohacc,
                 location.geovacc, location.geoalt, query, limit);
     }
+
+    /**
+     * Like venues(Location, String, int), but only the venue fields in projection are parsed,
+     * for screens which show a few fields of many venues.
+     */
+    @V1
+    @LocationRequired
+    public Group<Group<Venue>> venues(Location location, String query, int limit,
+            Projection projection) throws FoursquareException, FoursquareError, IOException {
+        return mFoursquareV1.venues(location.geolat, location.geolong, location.geohacc,
+                location.geovacc, location.geoalt, query, limit, projection);
+    }
     
     @V1
     public Group<User> findFriendsByName(String text) 
@@ -248,6 +375,10 @@ public class Foursquare {
     @V1
     public Todo markTodo(String tid) 
         throws FoursquareException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Todo) queue.submit(PendingWrite.Type.MARK_TODO, tid);
+        }
         return mFoursquareV1.markTodo(tid);
     }
     
@@ -266,12 +397,20 @@ public class Foursquare {
     @V1
     public Tip markDone(String tid) 
         throws FoursquareException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Tip) queue.submit(PendingWrite.Type.MARK_DONE, tid);
+        }
         return mFoursquareV1.markDone(tid);
     }
 
     @V1
     public Tip unmarkTodo(String tid) 
         throws FoursquareException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Tip) queue.submit(PendingWrite.Type.UNMARK_TODO, tid);
+        }
         return mFoursquareV1.unmarkTodo(tid);
     }
     
@@ -308,6 +447,10 @@ public class Foursquare {
     @V1
     public Response flagclosed(String venueid) 
         throws FoursquareException, FoursquareCredentialsException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Response) queue.submit(PendingWrite.Type.FLAG_CLOSED, venueid);
+        }
         return mFoursquareV1.flagclosed(venueid);
     }
 
@@ -320,6 +463,10 @@ public class Foursquare {
     @V1
     public Response flagduplicate(String venueid) 
         throws FoursquareException, FoursquareCredentialsException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Response) queue.submit(PendingWrite.Type.FLAG_DUPLICATE, venueid);
+        }
         return mFoursquareV1.flagduplicate(venueid);
     }
     
@@ -327,6 +474,12 @@ public class Foursquare {
     public Response proposeedit(String venueId, String name, String address, String crossstreet, 
         String city, String state, String zip, String phone, String categoryId, Location location) 
         throws FoursquareException, FoursquareCredentialsException, FoursquareError, IOException {
+        WriteQueue queue = mWriteQueue;
+        if (queue != null) {
+            return (Response) queue.submit(PendingWrite.Type.PROPOSE_EDIT, venueId, name,
+                    address, crossstreet, city, state, zip, phone, categoryId, location.geolat,
+                    location.geolong, location.geohacc, location.geovacc, location.geoalt);
+        }
         return mFoursquareV1.proposeedit(venueId, name, address, crossstreet, city, state, zip, 
                 phone, categoryId, location.geolat, location.geolong, location.geohacc, 
                 location.geovacc, location.geoalt);
@@ -334,8 +487,15 @@ public class Foursquare {
     
     @V1
     public User userUpdate(String imagePathToJpg, String username, String password) 
-        throws SocketTimeoutException, IOException, FoursquareError, FoursquareParseException {
-        return mFoursquareV1.userUpdate(imagePathToJpg, username, password);
+        throws FoursquareException, FoursquareCredentialsException, FoursquareError, IOException {
+        return mFoursquareV1.userUpdate(imagePathToJpg, username, password, null);
+    }
+    
+    @V1
+    public User userUpdate(String imagePathToJpg, String username, String password,
+            MultipartEntity.ProgressListener listener)
+        throws FoursquareException, FoursquareCredentialsException, FoursquareError, IOException {
+        return mFoursquareV1.userUpdate(imagePathToJpg, username, password, listener);
     }
     
     public static final FoursquareHttpApiV1 createHttpApi(String domain, String clientVersion,
@@ -349,28 +509,58 @@ public class Foursquare {
     }
 
     public static final String createLeaderboardUrl(String userId, Location location) {
-        Uri.Builder builder = new Uri.Builder() //
-                .scheme("http") //
-                .authority("foursquare.com") //
-                .appendEncodedPath("/iphone/me") //
-                .appendQueryParameter("view", "all") //
-                .appendQueryParameter("scope", "friends") //
-                .appendQueryParameter("uid", userId);
-        if (!TextUtils.isEmpty(location.geolat)) {
-            builder.appendQueryParameter("geolat", location.geolat);
+        List<NameValuePair> params = new ArrayList<NameValuePair>();
+        params.add(new BasicNameValuePair("view", "all"));
+        params.add(new BasicNameValuePair("scope", "friends"));
+        params.add(new BasicNameValuePair("uid", userId));
+        addIfNotEmpty(params, "geolat", location.geolat);
+        addIfNotEmpty(params, "geolong", location.geolong);
+        addIfNotEmpty(params, "geohacc", location.geohacc);
+        addIfNotEmpty(params, "geovacc", location.geovacc);
+        return "http://foursquare.com/iphone/me?" + URLEncodedUtils.format(params, HTTP.UTF_8);
+    }
+
+    private static void addIfNotEmpty(List<NameValuePair> params, String name, String value) {
+        if (value != null && value.length() > 0) {
+            params.add(new BasicNameValuePair(name, value));
         }
-        if (!TextUtils.isEmpty(location.geolong)) {
-            builder.appendQueryParameter("geolong", location.geolong);
-        }
-        if (!TextUtils.isEmpty(location.geohacc)) {
-            builder.appendQueryParameter("geohacc", location.geohacc);
-        }
-        if (!TextUtils.isEmpty(location.geovacc)) {
-            builder.appendQueryParameter("geovacc", location.geovacc);
-        }
-        return builder.build().toString();
     }
     
+    /**
+     * Sends queued writes with the matching FoursquareHttpApiV1 call.
+     */
+    private class QueuedWriteSender implements WriteQueue.Sender {
+        public FoursquareType send(PendingWrite w) throws Exception {
+            switch (w.getType()) {
+                case CHECKIN:
+                    return mFoursquareV1.checkin(w.getArg(0), w.getArg(1), w.getArg(2),
+                            w.getArg(3), w.getArg(4), w.getArg(5), w.getArg(6), w.getArg(7),
+                            w.getBooleanArg(8), w.getBooleanArg(9), w.getBooleanArg(10),
+                            w.getBooleanArg(11));
+                case ADD_TIP:
+                    return mFoursquareV1.addtip(w.getArg(0), w.getArg(1), w.getArg(2),
+                            w.getArg(3), w.getArg(4), w.getArg(5), w.getArg(6), w.getArg(7));
+                case MARK_TODO:
+                    return mFoursquareV1.markTodo(w.getArg(0));
+                case MARK_DONE:
+                    return mFoursquareV1.markDone(w.getArg(0));
+                case UNMARK_TODO:
+                    return mFoursquareV1.unmarkTodo(w.getArg(0));
+                case FLAG_CLOSED:
+                    return mFoursquareV1.flagclosed(w.getArg(0));
+                case FLAG_DUPLICATE:
+                    return mFoursquareV1.flagduplicate(w.getArg(0));
+                case PROPOSE_EDIT:
+                    return mFoursquareV1.proposeedit(w.getArg(0), w.getArg(1), w.getArg(2),
+                            w.getArg(3), w.getArg(4), w.getArg(5), w.getArg(6), w.getArg(7),
+                            w.getArg(8), w.getArg(9), w.getArg(10), w.getArg(11), w.getArg(12),
+                            w.getArg(13));
+                default:
+                    throw new IllegalArgumentException("Unknown write: " + w);
+            }
+        }
+    }
+
     /**
      * This api is supported in the V1 API documented at:
      * http://groups.google.com/group/foursquare-api/web/api-documentation
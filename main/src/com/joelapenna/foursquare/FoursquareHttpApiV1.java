@@ -7,23 +7,22 @@ package com.joelapenna.foursquare;
 import com.joelapenna.foursquare.error.FoursquareCredentialsException;
 import com.joelapenna.foursquare.error.FoursquareError;
 import com.joelapenna.foursquare.error.FoursquareException;
-import com.joelapenna.foursquare.error.FoursquareParseException;
 import com.joelapenna.foursquare.http.AbstractHttpApi;
+import com.joelapenna.foursquare.http.CircuitBreaker;
 import com.joelapenna.foursquare.http.HttpApi;
 import com.joelapenna.foursquare.http.HttpApiWithBasicAuth;
 import com.joelapenna.foursquare.http.HttpApiWithOAuth;
-import com.joelapenna.foursquare.parsers.json.CategoryParser;
-import com.joelapenna.foursquare.parsers.json.CheckinParser;
-import com.joelapenna.foursquare.parsers.json.CheckinResultParser;
-import com.joelapenna.foursquare.parsers.json.CityParser;
-import com.joelapenna.foursquare.parsers.json.CredentialsParser;
-import com.joelapenna.foursquare.parsers.json.FriendInvitesResultParser;
+import com.joelapenna.foursquare.http.HttpTransport;
+import com.joelapenna.foursquare.http.MemoryResponseCache;
+import com.joelapenna.foursquare.http.MultipartEntity;
+import com.joelapenna.foursquare.http.RequestCoalescer;
+import com.joelapenna.foursquare.http.RequestMetrics;
+import com.joelapenna.foursquare.http.ResponseCache;
+import com.joelapenna.foursquare.http.RetryPolicy;
+import com.joelapenna.foursquare.http.TransferStats;
 import com.joelapenna.foursquare.parsers.json.GroupParser;
-import com.joelapenna.foursquare.parsers.json.ResponseParser;
-import com.joelapenna.foursquare.parsers.json.SettingsParser;
-import com.joelapenna.foursquare.parsers.json.TipParser;
-import com.joelapenna.foursquare.parsers.json.TodoParser;
-import com.joelapenna.foursquare.parsers.json.UserParser;
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.parsers.json.Projection;
 import com.joelapenna.foursquare.parsers.json.VenueParser;
 import com.joelapenna.foursquare.types.Category;
 import com.joelapenna.foursquare.types.Checkin;
@@ -38,8 +37,7 @@ import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
-import com.joelapenna.foursquare.util.JSONUtils;
-import com.joelapenna.foursquared.util.Base64Coder;
+import com.joelapenna.foursquare.util.Base64Coder;
 
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -48,15 +46,9 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.message.BasicNameValuePair;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.SocketTimeoutException;
-import java.net.URL;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -107,6 +99,10 @@ class FoursquareHttpApiV1 {
     private static final String URL_API_UNMARK_TODO = "/unmark/todo";
     private static final String URL_API_UNMARK_DONE = "/unmark/done";
     private static final String URL_API_TIP_DETAIL = "/tip/detail";
+
+    private static final int RESPONSE_CACHE_BYTES = 512 * 1024;
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+    private static final long ONE_MINUTE = 60 * 1000L;
     
     private final DefaultHttpClient mHttpClient = AbstractHttpApi.createHttpClient();
     private HttpApi mHttpApi;
@@ -123,9 +119,37 @@ class FoursquareHttpApiV1 {
         } else {
             mHttpApi = new HttpApiWithBasicAuth(mHttpClient, clientVersion);
         }
+
+        // Categories and cities hardly ever change, so hold on to them for a day. Users and
+        // venues change all the time, so always revalidate those and let the server answer 304.
+        AbstractHttpApi httpApi = (AbstractHttpApi) mHttpApi;
+        httpApi.setResponseCache(new MemoryResponseCache(RESPONSE_CACHE_BYTES));
+        httpApi.setCacheTtl(fullUrl(URL_API_CATEGORIES), ONE_DAY);
+        httpApi.setCacheTtl(fullUrl(URL_API_CITIES), ONE_DAY);
+        httpApi.setCacheTtl(fullUrl(URL_API_USER), 0);
+        httpApi.setCacheTtl(fullUrl(URL_API_VENUE), 0);
+        httpApi.setCacheTtl(fullUrl(URL_API_TIP_DETAIL), ONE_MINUTE);
+    }
+
+    /**
+     * Replaces the response cache, or turns caching off if cache is null.
+     */
+    public void setResponseCache(ResponseCache cache) {
+        ((AbstractHttpApi) mHttpApi).setResponseCache(cache);
+    }
+
+    /**
+     * Cached responses belong to whoever was logged in when they were fetched.
+     */
+    private void clearResponseCache() {
+        ResponseCache cache = ((AbstractHttpApi) mHttpApi).getResponseCache();
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     void setCredentials(String phone, String password) {
+        clearResponseCache();
         if (phone == null || phone.length() == 0 || password == null || password.length() == 0) {
             if (DEBUG) LOG.log(Level.FINE, "Clearing Credentials");
             mHttpClient.getCredentialsProvider().clear();
@@ -151,6 +175,7 @@ class FoursquareHttpApiV1 {
 
     public void setOAuthTokenWithSecret(String token, String secret) {
         if (DEBUG) LOG.log(Level.FINE, "Setting oauth token/secret: " + token + " " + secret);
+        clearResponseCache();
         ((HttpApiWithOAuth) mHttpApi).setOAuthTokenWithSecret(token, secret);
     }
 
@@ -158,6 +183,38 @@ class FoursquareHttpApiV1 {
         return ((HttpApiWithOAuth) mHttpApi).hasOAuthTokenWithSecret();
     }
 
+    public TransferStats getTransferStats() {
+        return ((AbstractHttpApi) mHttpApi).getTransferStats();
+    }
+
+    public RequestCoalescer getRequestCoalescer() {
+        return ((AbstractHttpApi) mHttpApi).getRequestCoalescer();
+    }
+
+    public RequestMetrics getRequestMetrics() {
+        return ((AbstractHttpApi) mHttpApi).getRequestMetrics();
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return ((AbstractHttpApi) mHttpApi).getRetryPolicy();
+    }
+
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return ((AbstractHttpApi) mHttpApi).getCircuitBreakers();
+    }
+
+    public void setTransport(HttpTransport transport) {
+        ((AbstractHttpApi) mHttpApi).setTransport(transport);
+    }
+
+    public HttpTransport getTransport() {
+        return ((AbstractHttpApi) mHttpApi).getTransport();
+    }
+
+    public HttpTransport getClientTransport() {
+        return ((AbstractHttpApi) mHttpApi).getClientTransport();
+    }
+
     /*
      * /authexchange?oauth_consumer_key=d123...a1bffb5&oauth_consumer_secret=fec...
      * 18
@@ -170,7 +227,7 @@ class FoursquareHttpApiV1 {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_AUTHEXCHANGE), //
                 new BasicNameValuePair("fs_username", phone), //
                 new BasicNameValuePair("fs_password", password));
-        return (Credentials) mHttpApi.doHttpRequest(httpPost, new CredentialsParser());
+        return (Credentials) mHttpApi.doHttpRequest(httpPost, Parsers.CREDENTIALS);
     }
 
     /*
@@ -188,7 +245,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geohacc", geohacc), //
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt));
-        return (Tip) mHttpApi.doHttpRequest(httpPost, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpPost, Parsers.TIP);
     }
 
     /**
@@ -224,7 +281,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt) //
                 );
-        return (Venue) mHttpApi.doHttpRequest(httpPost, new VenueParser());
+        return (Venue) mHttpApi.doHttpRequest(httpPost, Parsers.VENUE);
     }
 
     /*
@@ -234,7 +291,7 @@ class FoursquareHttpApiV1 {
     Group<City> cities() throws FoursquareException, FoursquareCredentialsException,
             FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_CITIES));
-        return (Group<City>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new CityParser()));
+        return (Group<City>) mHttpApi.doHttpRequest(httpGet, Parsers.CITY_GROUP);
     }
 
     /*
@@ -249,8 +306,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geohacc", geohacc), //
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt));
-        return (Group<Checkin>) mHttpApi.doHttpRequest(httpGet,
-                new GroupParser(new CheckinParser()));
+        return (Group<Checkin>) mHttpApi.doHttpRequest(httpGet, Parsers.CHECKIN_GROUP);
     }
 
     /*
@@ -273,7 +329,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("twitter", (twitter) ? "1" : "0"), //
                 new BasicNameValuePair("facebook", (facebook) ? "1" : "0"), //
                 new BasicNameValuePair("markup", "android")); // used only by android for checkin result 'extras'.
-        return (CheckinResult) mHttpApi.doHttpRequest(httpPost, new CheckinResultParser());
+        return (CheckinResult) mHttpApi.doHttpRequest(httpPost, Parsers.CHECKIN_RESULT);
     }
 
     /**
@@ -293,16 +349,29 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt) //
                 );
-        return (User) mHttpApi.doHttpRequest(httpGet, new UserParser());
+        return (User) mHttpApi.doHttpRequest(httpGet, Parsers.USER);
     }
 
     /**
      * /venues?geolat=37.770900&geolong=-122.43698
      */
-    @SuppressWarnings("unchecked")
     Group<Group<Venue>> venues(String geolat, String geolong, String geohacc, String geovacc,
             String geoalt, String query, int limit) throws FoursquareException, FoursquareError,
             IOException {
+        return venues(geolat, geolong, geohacc, geovacc, geoalt, query, limit, Projection.ALL);
+    }
+
+    /**
+     * /venues?geolat=37.770900&geolong=-122.43698, parsing only the venue fields in projection.
+     */
+    @SuppressWarnings("unchecked")
+    Group<Group<Venue>> venues(String geolat, String geolong, String geohacc, String geovacc,
+            String geoalt, String query, int limit, Projection projection)
+            throws FoursquareException, FoursquareError, IOException {
+        GroupParser parser = Parsers.VENUE_GROUP_GROUP;
+        if (projection != Projection.ALL) {
+            parser = new GroupParser(new GroupParser(new VenueParser(projection)));
+        }
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_VENUES), //
                 new BasicNameValuePair("geolat", geolat), //
                 new BasicNameValuePair("geolong", geolong), //
@@ -311,8 +380,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geoalt", geoalt), //
                 new BasicNameValuePair("q", query), //
                 new BasicNameValuePair("l", String.valueOf(limit)));
-        return (Group<Group<Venue>>) mHttpApi.doHttpRequest(httpGet, new GroupParser(
-                new GroupParser(new VenueParser())));
+        return (Group<Group<Venue>>) mHttpApi.doHttpRequest(httpGet, parser);
     }
 
     /**
@@ -329,7 +397,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt) //
                 );
-        return (Venue) mHttpApi.doHttpRequest(httpGet, new VenueParser());
+        return (Venue) mHttpApi.doHttpRequest(httpGet, Parsers.VENUE);
     }
     
     /**
@@ -350,8 +418,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("sort", sort), //
                 new BasicNameValuePair("l", String.valueOf(limit)) //
                 );
-        return (Group<Tip>) mHttpApi.doHttpRequest(httpGet, new GroupParser(
-                new TipParser()));
+        return (Group<Tip>) mHttpApi.doHttpRequest(httpGet, Parsers.TIP_GROUP);
     }
     
     /**
@@ -377,8 +444,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("sort", sort), //
                 new BasicNameValuePair("l", String.valueOf(limit)) //
                );
-        return (Group<Todo>) mHttpApi.doHttpRequest(httpGet, new GroupParser(
-                new TodoParser()));
+        return (Group<Todo>) mHttpApi.doHttpRequest(httpGet, Parsers.TODO_GROUP);
     }
     
     /*
@@ -395,7 +461,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt) //
                 );
-        return (Group<User>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpGet, Parsers.USER_GROUP);
     }
 
     /*
@@ -404,7 +470,7 @@ class FoursquareHttpApiV1 {
     @SuppressWarnings("unchecked")
     Group<User> friendRequests() throws FoursquareException, FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_FRIEND_REQUESTS));
-        return (Group<User>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpGet, Parsers.USER_GROUP);
     }
 
     /*
@@ -414,7 +480,7 @@ class FoursquareHttpApiV1 {
             FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FRIEND_APPROVE), //
                 new BasicNameValuePair("uid", uid));
-        return (User) mHttpApi.doHttpRequest(httpPost, new UserParser());
+        return (User) mHttpApi.doHttpRequest(httpPost, Parsers.USER);
     }
 
     /*
@@ -424,7 +490,7 @@ class FoursquareHttpApiV1 {
             FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FRIEND_DENY), //
                 new BasicNameValuePair("uid", uid));
-        return (User) mHttpApi.doHttpRequest(httpPost, new UserParser());
+        return (User) mHttpApi.doHttpRequest(httpPost, Parsers.USER);
     }
 
     /*
@@ -434,7 +500,7 @@ class FoursquareHttpApiV1 {
             FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FRIEND_SENDREQUEST), //
                 new BasicNameValuePair("uid", uid));
-        return (User) mHttpApi.doHttpRequest(httpPost, new UserParser());
+        return (User) mHttpApi.doHttpRequest(httpPost, Parsers.USER);
     }
 
     /**
@@ -445,7 +511,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_FIND_FRIENDS_BY_NAME), //
                 new BasicNameValuePair("q", text));
-        return (Group<User>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpGet, Parsers.USER_GROUP);
     }
 
     /**
@@ -456,7 +522,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FIND_FRIENDS_BY_PHONE), //
                 new BasicNameValuePair("q", text));
-        return (Group<User>) mHttpApi.doHttpRequest(httpPost, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpPost, Parsers.USER_GROUP);
     }
 
     /**
@@ -467,7 +533,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FIND_FRIENDS_BY_FACEBOOK), //
                 new BasicNameValuePair("q", text));
-        return (Group<User>) mHttpApi.doHttpRequest(httpPost, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpPost, Parsers.USER_GROUP);
     }
     
     /**
@@ -478,7 +544,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_FIND_FRIENDS_BY_TWITTER), //
                 new BasicNameValuePair("q", text));
-        return (Group<User>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new UserParser()));
+        return (Group<User>) mHttpApi.doHttpRequest(httpGet, Parsers.USER_GROUP);
     }
     
     /**
@@ -488,7 +554,7 @@ class FoursquareHttpApiV1 {
     public Group<Category> categories() throws FoursquareException,
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_CATEGORIES));
-        return (Group<Category>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new CategoryParser()));
+        return (Group<Category>) mHttpApi.doHttpRequest(httpGet, Parsers.CATEGORY_GROUP);
     }
 
     /**
@@ -500,7 +566,7 @@ class FoursquareHttpApiV1 {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_HISTORY),
             new BasicNameValuePair("l", limit),
             new BasicNameValuePair("sinceid", sinceid));
-        return (Group<Checkin>) mHttpApi.doHttpRequest(httpGet, new GroupParser(new CheckinParser()));
+        return (Group<Checkin>) mHttpApi.doHttpRequest(httpGet, Parsers.CHECKIN_GROUP);
     }
     
     /**
@@ -510,7 +576,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_MARK_TODO), //
                 new BasicNameValuePair("tid", tid));
-        return (Todo) mHttpApi.doHttpRequest(httpPost, new TodoParser());
+        return (Todo) mHttpApi.doHttpRequest(httpPost, Parsers.TODO);
     }
     
     /**
@@ -521,7 +587,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_MARK_TODO), //
                 new BasicNameValuePair("vid", vid));
-        return (Todo) mHttpApi.doHttpRequest(httpPost, new TodoParser());
+        return (Todo) mHttpApi.doHttpRequest(httpPost, Parsers.TODO);
     }
     
     /**
@@ -531,7 +597,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_MARK_IGNORE), //
                 new BasicNameValuePair("tid", tid));
-        return (Tip) mHttpApi.doHttpRequest(httpPost, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpPost, Parsers.TIP);
     }
     
     /**
@@ -541,7 +607,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_MARK_DONE), //
                 new BasicNameValuePair("tid", tid));
-        return (Tip) mHttpApi.doHttpRequest(httpPost, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpPost, Parsers.TIP);
     }
     
     /**
@@ -551,7 +617,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_UNMARK_TODO), //
                     new BasicNameValuePair("tid", tid));
-        return (Tip) mHttpApi.doHttpRequest(httpPost, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpPost, Parsers.TIP);
     }
     
     /**
@@ -561,7 +627,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_UNMARK_DONE), //
                     new BasicNameValuePair("tid", tid));
-        return (Tip) mHttpApi.doHttpRequest(httpPost, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpPost, Parsers.TIP);
     }
 
     /**
@@ -571,7 +637,7 @@ class FoursquareHttpApiV1 {
         FoursquareCredentialsException, FoursquareError, IOException {
         HttpGet httpGet = mHttpApi.createHttpGet(fullUrl(URL_API_TIP_DETAIL), //
                 new BasicNameValuePair("tid", tid));
-        return (Tip) mHttpApi.doHttpRequest(httpGet, new TipParser());
+        return (Tip) mHttpApi.doHttpRequest(httpGet, Parsers.TIP);
     }
 
     /**
@@ -582,7 +648,7 @@ class FoursquareHttpApiV1 {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_FIND_FRIENDS_BY_PHONE_OR_EMAIL), //
                 new BasicNameValuePair("p", phones),
                 new BasicNameValuePair("e", emails));
-        return (FriendInvitesResult) mHttpApi.doHttpRequest(httpPost, new FriendInvitesResultParser());
+        return (FriendInvitesResult) mHttpApi.doHttpRequest(httpPost, Parsers.FRIEND_INVITES_RESULT);
     }
     
     /**
@@ -592,7 +658,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_INVITE_BY_EMAIL), //
                 new BasicNameValuePair("q", emails));
-        return (Response) mHttpApi.doHttpRequest(httpPost, new ResponseParser());
+        return (Response) mHttpApi.doHttpRequest(httpPost, Parsers.RESPONSE);
     }
     
     /**
@@ -602,7 +668,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_SETPINGS), //
                 new BasicNameValuePair("self", on ? "on" : "off"));
-        return (Settings) mHttpApi.doHttpRequest(httpPost, new SettingsParser());
+        return (Settings) mHttpApi.doHttpRequest(httpPost, Parsers.SETTINGS);
     }
     
     /**
@@ -612,7 +678,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_SETPINGS), //
                 new BasicNameValuePair(userid, on ? "on" : "off"));
-        return (Settings) mHttpApi.doHttpRequest(httpPost, new SettingsParser());
+        return (Settings) mHttpApi.doHttpRequest(httpPost, Parsers.SETTINGS);
     }
     
     /**
@@ -622,7 +688,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_VENUE_FLAG_CLOSED), //
                 new BasicNameValuePair("vid", venueId));
-        return (Response) mHttpApi.doHttpRequest(httpPost, new ResponseParser());
+        return (Response) mHttpApi.doHttpRequest(httpPost, Parsers.RESPONSE);
     }
 
     /**
@@ -632,7 +698,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_VENUE_FLAG_MISLOCATED), //
                 new BasicNameValuePair("vid", venueId));
-        return (Response) mHttpApi.doHttpRequest(httpPost, new ResponseParser());
+        return (Response) mHttpApi.doHttpRequest(httpPost, Parsers.RESPONSE);
     }
 
     /**
@@ -642,7 +708,7 @@ class FoursquareHttpApiV1 {
             FoursquareCredentialsException, FoursquareError, IOException {
         HttpPost httpPost = mHttpApi.createHttpPost(fullUrl(URL_API_VENUE_FLAG_DUPLICATE), //
                 new BasicNameValuePair("vid", venueId));
-        return (Response) mHttpApi.doHttpRequest(httpPost, new ResponseParser());
+        return (Response) mHttpApi.doHttpRequest(httpPost, Parsers.RESPONSE);
     }
     
     /**
@@ -668,7 +734,7 @@ class FoursquareHttpApiV1 {
                 new BasicNameValuePair("geovacc", geovacc), //
                 new BasicNameValuePair("geoalt", geoalt) //
                 );
-        return (Response) mHttpApi.doHttpRequest(httpPost, new ResponseParser());
+        return (Response) mHttpApi.doHttpRequest(httpPost, Parsers.RESPONSE);
     }
     
     private String fullUrl(String url) {
@@ -678,65 +744,22 @@ class FoursquareHttpApiV1 {
     
     /**
      * /user/update
-     * Need to bring this method under control like the rest of the api methods. Leaving it 
-     * in this state as authorization will probably switch from basic auth in the near future
-     * anyway, will have to be updated. Also unlike the other methods, we're sending up data
-     * which aren't basic name/value pairs.
-     */
-    public User userUpdate(String imagePathToJpg, String username, String password) 
-        throws SocketTimeoutException, IOException, FoursquareError, FoursquareParseException {
-        String BOUNDARY = "------------------319831265358979362846";
-        String lineEnd = "\r\n"; 
-        String twoHyphens = "--";
-        int maxBufferSize = 8192;
-        
-        File file = new File(imagePathToJpg);
-        FileInputStream fileInputStream = new FileInputStream(file);
-        
-        URL url = new URL(fullUrl(URL_API_USER_UPDATE));
-        HttpURLConnection conn = mHttpApi.createHttpURLConnectionPost(url, BOUNDARY);
-        conn.setRequestProperty("Authorization", "Basic " +  Base64Coder.encodeString(username + ":" + password));
-        
+     * Uploads a new photo for the user. Setting the photo is idempotent, so if the connection
+     * drops part way through, the image is streamed up again from the file. Basic auth is sent
+     * explicitly here; with OAuth the request is signed like every other one instead.
+     */
+    public User userUpdate(String imagePathToJpg, String username, String password,
+            MultipartEntity.ProgressListener listener) throws FoursquareException,
+            FoursquareCredentialsException, FoursquareError, IOException {
         // We are always saving the image to a jpg so we can use .jpg as the extension below.
-        DataOutputStream dos = new DataOutputStream(conn.getOutputStream()); 
-        dos.writeBytes(twoHyphens + BOUNDARY + lineEnd); 
-        dos.writeBytes("Content-Disposition: form-data; name=\"image,jpeg\";filename=\"" + "image.jpeg" +"\"" + lineEnd); 
-        dos.writeBytes("Content-Type: " + "image/jpeg" + lineEnd);
-        dos.writeBytes(lineEnd); 
-        
-        int bytesAvailable = fileInputStream.available(); 
-        int bufferSize = Math.min(bytesAvailable, maxBufferSize); 
-        byte[] buffer = new byte[bufferSize]; 
-        
-        int bytesRead = fileInputStream.read(buffer, 0, bufferSize); 
-        int totalBytesRead = bytesRead;
-        while (bytesRead > 0) {
-            dos.write(buffer, 0, bufferSize); 
-            bytesAvailable = fileInputStream.available(); 
-            bufferSize = Math.min(bytesAvailable, maxBufferSize); 
-            bytesRead = fileInputStream.read(buffer, 0, bufferSize); 
-            totalBytesRead = totalBytesRead  + bytesRead;
-        }
-        dos.writeBytes(lineEnd); 
-        dos.writeBytes(twoHyphens + BOUNDARY + twoHyphens + lineEnd); 
-        
-        fileInputStream.close(); 
-        dos.flush(); 
-        dos.close(); 
-     
-        BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String responseLine = "";
-        while ((responseLine = in.readLine()) != null) {
-            response.append(responseLine);
-        }
-        in.close();
-
-        try {
-            return (User)JSONUtils.consume(new UserParser(), response.toString());
-        } catch (Exception ex) {
-            throw new FoursquareParseException(
-                    "Error parsing user photo upload response, invalid json.");
-        }
+        MultipartEntity entity = new MultipartEntity()
+                .addFilePart("image,jpeg", "image.jpeg", "image/jpeg", new File(imagePathToJpg));
+        entity.setProgressListener(listener);
+
+        HttpPost httpPost = mHttpApi.createHttpMultipartPost(fullUrl(URL_API_USER_UPDATE),
+                entity);
+        httpPost.addHeader("Authorization",
+                "Basic " + Base64Coder.encodeString(username + ":" + password));
+        return (User) mHttpApi.doHttpUpload(httpPost, Parsers.USER, true);
     }
 }
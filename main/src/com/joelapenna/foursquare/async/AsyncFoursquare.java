@@ -0,0 +1,397 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.Foursquare.Location;
+import com.joelapenna.foursquare.types.Category;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.CheckinResult;
+import com.joelapenna.foursquare.types.FriendInvitesResult;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Response;
+import com.joelapenna.foursquare.types.Settings;
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.Todo;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * A non-blocking view of a Foursquare instance. Each method queues the matching Foursquare call
+ * on the RequestExecutor and returns straight away with a Future; the callback, which may be
+ * null, is told the result or the exception. Several calls can be issued back to back and run
+ * in parallel, up to the executor's limit.
+ * <p>
+ * Credentials and caching are those of the wrapped Foursquare instance.
+ *
+ * @date October 18, 2010
+ */
+public class AsyncFoursquare {
+
+    private final Foursquare mFoursquare;
+    private final RequestExecutor mExecutor;
+
+    public AsyncFoursquare(Foursquare foursquare, RequestExecutor executor) {
+        mFoursquare = foursquare;
+        mExecutor = executor;
+    }
+
+    public Foursquare getFoursquare() {
+        return mFoursquare;
+    }
+
+    public RequestExecutor getExecutor() {
+        return mExecutor;
+    }
+
+    /**
+     * Queues an arbitrary request, for callers which want several Foursquare calls to run as one
+     * unit of work.
+     */
+    public <T> Future<T> submit(Callable<T> request, Priority priority,
+            Callback<? super T> callback) {
+        return mExecutor.submit(request, priority, callback);
+    }
+
+    public Future<Tip> addTip(final String vid, final String text, final String type,
+            final Location location, Priority priority, Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.addTip(vid, text, type, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Tip> tipDetail(final String tid, Priority priority,
+            Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.tipDetail(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Venue> addVenue(final String name, final String address, final String crossstreet,
+            final String city, final String state, final String zip, final String phone,
+            final String categoryId, final Location location, Priority priority,
+            Callback<? super Venue> callback) {
+        return mExecutor.submit(new Callable<Venue>() {
+            public Venue call() throws Exception {
+                return mFoursquare.addVenue(name, address, crossstreet, city, state, zip, phone,
+                        categoryId, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<CheckinResult> checkin(final String venueId, final String venueName,
+            final Location location, final String shout, final boolean isPrivate,
+            final boolean tellFollowers, final boolean twitter, final boolean facebook,
+            Priority priority, Callback<? super CheckinResult> callback) {
+        return mExecutor.submit(new Callable<CheckinResult>() {
+            public CheckinResult call() throws Exception {
+                return mFoursquare.checkin(venueId, venueName, location, shout, isPrivate,
+                        tellFollowers, twitter, facebook);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Checkin>> checkins(final Location location, Priority priority,
+            Callback<? super Group<Checkin>> callback) {
+        return mExecutor.submit(new Callable<Group<Checkin>>() {
+            public Group<Checkin> call() throws Exception {
+                return mFoursquare.checkins(location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> friends(final String userId, final Location location,
+            Priority priority, Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.friends(userId, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> friendRequests(Priority priority,
+            Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.friendRequests();
+            }
+        }, priority, callback);
+    }
+
+    public Future<User> friendApprove(final String userId, Priority priority,
+            Callback<? super User> callback) {
+        return mExecutor.submit(new Callable<User>() {
+            public User call() throws Exception {
+                return mFoursquare.friendApprove(userId);
+            }
+        }, priority, callback);
+    }
+
+    public Future<User> friendDeny(final String userId, Priority priority,
+            Callback<? super User> callback) {
+        return mExecutor.submit(new Callable<User>() {
+            public User call() throws Exception {
+                return mFoursquare.friendDeny(userId);
+            }
+        }, priority, callback);
+    }
+
+    public Future<User> friendSendrequest(final String userId, Priority priority,
+            Callback<? super User> callback) {
+        return mExecutor.submit(new Callable<User>() {
+            public User call() throws Exception {
+                return mFoursquare.friendSendrequest(userId);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Tip>> tips(final Location location, final String uid, final String filter,
+            final String sort, final int limit, Priority priority,
+            Callback<? super Group<Tip>> callback) {
+        return mExecutor.submit(new Callable<Group<Tip>>() {
+            public Group<Tip> call() throws Exception {
+                return mFoursquare.tips(location, uid, filter, sort, limit);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Todo>> todos(final Location location, final String uid,
+            final boolean recent, final boolean nearby, final int limit, Priority priority,
+            Callback<? super Group<Todo>> callback) {
+        return mExecutor.submit(new Callable<Group<Todo>>() {
+            public Group<Todo> call() throws Exception {
+                return mFoursquare.todos(location, uid, recent, nearby, limit);
+            }
+        }, priority, callback);
+    }
+
+    public Future<User> user(final String user, final boolean mayor, final boolean badges,
+            final boolean stats, final Location location, Priority priority,
+            Callback<? super User> callback) {
+        return mExecutor.submit(new Callable<User>() {
+            public User call() throws Exception {
+                return mFoursquare.user(user, mayor, badges, stats, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Venue> venue(final String id, final Location location, Priority priority,
+            Callback<? super Venue> callback) {
+        return mExecutor.submit(new Callable<Venue>() {
+            public Venue call() throws Exception {
+                return mFoursquare.venue(id, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Group<Venue>>> venues(final Location location, final String query,
+            final int limit, Priority priority, Callback<? super Group<Group<Venue>>> callback) {
+        return mExecutor.submit(new Callable<Group<Group<Venue>>>() {
+            public Group<Group<Venue>> call() throws Exception {
+                return mFoursquare.venues(location, query, limit);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> findFriendsByName(final String text, Priority priority,
+            Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.findFriendsByName(text);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> findFriendsByPhone(final String text, Priority priority,
+            Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.findFriendsByPhone(text);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> findFriendsByFacebook(final String text, Priority priority,
+            Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.findFriendsByFacebook(text);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<User>> findFriendsByTwitter(final String text, Priority priority,
+            Callback<? super Group<User>> callback) {
+        return mExecutor.submit(new Callable<Group<User>>() {
+            public Group<User> call() throws Exception {
+                return mFoursquare.findFriendsByTwitter(text);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Category>> categories(Priority priority,
+            Callback<? super Group<Category>> callback) {
+        return mExecutor.submit(new Callable<Group<Category>>() {
+            public Group<Category> call() throws Exception {
+                return mFoursquare.categories();
+            }
+        }, priority, callback);
+    }
+
+    public Future<Group<Checkin>> history(final String limit, final String sinceid,
+            Priority priority, Callback<? super Group<Checkin>> callback) {
+        return mExecutor.submit(new Callable<Group<Checkin>>() {
+            public Group<Checkin> call() throws Exception {
+                return mFoursquare.history(limit, sinceid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Todo> markTodo(final String tid, Priority priority,
+            Callback<? super Todo> callback) {
+        return mExecutor.submit(new Callable<Todo>() {
+            public Todo call() throws Exception {
+                return mFoursquare.markTodo(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Todo> markTodoVenue(final String vid, Priority priority,
+            Callback<? super Todo> callback) {
+        return mExecutor.submit(new Callable<Todo>() {
+            public Todo call() throws Exception {
+                return mFoursquare.markTodoVenue(vid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Tip> markIgnore(final String tid, Priority priority,
+            Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.markIgnore(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Tip> markDone(final String tid, Priority priority,
+            Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.markDone(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Tip> unmarkTodo(final String tid, Priority priority,
+            Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.unmarkTodo(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Tip> unmarkDone(final String tid, Priority priority,
+            Callback<? super Tip> callback) {
+        return mExecutor.submit(new Callable<Tip>() {
+            public Tip call() throws Exception {
+                return mFoursquare.unmarkDone(tid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<FriendInvitesResult> findFriendsByPhoneOrEmail(final String phones,
+            final String emails, Priority priority,
+            Callback<? super FriendInvitesResult> callback) {
+        return mExecutor.submit(new Callable<FriendInvitesResult>() {
+            public FriendInvitesResult call() throws Exception {
+                return mFoursquare.findFriendsByPhoneOrEmail(phones, emails);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Response> inviteByEmail(final String emails, Priority priority,
+            Callback<? super Response> callback) {
+        return mExecutor.submit(new Callable<Response>() {
+            public Response call() throws Exception {
+                return mFoursquare.inviteByEmail(emails);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Settings> setpings(final boolean on, Priority priority,
+            Callback<? super Settings> callback) {
+        return mExecutor.submit(new Callable<Settings>() {
+            public Settings call() throws Exception {
+                return mFoursquare.setpings(on);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Settings> setpings(final String userid, final boolean on, Priority priority,
+            Callback<? super Settings> callback) {
+        return mExecutor.submit(new Callable<Settings>() {
+            public Settings call() throws Exception {
+                return mFoursquare.setpings(userid, on);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Response> flagclosed(final String venueid, Priority priority,
+            Callback<? super Response> callback) {
+        return mExecutor.submit(new Callable<Response>() {
+            public Response call() throws Exception {
+                return mFoursquare.flagclosed(venueid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Response> flagmislocated(final String venueid, Priority priority,
+            Callback<? super Response> callback) {
+        return mExecutor.submit(new Callable<Response>() {
+            public Response call() throws Exception {
+                return mFoursquare.flagmislocated(venueid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Response> flagduplicate(final String venueid, Priority priority,
+            Callback<? super Response> callback) {
+        return mExecutor.submit(new Callable<Response>() {
+            public Response call() throws Exception {
+                return mFoursquare.flagduplicate(venueid);
+            }
+        }, priority, callback);
+    }
+
+    public Future<Response> proposeedit(final String venueId, final String name,
+            final String address, final String crossstreet, final String city, final String state,
+            final String zip, final String phone, final String categoryId, final Location location,
+            Priority priority, Callback<? super Response> callback) {
+        return mExecutor.submit(new Callable<Response>() {
+            public Response call() throws Exception {
+                return mFoursquare.proposeedit(venueId, name, address, crossstreet, city, state,
+                        zip, phone, categoryId, location);
+            }
+        }, priority, callback);
+    }
+
+    public Future<User> userUpdate(final String imagePathToJpg, final String username,
+            final String password, Priority priority, Callback<? super User> callback) {
+        return mExecutor.submit(new Callable<User>() {
+            public User call() throws Exception {
+                return mFoursquare.userUpdate(imagePathToJpg, username, password);
+            }
+        }, priority, callback);
+    }
+}
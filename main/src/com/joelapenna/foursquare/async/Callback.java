@@ -0,0 +1,23 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+/**
+ * Receives the outcome of a request submitted through AsyncFoursquare. Exactly one of the two
+ * methods is called, on whatever thread the executor's callback Executor delivers on. Nothing
+ * is called for a request which was cancelled.
+ *
+ * @date October 18, 2010
+ */
+public interface Callback<T> {
+
+    public void onResult(T result);
+
+    /**
+     * @param e a FoursquareException, FoursquareError, IOException or RuntimeException thrown by
+     *            the request
+     */
+    public void onError(Exception e);
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+/**
+ * Lanes for queued requests. When every worker is busy the next request to run is taken from
+ * the highest lane with anything waiting, first come first served within a lane.
+ *
+ * @date October 18, 2010
+ */
+public enum Priority {
+    /** Something the user is looking at and waiting for right now. */
+    INTERACTIVE,
+
+    /** The default, for most screen loads. */
+    NORMAL,
+
+    /** Prefetching and refreshes nobody is waiting on. */
+    BACKGROUND
+}
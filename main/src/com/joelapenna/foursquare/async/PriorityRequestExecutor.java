@@ -0,0 +1,112 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A RequestExecutor with a fixed number of workers pulling from one priority queue, so at most
+ * that many requests are ever in flight and interactive requests jump ahead of background ones.
+ * Idle workers time out, so an idle app holds no threads, where the platform lets core threads
+ * time out (API level 9 and later). On older devices the workers stay once started.
+ * <p>
+ * Threads come from the given ThreadFactory. On a JVM with virtual threads pass their factory
+ * (Thread.ofVirtual().factory()) to avoid parking a platform thread per blocked request; the
+ * concurrency limit still applies.
+ *
+ * @date October 18, 2010
+ */
+public class PriorityRequestExecutor implements RequestExecutor {
+
+    public static final int DEFAULT_MAX_CONCURRENT = 4;
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    /** Delivers callbacks on the worker thread which ran the request. */
+    public static final Executor DIRECT = new Executor() {
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final ThreadPoolExecutor mExecutor;
+    private final Executor mCallbackExecutor;
+
+    public PriorityRequestExecutor() {
+        this(DEFAULT_MAX_CONCURRENT, new WorkerThreadFactory(), DIRECT);
+    }
+
+    /**
+     * @param maxConcurrent the most requests run at once
+     * @param threadFactory makes the worker threads
+     * @param callbackExecutor where callbacks run, e.g. one posting to the UI thread
+     */
+    public PriorityRequestExecutor(int maxConcurrent, ThreadFactory threadFactory,
+            Executor callbackExecutor) {
+        mExecutor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, IDLE_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), threadFactory);
+        allowCoreThreadTimeOut(mExecutor);
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * ThreadPoolExecutor.allowCoreThreadTimeOut() only exists from API level 9, calling it
+     * directly kills the app on older devices. With core threads that can't time out, a pool of
+     * core 0 wouldn't help either: the queue is unbounded, so it would only ever run one worker.
+     */
+    private static void allowCoreThreadTimeOut(ThreadPoolExecutor executor) {
+        try {
+            Method method = ThreadPoolExecutor.class.getMethod("allowCoreThreadTimeOut",
+                    boolean.class);
+            method.invoke(executor, true);
+        } catch (NoSuchMethodException e) {
+            // Older platform, the workers stay.
+        } catch (IllegalAccessException e) {
+            // Public, can't happen.
+        } catch (InvocationTargetException e) {
+            // Only throws for a zero keep-alive, which IDLE_TIMEOUT_SECONDS isn't.
+        }
+    }
+
+    public <T> RequestFuture<T> submit(Callable<T> request, Priority priority,
+            Callback<? super T> callback) {
+        RequestFuture<T> future = new RequestFuture<T>(request, priority, callback,
+                mCallbackExecutor);
+        mExecutor.execute(future);
+        return future;
+    }
+
+    public void shutdown() {
+        mExecutor.shutdownNow();
+    }
+
+    /**
+     * The number of requests waiting for a free worker.
+     */
+    public int getQueuedCount() {
+        return mExecutor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return mExecutor.getActiveCount();
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "FoursquareRequest #" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
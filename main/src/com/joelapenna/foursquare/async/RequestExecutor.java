@@ -0,0 +1,28 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs requests for AsyncFoursquare. PriorityRequestExecutor is the stock implementation; swap in
+ * another to change the threading model without touching the callers.
+ *
+ * @date October 18, 2010
+ */
+public interface RequestExecutor {
+
+    /**
+     * Queues a request. The returned future can be waited on or cancelled; the callback, if not
+     * null, is told the outcome when it completes.
+     */
+    public <T> RequestFuture<T> submit(Callable<T> request, Priority priority,
+            Callback<? super T> callback);
+
+    /**
+     * Stops accepting requests and interrupts the ones running.
+     */
+    public void shutdown();
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A queued request. Orders by priority lane and then by submission, so it can sit directly in a
+ * PriorityBlockingQueue, and hands its outcome to the callback once it's done.
+ *
+ * @date October 18, 2010
+ */
+public class RequestFuture<T> extends FutureTask<T> implements Comparable<RequestFuture<?>> {
+
+    private static final AtomicLong sSequence = new AtomicLong();
+
+    private final Priority mPriority;
+    private final long mSequence;
+    private final Callback<? super T> mCallback;
+    private final Executor mCallbackExecutor;
+
+    public RequestFuture(Callable<T> request, Priority priority, Callback<? super T> callback,
+            Executor callbackExecutor) {
+        super(request);
+        mPriority = priority;
+        mSequence = sSequence.getAndIncrement();
+        mCallback = callback;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    public Priority getPriority() {
+        return mPriority;
+    }
+
+    public int compareTo(RequestFuture<?> other) {
+        int lane = mPriority.compareTo(other.mPriority);
+        if (lane != 0) {
+            return lane;
+        }
+        return (mSequence < other.mSequence) ? -1 : ((mSequence == other.mSequence) ? 0 : 1);
+    }
+
+    @Override
+    protected void done() {
+        if (mCallback == null || isCancelled()) {
+            return;
+        }
+        mCallbackExecutor.execute(new Runnable() {
+            public void run() {
+                T result;
+                try {
+                    result = get();
+                } catch (InterruptedException e) {
+                    // Can't happen, we're done.
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        mCallback.onError((Exception)cause);
+                        return;
+                    } else if (cause instanceof Error) {
+                        throw (Error)cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+                mCallback.onResult(result);
+            }
+        });
+    }
+}
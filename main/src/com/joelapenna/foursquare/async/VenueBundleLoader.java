@@ -0,0 +1,187 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.async;
+
+import com.joelapenna.foursquare.Foursquare.Location;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Todo;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads everything the venue screen shows with independent requests issued at the same time,
+ * instead of one after the other. Each part goes to the listener the moment its request
+ * returns, so a screen holding a partial venue can start filling in after the fastest round
+ * trip rather than the slowest.
+ * <p>
+ * The v1 venue detail already embeds the venue's tips, todos and checkins, so those aren't
+ * requested separately. What runs alongside it are the lighter lists other screens also ask
+ * for (and so are often answered by the response cache or a request already in flight): the
+ * user's own todos, and friends' latest checkins, each narrowed to this venue.
+ *
+ * @date October 18, 2010
+ */
+public class VenueBundleLoader {
+
+    public enum Part {
+        VENUE,
+        TODOS,
+        FRIENDS_HERE
+    }
+
+    /**
+     * Called on the executor's callback thread. Every part ends in exactly one of its on-result
+     * methods or onError(), then onComplete() is called once, unless the load was cancelled.
+     */
+    public interface Listener {
+
+        public void onVenue(Venue venue);
+
+        /** The user's todos at this venue. */
+        public void onTodos(Group<Todo> todos);
+
+        /** Friends whose most recent checkin is at this venue. */
+        public void onFriendsHere(Group<Checkin> checkins);
+
+        public void onError(Part part, Exception e);
+
+        public void onComplete();
+    }
+
+    private static final int TODO_LIMIT = 50;
+
+    private final AsyncFoursquare mFoursquare;
+
+    public VenueBundleLoader(AsyncFoursquare foursquare) {
+        mFoursquare = foursquare;
+    }
+
+    /**
+     * Starts loading. userId may be null to skip the todo request, e.g. when logged out.
+     */
+    public Load load(final String venueId, String userId, Location location,
+            final Listener listener) {
+        final Load load = new Load(listener, (userId != null) ? 3 : 2);
+
+        load.mVenue = mFoursquare.venue(venueId, location, Priority.INTERACTIVE,
+                new PartCallback<Venue>(load, Part.VENUE) {
+                    @Override
+                    void deliver(Venue venue) {
+                        listener.onVenue(venue);
+                    }
+                });
+
+        load.mFriendsHere = mFoursquare.checkins(location, Priority.INTERACTIVE,
+                new PartCallback<Group<Checkin>>(load, Part.FRIENDS_HERE) {
+                    @Override
+                    void deliver(Group<Checkin> checkins) {
+                        Group<Checkin> here = new Group<Checkin>();
+                        for (Checkin checkin : checkins) {
+                            if (checkin.getVenue() != null
+                                    && venueId.equals(checkin.getVenue().getId())) {
+                                here.add(checkin);
+                            }
+                        }
+                        listener.onFriendsHere(here);
+                    }
+                });
+
+        if (userId != null) {
+            load.mTodos = mFoursquare.todos(location, userId, false, true, TODO_LIMIT,
+                    Priority.INTERACTIVE, new PartCallback<Group<Todo>>(load, Part.TODOS) {
+                        @Override
+                        void deliver(Group<Todo> todos) {
+                            Group<Todo> here = new Group<Todo>();
+                            for (Todo todo : todos) {
+                                if (todo.getTip() != null && todo.getTip().getVenue() != null
+                                        && venueId.equals(todo.getTip().getVenue().getId())) {
+                                    here.add(todo);
+                                }
+                            }
+                            listener.onTodos(here);
+                        }
+                    });
+        }
+        return load;
+    }
+
+    /**
+     * A load in progress.
+     */
+    public static class Load {
+        private final Listener mListener;
+        private final AtomicInteger mRemaining;
+        private final AtomicBoolean mCancelled = new AtomicBoolean();
+
+        private volatile Future<Venue> mVenue;
+        private volatile Future<Group<Checkin>> mFriendsHere;
+        private volatile Future<Group<Todo>> mTodos;
+
+        private Load(Listener listener, int parts) {
+            mListener = listener;
+            mRemaining = new AtomicInteger(parts);
+        }
+
+        /**
+         * Stops any requests still running. The listener hears nothing more.
+         */
+        public void cancel() {
+            mCancelled.set(true);
+            cancel(mVenue);
+            cancel(mFriendsHere);
+            cancel(mTodos);
+        }
+
+        public boolean isCancelled() {
+            return mCancelled.get();
+        }
+
+        public boolean isDone() {
+            return mRemaining.get() == 0;
+        }
+
+        private void partDone() {
+            if (mRemaining.decrementAndGet() == 0 && !mCancelled.get()) {
+                mListener.onComplete();
+            }
+        }
+
+        private static void cancel(Future<?> future) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static abstract class PartCallback<T> implements Callback<T> {
+        private final Load mLoad;
+        private final Part mPart;
+
+        PartCallback(Load load, Part part) {
+            mLoad = load;
+            mPart = part;
+        }
+
+        abstract void deliver(T result);
+
+        public void onResult(T result) {
+            if (!mLoad.isCancelled()) {
+                deliver(result);
+            }
+            mLoad.partDone();
+        }
+
+        public void onError(Exception e) {
+            if (!mLoad.isCancelled()) {
+                mLoad.mListener.onError(mPart, e);
+            }
+            mLoad.partDone();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Badge;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/badge.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 description String
+ *  1 icon String
+ *  2 id String
+ *  3 name String
+ * </pre>
+ */
+public class BadgeCodec implements Codec<Badge> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1458209632;
+
+    @Override
+    public void write(BinaryWriter out, Badge obj) {
+        String description = obj.getDescription();
+        String icon = obj.getIcon();
+        String id = obj.getId();
+        String name = obj.getName();
+
+        long bits = 0;
+        bits |= (description != null) ? 1L << 0 : 0;
+        bits |= (icon != null) ? 1L << 1 : 0;
+        bits |= (id != null) ? 1L << 2 : 0;
+        bits |= (name != null) ? 1L << 3 : 0;
+        out.writeVarLong(bits);
+
+        if (description != null) {
+            out.writeString(description);
+        }
+        if (icon != null) {
+            out.writeString(icon);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (name != null) {
+            out.writeString(name);
+        }
+    }
+
+    @Override
+    public Badge read(BinaryReader in) throws IOException {
+        Badge obj = new Badge();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setDescription(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setIcon(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setId(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setName(in.readString(Parsers.STRINGS));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Beenhere;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/beenhere.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 friends boolean
+ *  1 me boolean
+ * </pre>
+ */
+public class BeenhereCodec implements Codec<Beenhere> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1233736802;
+
+    @Override
+    public void write(BinaryWriter out, Beenhere obj) {
+        boolean friends = obj.friends();
+        boolean me = obj.me();
+
+        long bits = 0;
+        bits |= (friends) ? 1L << 0 : 0;
+        bits |= (me) ? 1L << 1 : 0;
+        out.writeVarLong(bits);
+
+
+    }
+
+    @Override
+    public Beenhere read(BinaryReader in) throws IOException {
+        Beenhere obj = new Beenhere();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setFriends(true);
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setMe(true);
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.StringPool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads what a BinaryWriter wrote from any ByteBuffer, a heap buffer, a direct one or a file
+ * mapped with FileChannel.map(). A string which was written once and referred to after is read
+ * once, and every reference returns the same instance.
+ * <p>
+ * A malformed varint, count or string reference is an IOException. Running off the end of the
+ * buffer is a BufferUnderflowException, which Codecs.decode() turns into one.
+ *
+ * @date October 18, 2010
+ */
+public class BinaryReader {
+
+    private final ByteBuffer mBuffer;
+    private final List<String> mStrings = new ArrayList<String>();
+    private byte[] mScratch = new byte[256];
+
+    public BinaryReader(ByteBuffer buffer) {
+        mBuffer = buffer;
+    }
+
+    public int readInt() {
+        return mBuffer.getInt();
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = mBuffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint at " + mBuffer.position());
+    }
+
+    public int readVarInt() throws IOException {
+        int value = (int)readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * A count of things which each take at least a byte, checked against what's left so a
+     * corrupt count can't ask for a huge allocation.
+     */
+    public int readCount() throws IOException {
+        long count = readVarLong();
+        if (count < 0 || count > mBuffer.remaining()) {
+            throw new IOException("Bad count " + count + " at " + mBuffer.position());
+        }
+        return (int)count;
+    }
+
+    public String readString() throws IOException {
+        return readString(null);
+    }
+
+    /**
+     * Reads a string, passing new ones through pool (if not null) as the parsers do for pooled
+     * fields, so a snapshot's cities and photo urls share the copies live responses use.
+     */
+    public String readString(StringPool pool) throws IOException {
+        long ref = readVarLong();
+        if (ref == 0) {
+            return null;
+        } else if (ref == 1) {
+            int length = readCount();
+            String value;
+            if (mBuffer.hasArray()) {
+                int at = mBuffer.arrayOffset() + mBuffer.position();
+                value = new String(mBuffer.array(), at, length, BinaryWriter.UTF8);
+                mBuffer.position(mBuffer.position() + length);
+            } else {
+                if (mScratch.length < length) {
+                    mScratch = new byte[Math.max(length, mScratch.length * 2)];
+                }
+                mBuffer.get(mScratch, 0, length);
+                value = new String(mScratch, 0, length, BinaryWriter.UTF8);
+            }
+            if (pool != null) {
+                value = pool.intern(value);
+            }
+            mStrings.add(value);
+            return value;
+        }
+        // ref is a 64 bit varint, a corrupt one can be past Long.MAX_VALUE and come out negative.
+        long index = ref - 2;
+        if (index < 0 || index >= mStrings.size()) {
+            throw new IOException("Bad string reference " + ref + " at " + mBuffer.position());
+        }
+        return mStrings.get((int)index);
+    }
+
+    /**
+     * Reads a count and that many strings into values, for Tags and Types.
+     */
+    public <T extends List<String>> T readStrings(T values) throws IOException {
+        int count = readCount();
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+}
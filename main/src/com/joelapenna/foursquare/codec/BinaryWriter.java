@@ -0,0 +1,134 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a snapshot into a heap ByteBuffer which grows as needed. Numbers are varints, and each
+ * distinct string is written once, later occurrences refer back to it by index, so a list of
+ * venues carries one copy of its city, state and category names and icon urls.
+ * <p>
+ * String references are a varint: 0 for null, 1 for a new string whose utf-8 length and bytes
+ * follow, and n for the (n-2)th new string written before it.
+ *
+ * @date October 18, 2010
+ */
+public class BinaryWriter {
+
+    /** By name: the Charset overloads only exist from API level 9. */
+    static final String UTF8 = "UTF-8";
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private ByteBuffer mBuffer;
+    private final Map<String, Integer> mStrings = new HashMap<String, Integer>();
+
+    public BinaryWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BinaryWriter(int capacity) {
+        mBuffer = ByteBuffer.allocate(capacity);
+    }
+
+    public void writeInt(int value) {
+        ensure(4);
+        mBuffer.putInt(value);
+    }
+
+    /**
+     * An unsigned varint, 7 bits a byte, low bits first. Used for counts and field bitmaps.
+     */
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            mBuffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        mBuffer.put((byte)value);
+    }
+
+    /**
+     * A signed int, zigzag encoded so small negative values stay short too.
+     */
+    public void writeVarInt(int value) {
+        writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        Integer index = mStrings.get(value);
+        if (index != null) {
+            writeVarLong(index.intValue() + 2);
+            return;
+        }
+        mStrings.put(value, Integer.valueOf(mStrings.size()));
+        byte[] bytes;
+        try {
+            bytes = value.getBytes(UTF8);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("No " + UTF8 + " encoder.");
+        }
+        writeVarLong(1);
+        writeVarLong(bytes.length);
+        ensure(bytes.length);
+        mBuffer.put(bytes);
+    }
+
+    /**
+     * A count and then each string, for Tags and Types.
+     */
+    public void writeStrings(List<String> values) {
+        writeVarLong(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            writeString(values.get(i));
+        }
+    }
+
+    /** Bytes written so far. */
+    public int size() {
+        return mBuffer.position();
+    }
+
+    /**
+     * A view of everything written, positioned at its start. It shares the writer's bytes, so
+     * don't write more while it's in use.
+     */
+    public ByteBuffer toByteBuffer() {
+        ByteBuffer out = mBuffer.duplicate();
+        out.flip();
+        return out;
+    }
+
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer out = toByteBuffer();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (mBuffer.remaining() < bytes) {
+            int capacity = mBuffer.capacity() * 2;
+            while (capacity - mBuffer.position() < bytes) {
+                capacity *= 2;
+            }
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            mBuffer.flip();
+            grown.put(mBuffer);
+            mBuffer = grown;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Category;
+import com.joelapenna.foursquare.types.Group;
+
+import java.io.IOException;
+
+/**
+ * Written by hand, Category has no descriptor (CategoryParser is hand-written too). Laid out as
+ * the generated codecs are, a bitmap then the present fields:
+ *
+ * <pre>
+ *  0 categories Group
+ *  1 fullpathname String
+ *  2 iconurl String
+ *  3 id String
+ *  4 nodename String
+ * </pre>
+ *
+ * @date October 18, 2010
+ */
+public class CategoryCodec implements Codec<Category> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. Change it when they change. */
+    static final int SCHEMA = 1;
+
+    @Override
+    public void write(BinaryWriter out, Category obj) {
+        Group<Category> childCategories = obj.getChildCategories();
+        String fullPathName = obj.getFullPathName();
+        String iconUrl = obj.getIconUrl();
+        String id = obj.getId();
+        String nodeName = obj.getNodeName();
+
+        long bits = 0;
+        bits |= (childCategories != null) ? 1L << 0 : 0;
+        bits |= (fullPathName != null) ? 1L << 1 : 0;
+        bits |= (iconUrl != null) ? 1L << 2 : 0;
+        bits |= (id != null) ? 1L << 3 : 0;
+        bits |= (nodeName != null) ? 1L << 4 : 0;
+        out.writeVarLong(bits);
+
+        if (childCategories != null) {
+            Codecs.CATEGORY_GROUP.write(out, childCategories);
+        }
+        if (fullPathName != null) {
+            out.writeString(fullPathName);
+        }
+        if (iconUrl != null) {
+            out.writeString(iconUrl);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (nodeName != null) {
+            out.writeString(nodeName);
+        }
+    }
+
+    @Override
+    public Category read(BinaryReader in) throws IOException {
+        Category obj = new Category();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setChildCategories(Codecs.CATEGORY_GROUP.read(in));
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setFullPathName(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setIconUrl(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setId(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setNodeName(in.readString(Parsers.STRINGS));
+        }
+        return obj;
+    }
+}
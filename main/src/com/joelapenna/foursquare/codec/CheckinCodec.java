@@ -0,0 +1,117 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/checkin.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 created String
+ *  1 display String
+ *  2 distance String
+ *  3 id String
+ *  4 ismayor boolean
+ *  5 ping boolean
+ *  6 shout String
+ *  7 user User
+ *  8 venue Venue
+ * </pre>
+ */
+public class CheckinCodec implements Codec<Checkin> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 338541692;
+
+    @Override
+    public void write(BinaryWriter out, Checkin obj) {
+        String created = obj.getCreated();
+        String display = obj.getDisplay();
+        String distance = obj.getDistance();
+        String id = obj.getId();
+        boolean ismayor = obj.ismayor();
+        boolean ping = obj.getPing();
+        String shout = obj.getShout();
+        User user = obj.getUser();
+        Venue venue = obj.getVenue();
+
+        long bits = 0;
+        bits |= (created != null) ? 1L << 0 : 0;
+        bits |= (display != null) ? 1L << 1 : 0;
+        bits |= (distance != null) ? 1L << 2 : 0;
+        bits |= (id != null) ? 1L << 3 : 0;
+        bits |= (ismayor) ? 1L << 4 : 0;
+        bits |= (ping) ? 1L << 5 : 0;
+        bits |= (shout != null) ? 1L << 6 : 0;
+        bits |= (user != null) ? 1L << 7 : 0;
+        bits |= (venue != null) ? 1L << 8 : 0;
+        out.writeVarLong(bits);
+
+        if (created != null) {
+            out.writeString(created);
+        }
+        if (display != null) {
+            out.writeString(display);
+        }
+        if (distance != null) {
+            out.writeString(distance);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (shout != null) {
+            out.writeString(shout);
+        }
+        if (user != null) {
+            Codecs.USER.write(out, user);
+        }
+        if (venue != null) {
+            Codecs.VENUE.write(out, venue);
+        }
+    }
+
+    @Override
+    public Checkin read(BinaryReader in) throws IOException {
+        Checkin obj = new Checkin();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCreated(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setDisplay(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setDistance(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setIsmayor(true);
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setPing(true);
+        }
+        if ((bits & 1L << 6) != 0) {
+            obj.setShout(in.readString());
+        }
+        if ((bits & 1L << 7) != 0) {
+            obj.setUser(Codecs.USER.read(in));
+        }
+        if ((bits & 1L << 8) != 0) {
+            obj.setVenue(Codecs.VENUE.read(in));
+        }
+        return obj;
+    }
+}
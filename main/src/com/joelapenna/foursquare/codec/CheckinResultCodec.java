@@ -0,0 +1,127 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Badge;
+import com.joelapenna.foursquare.types.CheckinResult;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Mayor;
+import com.joelapenna.foursquare.types.Score;
+import com.joelapenna.foursquare.types.Special;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/checkin_result.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 badges Group
+ *  1 created String
+ *  2 id String
+ *  3 markup String
+ *  4 mayor Mayor
+ *  5 message String
+ *  6 scores Group
+ *  7 specials Group
+ *  8 venue Venue
+ * </pre>
+ */
+public class CheckinResultCodec implements Codec<CheckinResult> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 2006387968;
+
+    @Override
+    public void write(BinaryWriter out, CheckinResult obj) {
+        Group<Badge> badges = obj.getBadges();
+        String created = obj.getCreated();
+        String id = obj.getId();
+        String markup = obj.getMarkup();
+        Mayor mayor = obj.getMayor();
+        String message = obj.getMessage();
+        Group<Score> scoring = obj.getScoring();
+        Group<Special> specials = obj.getSpecials();
+        Venue venue = obj.getVenue();
+
+        long bits = 0;
+        bits |= (badges != null) ? 1L << 0 : 0;
+        bits |= (created != null) ? 1L << 1 : 0;
+        bits |= (id != null) ? 1L << 2 : 0;
+        bits |= (markup != null) ? 1L << 3 : 0;
+        bits |= (mayor != null) ? 1L << 4 : 0;
+        bits |= (message != null) ? 1L << 5 : 0;
+        bits |= (scoring != null) ? 1L << 6 : 0;
+        bits |= (specials != null) ? 1L << 7 : 0;
+        bits |= (venue != null) ? 1L << 8 : 0;
+        out.writeVarLong(bits);
+
+        if (badges != null) {
+            Codecs.BADGE_GROUP.write(out, badges);
+        }
+        if (created != null) {
+            out.writeString(created);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (markup != null) {
+            out.writeString(markup);
+        }
+        if (mayor != null) {
+            Codecs.MAYOR.write(out, mayor);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+        if (scoring != null) {
+            Codecs.SCORE_GROUP.write(out, scoring);
+        }
+        if (specials != null) {
+            Codecs.SPECIAL_GROUP.write(out, specials);
+        }
+        if (venue != null) {
+            Codecs.VENUE.write(out, venue);
+        }
+    }
+
+    @Override
+    public CheckinResult read(BinaryReader in) throws IOException {
+        CheckinResult obj = new CheckinResult();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setBadges(Codecs.BADGE_GROUP.read(in));
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setCreated(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setMarkup(in.readString());
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setMayor(Codecs.MAYOR.read(in));
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 6) != 0) {
+            obj.setScoring(Codecs.SCORE_GROUP.read(in));
+        }
+        if ((bits & 1L << 7) != 0) {
+            obj.setSpecials(Codecs.SPECIAL_GROUP.read(in));
+        }
+        if ((bits & 1L << 8) != 0) {
+            obj.setVenue(Codecs.VENUE.read(in));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.City;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/city.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 geolat String
+ *  1 geolong String
+ *  2 id String
+ *  3 name String
+ *  4 shortname String
+ *  5 timezone String
+ * </pre>
+ */
+public class CityCodec implements Codec<City> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 1467771488;
+
+    @Override
+    public void write(BinaryWriter out, City obj) {
+        String geolat = obj.getGeolat();
+        String geolong = obj.getGeolong();
+        String id = obj.getId();
+        String name = obj.getName();
+        String shortname = obj.getShortname();
+        String timezone = obj.getTimezone();
+
+        long bits = 0;
+        bits |= (geolat != null) ? 1L << 0 : 0;
+        bits |= (geolong != null) ? 1L << 1 : 0;
+        bits |= (id != null) ? 1L << 2 : 0;
+        bits |= (name != null) ? 1L << 3 : 0;
+        bits |= (shortname != null) ? 1L << 4 : 0;
+        bits |= (timezone != null) ? 1L << 5 : 0;
+        out.writeVarLong(bits);
+
+        if (geolat != null) {
+            out.writeString(geolat);
+        }
+        if (geolong != null) {
+            out.writeString(geolong);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (name != null) {
+            out.writeString(name);
+        }
+        if (shortname != null) {
+            out.writeString(shortname);
+        }
+        if (timezone != null) {
+            out.writeString(timezone);
+        }
+    }
+
+    @Override
+    public City read(BinaryReader in) throws IOException {
+        City obj = new City();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setGeolat(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setGeolong(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setName(in.readString());
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setShortname(in.readString());
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setTimezone(in.readString());
+        }
+        return obj;
+    }
+}
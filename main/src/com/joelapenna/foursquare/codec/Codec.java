@@ -0,0 +1,25 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.FoursquareType;
+
+import java.io.IOException;
+
+/**
+ * Writes a type to, and reads it back from, the compact binary form Codecs describes. Like the
+ * parsers, codecs keep nothing between calls, use the shared instances in Codecs.
+ *
+ * @date October 18, 2010
+ */
+public interface Codec<T extends FoursquareType> {
+
+    /**
+     * Writes value, which must not be null. Nulls inside it are fine.
+     */
+    public void write(BinaryWriter out, T value);
+
+    public T read(BinaryReader in) throws IOException;
+}
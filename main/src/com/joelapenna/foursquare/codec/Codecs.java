@@ -0,0 +1,134 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Badge;
+import com.joelapenna.foursquare.types.Category;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Score;
+import com.joelapenna.foursquare.types.Special;
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.Todo;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Shared codec instances, and the snapshot format built from them. A snapshot is good for as
+ * long as the types don't change, so it's what disk caches and saved state should hold instead
+ * of refetching after process death, and how the app passes the types in intents.
+ * <p>
+ * A snapshot is a four byte magic number, a format version (varint) and the schema hash, then
+ * the value written by its codec. encode() and decode() take and return ByteBuffers, so a
+ * snapshot can go straight to or from a FileChannel, or be read from a mapped file.
+ * <p>
+ * decode() refuses a snapshot written with any other FORMAT_VERSION or SCHEMA (any descriptor
+ * change alters SCHEMA) with an IOException, the caller should treat that as a cache miss.
+ *
+ * @date October 18, 2010
+ */
+public final class Codecs {
+
+    /** Bump when BinaryWriter's encoding changes. Type changes are covered by SCHEMA. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x34737162; // "4sqb"
+
+    public static final BadgeCodec BADGE = new BadgeCodec();
+    public static final BeenhereCodec BEENHERE = new BeenhereCodec();
+    public static final CategoryCodec CATEGORY = new CategoryCodec();
+    public static final CheckinCodec CHECKIN = new CheckinCodec();
+    public static final CheckinResultCodec CHECKIN_RESULT = new CheckinResultCodec();
+    public static final CityCodec CITY = new CityCodec();
+    public static final CredentialsCodec CREDENTIALS = new CredentialsCodec();
+    public static final DataCodec DATA = new DataCodec();
+    public static final MayorCodec MAYOR = new MayorCodec();
+    public static final RankCodec RANK = new RankCodec();
+    public static final ScoreCodec SCORE = new ScoreCodec();
+    public static final SettingsCodec SETTINGS = new SettingsCodec();
+    public static final SpecialCodec SPECIAL = new SpecialCodec();
+    public static final StatsCodec STATS = new StatsCodec();
+    public static final TipCodec TIP = new TipCodec();
+    public static final TipStatsCodec TIP_STATS = new TipStatsCodec();
+    public static final TodoCodec TODO = new TodoCodec();
+    public static final UserCodec USER = new UserCodec();
+    public static final VenueCodec VENUE = new VenueCodec();
+
+    public static final GroupCodec<Badge> BADGE_GROUP = new GroupCodec<Badge>(BADGE);
+    public static final GroupCodec<Category> CATEGORY_GROUP = new GroupCodec<Category>(CATEGORY);
+    public static final GroupCodec<Checkin> CHECKIN_GROUP = new GroupCodec<Checkin>(CHECKIN);
+    public static final GroupCodec<Score> SCORE_GROUP = new GroupCodec<Score>(SCORE);
+    public static final GroupCodec<Special> SPECIAL_GROUP = new GroupCodec<Special>(SPECIAL);
+    public static final GroupCodec<Tip> TIP_GROUP = new GroupCodec<Tip>(TIP);
+    public static final GroupCodec<Todo> TODO_GROUP = new GroupCodec<Todo>(TODO);
+    public static final GroupCodec<User> USER_GROUP = new GroupCodec<User>(USER);
+    public static final GroupCodec<Venue> VENUE_GROUP = new GroupCodec<Venue>(VENUE);
+
+    /** The /venues response: groups ("Nearby", "Matching Places", ...) of venues. */
+    public static final GroupCodec<Group<Venue>> VENUE_GROUP_GROUP =
+        new GroupCodec<Group<Venue>>(VENUE_GROUP);
+
+    /** The fields of every type, a snapshot is only read back by a build with the same. */
+    public static final int SCHEMA = schema(BadgeCodec.SCHEMA, BeenhereCodec.SCHEMA,
+            CategoryCodec.SCHEMA, CheckinCodec.SCHEMA, CheckinResultCodec.SCHEMA,
+            CityCodec.SCHEMA, CredentialsCodec.SCHEMA, DataCodec.SCHEMA, MayorCodec.SCHEMA,
+            RankCodec.SCHEMA, ScoreCodec.SCHEMA, SettingsCodec.SCHEMA, SpecialCodec.SCHEMA,
+            StatsCodec.SCHEMA, TipCodec.SCHEMA, TipStatsCodec.SCHEMA, TodoCodec.SCHEMA,
+            UserCodec.SCHEMA, VenueCodec.SCHEMA);
+
+    private Codecs() {
+    }
+
+    /**
+     * Writes a snapshot of value. The buffer is positioned at its start, ready to read or to
+     * hand to a channel.
+     */
+    public static <T extends FoursquareType> ByteBuffer encode(Codec<T> codec, T value) {
+        BinaryWriter out = new BinaryWriter();
+        out.writeInt(MAGIC);
+        out.writeVarLong(FORMAT_VERSION);
+        out.writeInt(SCHEMA);
+        codec.write(out, value);
+        return out.toByteBuffer();
+    }
+
+    /**
+     * Reads a snapshot from the buffer's position, leaving it after the snapshot.
+     *
+     * @throws IOException if it isn't a snapshot, was written by another version or schema, or
+     *             is truncated or corrupt.
+     */
+    public static <T extends FoursquareType> T decode(Codec<T> codec, ByteBuffer buffer)
+            throws IOException {
+        BinaryReader in = new BinaryReader(buffer);
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot");
+            }
+            long version = in.readVarLong();
+            int schema = in.readInt();
+            if (version != FORMAT_VERSION || schema != SCHEMA) {
+                throw new IOException("Snapshot is version " + version + " schema " + schema
+                        + ", expected " + FORMAT_VERSION + " schema " + SCHEMA);
+            }
+            return codec.read(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot");
+        }
+    }
+
+    private static int schema(int... hashes) {
+        int schema = 0;
+        for (int hash : hashes) {
+            schema = 31 * schema + hash;
+        }
+        return schema;
+    }
+}
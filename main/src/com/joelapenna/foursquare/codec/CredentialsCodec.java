@@ -0,0 +1,58 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Credentials;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/credentials.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 oauth_token String
+ *  1 oauth_token_secret String
+ * </pre>
+ */
+public class CredentialsCodec implements Codec<Credentials> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -675773460;
+
+    @Override
+    public void write(BinaryWriter out, Credentials obj) {
+        String oauthToken = obj.getOauthToken();
+        String oauthTokenSecret = obj.getOauthTokenSecret();
+
+        long bits = 0;
+        bits |= (oauthToken != null) ? 1L << 0 : 0;
+        bits |= (oauthTokenSecret != null) ? 1L << 1 : 0;
+        out.writeVarLong(bits);
+
+        if (oauthToken != null) {
+            out.writeString(oauthToken);
+        }
+        if (oauthTokenSecret != null) {
+            out.writeString(oauthTokenSecret);
+        }
+    }
+
+    @Override
+    public Credentials read(BinaryReader in) throws IOException {
+        Credentials obj = new Credentials();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setOauthToken(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setOauthTokenSecret(in.readString());
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Data;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/data.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 cityid String
+ *  1 message String
+ *  2 status boolean
+ * </pre>
+ */
+public class DataCodec implements Codec<Data> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 957717345;
+
+    @Override
+    public void write(BinaryWriter out, Data obj) {
+        String cityid = obj.getCityid();
+        String message = obj.getMessage();
+        boolean status = obj.status();
+
+        long bits = 0;
+        bits |= (cityid != null) ? 1L << 0 : 0;
+        bits |= (message != null) ? 1L << 1 : 0;
+        bits |= (status) ? 1L << 2 : 0;
+        out.writeVarLong(bits);
+
+        if (cityid != null) {
+            out.writeString(cityid);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+    }
+
+    @Override
+    public Data read(BinaryReader in) throws IOException {
+        Data obj = new Data();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCityid(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setStatus(true);
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.types.Group;
+
+import java.io.IOException;
+
+/**
+ * A group is its type (a string reference, usually null or repeated), a count, then each item
+ * with the codec it was built with.
+ *
+ * @date October 18, 2010
+ */
+public class GroupCodec<T extends FoursquareType> implements Codec<Group<T>> {
+
+    private final Codec<T> mSubCodec;
+
+    public GroupCodec(Codec<T> subCodec) {
+        mSubCodec = subCodec;
+    }
+
+    @Override
+    public void write(BinaryWriter out, Group<T> group) {
+        out.writeString(group.getType());
+        out.writeVarLong(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            mSubCodec.write(out, group.get(i));
+        }
+    }
+
+    @Override
+    public Group<T> read(BinaryReader in) throws IOException {
+        Group<T> group = new Group<T>();
+        group.setType(in.readString());
+        int count = in.readCount();
+        group.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            group.add(mSubCodec.read(in));
+        }
+        return group;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Mayor;
+import com.joelapenna.foursquare.types.User;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/mayor.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 checkins String
+ *  1 count String
+ *  2 message String
+ *  3 type String
+ *  4 user User
+ * </pre>
+ */
+public class MayorCodec implements Codec<Mayor> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -747865182;
+
+    @Override
+    public void write(BinaryWriter out, Mayor obj) {
+        String checkins = obj.getCheckins();
+        String count = obj.getCount();
+        String message = obj.getMessage();
+        String type = obj.getType();
+        User user = obj.getUser();
+
+        long bits = 0;
+        bits |= (checkins != null) ? 1L << 0 : 0;
+        bits |= (count != null) ? 1L << 1 : 0;
+        bits |= (message != null) ? 1L << 2 : 0;
+        bits |= (type != null) ? 1L << 3 : 0;
+        bits |= (user != null) ? 1L << 4 : 0;
+        out.writeVarLong(bits);
+
+        if (checkins != null) {
+            out.writeString(checkins);
+        }
+        if (count != null) {
+            out.writeString(count);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+        if (type != null) {
+            out.writeString(type);
+        }
+        if (user != null) {
+            Codecs.USER.write(out, user);
+        }
+    }
+
+    @Override
+    public Mayor read(BinaryReader in) throws IOException {
+        Mayor obj = new Mayor();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCheckins(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setCount(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setType(in.readString());
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setUser(Codecs.USER.read(in));
+        }
+        return obj;
+    }
+}
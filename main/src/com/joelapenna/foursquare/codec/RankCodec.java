@@ -0,0 +1,67 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Rank;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/rank.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 city String
+ *  1 message String
+ *  2 position String
+ * </pre>
+ */
+public class RankCodec implements Codec<Rank> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1146814746;
+
+    @Override
+    public void write(BinaryWriter out, Rank obj) {
+        String city = obj.getCity();
+        String message = obj.getMessage();
+        String position = obj.getPosition();
+
+        long bits = 0;
+        bits |= (city != null) ? 1L << 0 : 0;
+        bits |= (message != null) ? 1L << 1 : 0;
+        bits |= (position != null) ? 1L << 2 : 0;
+        out.writeVarLong(bits);
+
+        if (city != null) {
+            out.writeString(city);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+        if (position != null) {
+            out.writeString(position);
+        }
+    }
+
+    @Override
+    public Rank read(BinaryReader in) throws IOException {
+        Rank obj = new Rank();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCity(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setPosition(in.readString());
+        }
+        return obj;
+    }
+}
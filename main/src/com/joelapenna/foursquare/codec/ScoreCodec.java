@@ -0,0 +1,67 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Score;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/score.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 icon String
+ *  1 message String
+ *  2 points String
+ * </pre>
+ */
+public class ScoreCodec implements Codec<Score> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -146658566;
+
+    @Override
+    public void write(BinaryWriter out, Score obj) {
+        String icon = obj.getIcon();
+        String message = obj.getMessage();
+        String points = obj.getPoints();
+
+        long bits = 0;
+        bits |= (icon != null) ? 1L << 0 : 0;
+        bits |= (message != null) ? 1L << 1 : 0;
+        bits |= (points != null) ? 1L << 2 : 0;
+        out.writeVarLong(bits);
+
+        if (icon != null) {
+            out.writeString(icon);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+        if (points != null) {
+            out.writeString(points);
+        }
+    }
+
+    @Override
+    public Score read(BinaryReader in) throws IOException {
+        Score obj = new Score();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setIcon(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setPoints(in.readString());
+        }
+        return obj;
+    }
+}
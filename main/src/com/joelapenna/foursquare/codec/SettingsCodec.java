@@ -0,0 +1,76 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Settings;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/settings.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 feeds_key String
+ *  1 get_pings boolean
+ *  2 pings String
+ *  3 sendtofacebook boolean
+ *  4 sendtotwitter boolean
+ * </pre>
+ */
+public class SettingsCodec implements Codec<Settings> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 1201703921;
+
+    @Override
+    public void write(BinaryWriter out, Settings obj) {
+        String feedsKey = obj.getFeedsKey();
+        boolean getPings = obj.getGetPings();
+        String pings = obj.getPings();
+        boolean sendtofacebook = obj.sendtofacebook();
+        boolean sendtotwitter = obj.sendtotwitter();
+
+        long bits = 0;
+        bits |= (feedsKey != null) ? 1L << 0 : 0;
+        bits |= (getPings) ? 1L << 1 : 0;
+        bits |= (pings != null) ? 1L << 2 : 0;
+        bits |= (sendtofacebook) ? 1L << 3 : 0;
+        bits |= (sendtotwitter) ? 1L << 4 : 0;
+        out.writeVarLong(bits);
+
+        if (feedsKey != null) {
+            out.writeString(feedsKey);
+        }
+        if (pings != null) {
+            out.writeString(pings);
+        }
+    }
+
+    @Override
+    public Settings read(BinaryReader in) throws IOException {
+        Settings obj = new Settings();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setFeedsKey(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setGetPings(true);
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setPings(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setSendtofacebook(true);
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setSendtotwitter(true);
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Special;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/special.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 id String
+ *  1 message String
+ *  2 type String
+ *  3 venue Venue
+ * </pre>
+ */
+public class SpecialCodec implements Codec<Special> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 671441998;
+
+    @Override
+    public void write(BinaryWriter out, Special obj) {
+        String id = obj.getId();
+        String message = obj.getMessage();
+        String type = obj.getType();
+        Venue venue = obj.getVenue();
+
+        long bits = 0;
+        bits |= (id != null) ? 1L << 0 : 0;
+        bits |= (message != null) ? 1L << 1 : 0;
+        bits |= (type != null) ? 1L << 2 : 0;
+        bits |= (venue != null) ? 1L << 3 : 0;
+        out.writeVarLong(bits);
+
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (message != null) {
+            out.writeString(message);
+        }
+        if (type != null) {
+            out.writeString(type);
+        }
+        if (venue != null) {
+            Codecs.VENUE.write(out, venue);
+        }
+    }
+
+    @Override
+    public Special read(BinaryReader in) throws IOException {
+        Special obj = new Special();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setMessage(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setType(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setVenue(Codecs.VENUE.read(in));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Beenhere;
+import com.joelapenna.foursquare.types.Mayor;
+import com.joelapenna.foursquare.types.Stats;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/stats.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 beenhere Beenhere
+ *  1 checkins String
+ *  2 herenow String
+ *  3 mayor Mayor
+ * </pre>
+ */
+public class StatsCodec implements Codec<Stats> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 862636567;
+
+    @Override
+    public void write(BinaryWriter out, Stats obj) {
+        Beenhere beenhere = obj.getBeenhere();
+        String checkins = obj.getCheckins();
+        String hereNow = obj.getHereNow();
+        Mayor mayor = obj.getMayor();
+
+        long bits = 0;
+        bits |= (beenhere != null) ? 1L << 0 : 0;
+        bits |= (checkins != null) ? 1L << 1 : 0;
+        bits |= (hereNow != null) ? 1L << 2 : 0;
+        bits |= (mayor != null) ? 1L << 3 : 0;
+        out.writeVarLong(bits);
+
+        if (beenhere != null) {
+            Codecs.BEENHERE.write(out, beenhere);
+        }
+        if (checkins != null) {
+            out.writeString(checkins);
+        }
+        if (hereNow != null) {
+            out.writeString(hereNow);
+        }
+        if (mayor != null) {
+            Codecs.MAYOR.write(out, mayor);
+        }
+    }
+
+    @Override
+    public Stats read(BinaryReader in) throws IOException {
+        Stats obj = new Stats();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setBeenhere(Codecs.BEENHERE.read(in));
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setCheckins(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setHereNow(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setMayor(Codecs.MAYOR.read(in));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/tip.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 created String
+ *  1 distance String
+ *  2 id String
+ *  3 stats Tip.Stats
+ *  4 status String
+ *  5 text String
+ *  6 user User
+ *  7 venue Venue
+ * </pre>
+ */
+public class TipCodec implements Codec<Tip> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1499890606;
+
+    @Override
+    public void write(BinaryWriter out, Tip obj) {
+        String created = obj.getCreated();
+        String distance = obj.getDistance();
+        String id = obj.getId();
+        Tip.Stats stats = obj.getStats();
+        String status = obj.getStatus();
+        String text = obj.getText();
+        User user = obj.getUser();
+        Venue venue = obj.getVenue();
+
+        long bits = 0;
+        bits |= (created != null) ? 1L << 0 : 0;
+        bits |= (distance != null) ? 1L << 1 : 0;
+        bits |= (id != null) ? 1L << 2 : 0;
+        bits |= (stats != null) ? 1L << 3 : 0;
+        bits |= (status != null) ? 1L << 4 : 0;
+        bits |= (text != null) ? 1L << 5 : 0;
+        bits |= (user != null) ? 1L << 6 : 0;
+        bits |= (venue != null) ? 1L << 7 : 0;
+        out.writeVarLong(bits);
+
+        if (created != null) {
+            out.writeString(created);
+        }
+        if (distance != null) {
+            out.writeString(distance);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (stats != null) {
+            Codecs.TIP_STATS.write(out, stats);
+        }
+        if (status != null) {
+            out.writeString(status);
+        }
+        if (text != null) {
+            out.writeString(text);
+        }
+        if (user != null) {
+            Codecs.USER.write(out, user);
+        }
+        if (venue != null) {
+            Codecs.VENUE.write(out, venue);
+        }
+    }
+
+    @Override
+    public Tip read(BinaryReader in) throws IOException {
+        Tip obj = new Tip();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCreated(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setDistance(in.readString());
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setStats(Codecs.TIP_STATS.read(in));
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setStatus(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setText(in.readString());
+        }
+        if ((bits & 1L << 6) != 0) {
+            obj.setUser(Codecs.USER.read(in));
+        }
+        if ((bits & 1L << 7) != 0) {
+            obj.setVenue(Codecs.VENUE.read(in));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Tip;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/tip_stats.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 donecount int
+ *  1 todocount int
+ * </pre>
+ */
+public class TipStatsCodec implements Codec<Tip.Stats> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 169787237;
+
+    @Override
+    public void write(BinaryWriter out, Tip.Stats obj) {
+        int doneCount = obj.getDoneCount();
+        int todoCount = obj.getTodoCount();
+
+        long bits = 0;
+        bits |= (doneCount != 0) ? 1L << 0 : 0;
+        bits |= (todoCount != 0) ? 1L << 1 : 0;
+        out.writeVarLong(bits);
+
+        if (doneCount != 0) {
+            out.writeVarInt(doneCount);
+        }
+        if (todoCount != 0) {
+            out.writeVarInt(todoCount);
+        }
+    }
+
+    @Override
+    public Tip.Stats read(BinaryReader in) throws IOException {
+        Tip.Stats obj = new Tip.Stats();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setDoneCount(in.readVarInt());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setTodoCount(in.readVarInt());
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.Todo;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/todo.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 created String
+ *  1 tip Tip
+ *  2 todoid String
+ * </pre>
+ */
+public class TodoCodec implements Codec<Todo> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = 1694267667;
+
+    @Override
+    public void write(BinaryWriter out, Todo obj) {
+        String created = obj.getCreated();
+        Tip tip = obj.getTip();
+        String id = obj.getId();
+
+        long bits = 0;
+        bits |= (created != null) ? 1L << 0 : 0;
+        bits |= (tip != null) ? 1L << 1 : 0;
+        bits |= (id != null) ? 1L << 2 : 0;
+        out.writeVarLong(bits);
+
+        if (created != null) {
+            out.writeString(created);
+        }
+        if (tip != null) {
+            Codecs.TIP.write(out, tip);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+    }
+
+    @Override
+    public Todo read(BinaryReader in) throws IOException {
+        Todo obj = new Todo();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setCreated(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setTip(Codecs.TIP.read(in));
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setId(in.readString());
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Badge;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Settings;
+import com.joelapenna.foursquare.types.Types;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/user.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 badgecount int
+ *  1 badges Group
+ *  2 checkin Checkin
+ *  3 checkincount int
+ *  4 created String
+ *  5 email String
+ *  6 facebook String
+ *  7 firstname String
+ *  8 followercount int
+ *  9 friendcount int
+ * 10 friendsincommon Group
+ * 11 friendstatus String
+ * 12 gender String
+ * 13 hometown String
+ * 14 id String
+ * 15 lastname String
+ * 16 mayor Group
+ * 17 mayorcount int
+ * 18 phone String
+ * 19 photo String
+ * 20 settings Settings
+ * 21 tipcount int
+ * 22 todocount int
+ * 23 twitter String
+ * 24 types Types
+ * </pre>
+ */
+public class UserCodec implements Codec<User> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1186403109;
+
+    @Override
+    public void write(BinaryWriter out, User obj) {
+        int badgeCount = obj.getBadgeCount();
+        Group<Badge> badges = obj.getBadges();
+        Checkin checkin = obj.getCheckin();
+        int checkinCount = obj.getCheckinCount();
+        String created = obj.getCreated();
+        String email = obj.getEmail();
+        String facebook = obj.getFacebook();
+        String firstname = obj.getFirstname();
+        int followerCount = obj.getFollowerCount();
+        int friendCount = obj.getFriendCount();
+        Group<User> friendsInCommon = obj.getFriendsInCommon();
+        String friendstatus = obj.getFriendstatus();
+        String gender = obj.getGender();
+        String hometown = obj.getHometown();
+        String id = obj.getId();
+        String lastname = obj.getLastname();
+        Group<Venue> mayorships = obj.getMayorships();
+        int mayorCount = obj.getMayorCount();
+        String phone = obj.getPhone();
+        String photo = obj.getPhoto();
+        Settings settings = obj.getSettings();
+        int tipCount = obj.getTipCount();
+        int todoCount = obj.getTodoCount();
+        String twitter = obj.getTwitter();
+        Types types = obj.getTypes();
+
+        long bits = 0;
+        bits |= (badgeCount != 0) ? 1L << 0 : 0;
+        bits |= (badges != null) ? 1L << 1 : 0;
+        bits |= (checkin != null) ? 1L << 2 : 0;
+        bits |= (checkinCount != 0) ? 1L << 3 : 0;
+        bits |= (created != null) ? 1L << 4 : 0;
+        bits |= (email != null) ? 1L << 5 : 0;
+        bits |= (facebook != null) ? 1L << 6 : 0;
+        bits |= (firstname != null) ? 1L << 7 : 0;
+        bits |= (followerCount != 0) ? 1L << 8 : 0;
+        bits |= (friendCount != 0) ? 1L << 9 : 0;
+        bits |= (friendsInCommon != null) ? 1L << 10 : 0;
+        bits |= (friendstatus != null) ? 1L << 11 : 0;
+        bits |= (gender != null) ? 1L << 12 : 0;
+        bits |= (hometown != null) ? 1L << 13 : 0;
+        bits |= (id != null) ? 1L << 14 : 0;
+        bits |= (lastname != null) ? 1L << 15 : 0;
+        bits |= (mayorships != null) ? 1L << 16 : 0;
+        bits |= (mayorCount != 0) ? 1L << 17 : 0;
+        bits |= (phone != null) ? 1L << 18 : 0;
+        bits |= (photo != null) ? 1L << 19 : 0;
+        bits |= (settings != null) ? 1L << 20 : 0;
+        bits |= (tipCount != 0) ? 1L << 21 : 0;
+        bits |= (todoCount != 0) ? 1L << 22 : 0;
+        bits |= (twitter != null) ? 1L << 23 : 0;
+        bits |= (types != null) ? 1L << 24 : 0;
+        out.writeVarLong(bits);
+
+        if (badgeCount != 0) {
+            out.writeVarInt(badgeCount);
+        }
+        if (badges != null) {
+            Codecs.BADGE_GROUP.write(out, badges);
+        }
+        if (checkin != null) {
+            Codecs.CHECKIN.write(out, checkin);
+        }
+        if (checkinCount != 0) {
+            out.writeVarInt(checkinCount);
+        }
+        if (created != null) {
+            out.writeString(created);
+        }
+        if (email != null) {
+            out.writeString(email);
+        }
+        if (facebook != null) {
+            out.writeString(facebook);
+        }
+        if (firstname != null) {
+            out.writeString(firstname);
+        }
+        if (followerCount != 0) {
+            out.writeVarInt(followerCount);
+        }
+        if (friendCount != 0) {
+            out.writeVarInt(friendCount);
+        }
+        if (friendsInCommon != null) {
+            Codecs.USER_GROUP.write(out, friendsInCommon);
+        }
+        if (friendstatus != null) {
+            out.writeString(friendstatus);
+        }
+        if (gender != null) {
+            out.writeString(gender);
+        }
+        if (hometown != null) {
+            out.writeString(hometown);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (lastname != null) {
+            out.writeString(lastname);
+        }
+        if (mayorships != null) {
+            Codecs.VENUE_GROUP.write(out, mayorships);
+        }
+        if (mayorCount != 0) {
+            out.writeVarInt(mayorCount);
+        }
+        if (phone != null) {
+            out.writeString(phone);
+        }
+        if (photo != null) {
+            out.writeString(photo);
+        }
+        if (settings != null) {
+            Codecs.SETTINGS.write(out, settings);
+        }
+        if (tipCount != 0) {
+            out.writeVarInt(tipCount);
+        }
+        if (todoCount != 0) {
+            out.writeVarInt(todoCount);
+        }
+        if (twitter != null) {
+            out.writeString(twitter);
+        }
+        if (types != null) {
+            out.writeStrings(types);
+        }
+    }
+
+    @Override
+    public User read(BinaryReader in) throws IOException {
+        User obj = new User();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setBadgeCount(in.readVarInt());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setBadges(Codecs.BADGE_GROUP.read(in));
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setCheckin(Codecs.CHECKIN.read(in));
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setCheckinCount(in.readVarInt());
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setCreated(in.readString());
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setEmail(in.readString());
+        }
+        if ((bits & 1L << 6) != 0) {
+            obj.setFacebook(in.readString());
+        }
+        if ((bits & 1L << 7) != 0) {
+            obj.setFirstname(in.readString());
+        }
+        if ((bits & 1L << 8) != 0) {
+            obj.setFollowerCount(in.readVarInt());
+        }
+        if ((bits & 1L << 9) != 0) {
+            obj.setFriendCount(in.readVarInt());
+        }
+        if ((bits & 1L << 10) != 0) {
+            obj.setFriendsInCommon(Codecs.USER_GROUP.read(in));
+        }
+        if ((bits & 1L << 11) != 0) {
+            obj.setFriendstatus(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 12) != 0) {
+            obj.setGender(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 13) != 0) {
+            obj.setHometown(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 14) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 15) != 0) {
+            obj.setLastname(in.readString());
+        }
+        if ((bits & 1L << 16) != 0) {
+            obj.setMayorships(Codecs.VENUE_GROUP.read(in));
+        }
+        if ((bits & 1L << 17) != 0) {
+            obj.setMayorCount(in.readVarInt());
+        }
+        if ((bits & 1L << 18) != 0) {
+            obj.setPhone(in.readString());
+        }
+        if ((bits & 1L << 19) != 0) {
+            obj.setPhoto(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 20) != 0) {
+            obj.setSettings(Codecs.SETTINGS.read(in));
+        }
+        if ((bits & 1L << 21) != 0) {
+            obj.setTipCount(in.readVarInt());
+        }
+        if ((bits & 1L << 22) != 0) {
+            obj.setTodoCount(in.readVarInt());
+        }
+        if ((bits & 1L << 23) != 0) {
+            obj.setTwitter(in.readString());
+        }
+        if ((bits & 1L << 24) != 0) {
+            obj.setTypes(in.readStrings(new Types()));
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+import com.joelapenna.foursquare.parsers.json.Parsers;
+import com.joelapenna.foursquare.types.Category;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Special;
+import com.joelapenna.foursquare.types.Stats;
+import com.joelapenna.foursquare.types.Tags;
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.Todo;
+import com.joelapenna.foursquare.types.Venue;
+
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/venue.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+ *  0 address String
+ *  1 checkins Group
+ *  2 city String
+ *  3 cityid String
+ *  4 crossstreet String
+ *  5 distance String
+ *  6 geolat String
+ *  7 geolong String
+ *  8 hasTodo boolean
+ *  9 id String
+ * 10 name String
+ * 11 phone String
+ * 12 primarycategory Category
+ * 13 specials Group
+ * 14 state String
+ * 15 stats Stats
+ * 16 tags Tags
+ * 17 tips Group
+ * 18 todos Group
+ * 19 twitter String
+ * 20 zip String
+ * </pre>
+ */
+public class VenueCodec implements Codec<Venue> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = -1954955361;
+
+    @Override
+    public void write(BinaryWriter out, Venue obj) {
+        String address = obj.getAddress();
+        Group<Checkin> checkins = obj.getCheckins();
+        String city = obj.getCity();
+        String cityid = obj.getCityid();
+        String crossstreet = obj.getCrossstreet();
+        String distance = obj.getDistance();
+        String geolat = obj.getGeolat();
+        String geolong = obj.getGeolong();
+        boolean hasTodo = obj.getHasTodo();
+        String id = obj.getId();
+        String name = obj.getName();
+        String phone = obj.getPhone();
+        Category category = obj.getCategory();
+        Group<Special> specials = obj.getSpecials();
+        String state = obj.getState();
+        Stats stats = obj.getStats();
+        Tags tags = obj.getTags();
+        Group<Tip> tips = obj.getTips();
+        Group<Todo> todos = obj.getTodos();
+        String twitter = obj.getTwitter();
+        String zip = obj.getZip();
+
+        long bits = 0;
+        bits |= (address != null) ? 1L << 0 : 0;
+        bits |= (checkins != null) ? 1L << 1 : 0;
+        bits |= (city != null) ? 1L << 2 : 0;
+        bits |= (cityid != null) ? 1L << 3 : 0;
+        bits |= (crossstreet != null) ? 1L << 4 : 0;
+        bits |= (distance != null) ? 1L << 5 : 0;
+        bits |= (geolat != null) ? 1L << 6 : 0;
+        bits |= (geolong != null) ? 1L << 7 : 0;
+        bits |= (hasTodo) ? 1L << 8 : 0;
+        bits |= (id != null) ? 1L << 9 : 0;
+        bits |= (name != null) ? 1L << 10 : 0;
+        bits |= (phone != null) ? 1L << 11 : 0;
+        bits |= (category != null) ? 1L << 12 : 0;
+        bits |= (specials != null) ? 1L << 13 : 0;
+        bits |= (state != null) ? 1L << 14 : 0;
+        bits |= (stats != null) ? 1L << 15 : 0;
+        bits |= (tags != null) ? 1L << 16 : 0;
+        bits |= (tips != null) ? 1L << 17 : 0;
+        bits |= (todos != null) ? 1L << 18 : 0;
+        bits |= (twitter != null) ? 1L << 19 : 0;
+        bits |= (zip != null) ? 1L << 20 : 0;
+        out.writeVarLong(bits);
+
+        if (address != null) {
+            out.writeString(address);
+        }
+        if (checkins != null) {
+            Codecs.CHECKIN_GROUP.write(out, checkins);
+        }
+        if (city != null) {
+            out.writeString(city);
+        }
+        if (cityid != null) {
+            out.writeString(cityid);
+        }
+        if (crossstreet != null) {
+            out.writeString(crossstreet);
+        }
+        if (distance != null) {
+            out.writeString(distance);
+        }
+        if (geolat != null) {
+            out.writeString(geolat);
+        }
+        if (geolong != null) {
+            out.writeString(geolong);
+        }
+        if (id != null) {
+            out.writeString(id);
+        }
+        if (name != null) {
+            out.writeString(name);
+        }
+        if (phone != null) {
+            out.writeString(phone);
+        }
+        if (category != null) {
+            Codecs.CATEGORY.write(out, category);
+        }
+        if (specials != null) {
+            Codecs.SPECIAL_GROUP.write(out, specials);
+        }
+        if (state != null) {
+            out.writeString(state);
+        }
+        if (stats != null) {
+            Codecs.STATS.write(out, stats);
+        }
+        if (tags != null) {
+            out.writeStrings(tags);
+        }
+        if (tips != null) {
+            Codecs.TIP_GROUP.write(out, tips);
+        }
+        if (todos != null) {
+            Codecs.TODO_GROUP.write(out, todos);
+        }
+        if (twitter != null) {
+            out.writeString(twitter);
+        }
+        if (zip != null) {
+            out.writeString(zip);
+        }
+    }
+
+    @Override
+    public Venue read(BinaryReader in) throws IOException {
+        Venue obj = new Venue();
+        long bits = in.readVarLong();
+        if ((bits & 1L << 0) != 0) {
+            obj.setAddress(in.readString());
+        }
+        if ((bits & 1L << 1) != 0) {
+            obj.setCheckins(Codecs.CHECKIN_GROUP.read(in));
+        }
+        if ((bits & 1L << 2) != 0) {
+            obj.setCity(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 3) != 0) {
+            obj.setCityid(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 4) != 0) {
+            obj.setCrossstreet(in.readString());
+        }
+        if ((bits & 1L << 5) != 0) {
+            obj.setDistance(in.readString());
+        }
+        if ((bits & 1L << 6) != 0) {
+            obj.setGeolat(in.readString());
+        }
+        if ((bits & 1L << 7) != 0) {
+            obj.setGeolong(in.readString());
+        }
+        if ((bits & 1L << 8) != 0) {
+            obj.setHasTodo(true);
+        }
+        if ((bits & 1L << 9) != 0) {
+            obj.setId(in.readString());
+        }
+        if ((bits & 1L << 10) != 0) {
+            obj.setName(in.readString());
+        }
+        if ((bits & 1L << 11) != 0) {
+            obj.setPhone(in.readString());
+        }
+        if ((bits & 1L << 12) != 0) {
+            obj.setCategory(Codecs.CATEGORY.read(in));
+        }
+        if ((bits & 1L << 13) != 0) {
+            obj.setSpecials(Codecs.SPECIAL_GROUP.read(in));
+        }
+        if ((bits & 1L << 14) != 0) {
+            obj.setState(in.readString(Parsers.STRINGS));
+        }
+        if ((bits & 1L << 15) != 0) {
+            obj.setStats(Codecs.STATS.read(in));
+        }
+        if ((bits & 1L << 16) != 0) {
+            obj.setTags(in.readStrings(new Tags()));
+        }
+        if ((bits & 1L << 17) != 0) {
+            obj.setTips(Codecs.TIP_GROUP.read(in));
+        }
+        if ((bits & 1L << 18) != 0) {
+            obj.setTodos(Codecs.TODO_GROUP.read(in));
+        }
+        if ((bits & 1L << 19) != 0) {
+            obj.setTwitter(in.readString());
+        }
+        if ((bits & 1L << 20) != 0) {
+            obj.setZip(in.readString(Parsers.STRINGS));
+        }
+        return obj;
+    }
+}
@@ -12,6 +12,10 @@ import com.joelapenna.foursquare.parsers.json.Parser;
 import com.joelapenna.foursquare.types.FoursquareType;
 import com.joelapenna.foursquare.util.JSONUtils;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.ParseException;
@@ -19,28 +23,22 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.client.params.HttpClientParams;
 import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.conn.ClientConnectionManager;
-import org.apache.http.conn.scheme.PlainSocketFactory;
-import org.apache.http.conn.scheme.Scheme;
-import org.apache.http.conn.scheme.SchemeRegistry;
-import org.apache.http.conn.scheme.SocketFactory;
-import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
-import org.apache.http.params.BasicHttpParams;
-import org.apache.http.params.HttpConnectionParams;
-import org.apache.http.params.HttpParams;
 import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,13 +52,39 @@ abstract public class AbstractHttpApi implements HttpApi {
 
     private static final String DEFAULT_CLIENT_VERSION = "com.joelapenna.foursquare";
     private static final String CLIENT_VERSION_HEADER = "User-Agent";
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ETAG_HEADER = "ETag";
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
     private static final int TIMEOUT = 60;
 
     private final DefaultHttpClient mHttpClient;
+    private final HttpTransport mClientTransport;
+    private volatile HttpTransport mTransport;
     private final String mClientVersion;
+    private final TransferStats mTransferStats = new TransferStats();
+    private final RequestMetrics mRequestMetrics = new RequestMetrics();
+    private final RequestCoalescer mCoalescer = new RequestCoalescer();
+    private final RetryPolicy mRetryPolicy = new RetryPolicy();
+    private final ConcurrentHashMap<String, CircuitBreaker> mCircuitBreakers =
+        new ConcurrentHashMap<String, CircuitBreaker>();
+
+    private volatile ResponseCache mResponseCache;
+    private final ConcurrentHashMap<String, Long> mCacheTtls = new ConcurrentHashMap<String, Long>();
 
     public AbstractHttpApi(DefaultHttpClient httpClient, String clientVersion) {
         mHttpClient = httpClient;
+        // Request interceptors run once the connection has been leased and opened, which is
+        // where the connect phase ends. Other transports have no such hook, see RequestMetrics.
+        mHttpClient.addRequestInterceptor(new HttpRequestInterceptor() {
+            public void process(HttpRequest request, HttpContext context) {
+                mRequestMetrics.getTimer().connected();
+            }
+        });
+        mClientTransport = new ApacheHttpTransport(mHttpClient);
+        mTransport = mClientTransport;
         if (clientVersion != null) {
             mClientVersion = clientVersion;
         } else {
@@ -68,20 +92,119 @@ abstract public class AbstractHttpApi implements HttpApi {
         }
     }
 
-    public FoursquareType executeHttpRequest(HttpRequestBase httpRequest,
-            Parser<? extends FoursquareType> parser) throws FoursquareCredentialsException,
+    /**
+     * Executes the request and parses the response. Identical GETs which are already in flight
+     * on another thread are not sent again, the caller waits for and shares that result. Only
+     * callers parsing the same way share, a projected parse of a url isn't handed to a caller
+     * who wants the whole response.
+     */
+    public FoursquareType executeHttpRequest(final HttpRequestBase httpRequest,
+            final Parser<? extends FoursquareType> parser) throws FoursquareCredentialsException,
             FoursquareParseException, FoursquareException, IOException {
         if (DEBUG) LOG.log(Level.FINE, "doHttpRequest: " + httpRequest.getURI());
 
-        HttpResponse response = executeHttpRequest(httpRequest);
+        if (!(httpRequest instanceof HttpGet)) {
+            return executeAndParse(httpRequest, parser, false);
+        }
+        return mCoalescer.execute(httpRequest.getURI().toString() + " " + parser,
+                new Callable<FoursquareType>() {
+                    public FoursquareType call() throws Exception {
+                        return executeAndParse(httpRequest, parser, true);
+                    }
+                });
+    }
+
+    /**
+     * Sends a multipart upload and parses the response. If the upload is idempotent (setting a
+     * photo, say) and the connection drops or the server fails, the body is streamed again
+     * from the start, the same way GETs are retried.
+     */
+    public FoursquareType doHttpUpload(HttpPost httpPost, Parser<? extends FoursquareType> parser,
+            boolean idempotent) throws FoursquareCredentialsException, FoursquareParseException,
+            FoursquareException, IOException {
+        if (DEBUG) LOG.log(Level.FINE, "doHttpUpload: " + httpPost.getURI());
+        return executeAndParse(httpPost, parser, idempotent);
+    }
+
+    private FoursquareType executeAndParse(HttpRequestBase httpRequest,
+            Parser<? extends FoursquareType> parser, boolean retryable)
+            throws FoursquareCredentialsException, FoursquareParseException, FoursquareException,
+            IOException {
+        mRequestMetrics.getTimer().clear();
+        try {
+            return executeAndParseTimed(httpRequest, parser, retryable);
+        } finally {
+            mRequestMetrics.getTimer().finish();
+        }
+    }
+
+    private FoursquareType executeAndParseTimed(HttpRequestBase httpRequest,
+            Parser<? extends FoursquareType> parser, boolean retryable)
+            throws FoursquareCredentialsException, FoursquareParseException, FoursquareException,
+            IOException {
+        // Read once: setResponseCache(null) may run on another thread part way through.
+        ResponseCache responseCache = mResponseCache;
+        String cacheKey = getCacheKey(responseCache, httpRequest);
+        ResponseCache.Entry cached = null;
+        if (cacheKey != null) {
+            cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                if (cached.isFresh(System.currentTimeMillis())) {
+                    if (DEBUG) LOG.log(Level.FINE, "Serving fresh cached response: " + cacheKey);
+                    return consumeCached(parser, cached);
+                }
+                if (cached.getETag() != null) {
+                    httpRequest.addHeader(IF_NONE_MATCH_HEADER, cached.getETag());
+                }
+                if (cached.getLastModified() != null) {
+                    httpRequest.addHeader(IF_MODIFIED_SINCE_HEADER, cached.getLastModified());
+                }
+            }
+        }
+
+        HttpResponse response;
+        try {
+            response = executeWithRetries(httpRequest, retryable);
+        } catch (CircuitBreaker.OpenException e) {
+            if (cached != null) {
+                if (DEBUG) LOG.log(Level.FINE, "Circuit open, serving stale cached: " + cacheKey);
+                return consumeCached(parser, cached);
+            }
+            throw e;
+        }
         if (DEBUG) LOG.log(Level.FINE, "executed HttpRequest for: "
                 + httpRequest.getURI().toString());
 
         int statusCode = response.getStatusLine().getStatusCode();
         switch (statusCode) {
             case 200:
-                String content = EntityUtils.toString(response.getEntity());
-                return JSONUtils.consume(parser, content);
+                HttpEntity entity = response.getEntity();
+                if (cacheKey != null) {
+                    return consumeAndCache(parser, httpRequest, responseCache, cacheKey,
+                            response);
+                }
+                if (DEBUG) {
+                    // Keep the buffered path in debug builds so the raw response gets logged.
+                    return JSONUtils.consume(parser, EntityUtils.toString(entity));
+                }
+                String charset = EntityUtils.getContentCharSet(entity);
+                return JSONUtils.consume(parser, entity.getContent(),
+                        (charset != null) ? charset : HTTP.UTF_8);
+
+            case 304:
+                if (cached != null) {
+                    if (DEBUG) LOG.log(Level.FINE, "Not modified, serving cached: " + cacheKey);
+                    if (response.getEntity() != null) {
+                        response.getEntity().consumeContent();
+                    }
+                    cached.setExpires(System.currentTimeMillis() + getCacheTtl(httpRequest));
+                    responseCache.put(cacheKey, cached);
+                    return consumeCached(parser, cached);
+                }
+                if (response.getEntity() != null) {
+                    response.getEntity().consumeContent();
+                }
+                throw new FoursquareException("Error connecting to Foursquare: " + statusCode + ". Try again later.");
                 
             case 400:
                 if (DEBUG) LOG.log(Level.FINE, "HTTP Code: 400");
@@ -112,11 +235,95 @@ abstract public class AbstractHttpApi implements HttpApi {
         }
     }
 
+    /**
+     * Signs and executes the request. Retryable requests (GETs, idempotent uploads) are safe to
+     * repeat, so if one fails with an IOException or a 5xx it is re-sent after a jittered
+     * backoff, up to the policy's limit. Other requests are sent exactly once.
+     */
+    private HttpResponse executeWithRetries(HttpRequestBase httpRequest, boolean retryable)
+            throws IOException {
+        boolean idempotent = retryable && isRepeatable(httpRequest);
+        HttpRequestBase request = httpRequest;
+        for (int attempt = 0;; attempt++) {
+            if (attempt > 0) {
+                long delay = mRetryPolicy.getRetryDelay(attempt);
+                if (DEBUG) LOG.log(Level.FINE, "Retry " + attempt + " in " + delay + "ms for: "
+                        + httpRequest.getURI());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting to retry request.");
+                }
+                request = copyForRetry(httpRequest);
+                mRequestMetrics.getEndpoint(httpRequest.getURI().getPath()).recordRetry();
+            }
+            boolean canRetry = idempotent && attempt < mRetryPolicy.getMaxRetries();
+
+            signRequest(request);
+            HttpResponse response;
+            try {
+                response = executeHttpRequest(request);
+            } catch (CircuitBreaker.OpenException e) {
+                throw e;
+            } catch (IOException e) {
+                if (canRetry) {
+                    continue;
+                }
+                throw e;
+            }
+
+            if (canRetry && response.getStatusLine().getStatusCode() >= 500) {
+                if (response.getEntity() != null) {
+                    response.getEntity().consumeContent();
+                }
+                continue;
+            }
+            return response;
+        }
+    }
+
+    private static boolean isRepeatable(HttpRequestBase httpRequest) {
+        if (httpRequest instanceof HttpPost) {
+            HttpEntity entity = ((HttpPost) httpRequest).getEntity();
+            return entity == null || entity.isRepeatable();
+        }
+        return httpRequest instanceof HttpGet;
+    }
+
+    /**
+     * A retry goes out on a fresh copy of the request, which is then signed again. The request
+     * itself is never executed (a transport only sees the TransportRequest made from it), so it
+     * could be reused; the copy just leaves the caller's request as it was first sent. A POST's
+     * entity is repeatable (see isRepeatable()), so the copy can send it again.
+     */
+    private static HttpRequestBase copyForRetry(HttpRequestBase httpRequest) {
+        HttpRequestBase copy;
+        if (httpRequest instanceof HttpPost) {
+            HttpPost post = new HttpPost(httpRequest.getURI());
+            post.setEntity(((HttpPost) httpRequest).getEntity());
+            copy = post;
+        } else {
+            copy = new HttpGet(httpRequest.getURI());
+        }
+        copy.setHeaders(httpRequest.getAllHeaders());
+        return copy;
+    }
+
+    /**
+     * Called before each attempt at sending a request through executeHttpRequest(HttpRequestBase,
+     * Parser), including retries, and before doHttpPost(). Subclasses which authenticate by
+     * signing override this.
+     */
+    protected void signRequest(HttpRequestBase httpRequest) throws IOException {
+    }
+
     public String doHttpPost(String url, NameValuePair... nameValuePairs)
             throws FoursquareCredentialsException, FoursquareParseException, FoursquareException,
             IOException {
         if (DEBUG) LOG.log(Level.FINE, "doHttpPost: " + url);
         HttpPost httpPost = createHttpPost(url, nameValuePairs);
+        signRequest(httpPost);
 
         HttpResponse response = executeHttpRequest(httpPost);
         if (DEBUG) LOG.log(Level.FINE, "executed HttpRequest for: " + httpPost.getURI().toString());
@@ -144,29 +351,83 @@ abstract public class AbstractHttpApi implements HttpApi {
     }
 
     /**
-     * execute() an httpRequest catching exceptions and returning null instead.
-     *
-     * @param httpRequest
-     * @return
-     * @throws IOException
+     * Sends the request through the current transport, behind the host's circuit breaker, and
+     * returns the response with an entity which decompresses and counts the body as it's read.
      */
     public HttpResponse executeHttpRequest(HttpRequestBase httpRequest) throws IOException {
         if (DEBUG) LOG.log(Level.FINE, "executing HttpRequest for: "
                 + httpRequest.getURI().toString());
+        CircuitBreaker breaker = getCircuitBreaker(httpRequest.getURI().getHost());
+        breaker.checkRequestAllowed();
+        String path = httpRequest.getURI().getPath();
+        RequestMetrics.Timer timer = mRequestMetrics.getTimer();
+        timer.start(mRequestMetrics.getEndpoint(path));
         try {
-            mHttpClient.getConnectionManager().closeExpiredConnections();
-            return mHttpClient.execute(httpRequest);
+            HttpResponse response = ApacheHttpTransport.toHttpResponse(
+                    mTransport.execute(ApacheHttpTransport.toTransportRequest(httpRequest)));
+            int statusCode = response.getStatusLine().getStatusCode();
+            timer.headers(statusCode);
+            if (statusCode >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                response.setEntity(new DecompressingEntity(entity,
+                        mTransferStats.getEndpoint(path), timer));
+            }
+            return response;
         } catch (IOException e) {
-            httpRequest.abort();
+            timer.failed();
+            breaker.recordFailure();
             throw e;
         }
     }
 
+    /**
+     * Sends requests through the given transport from now on, or through the HttpClient again
+     * if it's null.
+     */
+    public void setTransport(HttpTransport transport) {
+        mTransport = (transport != null) ? transport : mClientTransport;
+    }
+
+    public HttpTransport getTransport() {
+        return mTransport;
+    }
+
+    /** The transport backed by the HttpClient, e.g. to record its traffic. */
+    public HttpTransport getClientTransport() {
+        return mClientTransport;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    public CircuitBreaker getCircuitBreaker(String host) {
+        CircuitBreaker breaker = mCircuitBreakers.get(host);
+        if (breaker == null) {
+            breaker = new CircuitBreaker(host, mRetryPolicy);
+            CircuitBreaker existing = mCircuitBreakers.putIfAbsent(host, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(mCircuitBreakers);
+    }
+
     public HttpGet createHttpGet(String url, NameValuePair... nameValuePairs) {
         if (DEBUG) LOG.log(Level.FINE, "creating HttpGet for: " + url);
         String query = URLEncodedUtils.format(stripNulls(nameValuePairs), HTTP.UTF_8);
         HttpGet httpGet = new HttpGet(url + "?" + query);
         httpGet.addHeader(CLIENT_VERSION_HEADER, mClientVersion);
+        httpGet.addHeader(ACCEPT_ENCODING_HEADER, ENCODING_GZIP);
         if (DEBUG) LOG.log(Level.FINE, "Created: " + httpGet.getURI());
         return httpGet;
     }
@@ -175,6 +436,7 @@ abstract public class AbstractHttpApi implements HttpApi {
         if (DEBUG) LOG.log(Level.FINE, "creating HttpPost for: " + url);
         HttpPost httpPost = new HttpPost(url);
         httpPost.addHeader(CLIENT_VERSION_HEADER, mClientVersion);
+        httpPost.addHeader(ACCEPT_ENCODING_HEADER, ENCODING_GZIP);
         try {
             httpPost.setEntity(new UrlEncodedFormEntity(stripNulls(nameValuePairs), HTTP.UTF_8));
         } catch (UnsupportedEncodingException e1) {
@@ -184,20 +446,116 @@ abstract public class AbstractHttpApi implements HttpApi {
         return httpPost;
     }
     
-    public HttpURLConnection createHttpURLConnectionPost(URL url, String boundary) 
-        throws IOException {
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection(); 
-        conn.setDoInput(true);        
-        conn.setDoOutput(true); 
-        conn.setUseCaches(false); 
-        conn.setConnectTimeout(TIMEOUT * 1000);
-        conn.setRequestMethod("POST");
-
-        conn.setRequestProperty(CLIENT_VERSION_HEADER, mClientVersion);
-        conn.setRequestProperty("Connection", "Keep-Alive"); 
-        conn.setRequestProperty("Content-Type", "multipart/form-data;boundary=" + boundary);
-        
-        return conn;
+    /**
+     * Creates a POST carrying a multipart body, e.g. for photo uploads. Send it with
+     * doHttpUpload().
+     */
+    public HttpPost createHttpMultipartPost(String url, MultipartEntity entity) {
+        if (DEBUG) LOG.log(Level.FINE, "creating multipart HttpPost for: " + url);
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.addHeader(CLIENT_VERSION_HEADER, mClientVersion);
+        httpPost.addHeader(ACCEPT_ENCODING_HEADER, ENCODING_GZIP);
+        httpPost.setEntity(entity);
+        return httpPost;
+    }
+
+    /**
+     * Sets the cache used for GET endpoints registered through setCacheTtl(), or null to stop
+     * caching.
+     */
+    public void setResponseCache(ResponseCache cache) {
+        mResponseCache = cache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return mResponseCache;
+    }
+
+    /**
+     * Makes GETs to the given endpoint (a full url without the query string) cacheable. Stored
+     * responses are served without touching the network for ttl milliseconds, after which they
+     * are revalidated with If-None-Match/If-Modified-Since. A ttl of zero revalidates every time.
+     */
+    public void setCacheTtl(String endpoint, long ttl) {
+        mCacheTtls.put(endpoint, ttl);
+    }
+
+    /**
+     * Compressed and uncompressed byte counts for every response we've read, by endpoint.
+     */
+    public TransferStats getTransferStats() {
+        return mTransferStats;
+    }
+
+    /**
+     * Per-endpoint latency by phase, response sizes, status codes and retries.
+     */
+    public RequestMetrics getRequestMetrics() {
+        return mRequestMetrics;
+    }
+
+    /**
+     * Counts of GETs sent versus GETs which shared another caller's in-flight request.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return mCoalescer;
+    }
+
+    private String getCacheKey(ResponseCache responseCache, HttpRequestBase httpRequest) {
+        if (responseCache == null || !(httpRequest instanceof HttpGet)
+                || !mCacheTtls.containsKey(getEndpoint(httpRequest))) {
+            return null;
+        }
+        return httpRequest.getURI().toString();
+    }
+
+    private long getCacheTtl(HttpRequestBase httpRequest) {
+        Long ttl = mCacheTtls.get(getEndpoint(httpRequest));
+        return (ttl != null) ? ttl : 0;
+    }
+
+    private static String getEndpoint(HttpRequestBase httpRequest) {
+        String url = httpRequest.getURI().toString();
+        int query = url.indexOf('?');
+        return (query == -1) ? url : url.substring(0, query);
+    }
+
+    /**
+     * Reads the whole body so it can be stored, parses it and only then puts it in the cache, so
+     * error responses never get cached.
+     */
+    private FoursquareType consumeAndCache(Parser<? extends FoursquareType> parser,
+            HttpRequestBase httpRequest, ResponseCache responseCache, String cacheKey,
+            HttpResponse response) throws FoursquareCredentialsException,
+            FoursquareParseException, FoursquareException, IOException {
+        HttpEntity entity = response.getEntity();
+        String charset = EntityUtils.getContentCharSet(entity);
+        ResponseCache.Entry entry = new ResponseCache.Entry(
+                EntityUtils.toByteArray(entity),
+                (charset != null) ? charset : HTTP.UTF_8,
+                getHeaderValue(response, ETAG_HEADER),
+                getHeaderValue(response, LAST_MODIFIED_HEADER),
+                0);
+        FoursquareType result = consumeCached(parser, entry);
+
+        long ttl = getCacheTtl(httpRequest);
+        entry.setExpires(System.currentTimeMillis() + ttl);
+        if (ttl > 0 || entry.hasValidators()) {
+            responseCache.put(cacheKey, entry);
+        }
+        return result;
+    }
+
+    private static FoursquareType consumeCached(Parser<? extends FoursquareType> parser,
+            ResponseCache.Entry entry) throws FoursquareCredentialsException,
+            FoursquareParseException, FoursquareException, IOException {
+        return JSONUtils.consume(parser, new ByteArrayInputStream(entry.getBody()),
+                entry.getCharset());
+    }
+
+    private static String getHeaderValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return (header != null) ? header.getValue() : null;
     }
 
     private List<NameValuePair> stripNulls(NameValuePair... nameValuePairs) {
@@ -213,45 +571,13 @@ abstract public class AbstractHttpApi implements HttpApi {
     }
 
     /**
-     * Create a thread-safe client. This client does not do redirecting, to allow us to capture
-     * correct "error" codes.
+     * Create a thread-safe client backed by the shared ConnectionPool. This client does not do
+     * redirecting, to allow us to capture correct "error" codes.
      *
      * @return HttpClient
      */
     public static final DefaultHttpClient createHttpClient() {
-        // Sets up the http part of the service.
-        final SchemeRegistry supportedSchemes = new SchemeRegistry();
-
-        // Register the "http" protocol scheme, it is required
-        // by the default operator to look up socket factories.
-        final SocketFactory sf = PlainSocketFactory.getSocketFactory();
-        supportedSchemes.register(new Scheme("http", sf, 80));
-        supportedSchemes.register(new Scheme("https", SSLSocketFactory.getSocketFactory(), 443));
-        
-        // Set some client http client parameter defaults.
-        final HttpParams httpParams = createHttpParams();
-        HttpClientParams.setRedirecting(httpParams, false);
-
-        final ClientConnectionManager ccm = new ThreadSafeClientConnManager(httpParams,
-                supportedSchemes);
-        return new DefaultHttpClient(ccm, httpParams);
-    }
-
-    /**
-     * Create the default HTTP protocol parameters.
-     */
-    private static final HttpParams createHttpParams() {
-        final HttpParams params = new BasicHttpParams();
-
-        // Turn off stale checking. Our connections break all the time anyway,
-        // and it's not worth it to pay the penalty of checking every time.
-        HttpConnectionParams.setStaleCheckingEnabled(params, false);
-
-        HttpConnectionParams.setConnectionTimeout(params, TIMEOUT * 1000);
-        HttpConnectionParams.setSoTimeout(params, TIMEOUT * 1000);
-        HttpConnectionParams.setSocketBufferSize(params, 8192);
-
-        return params;
+        return ConnectionPool.getInstance().createHttpClient(TIMEOUT * 1000, false);
     }
 
 }
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * The transport every api starts out with: requests go out through an HttpClient, normally one
+ * from the shared ConnectionPool, which is also what the platform has on a device.
+ * <p>
+ * The static methods convert between the transport types and HttpClient's own, which is how
+ * AbstractHttpApi, whose requests are HttpClient's, talks to any transport. Bodies are passed
+ * through rather than copied, so a MultipartEntity still streams its file (and reports its
+ * progress) when it goes out this way.
+ *
+ * @date October 18, 2010
+ */
+public class ApacheHttpTransport implements HttpTransport {
+
+    /** Headers HttpClient sets from the entity, it refuses requests which already have them. */
+    private static final String[] ENTITY_HEADERS = {
+            "Content-Length", "Transfer-Encoding"
+    };
+
+    private final DefaultHttpClient mHttpClient;
+
+    public ApacheHttpTransport(DefaultHttpClient httpClient) {
+        mHttpClient = httpClient;
+    }
+
+    public DefaultHttpClient getHttpClient() {
+        return mHttpClient;
+    }
+
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        HttpRequestBase httpRequest = toHttpRequest(request);
+        try {
+            return toTransportResponse(mHttpClient.execute(httpRequest));
+        } catch (IOException e) {
+            httpRequest.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * The request as a transport sees it, its headers and its entity, if it has one, as they
+     * are.
+     */
+    public static TransportRequest toTransportRequest(HttpRequestBase httpRequest) {
+        TransportRequest request = new TransportRequest(httpRequest.getMethod(),
+                httpRequest.getURI());
+        for (Header header : httpRequest.getAllHeaders()) {
+            request.addHeader(header.getName(), header.getValue());
+        }
+        if (httpRequest instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+            if (entity != null) {
+                request.setBody(new EntityBody(entity));
+            }
+        }
+        return request;
+    }
+
+    /**
+     * The response as HttpClient would have returned it, with an entity reading the body.
+     */
+    public static HttpResponse toHttpResponse(TransportResponse response) {
+        HttpResponse httpResponse = new BasicHttpResponse(new BasicStatusLine(
+                parseProtocol(response.getProtocol()), response.getStatusCode(),
+                response.getReason()));
+        for (int i = 0; i < response.getHeaderCount(); i++) {
+            httpResponse.addHeader(response.getHeaderName(i), response.getHeaderValue(i));
+        }
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(response.getBody());
+        entity.setContentLength(response.getContentLength());
+        entity.setContentType(httpResponse.getFirstHeader("Content-Type"));
+        entity.setContentEncoding(httpResponse.getFirstHeader("Content-Encoding"));
+        httpResponse.setEntity(entity);
+        return httpResponse;
+    }
+
+    private static HttpRequestBase toHttpRequest(TransportRequest request) {
+        HttpRequestBase httpRequest;
+        TransportRequest.Body body = request.getBody();
+        if (body != null) {
+            EntityRequest entityRequest = new EntityRequest(request.getMethod(),
+                    request.getUri());
+            if (body instanceof EntityBody) {
+                entityRequest.setEntity(((EntityBody) body).mEntity);
+            } else {
+                entityRequest.setEntity(new BodyEntity(body));
+            }
+            httpRequest = entityRequest;
+        } else {
+            httpRequest = new Request(request.getMethod(), request.getUri());
+        }
+        for (int i = 0; i < request.getHeaderCount(); i++) {
+            String name = request.getHeaderName(i);
+            if (!isEntityHeader(name)) {
+                httpRequest.addHeader(name, request.getHeaderValue(i));
+            }
+        }
+        return httpRequest;
+    }
+
+    private static TransportResponse toTransportResponse(HttpResponse httpResponse)
+            throws IOException {
+        StatusLine statusLine = httpResponse.getStatusLine();
+        TransportResponse response = new TransportResponse(
+                statusLine.getProtocolVersion().toString(), statusLine.getStatusCode(),
+                statusLine.getReasonPhrase());
+        for (Header header : httpResponse.getAllHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity != null) {
+            response.setBody(entity.getContent(), entity.getContentLength());
+        }
+        return response;
+    }
+
+    /** "HTTP/1.1", "HTTP/2" and the like, or HTTP/1.1 if it's anything else. */
+    private static ProtocolVersion parseProtocol(String protocol) {
+        if (protocol != null && protocol.startsWith("HTTP/")) {
+            String version = protocol.substring(5);
+            int dot = version.indexOf('.');
+            try {
+                if (dot == -1) {
+                    return new ProtocolVersion("HTTP", Integer.parseInt(version), 0);
+                }
+                return new ProtocolVersion("HTTP", Integer.parseInt(version.substring(0, dot)),
+                        Integer.parseInt(version.substring(dot + 1)));
+            } catch (NumberFormatException e) {
+                // Fall through.
+            }
+        }
+        return HttpVersion.HTTP_1_1;
+    }
+
+    private static boolean isEntityHeader(String name) {
+        for (int i = 0; i < ENTITY_HEADERS.length; i++) {
+            if (ENTITY_HEADERS[i].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** A request with no body, for any method. */
+    private static class Request extends HttpRequestBase {
+        private final String mMethod;
+
+        Request(String method, URI uri) {
+            mMethod = method;
+            setURI(uri);
+        }
+
+        @Override
+        public String getMethod() {
+            return mMethod;
+        }
+    }
+
+    /** A request with a body, for any method. */
+    private static class EntityRequest extends HttpEntityEnclosingRequestBase {
+        private final String mMethod;
+
+        EntityRequest(String method, URI uri) {
+            mMethod = method;
+            setURI(uri);
+        }
+
+        @Override
+        public String getMethod() {
+            return mMethod;
+        }
+    }
+
+    /** An HttpClient entity as a transport body. */
+    private static class EntityBody implements TransportRequest.Body {
+        private final HttpEntity mEntity;
+
+        EntityBody(HttpEntity entity) {
+            mEntity = entity;
+        }
+
+        public String getContentType() {
+            Header header = mEntity.getContentType();
+            return (header != null) ? header.getValue() : null;
+        }
+
+        public long getContentLength() {
+            return mEntity.getContentLength();
+        }
+
+        public boolean isRepeatable() {
+            return mEntity.isRepeatable();
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            mEntity.writeTo(out);
+        }
+    }
+
+    /** A transport body as an HttpClient entity. */
+    private static class BodyEntity extends AbstractHttpEntity {
+        private final TransportRequest.Body mBody;
+
+        BodyEntity(TransportRequest.Body body) {
+            mBody = body;
+            setContentType(body.getContentType());
+        }
+
+        public long getContentLength() {
+            return mBody.getContentLength();
+        }
+
+        public boolean isRepeatable() {
+            return mBody.isRepeatable();
+        }
+
+        public boolean isStreaming() {
+            return !mBody.isRepeatable();
+        }
+
+        public InputStream getContent() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            mBody.writeTo(out);
+            return new ByteArrayInputStream(out.toByteArray());
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            mBody.writeTo(out);
+        }
+    }
+}
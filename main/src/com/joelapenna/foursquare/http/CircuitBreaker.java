@@ -0,0 +1,126 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.io.IOException;
+
+/**
+ * Tracks consecutive failures talking to one host. After enough of them in a row the breaker
+ * opens and requests fail immediately instead of piling more load onto a struggling server.
+ * Once the open period has passed a single trial request is let through; if it succeeds the
+ * breaker closes again, if it fails the breaker stays open for another period.
+ *
+ * @date October 18, 2010
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String mHost;
+    private final RetryPolicy mPolicy;
+
+    private State mState = State.CLOSED;
+    private int mConsecutiveFailures;
+    private long mStateChangedAt;
+    private long mRejectedCount;
+
+    public CircuitBreaker(String host, RetryPolicy policy) {
+        mHost = host;
+        mPolicy = policy;
+    }
+
+    /**
+     * Throws if the breaker is open. Call before every request to this host.
+     */
+    public synchronized void checkRequestAllowed() throws OpenException {
+        if (!isRequestAllowed()) {
+            mRejectedCount++;
+            throw new OpenException(mHost);
+        }
+    }
+
+    /**
+     * Returns true if a request to this host may go out now. While half-open only one trial
+     * request is allowed per open period.
+     */
+    public synchronized boolean isRequestAllowed() {
+        switch (mState) {
+            case CLOSED:
+                return true;
+            case OPEN:
+            case HALF_OPEN:
+                long now = System.currentTimeMillis();
+                if (now - mStateChangedAt >= mPolicy.getBreakerOpenMillis()) {
+                    mState = State.HALF_OPEN;
+                    mStateChangedAt = now;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        mState = State.CLOSED;
+        mConsecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        mConsecutiveFailures++;
+        if (mState == State.HALF_OPEN
+                || mConsecutiveFailures >= mPolicy.getBreakerFailureThreshold()) {
+            mState = State.OPEN;
+            mStateChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized void reset() {
+        mState = State.CLOSED;
+        mConsecutiveFailures = 0;
+        mRejectedCount = 0;
+    }
+
+    public String getHost() {
+        return mHost;
+    }
+
+    public synchronized State getState() {
+        return mState;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return mConsecutiveFailures;
+    }
+
+    /**
+     * The number of requests turned away while the breaker was open.
+     */
+    public synchronized long getRejectedCount() {
+        return mRejectedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return mHost + ": " + mState + ", " + mConsecutiveFailures + " consecutive failures, "
+                + mRejectedCount + " rejected";
+    }
+
+    /**
+     * Thrown in place of making a request while the breaker for its host is open. It's an
+     * IOException so callers treat it like any other network failure.
+     */
+    public static class OpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String host) {
+            super("Too many recent failures talking to " + host + ", not trying again yet.");
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import com.joelapenna.foursquare.Foursquare;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.params.ConnPerRouteBean;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The one pool of connections every HttpClient in the app draws from. Clients are still created
+ * per user (each keeps its own credentials and timeouts) but they share a single
+ * ThreadSafeClientConnManager, so a socket opened for the api can be reused by the next call no
+ * matter which client makes it, and the total number of open sockets stays bounded.
+ * <p>
+ * A daemon reaper thread closes expired and idle connections in the background, instead of
+ * every request paying for closeExpiredConnections() before it goes out.
+ *
+ * @date October 18, 2010
+ */
+public class ConnectionPool {
+    private static final Logger LOG = Logger.getLogger(ConnectionPool.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    public static final int MAX_TOTAL_CONNECTIONS = 12;
+    public static final int MAX_CONNECTIONS_PER_ROUTE = 4;
+
+    /** How long a caller waits for a free pooled connection before giving up. */
+    public static final long CONNECTION_WAIT_MILLIS = 10 * 1000;
+
+    /** Used when the server doesn't say how long it will keep a connection open. */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 20 * 1000;
+
+    /** Connections unused for longer than this are closed by the reaper. */
+    public static final long IDLE_TIMEOUT_MILLIS = 30 * 1000;
+    public static final long REAP_INTERVAL_MILLIS = 15 * 1000;
+
+    private static final String KEEP_ALIVE_TIMEOUT = "timeout";
+
+    private static ConnectionPool sInstance;
+
+    private final ThreadSafeClientConnManager mConnectionManager;
+    private final Thread mReaper;
+    private volatile boolean mShutdown;
+
+    private final ConnectionKeepAliveStrategy mKeepAliveStrategy =
+        new ConnectionKeepAliveStrategy() {
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                // Honor "Keep-Alive: timeout=n" if the server sends one, but never keep a
+                // connection around longer than the reaper would.
+                HeaderElementIterator it = new BasicHeaderElementIterator(
+                        response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+                while (it.hasNext()) {
+                    HeaderElement element = it.nextElement();
+                    if (KEEP_ALIVE_TIMEOUT.equalsIgnoreCase(element.getName())
+                            && element.getValue() != null) {
+                        try {
+                            return Math.min(Long.parseLong(element.getValue()) * 1000,
+                                    IDLE_TIMEOUT_MILLIS);
+                        } catch (NumberFormatException e) {
+                            break;
+                        }
+                    }
+                }
+                return DEFAULT_KEEP_ALIVE_MILLIS;
+            }
+        };
+
+    public static synchronized ConnectionPool getInstance() {
+        if (sInstance == null || sInstance.mShutdown) {
+            sInstance = new ConnectionPool();
+        }
+        return sInstance;
+    }
+
+    private ConnectionPool() {
+        SchemeRegistry supportedSchemes = new SchemeRegistry();
+        supportedSchemes.register(new Scheme("http", PlainSocketFactory.getSocketFactory(), 80));
+        supportedSchemes.register(new Scheme("https", SSLSocketFactory.getSocketFactory(), 443));
+
+        HttpParams params = new BasicHttpParams();
+        ConnManagerParams.setMaxTotalConnections(params, MAX_TOTAL_CONNECTIONS);
+        ConnManagerParams.setMaxConnectionsPerRoute(params,
+                new ConnPerRouteBean(MAX_CONNECTIONS_PER_ROUTE));
+        ConnManagerParams.setTimeout(params, CONNECTION_WAIT_MILLIS);
+
+        mConnectionManager = new ThreadSafeClientConnManager(params, supportedSchemes);
+
+        mReaper = new Thread(new Runnable() {
+            public void run() {
+                reap();
+            }
+        }, "ConnectionPool reaper");
+        mReaper.setDaemon(true);
+        mReaper.start();
+    }
+
+    /**
+     * Creates a client backed by the shared pool.
+     *
+     * @param timeoutMillis connect and socket timeout
+     * @param followRedirects false for api clients, so we see the real status codes
+     */
+    public DefaultHttpClient createHttpClient(int timeoutMillis, boolean followRedirects) {
+        HttpParams params = new BasicHttpParams();
+
+        // Turn off stale checking. Our connections break all the time anyway,
+        // and it's not worth it to pay the penalty of checking every time. The
+        // reaper closes connections before servers are likely to have dropped them.
+        HttpConnectionParams.setStaleCheckingEnabled(params, false);
+
+        HttpConnectionParams.setConnectionTimeout(params, timeoutMillis);
+        HttpConnectionParams.setSoTimeout(params, timeoutMillis);
+        HttpConnectionParams.setSocketBufferSize(params, 8192);
+        HttpConnectionParams.setTcpNoDelay(params, true);
+        ConnManagerParams.setTimeout(params, CONNECTION_WAIT_MILLIS);
+        HttpClientParams.setRedirecting(params, followRedirects);
+
+        DefaultHttpClient client = new DefaultHttpClient(mConnectionManager, params);
+        client.setKeepAliveStrategy(mKeepAliveStrategy);
+        return client;
+    }
+
+    public int getConnectionsInPool() {
+        return mConnectionManager.getConnectionsInPool();
+    }
+
+    /**
+     * Stops the reaper and closes every pooled connection. The next call to getInstance() starts
+     * a fresh pool; clients created from this one can no longer be used.
+     */
+    public void shutdown() {
+        mShutdown = true;
+        mReaper.interrupt();
+        mConnectionManager.shutdown();
+    }
+
+    private void reap() {
+        while (!mShutdown) {
+            try {
+                Thread.sleep(REAP_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            mConnectionManager.closeExpiredConnections();
+            mConnectionManager.closeIdleConnections(IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (DEBUG) LOG.log(Level.FINE, "Reaped connections, pooled: "
+                    + mConnectionManager.getConnectionsInPool());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "pooled: " + mConnectionManager.getConnectionsInPool() + ", max: "
+                + MAX_TOTAL_CONNECTIONS + " (" + MAX_CONNECTIONS_PER_ROUTE + " per route)";
+    }
+}
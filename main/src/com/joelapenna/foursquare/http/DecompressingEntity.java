@@ -0,0 +1,152 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Wraps a response entity so callers always read plain content, whether or not the server
+ * chose to gzip it, and counts the bytes read on either side of the decompression. Time spent
+ * blocked reading from the wire is added to the request's timer.
+ *
+ * @date October 18, 2010
+ */
+class DecompressingEntity extends HttpEntityWrapper {
+
+    private final TransferStats.Endpoint mEndpoint;
+    private final RequestMetrics.Timer mTimer;
+    private final boolean mGzipped;
+    private InputStream mContent;
+
+    public DecompressingEntity(HttpEntity entity, TransferStats.Endpoint endpoint,
+            RequestMetrics.Timer timer) {
+        super(entity);
+        mEndpoint = endpoint;
+        mTimer = timer;
+        mGzipped = isGzipped(entity);
+
+        mEndpoint.mResponses.incrementAndGet();
+        if (mGzipped) {
+            mEndpoint.mCompressedResponses.incrementAndGet();
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (mContent == null) {
+            InputStream in = wrappedEntity.getContent();
+            if (in == null) {
+                return null;
+            }
+            if (mGzipped) {
+                in = new CountingInputStream(in, mTimer, mEndpoint.mWireBytes);
+                mContent = new CountingInputStream(new GZIPInputStream(in), null,
+                        mEndpoint.mContentBytes);
+            } else {
+                mContent = new CountingInputStream(in, mTimer, mEndpoint.mWireBytes,
+                        mEndpoint.mContentBytes);
+            }
+        }
+        return mContent;
+    }
+
+    @Override
+    public Header getContentEncoding() {
+        // Once unwrapped the content is no longer encoded.
+        return mGzipped ? null : super.getContentEncoding();
+    }
+
+    @Override
+    public long getContentLength() {
+        return mGzipped ? -1 : super.getContentLength();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        InputStream in = getContent();
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean isGzipped(HttpEntity entity) {
+        Header header = entity.getContentEncoding();
+        if (header == null) {
+            return false;
+        }
+        String contentEncoding = header.getValue();
+        return contentEncoding != null && contentEncoding.contains("gzip");
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final RequestMetrics.Timer mTimer;
+        private final AtomicLong[] mCounters;
+
+        /**
+         * @param timer told how long each read blocked, or null
+         */
+        CountingInputStream(InputStream in, RequestMetrics.Timer timer, AtomicLong... counters) {
+            super(in);
+            mTimer = timer;
+            mCounters = counters;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = (mTimer != null) ? System.nanoTime() : 0;
+            int b = super.read();
+            if (mTimer != null) {
+                mTimer.read(System.nanoTime() - start, (b != -1) ? 1 : 0);
+            }
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            long start = (mTimer != null) ? System.nanoTime() : 0;
+            int read = super.read(buffer, offset, length);
+            if (mTimer != null) {
+                mTimer.read(System.nanoTime() - start, (read > 0) ? read : 0);
+            }
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                count(skipped);
+            }
+            return skipped;
+        }
+
+        private void count(long bytes) {
+            for (int i = 0; i < mCounters.length; i++) {
+                mCounters[i].addAndGet(bytes);
+            }
+        }
+    }
+}
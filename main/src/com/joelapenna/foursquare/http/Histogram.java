@@ -0,0 +1,100 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram with power-of-two buckets: bucket 0 holds zero, bucket n holds values in
+ * [2^(n-1), 2^n). That's coarse, but recording is a couple of atomic adds with no allocation,
+ * which lets it stay on in release builds.
+ *
+ * @date October 18, 2010
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 32;
+
+    private final String mUnit;
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mTotal = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    public Histogram(String unit) {
+        mUnit = unit;
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+        mBuckets.incrementAndGet(bucket);
+        mCount.incrementAndGet();
+        mTotal.addAndGet(value);
+        long max = mMax.get();
+        while (value > max && !mMax.compareAndSet(max, value)) {
+            max = mMax.get();
+        }
+    }
+
+    public long getCount() {
+        return mCount.get();
+    }
+
+    public long getTotal() {
+        return mTotal.get();
+    }
+
+    public long getMax() {
+        return mMax.get();
+    }
+
+    public long getMean() {
+        long count = mCount.get();
+        return (count == 0) ? 0 : mTotal.get() / count;
+    }
+
+    /**
+     * An upper bound for the given percentile (0 to 100): the top of the bucket it falls in,
+     * capped at the largest value seen.
+     */
+    public long getPercentile(double percentile) {
+        long count = mCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long)Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += mBuckets.get(i);
+            if (seen >= rank) {
+                return (i == 0) ? 0 : Math.min((1L << i) - 1, mMax.get());
+            }
+        }
+        return mMax.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            mBuckets.set(i, 0);
+        }
+        mCount.set(0);
+        mTotal.set(0);
+        mMax.set(0);
+    }
+
+    @Override
+    public String toString() {
+        if (mCount.get() == 0) {
+            return "-";
+        }
+        return "n=" + mCount.get() + " mean=" + getMean() + mUnit + " p50=" + getPercentile(50)
+                + mUnit + " p90=" + getPercentile(90) + mUnit + " p99=" + getPercentile(99)
+                + mUnit + " max=" + mMax.get() + mUnit;
+    }
+}
@@ -16,8 +16,6 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 /**
  * @author Joe LaPenna (joe@joelapenna.com)
@@ -36,6 +34,10 @@ public interface HttpApi {
 
     abstract public HttpPost createHttpPost(String url, NameValuePair... nameValuePairs);
     
-    abstract public HttpURLConnection createHttpURLConnectionPost(URL url, String boundary)
-            throws IOException; 
+    abstract public FoursquareType doHttpUpload(HttpPost httpPost,
+            Parser<? extends FoursquareType> parser, boolean idempotent)
+            throws FoursquareCredentialsException, FoursquareParseException, FoursquareException,
+            IOException;
+
+    abstract public HttpPost createHttpMultipartPost(String url, MultipartEntity entity);
 }
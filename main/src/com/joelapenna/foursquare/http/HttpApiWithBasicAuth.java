@@ -10,56 +10,30 @@ import com.joelapenna.foursquare.error.FoursquareParseException;
 import com.joelapenna.foursquare.parsers.json.Parser;
 import com.joelapenna.foursquare.types.FoursquareType;
 
-import org.apache.http.HttpException;
-import org.apache.http.HttpHost;
-import org.apache.http.HttpRequest;
-import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.auth.AUTH;
 import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.AuthState;
-import org.apache.http.client.CredentialsProvider;
+import org.apache.http.auth.Credentials;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.client.protocol.ClientContext;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.protocol.ExecutionContext;
-import org.apache.http.protocol.HttpContext;
 
 import java.io.IOException;
+import java.net.URI;
 
 /**
+ * Sends the credentials set on the HttpClient's CredentialsProvider with every request, rather
+ * than waiting to be challenged. The header is added when the request is signed, so it goes
+ * out whichever transport the request is sent through.
+ *
  * @author Joe LaPenna (joe@joelapenna.com)
  */
 public class HttpApiWithBasicAuth extends AbstractHttpApi {
 
-    private HttpRequestInterceptor preemptiveAuth = new HttpRequestInterceptor() {
-
-        @Override
-        public void process(final HttpRequest request, final HttpContext context)
-                throws HttpException, IOException {
-
-            AuthState authState = (AuthState)context.getAttribute(ClientContext.TARGET_AUTH_STATE);
-            CredentialsProvider credsProvider = (CredentialsProvider)context
-                    .getAttribute(ClientContext.CREDS_PROVIDER);
-            HttpHost targetHost = (HttpHost)context.getAttribute(ExecutionContext.HTTP_TARGET_HOST);
-
-            // If not auth scheme has been initialized yet
-            if (authState.getAuthScheme() == null) {
-                AuthScope authScope = new AuthScope(targetHost.getHostName(), targetHost.getPort());
-                // Obtain credentials matching the target host
-                org.apache.http.auth.Credentials creds = credsProvider.getCredentials(authScope);
-                // If found, generate BasicScheme preemptively
-                if (creds != null) {
-                    authState.setAuthScheme(new BasicScheme());
-                    authState.setCredentials(creds);
-                }
-            }
-        }
-
-    };
+    private final DefaultHttpClient mHttpClient;
 
     public HttpApiWithBasicAuth(DefaultHttpClient httpClient, String clientVersion) {
         super(httpClient, clientVersion);
-        httpClient.addRequestInterceptor(preemptiveAuth, 0);
+        mHttpClient = httpClient;
     }
 
     public FoursquareType doHttpRequest(HttpRequestBase httpRequest,
@@ -67,4 +41,20 @@ public class HttpApiWithBasicAuth extends AbstractHttpApi {
             FoursquareParseException, FoursquareException, IOException {
         return executeHttpRequest(httpRequest, parser);
     }
+
+    @Override
+    protected void signRequest(HttpRequestBase httpRequest) throws IOException {
+        URI uri = httpRequest.getURI();
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        Credentials credentials = mHttpClient.getCredentialsProvider().getCredentials(
+                new AuthScope(uri.getHost(), port));
+        // A retry is a copy of a request which has been signed already.
+        httpRequest.removeHeaders(AUTH.WWW_AUTH_RESP);
+        if (credentials != null) {
+            httpRequest.addHeader(BasicScheme.authenticate(credentials, "US-ASCII", false));
+        }
+    }
 }
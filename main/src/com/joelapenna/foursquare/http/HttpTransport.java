@@ -0,0 +1,28 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.io.IOException;
+
+/**
+ * Where AbstractHttpApi's requests actually go once they've been signed. By default that's the
+ * pooled HttpClient (ApacheHttpTransport); swapping in another transport keeps retries, the
+ * circuit breaker, caching, metrics and parsing exactly as they are, and only changes what
+ * answers the request. A transport sees requests and responses as TransportRequest and
+ * TransportResponse, not as any http stack's own types, so it can be built on whichever one
+ * suits the platform: see capture.CaptureTransport, or the JDK HttpClient one in transport-jdk/
+ * for desktop and server JVMs.
+ *
+ * @date October 18, 2010
+ */
+public interface HttpTransport {
+
+    /**
+     * Sends the request and returns the response with its body unread. Must be safe to call
+     * from several threads at once. Gives up on the request, and frees whatever it held, before
+     * throwing.
+     */
+    public TransportResponse execute(TransportRequest request) throws IOException;
+}
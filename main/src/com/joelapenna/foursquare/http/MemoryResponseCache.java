@@ -0,0 +1,61 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ResponseCache which holds the most recently used entries in memory, bounded by the total
+ * size of the stored bodies.
+ *
+ * @date October 18, 2010
+ */
+public class MemoryResponseCache implements ResponseCache {
+
+    private final int mMaxBytes;
+    private int mBytes;
+
+    private final LinkedHashMap<String, Entry> mEntries =
+        new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+    public MemoryResponseCache(int maxBytes) {
+        mMaxBytes = maxBytes;
+    }
+
+    public synchronized Entry get(String key) {
+        return mEntries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        Entry previous = mEntries.put(key, entry);
+        if (previous != null) {
+            mBytes -= previous.getBody().length;
+        }
+        mBytes += entry.getBody().length;
+        trim();
+    }
+
+    public synchronized void remove(String key) {
+        Entry previous = mEntries.remove(key);
+        if (previous != null) {
+            mBytes -= previous.getBody().length;
+        }
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mBytes = 0;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> it = mEntries.entrySet().iterator();
+        while (mBytes > mMaxBytes && it.hasNext()) {
+            mBytes -= it.next().getValue().getBody().length;
+            it.remove();
+        }
+    }
+}
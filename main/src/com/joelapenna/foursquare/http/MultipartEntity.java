@@ -0,0 +1,212 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.protocol.HTTP;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * A multipart/form-data request body which streams its file parts straight from disk. Nothing
+ * is buffered beyond one reusable copy buffer: by default the exact length is computed up front
+ * and sent as Content-Length, or setChunked(true) sends it chunked when that isn't wanted.
+ * <p>
+ * The entity is repeatable, so AbstractHttpApi can send it again when the connection drops
+ * part way through an upload. A ProgressListener hears about every buffer written, and starts
+ * over from zero if the body has to be re-sent.
+ *
+ * @date October 18, 2010
+ */
+public class MultipartEntity extends AbstractHttpEntity {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String LINE_END = "\r\n";
+    private static final String TWO_HYPHENS = "--";
+
+    public interface ProgressListener {
+        /**
+         * @param bytesSent bytes of the body written so far in this attempt
+         * @param totalBytes the body's length, or -1 if it's being sent chunked
+         */
+        public void onProgress(long bytesSent, long totalBytes);
+    }
+
+    private final String mBoundary;
+    private final List<Part> mParts = new ArrayList<Part>();
+    private final byte[] mClosing;
+    private ProgressListener mProgressListener;
+    private byte[] mBuffer;
+
+    public MultipartEntity() {
+        mBoundary = createBoundary();
+        mClosing = toBytes(TWO_HYPHENS + mBoundary + TWO_HYPHENS + LINE_END);
+        setContentType("multipart/form-data; boundary=" + mBoundary);
+    }
+
+    public MultipartEntity addPart(String name, String value) {
+        mParts.add(new Part(createPartHeader(name, null, "text/plain; charset=" + HTTP.UTF_8),
+                toBytes(value), null));
+        return this;
+    }
+
+    public MultipartEntity addFilePart(String name, String filename, String contentType,
+            File file) {
+        mParts.add(new Part(createPartHeader(name, filename, contentType), null, file));
+        return this;
+    }
+
+    public void setProgressListener(ProgressListener listener) {
+        mProgressListener = listener;
+    }
+
+    public String getBoundary() {
+        return mBoundary;
+    }
+
+    public long getContentLength() {
+        if (isChunked()) {
+            return -1;
+        }
+        long length = mClosing.length;
+        for (int i = 0; i < mParts.size(); i++) {
+            length += mParts.get(i).getLength();
+        }
+        return length;
+    }
+
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * The body as a stream, reading the files straight from disk like writeTo() does. Each call
+     * returns a new stream over the whole body. Progress is only reported by writeTo().
+     */
+    public InputStream getContent() throws IOException {
+        Vector<InputStream> streams = new Vector<InputStream>();
+        try {
+            for (int i = 0; i < mParts.size(); i++) {
+                Part part = mParts.get(i);
+                streams.add(new ByteArrayInputStream(part.mHeader));
+                if (part.mFile != null) {
+                    streams.add(new FileInputStream(part.mFile));
+                } else {
+                    streams.add(new ByteArrayInputStream(part.mBody));
+                }
+                streams.add(new ByteArrayInputStream(part.mTrailer));
+            }
+        } catch (IOException e) {
+            for (int i = 0; i < streams.size(); i++) {
+                streams.get(i).close();
+            }
+            throw e;
+        }
+        streams.add(new ByteArrayInputStream(mClosing));
+        return new SequenceInputStream(streams.elements());
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (mBuffer == null) {
+            mBuffer = new byte[BUFFER_SIZE];
+        }
+        long total = getContentLength();
+        long sent = 0;
+        notifyProgress(sent, total);
+        for (int i = 0; i < mParts.size(); i++) {
+            Part part = mParts.get(i);
+            out.write(part.mHeader);
+            sent += part.mHeader.length;
+            if (part.mFile != null) {
+                InputStream in = new FileInputStream(part.mFile);
+                try {
+                    int read;
+                    while ((read = in.read(mBuffer)) != -1) {
+                        out.write(mBuffer, 0, read);
+                        sent += read;
+                        notifyProgress(sent, total);
+                    }
+                } finally {
+                    in.close();
+                }
+            } else {
+                out.write(part.mBody);
+                sent += part.mBody.length;
+            }
+            out.write(part.mTrailer);
+            sent += part.mTrailer.length;
+        }
+        out.write(mClosing);
+        sent += mClosing.length;
+        out.flush();
+        notifyProgress(sent, total);
+    }
+
+    private void notifyProgress(long sent, long total) {
+        if (mProgressListener != null) {
+            mProgressListener.onProgress(sent, total);
+        }
+    }
+
+    private byte[] createPartHeader(String name, String filename, String contentType) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(TWO_HYPHENS).append(mBoundary).append(LINE_END);
+        sb.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            sb.append("; filename=\"").append(filename).append('"');
+        }
+        sb.append(LINE_END);
+        sb.append("Content-Type: ").append(contentType).append(LINE_END);
+        sb.append(LINE_END);
+        return toBytes(sb.toString());
+    }
+
+    private static String createBoundary() {
+        return "------------------" + Long.toString(Math.abs(new Random().nextLong()), 36);
+    }
+
+    private static byte[] toBytes(String s) {
+        try {
+            return s.getBytes(HTTP.UTF_8);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e.toString());
+        }
+    }
+
+    private static class Part {
+        private static final byte[] TRAILER = toBytes(LINE_END);
+
+        final byte[] mHeader;
+        final byte[] mBody;
+        final File mFile;
+        final byte[] mTrailer = TRAILER;
+
+        Part(byte[] header, byte[] body, File file) {
+            mHeader = header;
+            mBody = body;
+            mFile = file;
+        }
+
+        long getLength() {
+            long body = (mFile != null) ? mFile.length() : mBody.length;
+            return mHeader.length + body + mTrailer.length;
+        }
+    }
+}
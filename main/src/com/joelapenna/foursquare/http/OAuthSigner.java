@@ -0,0 +1,401 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import com.joelapenna.foursquare.util.Base64Coder;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs requests with OAuth 1.0a HMAC-SHA1, putting the result in an Authorization header.
+ * Query parameters and form-encoded POST bodies are both covered by the signature.
+ * <p>
+ * The key is built once per token rather than once per request, and each thread keeps its own
+ * Mac initialized with it along with the buffers used to normalize parameters, so signing takes
+ * no locks and allocates little beyond the encoded parameter strings and the header itself.
+ *
+ * @date October 18, 2010
+ */
+public class OAuthSigner {
+
+    private static final String HMAC_SHA1 = "HmacSHA1";
+    private static final String SIGNATURE_METHOD = "HMAC-SHA1";
+    private static final String VERSION = "1.0";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String mConsumerKey;
+    private final String mConsumerSecret;
+    private final Random mRandom = new SecureRandom();
+
+    /** Replaced as a whole whenever the token changes, so readers never see half of one. */
+    private volatile Keys mKeys;
+
+    public OAuthSigner(String consumerKey, String consumerSecret) {
+        mConsumerKey = consumerKey;
+        mConsumerSecret = consumerSecret;
+        mKeys = new Keys(consumerSecret, null, null);
+    }
+
+    public String getConsumerKey() {
+        return mConsumerKey;
+    }
+
+    public String getConsumerSecret() {
+        return mConsumerSecret;
+    }
+
+    public String getToken() {
+        return mKeys.mToken;
+    }
+
+    public String getTokenSecret() {
+        return mKeys.mTokenSecret;
+    }
+
+    /**
+     * Sets the access token, or clears it with nulls.
+     */
+    public void setTokenWithSecret(String token, String tokenSecret) {
+        mKeys = new Keys(mConsumerSecret, token, tokenSecret);
+    }
+
+    /**
+     * Adds an Authorization header to the request, replacing any from an earlier attempt.
+     */
+    public void sign(HttpRequestBase request) throws IOException {
+        Keys keys = mKeys;
+        State state = keys.mState.get();
+        Params params = state.mParams;
+        params.clear();
+
+        String timestamp = Long.toString(System.currentTimeMillis() / 1000);
+        String nonce;
+        synchronized (mRandom) {
+            nonce = Long.toHexString(mRandom.nextLong());
+        }
+
+        params.add("oauth_consumer_key", encode(state.mBuilder, mConsumerKey));
+        params.add("oauth_nonce", nonce);
+        params.add("oauth_signature_method", SIGNATURE_METHOD);
+        params.add("oauth_timestamp", timestamp);
+        if (keys.mToken != null) {
+            params.add("oauth_token", encode(state.mBuilder, keys.mToken));
+        }
+        params.add("oauth_version", VERSION);
+
+        URI uri = request.getURI();
+        addFormEncoded(state, uri.getRawQuery());
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (isFormEncoded(entity)) {
+                addFormEncoded(state, EntityUtils.toString(entity, HTTP.UTF_8));
+            }
+        }
+        params.sort();
+
+        // The signature base string: method&url&params, each part percent-encoded again.
+        StringBuilder base = state.mBuilder;
+        base.setLength(0);
+        base.append(request.getMethod().toUpperCase()).append('&');
+        appendEncoded(base, normalizeUrl(uri));
+        base.append('&');
+        for (int i = 0; i < params.mCount; i++) {
+            if (i > 0) {
+                base.append("%26");
+            }
+            appendEncoded(base, params.mKeys[i]);
+            base.append("%3D");
+            appendEncoded(base, params.mValues[i]);
+        }
+
+        byte[] bytes = state.getBytes(base);
+        Mac mac = state.mMac;
+        mac.update(bytes, 0, base.length());
+        String signature = new String(Base64Coder.encode(mac.doFinal()));
+
+        StringBuilder header = new StringBuilder(256);
+        header.append("OAuth realm=\"\"");
+        appendHeaderParam(header, "oauth_consumer_key", encode(state.mBuilder, mConsumerKey));
+        appendHeaderParam(header, "oauth_nonce", nonce);
+        appendHeaderParam(header, "oauth_signature", encode(state.mBuilder, signature));
+        appendHeaderParam(header, "oauth_signature_method", SIGNATURE_METHOD);
+        appendHeaderParam(header, "oauth_timestamp", timestamp);
+        if (keys.mToken != null) {
+            appendHeaderParam(header, "oauth_token", encode(state.mBuilder, keys.mToken));
+        }
+        appendHeaderParam(header, "oauth_version", VERSION);
+
+        request.removeHeaders(AUTHORIZATION_HEADER);
+        request.addHeader(AUTHORIZATION_HEADER, header.toString());
+    }
+
+    private static boolean isFormEncoded(HttpEntity entity) {
+        if (entity == null || !entity.isRepeatable()) {
+            return false;
+        }
+        Header contentType = entity.getContentType();
+        return contentType != null && contentType.getValue().startsWith(FORM_CONTENT_TYPE);
+    }
+
+    /**
+     * Splits a form-encoded string (a query string or POST body) into parameters, converting
+     * each name and value straight from form encoding to OAuth's percent encoding.
+     */
+    private static void addFormEncoded(State state, String encoded) {
+        if (encoded == null || encoded.length() == 0) {
+            return;
+        }
+        int length = encoded.length();
+        int start = 0;
+        while (start < length) {
+            int end = encoded.indexOf('&', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                int equals = encoded.indexOf('=', start);
+                if (equals == -1 || equals > end) {
+                    equals = end;
+                }
+                String key = reencode(state.mBuilder, encoded, start, equals);
+                String value = (equals < end)
+                        ? reencode(state.mBuilder, encoded, equals + 1, end)
+                        : "";
+                state.mParams.add(key, value);
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Converts a form-encoded range (spaces as '+', '*' left bare, lowercase escapes allowed)
+     * into RFC 3986 percent encoding without decoding to an intermediate string.
+     */
+    private static String reencode(StringBuilder sb, String s, int start, int end) {
+        sb.setLength(0);
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '+') {
+                sb.append("%20");
+            } else if (c == '%' && i + 2 < end) {
+                int b = (Character.digit(s.charAt(i + 1), 16) << 4)
+                        | Character.digit(s.charAt(i + 2), 16);
+                if (b >= 0 && isUnreserved((char) b)) {
+                    sb.append((char) b);
+                } else {
+                    sb.append('%').append(Character.toUpperCase(s.charAt(i + 1)))
+                            .append(Character.toUpperCase(s.charAt(i + 2)));
+                }
+                i += 2;
+            } else if (isUnreserved(c)) {
+                sb.append(c);
+            } else {
+                appendUtf8Escaped(sb, c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String encode(StringBuilder sb, String s) {
+        sb.setLength(0);
+        appendEncoded(sb, s);
+        return sb.toString();
+    }
+
+    /**
+     * Percent-encodes per RFC 3986, as OAuth requires: everything but ALPHA, DIGIT, '-', '.',
+     * '_' and '~' is escaped as UTF-8.
+     */
+    private static void appendEncoded(StringBuilder sb, CharSequence s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (isUnreserved(c)) {
+                sb.append(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                appendEscaped(sb, 0xf0 | (codePoint >> 18));
+                appendEscaped(sb, 0x80 | ((codePoint >> 12) & 0x3f));
+                appendEscaped(sb, 0x80 | ((codePoint >> 6) & 0x3f));
+                appendEscaped(sb, 0x80 | (codePoint & 0x3f));
+            } else {
+                appendUtf8Escaped(sb, c);
+            }
+        }
+    }
+
+    private static void appendUtf8Escaped(StringBuilder sb, char c) {
+        if (c < 0x80) {
+            appendEscaped(sb, c);
+        } else if (c < 0x800) {
+            appendEscaped(sb, 0xc0 | (c >> 6));
+            appendEscaped(sb, 0x80 | (c & 0x3f));
+        } else {
+            appendEscaped(sb, 0xe0 | (c >> 12));
+            appendEscaped(sb, 0x80 | ((c >> 6) & 0x3f));
+            appendEscaped(sb, 0x80 | (c & 0x3f));
+        }
+    }
+
+    private static void appendEscaped(StringBuilder sb, int b) {
+        sb.append('%').append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static String normalizeUrl(URI uri) {
+        String scheme = uri.getScheme().toLowerCase();
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80)
+                || ("https".equals(scheme) && port == 443);
+        String path = uri.getRawPath();
+        return scheme + "://" + uri.getHost().toLowerCase()
+                + (defaultPort ? "" : ":" + port)
+                + ((path == null || path.length() == 0) ? "/" : path);
+    }
+
+    private static void appendHeaderParam(StringBuilder header, String key, String value) {
+        header.append(", ").append(key).append("=\"").append(value).append('"');
+    }
+
+    /**
+     * The signing key for one consumer secret and token pair, and every thread's Mac for it.
+     */
+    private static class Keys {
+        final String mToken;
+        final String mTokenSecret;
+        final SecretKeySpec mKeySpec;
+        final ThreadLocal<State> mState = new ThreadLocal<State>() {
+            @Override
+            protected State initialValue() {
+                return new State(mKeySpec);
+            }
+        };
+
+        Keys(String consumerSecret, String token, String tokenSecret) {
+            mToken = token;
+            mTokenSecret = tokenSecret;
+            StringBuilder key = new StringBuilder();
+            appendEncoded(key, consumerSecret);
+            key.append('&');
+            if (tokenSecret != null) {
+                appendEncoded(key, tokenSecret);
+            }
+            try {
+                mKeySpec = new SecretKeySpec(key.toString().getBytes(HTTP.UTF_8), HMAC_SHA1);
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e.toString());
+            }
+        }
+    }
+
+    /**
+     * One thread's Mac and scratch space.
+     */
+    private static class State {
+        final Mac mMac;
+        final Params mParams = new Params();
+        final StringBuilder mBuilder = new StringBuilder(512);
+        byte[] mBytes = new byte[512];
+
+        State(SecretKeySpec keySpec) {
+            try {
+                mMac = Mac.getInstance(HMAC_SHA1);
+                mMac.init(keySpec);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to set up " + HMAC_SHA1 + ": " + e);
+            }
+        }
+
+        /**
+         * The base string is pure ASCII once encoded, so it's copied into a reused byte array
+         * rather than going through a charset encoder.
+         */
+        byte[] getBytes(CharSequence s) {
+            int length = s.length();
+            if (mBytes.length < length) {
+                mBytes = new byte[Math.max(length, mBytes.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                mBytes[i] = (byte) s.charAt(i);
+            }
+            return mBytes;
+        }
+    }
+
+    /**
+     * Encoded parameter names and values, sorted by name and then value as the spec requires.
+     */
+    private static class Params {
+        String[] mKeys = new String[16];
+        String[] mValues = new String[16];
+        int mCount;
+
+        void clear() {
+            for (int i = 0; i < mCount; i++) {
+                mKeys[i] = null;
+                mValues[i] = null;
+            }
+            mCount = 0;
+        }
+
+        void add(String key, String value) {
+            if (mCount == mKeys.length) {
+                String[] keys = new String[mCount * 2];
+                String[] values = new String[mCount * 2];
+                System.arraycopy(mKeys, 0, keys, 0, mCount);
+                System.arraycopy(mValues, 0, values, 0, mCount);
+                mKeys = keys;
+                mValues = values;
+            }
+            mKeys[mCount] = key;
+            mValues[mCount] = value;
+            mCount++;
+        }
+
+        /**
+         * Insertion sort; requests carry a dozen or so parameters.
+         */
+        void sort() {
+            for (int i = 1; i < mCount; i++) {
+                String key = mKeys[i];
+                String value = mValues[i];
+                int j = i - 1;
+                while (j >= 0 && compare(mKeys[j], mValues[j], key, value) > 0) {
+                    mKeys[j + 1] = mKeys[j];
+                    mValues[j + 1] = mValues[j];
+                    j--;
+                }
+                mKeys[j + 1] = key;
+                mValues[j + 1] = value;
+            }
+        }
+
+        private static int compare(String key1, String value1, String key2, String value2) {
+            int result = key1.compareTo(key2);
+            return (result != 0) ? result : value1.compareTo(value2);
+        }
+    }
+}
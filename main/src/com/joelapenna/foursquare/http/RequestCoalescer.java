@@ -0,0 +1,108 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import com.joelapenna.foursquare.error.FoursquareException;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.types.Group;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets concurrent callers asking for the same thing share one request. The first caller for a
+ * key runs the request on its own thread, anyone who asks for the same key before it finishes
+ * blocks and gets the same result (or the same exception).
+ * <p>
+ * Callers sort and filter the lists they get back in place, so every caller gets a Group of
+ * their own, the one who sent the request included: a waiter may still be copying the list
+ * after the sender has returned. It's a shallow copy, the items in it are still shared.
+ *
+ * @date October 18, 2010
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, FutureTask<FoursquareType>> mInFlight =
+        new ConcurrentHashMap<String, FutureTask<FoursquareType>>();
+
+    private final AtomicLong mExecuted = new AtomicLong();
+    private final AtomicLong mMerged = new AtomicLong();
+
+    public FoursquareType execute(String key, Callable<FoursquareType> request)
+            throws FoursquareException, IOException {
+        FutureTask<FoursquareType> task = new FutureTask<FoursquareType>(request);
+        FutureTask<FoursquareType> inFlight = mInFlight.putIfAbsent(key, task);
+        if (inFlight == null) {
+            mExecuted.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                mInFlight.remove(key, task);
+            }
+            return copyResult(getResult(task));
+        } else {
+            mMerged.incrementAndGet();
+            return copyResult(getResult(inFlight));
+        }
+    }
+
+    /**
+     * The number of requests which actually went out.
+     */
+    public long getExecutedCount() {
+        return mExecuted.get();
+    }
+
+    /**
+     * The number of callers who piggybacked on a request already in flight, each one a round
+     * trip saved.
+     */
+    public long getMergedCount() {
+        return mMerged.get();
+    }
+
+    public void resetCounts() {
+        mExecuted.set(0);
+        mMerged.set(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FoursquareType copyResult(FoursquareType result) {
+        if (!(result instanceof Group)) {
+            return result;
+        }
+        Group<FoursquareType> group = (Group<FoursquareType>)result;
+        Group<FoursquareType> copy = new Group<FoursquareType>(group);
+        copy.setType(group.getType());
+        return copy;
+    }
+
+    private static FoursquareType getResult(FutureTask<FoursquareType> task)
+            throws FoursquareException, IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a shared request.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FoursquareException) {
+                throw (FoursquareException)cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency, size and outcome figures for api requests, keyed by endpoint path (like /v1/venues).
+ * Each request's time is split into phases:
+ * <ul>
+ * <li>connect: leasing a pooled connection, opening it if needed,</li>
+ * <li>first byte: sending the request until the response headers are in,</li>
+ * <li>download: time spent blocked reading the body,</li>
+ * <li>parse: the rest of the time until the parser returned.</li>
+ * </ul>
+ * Parsing streams off the socket, so download and parse interleave; download only counts the
+ * time actually spent waiting on reads. Nothing is allocated while recording once an endpoint
+ * has been seen, so this is always on.
+ * <p>
+ * Only the HttpClient says when its connection is ready, so connect is only split out for
+ * requests sent through ApacheHttpTransport. With any other transport it's recorded as zero
+ * and the time is counted in first byte.
+ *
+ * @date October 18, 2010
+ */
+public class RequestMetrics {
+
+    private static final int[] TRACKED_STATUS_CODES = {
+            200, 304, 400, 401, 403, 404, 500, 502, 503
+    };
+
+    private final ConcurrentHashMap<String, Endpoint> mEndpoints =
+        new ConcurrentHashMap<String, Endpoint>();
+
+    private final ThreadLocal<Timer> mTimers = new ThreadLocal<Timer>() {
+        @Override
+        protected Timer initialValue() {
+            return new Timer();
+        }
+    };
+
+    public Endpoint getEndpoint(String path) {
+        Endpoint endpoint = mEndpoints.get(path);
+        if (endpoint == null) {
+            endpoint = new Endpoint();
+            Endpoint existing = mEndpoints.putIfAbsent(path, endpoint);
+            if (existing != null) {
+                endpoint = existing;
+            }
+        }
+        return endpoint;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return Collections.unmodifiableMap(mEndpoints);
+    }
+
+    public void reset() {
+        mEndpoints.clear();
+    }
+
+    /**
+     * The calling thread's timer. A thread runs one request at a time, so it is reused for every
+     * request the thread makes.
+     */
+    Timer getTimer() {
+        return mTimers.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Endpoint> it : mEndpoints.entrySet()) {
+            sb.append(it.getKey()).append("\n").append(it.getValue());
+        }
+        return sb.toString();
+    }
+
+    public static class Endpoint {
+        private final Histogram mConnect = new Histogram("ms");
+        private final Histogram mFirstByte = new Histogram("ms");
+        private final Histogram mDownload = new Histogram("ms");
+        private final Histogram mParse = new Histogram("ms");
+        private final Histogram mResponseSize = new Histogram("B");
+
+        private final AtomicLongArray mStatusCodes =
+            new AtomicLongArray(TRACKED_STATUS_CODES.length);
+        private final AtomicLongArray mStatusClasses = new AtomicLongArray(6);
+        private final AtomicLong mRetries = new AtomicLong();
+        private final AtomicLong mFailures = new AtomicLong();
+
+        public Histogram getConnect() {
+            return mConnect;
+        }
+
+        public Histogram getFirstByte() {
+            return mFirstByte;
+        }
+
+        public Histogram getDownload() {
+            return mDownload;
+        }
+
+        public Histogram getParse() {
+            return mParse;
+        }
+
+        /** Body bytes as read off the wire. */
+        public Histogram getResponseSize() {
+            return mResponseSize;
+        }
+
+        /**
+         * Responses with the given status. Uncommon codes are only counted by class, see
+         * getStatusClassCount().
+         */
+        public long getStatusCount(int statusCode) {
+            for (int i = 0; i < TRACKED_STATUS_CODES.length; i++) {
+                if (TRACKED_STATUS_CODES[i] == statusCode) {
+                    return mStatusCodes.get(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Responses with a status in the given hundred, e.g. 5 for 5xx.
+         */
+        public long getStatusClassCount(int statusClass) {
+            return (statusClass > 0 && statusClass < 6) ? mStatusClasses.get(statusClass) : 0;
+        }
+
+        /** Requests which got no response at all (timeouts, resets, ...). */
+        public long getFailures() {
+            return mFailures.get();
+        }
+
+        public long getRetries() {
+            return mRetries.get();
+        }
+
+        void recordStatus(int statusCode) {
+            for (int i = 0; i < TRACKED_STATUS_CODES.length; i++) {
+                if (TRACKED_STATUS_CODES[i] == statusCode) {
+                    mStatusCodes.incrementAndGet(i);
+                    break;
+                }
+            }
+            int statusClass = statusCode / 100;
+            if (statusClass > 0 && statusClass < 6) {
+                mStatusClasses.incrementAndGet(statusClass);
+            }
+        }
+
+        void recordFailure() {
+            mFailures.incrementAndGet();
+        }
+
+        void recordRetry() {
+            mRetries.incrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("  connect:    ").append(mConnect).append("\n");
+            sb.append("  first byte: ").append(mFirstByte).append("\n");
+            sb.append("  download:   ").append(mDownload).append("\n");
+            sb.append("  parse:      ").append(mParse).append("\n");
+            sb.append("  size:       ").append(mResponseSize).append("\n");
+            sb.append("  status:");
+            for (int i = 1; i < 6; i++) {
+                sb.append(" ").append(i).append("xx=").append(mStatusClasses.get(i));
+            }
+            for (int i = 0; i < TRACKED_STATUS_CODES.length; i++) {
+                if (mStatusCodes.get(i) > 0) {
+                    sb.append(" ").append(TRACKED_STATUS_CODES[i]).append("=")
+                            .append(mStatusCodes.get(i));
+                }
+            }
+            sb.append(", failures=").append(mFailures.get());
+            sb.append(", retries=").append(mRetries.get()).append("\n");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Timestamps for the request a thread is making. AbstractHttpApi starts it before executing,
+     * the client's request interceptor marks the connection as ready, DecompressingEntity adds
+     * up read time and bytes, and finish() records the body phases once the parser is done.
+     */
+    static class Timer {
+        private Endpoint mEndpoint;
+        private long mStart;
+        private long mConnected;
+        private long mHeaders;
+        private long mReadNanos;
+        private long mBytes;
+
+        void start(Endpoint endpoint) {
+            mEndpoint = endpoint;
+            mStart = System.nanoTime();
+            mConnected = 0;
+            mHeaders = 0;
+            mReadNanos = 0;
+            mBytes = 0;
+        }
+
+        void clear() {
+            mEndpoint = null;
+        }
+
+        void connected() {
+            if (mEndpoint != null && mConnected == 0) {
+                mConnected = System.nanoTime();
+            }
+        }
+
+        void headers(int statusCode) {
+            if (mEndpoint == null) {
+                return;
+            }
+            mHeaders = System.nanoTime();
+            if (mConnected == 0) {
+                mConnected = mStart;
+            }
+            mEndpoint.mConnect.record(toMillis(mConnected - mStart));
+            mEndpoint.mFirstByte.record(toMillis(mHeaders - mConnected));
+            mEndpoint.recordStatus(statusCode);
+        }
+
+        void failed() {
+            if (mEndpoint != null) {
+                mEndpoint.recordFailure();
+                mEndpoint = null;
+            }
+        }
+
+        void read(long nanos, long bytes) {
+            mReadNanos += nanos;
+            mBytes += bytes;
+        }
+
+        /**
+         * Records download and parse time, if a response was received since start().
+         */
+        void finish() {
+            if (mEndpoint == null || mHeaders == 0) {
+                mEndpoint = null;
+                return;
+            }
+            long elapsed = System.nanoTime() - mHeaders;
+            mEndpoint.mDownload.record(toMillis(mReadNanos));
+            mEndpoint.mParse.record(toMillis(elapsed - mReadNanos));
+            mEndpoint.mResponseSize.record(mBytes);
+            mEndpoint = null;
+        }
+
+        private static long toMillis(long nanos) {
+            return nanos / 1000000;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+/**
+ * Storage for GET responses which AbstractHttpApi has been told are cacheable. Bodies are kept
+ * raw (after gzip decoding) and re-parsed on each hit, so every caller gets its own copy of the
+ * resulting objects.
+ *
+ * @date October 18, 2010
+ */
+public interface ResponseCache {
+
+    public Entry get(String key);
+
+    public void put(String key, Entry entry);
+
+    public void remove(String key);
+
+    public void clear();
+
+    public static class Entry {
+        private final byte[] mBody;
+        private final String mCharset;
+        private final String mETag;
+        private final String mLastModified;
+        private volatile long mExpires;
+
+        public Entry(byte[] body, String charset, String eTag, String lastModified,
+                long expires) {
+            mBody = body;
+            mCharset = charset;
+            mETag = eTag;
+            mLastModified = lastModified;
+            mExpires = expires;
+        }
+
+        public byte[] getBody() {
+            return mBody;
+        }
+
+        public String getCharset() {
+            return mCharset;
+        }
+
+        public String getETag() {
+            return mETag;
+        }
+
+        public String getLastModified() {
+            return mLastModified;
+        }
+
+        public long getExpires() {
+            return mExpires;
+        }
+
+        public void setExpires(long expires) {
+            mExpires = expires;
+        }
+
+        public boolean isFresh(long now) {
+            return now < mExpires;
+        }
+
+        public boolean hasValidators() {
+            return mETag != null || mLastModified != null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.util.Random;
+
+/**
+ * How AbstractHttpApi retries idempotent requests (GETs) which fail with an IOException or a 5xx
+ * response, and how the per-host circuit breakers are configured. Retry delays use "full
+ * jitter": a random wait between zero and an exponentially growing ceiling, so clients which
+ * failed together don't all come back at the same moment.
+ *
+ * @date October 18, 2010
+ */
+public class RetryPolicy {
+
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final long DEFAULT_BASE_DELAY = 500;
+    public static final long DEFAULT_MAX_DELAY = 8000;
+    public static final int DEFAULT_BREAKER_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_BREAKER_OPEN_MILLIS = 30 * 1000;
+
+    private final Random mRandom = new Random();
+
+    private volatile int mMaxRetries = DEFAULT_MAX_RETRIES;
+    private volatile long mBaseDelay = DEFAULT_BASE_DELAY;
+    private volatile long mMaxDelay = DEFAULT_MAX_DELAY;
+    private volatile int mBreakerFailureThreshold = DEFAULT_BREAKER_FAILURE_THRESHOLD;
+    private volatile long mBreakerOpenMillis = DEFAULT_BREAKER_OPEN_MILLIS;
+
+    /**
+     * Returns how long to wait before the given retry (the first retry is attempt 1).
+     */
+    public long getRetryDelay(int attempt) {
+        long ceiling = mBaseDelay << Math.min(attempt - 1, 16);
+        if (ceiling <= 0 || ceiling > mMaxDelay) {
+            ceiling = mMaxDelay;
+        }
+        synchronized (mRandom) {
+            return (long)(mRandom.nextDouble() * ceiling);
+        }
+    }
+
+    public int getMaxRetries() {
+        return mMaxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        mMaxRetries = maxRetries;
+    }
+
+    public long getBaseDelay() {
+        return mBaseDelay;
+    }
+
+    public void setBaseDelay(long baseDelay) {
+        mBaseDelay = baseDelay;
+    }
+
+    public long getMaxDelay() {
+        return mMaxDelay;
+    }
+
+    public void setMaxDelay(long maxDelay) {
+        mMaxDelay = maxDelay;
+    }
+
+    public int getBreakerFailureThreshold() {
+        return mBreakerFailureThreshold;
+    }
+
+    public void setBreakerFailureThreshold(int breakerFailureThreshold) {
+        mBreakerFailureThreshold = breakerFailureThreshold;
+    }
+
+    public long getBreakerOpenMillis() {
+        return mBreakerOpenMillis;
+    }
+
+    public void setBreakerOpenMillis(long breakerOpenMillis) {
+        mBreakerOpenMillis = breakerOpenMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "retries: " + mMaxRetries + ", delay: " + mBaseDelay + "-" + mMaxDelay
+                + "ms, breaker: " + mBreakerFailureThreshold + " failures/" + mBreakerOpenMillis
+                + "ms";
+    }
+}
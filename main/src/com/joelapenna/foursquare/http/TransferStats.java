@@ -0,0 +1,86 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running byte counts for api responses, keyed by endpoint path (like /v1/venues). Wire bytes
+ * are what came off the socket, content bytes are what the parsers saw after decompression, so
+ * the difference is what gzip saved us.
+ *
+ * @date October 18, 2010
+ */
+public class TransferStats {
+
+    private final ConcurrentHashMap<String, Endpoint> mEndpoints =
+        new ConcurrentHashMap<String, Endpoint>();
+
+    public Endpoint getEndpoint(String path) {
+        Endpoint endpoint = mEndpoints.get(path);
+        if (endpoint == null) {
+            endpoint = new Endpoint();
+            Endpoint existing = mEndpoints.putIfAbsent(path, endpoint);
+            if (existing != null) {
+                endpoint = existing;
+            }
+        }
+        return endpoint;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return Collections.unmodifiableMap(mEndpoints);
+    }
+
+    public void reset() {
+        mEndpoints.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Endpoint> it : mEndpoints.entrySet()) {
+            sb.append(it.getKey()).append(": ").append(it.getValue()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    public static class Endpoint {
+        final AtomicLong mResponses = new AtomicLong();
+        final AtomicLong mCompressedResponses = new AtomicLong();
+        final AtomicLong mWireBytes = new AtomicLong();
+        final AtomicLong mContentBytes = new AtomicLong();
+
+        public long getResponses() {
+            return mResponses.get();
+        }
+
+        public long getCompressedResponses() {
+            return mCompressedResponses.get();
+        }
+
+        public long getWireBytes() {
+            return mWireBytes.get();
+        }
+
+        public long getContentBytes() {
+            return mContentBytes.get();
+        }
+
+        public long getSavedBytes() {
+            return mContentBytes.get() - mWireBytes.get();
+        }
+
+        @Override
+        public String toString() {
+            return mResponses.get() + " responses (" + mCompressedResponses.get() + " gzipped), "
+                    + mWireBytes.get() + " bytes on the wire, " + mContentBytes.get()
+                    + " bytes of content";
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A request as an HttpTransport sees it: the method, the full uri with its query, the headers
+ * in the order they were added and, for a POST, the body. It's signed and final by the time a
+ * transport gets it, so a transport only has to put it on the wire, whatever http stack it uses.
+ *
+ * @date October 18, 2010
+ */
+public class TransportRequest {
+
+    /**
+     * A request body. One that says it's repeatable may be written more than once, e.g. when a
+     * transport retries it on a new connection.
+     */
+    public interface Body {
+
+        /** The Content-Type header value, or null. */
+        public String getContentType();
+
+        /** The length in bytes, or -1 if it's not known before writing. */
+        public long getContentLength();
+
+        public boolean isRepeatable();
+
+        public void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final String mMethod;
+    private final URI mUri;
+    private final List<String> mHeaders = new ArrayList<String>();
+    private Body mBody;
+
+    public TransportRequest(String method, URI uri) {
+        mMethod = method;
+        mUri = uri;
+    }
+
+    public String getMethod() {
+        return mMethod;
+    }
+
+    public URI getUri() {
+        return mUri;
+    }
+
+    public void addHeader(String name, String value) {
+        mHeaders.add(name);
+        mHeaders.add(value);
+    }
+
+    public int getHeaderCount() {
+        return mHeaders.size() / 2;
+    }
+
+    public String getHeaderName(int index) {
+        return mHeaders.get(index * 2);
+    }
+
+    public String getHeaderValue(int index) {
+        return mHeaders.get(index * 2 + 1);
+    }
+
+    /** The value of the first header with the given name, ignoring case, or null. */
+    public String getFirstHeader(String name) {
+        for (int i = 0; i < mHeaders.size(); i += 2) {
+            if (mHeaders.get(i).equalsIgnoreCase(name)) {
+                return mHeaders.get(i + 1);
+            }
+        }
+        return null;
+    }
+
+    /** The body, or null if there's none. */
+    public Body getBody() {
+        return mBody;
+    }
+
+    public void setBody(Body body) {
+        mBody = body;
+    }
+
+    @Override
+    public String toString() {
+        return mMethod + " " + mUri;
+    }
+}
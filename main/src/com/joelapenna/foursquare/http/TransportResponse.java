@@ -0,0 +1,110 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A response as an HttpTransport hands it back: the protocol it came over, the status, the
+ * headers and the body, still unread. The body is read at most once and closing it hands the
+ * connection back to whatever the transport pools, so callers close it even when they don't
+ * want what's in it.
+ *
+ * @date October 18, 2010
+ */
+public class TransportResponse {
+
+    private static final InputStream EMPTY = new ByteArrayInputStream(new byte[0]);
+
+    private final String mProtocol;
+    private final int mStatusCode;
+    private final String mReason;
+    private final List<String> mHeaders = new ArrayList<String>();
+    private InputStream mBody = EMPTY;
+    private long mContentLength = 0;
+
+    /**
+     * @param protocol e.g. "HTTP/1.1" or "HTTP/2"
+     * @param reason the reason phrase, or null if the protocol doesn't carry one
+     */
+    public TransportResponse(String protocol, int statusCode, String reason) {
+        mProtocol = protocol;
+        mStatusCode = statusCode;
+        mReason = reason;
+    }
+
+    public String getProtocol() {
+        return mProtocol;
+    }
+
+    public int getStatusCode() {
+        return mStatusCode;
+    }
+
+    public String getReason() {
+        return mReason;
+    }
+
+    public void addHeader(String name, String value) {
+        mHeaders.add(name);
+        mHeaders.add(value);
+    }
+
+    public int getHeaderCount() {
+        return mHeaders.size() / 2;
+    }
+
+    public String getHeaderName(int index) {
+        return mHeaders.get(index * 2);
+    }
+
+    public String getHeaderValue(int index) {
+        return mHeaders.get(index * 2 + 1);
+    }
+
+    /** The value of the first header with the given name, ignoring case, or null. */
+    public String getFirstHeader(String name) {
+        for (int i = 0; i < mHeaders.size(); i += 2) {
+            if (mHeaders.get(i).equalsIgnoreCase(name)) {
+                return mHeaders.get(i + 1);
+            }
+        }
+        return null;
+    }
+
+    /** The body as it came off the wire, i.e. still gzipped if Content-Encoding says so. */
+    public InputStream getBody() {
+        return mBody;
+    }
+
+    /** The body's length on the wire, or -1 if it isn't known. */
+    public long getContentLength() {
+        return mContentLength;
+    }
+
+    /**
+     * Sets the body, or an empty one if body is null.
+     *
+     * @param contentLength as for getContentLength()
+     */
+    public void setBody(InputStream body, long contentLength) {
+        mBody = (body != null) ? body : EMPTY;
+        mContentLength = (body != null) ? contentLength : 0;
+    }
+
+    /** Closes the body, if it's not been read to the end. */
+    public void close() throws IOException {
+        mBody.close();
+    }
+
+    @Override
+    public String toString() {
+        return mProtocol + " " + mStatusCode + ((mReason != null) ? " " + mReason : "");
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http.capture;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One recorded response, along with how long the server took to send it. The body is kept
+ * exactly as it came off the wire, so a gzipped response replays gzipped.
+ * <p>
+ * On disk a capture is a few header lines followed by the raw body:
+ *
+ * <pre>
+ * FSQCAPTURE 1
+ * key: GET /v1/venues?geolat=40.7&amp;geolong=-74.0&amp;l=50
+ * status: 200 OK
+ * latency: 212
+ * transfer: 35
+ * header: Content-Type: application/json
+ * length: 5120
+ *
+ * ...body...
+ * </pre>
+ *
+ * Hand-written fixtures only need the key, status and length lines.
+ *
+ * @date October 18, 2010
+ */
+public class Capture {
+
+    private static final String MAGIC = "FSQCAPTURE 1";
+    private static final String CHARSET = "UTF-8";
+
+    private final String mKey;
+    private final int mStatusCode;
+    private final String mReason;
+    private final List<Header> mHeaders;
+    private final byte[] mBody;
+    private final long mLatencyMillis;
+    private final long mTransferMillis;
+
+    /**
+     * @param key see CaptureStore.createKey()
+     * @param latencyMillis from sending the request to having the response headers
+     * @param transferMillis from the headers to the end of the body
+     */
+    public Capture(String key, int statusCode, String reason, List<Header> headers, byte[] body,
+            long latencyMillis, long transferMillis) {
+        mKey = key;
+        mStatusCode = statusCode;
+        mReason = reason;
+        mHeaders = Collections.unmodifiableList(new ArrayList<Header>(headers));
+        mBody = body;
+        mLatencyMillis = latencyMillis;
+        mTransferMillis = transferMillis;
+    }
+
+    public String getKey() {
+        return mKey;
+    }
+
+    public int getStatusCode() {
+        return mStatusCode;
+    }
+
+    public String getReason() {
+        return mReason;
+    }
+
+    public List<Header> getHeaders() {
+        return mHeaders;
+    }
+
+    public String getHeader(String name) {
+        for (Header header : mHeaders) {
+            if (header.getName().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    public byte[] getBody() {
+        return mBody;
+    }
+
+    public long getLatencyMillis() {
+        return mLatencyMillis;
+    }
+
+    public long getTransferMillis() {
+        return mTransferMillis;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(MAGIC).append('\n');
+        sb.append("key: ").append(mKey).append('\n');
+        sb.append("status: ").append(mStatusCode).append(' ').append(mReason).append('\n');
+        sb.append("latency: ").append(mLatencyMillis).append('\n');
+        sb.append("transfer: ").append(mTransferMillis).append('\n');
+        for (Header header : mHeaders) {
+            sb.append("header: ").append(header.getName()).append(": ")
+                    .append(header.getValue()).append('\n');
+        }
+        sb.append("length: ").append(mBody.length).append('\n');
+        sb.append('\n');
+        out.write(sb.toString().getBytes(CHARSET));
+        out.write(mBody);
+    }
+
+    static Capture readFrom(InputStream in) throws IOException {
+        if (!MAGIC.equals(readLine(in))) {
+            throw new IOException("Not a capture.");
+        }
+        String key = null;
+        int statusCode = 200;
+        String reason = "OK";
+        long latency = 0;
+        long transfer = 0;
+        int length = -1;
+        List<Header> headers = new ArrayList<Header>();
+        String line;
+        while ((line = readLine(in)).length() > 0) {
+            int colon = line.indexOf(": ");
+            if (colon < 0) {
+                throw new IOException("Bad capture line: " + line);
+            }
+            String name = line.substring(0, colon);
+            String value = line.substring(colon + 2);
+            try {
+                if (name.equals("key")) {
+                    key = value;
+                } else if (name.equals("status")) {
+                    int space = value.indexOf(' ');
+                    statusCode = Integer.parseInt((space < 0) ? value : value.substring(0, space));
+                    reason = (space < 0) ? "" : value.substring(space + 1);
+                } else if (name.equals("latency")) {
+                    latency = Long.parseLong(value);
+                } else if (name.equals("transfer")) {
+                    transfer = Long.parseLong(value);
+                } else if (name.equals("length")) {
+                    length = Integer.parseInt(value);
+                } else if (name.equals("header")) {
+                    int split = value.indexOf(": ");
+                    if (split > 0) {
+                        headers.add(new BasicHeader(value.substring(0, split),
+                                value.substring(split + 2)));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad capture line: " + line);
+            }
+        }
+        if (key == null || length < 0) {
+            throw new IOException("Capture is missing its key or length.");
+        }
+        byte[] body = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(body, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Capture body is truncated.");
+            }
+            offset += read;
+        }
+        return new Capture(key, statusCode, reason, headers, body, latency, transfer);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(80);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("Capture header is truncated.");
+            }
+            line.write(b);
+        }
+        try {
+            return line.toString(CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e.toString());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http.capture;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A set of captures, held in memory and optionally saved as one file per capture in a
+ * directory. Captures are looked up by method, path and query; the query is ignored if there's
+ * no exact match, so a corpus recorded at one location still answers requests made at another.
+ * When several captures share a key they are handed out in turn.
+ *
+ * @date October 18, 2010
+ */
+public class CaptureStore {
+    private static final Logger LOG = Logger.getLogger(CaptureStore.class.getCanonicalName());
+
+    private static final String SUFFIX = ".capture";
+
+    /**
+     * Request paths and the file in captures/api/v1 answering them, as mock_server/
+     * playfoursquare.py serves them.
+     */
+    private static final String[][] CORPUS = {
+            {"/v1/venue", "venue.xml"},
+            {"/v1/addvenue", "venue.xml"},
+            {"/v1/venues", "venues.xml"},
+            {"/v1/user", "user.xml"},
+            {"/v1/checkcity", "checkcity.xml"},
+            {"/v1/checkins", "checkins.xml"},
+            {"/v1/cities", "cities.xml"},
+            {"/v1/switchcity", "switchcity.xml"},
+            {"/v1/tips", "tips.xml"},
+            {"/v1/checkin", "checkin.xml"},
+            {"/history/12345.rss", "feed.xml"},
+    };
+
+    /** Query parameters which differ on every request and so aren't part of the key. */
+    private static final String[] VOLATILE_PARAMS = {
+            "oauth_nonce", "oauth_timestamp", "oauth_signature", "oauth_token",
+            "oauth_consumer_key", "oauth_signature_method", "oauth_version"
+    };
+
+    private final File mDirectory;
+    private final ConcurrentHashMap<String, Entries> mByKey =
+        new ConcurrentHashMap<String, Entries>();
+    private final ConcurrentHashMap<String, Entries> mByPath =
+        new ConcurrentHashMap<String, Entries>();
+    private final AtomicInteger mCount = new AtomicInteger();
+
+    /**
+     * An in-memory store, for fixtures built in code.
+     */
+    public CaptureStore() {
+        mDirectory = null;
+    }
+
+    /**
+     * Loads every capture in the directory, creating it if needed. Captures added later are
+     * saved there too.
+     */
+    public CaptureStore(File directory) throws IOException {
+        mDirectory = directory;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create capture directory " + directory);
+        }
+        File[] files = directory.listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SUFFIX);
+            }
+        });
+        Arrays.sort(files);
+        for (File file : files) {
+            InputStream in = new BufferedInputStream(new FileInputStream(file));
+            try {
+                index(Capture.readFrom(in));
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Skipping unreadable capture " + file, e);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * An in-memory store answering GETs and POSTs to the paths mock_server/playfoursquare.py
+     * knows from the recorded responses in directory, normally captures/api/v1. Whatever the
+     * name, a file holding json (venues, checkins, user) is served as json and the client
+     * parses it. The rest are still from the xml api and go out as text/xml, which the json
+     * parsers reject the same way they would from the mock server. Files the corpus lacks are
+     * left out, so their paths get a 404 on replay.
+     */
+    public static CaptureStore loadCorpus(File directory) throws IOException {
+        if (!directory.isDirectory()) {
+            throw new IOException("No capture corpus at " + directory);
+        }
+        CaptureStore store = new CaptureStore();
+        for (String[] entry : CORPUS) {
+            File file = new File(directory, entry[1]);
+            if (!file.isFile()) {
+                LOG.log(Level.WARNING, "Corpus has no " + file + " for " + entry[0]);
+                continue;
+            }
+            byte[] body = readFile(file);
+            String contentType = getCorpusContentType(entry[1], body);
+            store.add("GET", entry[0], 200, contentType, body);
+            store.add("POST", entry[0], 200, contentType, body);
+        }
+        return store;
+    }
+
+    /**
+     * Adds a capture, saving it if the store has a directory.
+     */
+    public void add(Capture capture) throws IOException {
+        int number = index(capture);
+        if (mDirectory != null) {
+            File file = new File(mDirectory, String.format("%06d%s", number, SUFFIX));
+            while (file.exists()) {
+                file = new File(mDirectory, String.format("%06d%s", ++number, SUFFIX));
+            }
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+            try {
+                capture.writeTo(out);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Adds a fixture answering any request to the path, e.g. ("GET", "/v1/venues", 200,
+     * "application/json", body).
+     */
+    public void add(String method, String path, int statusCode, String contentType,
+            byte[] body) {
+        List<Header> headers = new ArrayList<Header>();
+        headers.add(new BasicHeader("Content-Type", contentType));
+        index(new Capture(method + " " + path, statusCode, (statusCode == 200) ? "OK" : "",
+                headers, body, 0, 0));
+    }
+
+    /**
+     * The next capture for the request, or null if nothing was recorded for its path.
+     */
+    public Capture find(String method, URI uri) {
+        Entries entries = mByKey.get(createKey(method, uri));
+        if (entries == null) {
+            entries = mByPath.get(method + " " + uri.getPath());
+        }
+        return (entries != null) ? entries.next() : null;
+    }
+
+    public int size() {
+        return mCount.get();
+    }
+
+    /**
+     * Method, path and the query's parameters in sorted order, leaving out OAuth's.
+     */
+    public static String createKey(String method, URI uri) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(method).append(' ').append(uri.getPath());
+        String query = uri.getRawQuery();
+        if (query != null && query.length() > 0) {
+            List<String> params = new ArrayList<String>();
+            for (String param : query.split("&")) {
+                int equals = param.indexOf('=');
+                String name = (equals < 0) ? param : param.substring(0, equals);
+                if (!isVolatile(name)) {
+                    params.add(param);
+                }
+            }
+            Collections.sort(params);
+            for (int i = 0; i < params.size(); i++) {
+                sb.append((i == 0) ? '?' : '&').append(params.get(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String getCorpusContentType(String name, byte[] body) {
+        for (int i = 0; i < body.length; i++) {
+            if (!Character.isWhitespace((char) body[i])) {
+                if (body[i] == '{' || body[i] == '[') {
+                    return "application/json";
+                }
+                break;
+            }
+        }
+        return name.equals("feed.xml") ? "application/rss+xml" : "text/xml";
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean isVolatile(String name) {
+        for (int i = 0; i < VOLATILE_PARAMS.length; i++) {
+            if (VOLATILE_PARAMS[i].equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int index(Capture capture) {
+        String key = capture.getKey();
+        int query = key.indexOf('?');
+        entriesFor(mByKey, key).add(capture);
+        entriesFor(mByPath, (query < 0) ? key : key.substring(0, query)).add(capture);
+        return mCount.incrementAndGet();
+    }
+
+    private static Entries entriesFor(ConcurrentHashMap<String, Entries> map, String key) {
+        Entries entries = map.get(key);
+        if (entries == null) {
+            entries = new Entries();
+            Entries existing = map.putIfAbsent(key, entries);
+            if (existing != null) {
+                entries = existing;
+            }
+        }
+        return entries;
+    }
+
+    private static class Entries {
+        private final CopyOnWriteArrayList<Capture> mCaptures =
+            new CopyOnWriteArrayList<Capture>();
+        private final AtomicInteger mNext = new AtomicInteger();
+
+        void add(Capture capture) {
+            mCaptures.add(capture);
+        }
+
+        Capture next() {
+            int size = mCaptures.size();
+            return mCaptures.get((mNext.getAndIncrement() & Integer.MAX_VALUE) % size);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http.capture;
+
+import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.http.HttpTransport;
+import com.joelapenna.foursquare.http.TransportRequest;
+import com.joelapenna.foursquare.http.TransportResponse;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A transport which either records real traffic into a CaptureStore, or answers requests from
+ * one without touching the network. Set it with Foursquare.setTransport().
+ * <p>
+ * Replay can make the network as bad as a benchmark needs: latency before the headers (a fixed
+ * range, or the recorded latency scaled), a bandwidth cap on the body, dropped connections and
+ * 503s at given rates. A seeded random source makes runs repeatable. Requests with no capture
+ * for their path get a 404.
+ * <p>
+ * Recording buffers each body before handing it on, so the api's download timings are not
+ * meaningful while recording; the capture keeps the real ones.
+ *
+ * @date October 18, 2010
+ */
+public class CaptureTransport implements HttpTransport {
+    private static final Logger LOG = Logger.getLogger(CaptureTransport.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    private static final String PROTOCOL = "HTTP/1.1";
+
+    /** Response headers which describe the connection rather than the response. */
+    private static final String[] HOP_HEADERS = {
+            "Connection", "Content-Length", "Keep-Alive", "Set-Cookie", "Transfer-Encoding"
+    };
+
+    public enum Mode {
+        RECORD,
+        REPLAY
+    }
+
+    private final Mode mMode;
+    private final HttpTransport mDelegate;
+    private final CaptureStore mStore;
+
+    private final AtomicLong mServed = new AtomicLong();
+    private final AtomicLong mMissed = new AtomicLong();
+    private final AtomicLong mInjectedFailures = new AtomicLong();
+
+    private volatile Random mRandom = new Random(0);
+    private volatile long mMinLatencyMillis = -1;
+    private volatile long mMaxLatencyMillis = -1;
+    private volatile double mRecordedLatencyScale = 0;
+    private volatile long mBytesPerSecond = 0;
+    private volatile double mFailureRate = 0;
+    private volatile double mServerErrorRate = 0;
+
+    private CaptureTransport(Mode mode, HttpTransport delegate, CaptureStore store) {
+        mMode = mode;
+        mDelegate = delegate;
+        mStore = store;
+    }
+
+    /**
+     * Sends requests on through the delegate (e.g. Foursquare.getClientTransport()) and saves
+     * every response to the store.
+     */
+    public static CaptureTransport record(HttpTransport delegate, CaptureStore store) {
+        return new CaptureTransport(Mode.RECORD, delegate, store);
+    }
+
+    /**
+     * Answers requests from the store. By default responses come back at once and in full.
+     */
+    public static CaptureTransport replay(CaptureStore store) {
+        return new CaptureTransport(Mode.REPLAY, null, store);
+    }
+
+    public Mode getMode() {
+        return mMode;
+    }
+
+    public CaptureStore getStore() {
+        return mStore;
+    }
+
+    /** Seeds the source of injected latency and failures. */
+    public void setSeed(long seed) {
+        mRandom = new Random(seed);
+    }
+
+    /**
+     * Waits a uniformly random time in the range before each response's headers.
+     */
+    public void setLatency(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Bad latency range: " + minMillis + ", "
+                    + maxMillis);
+        }
+        mMinLatencyMillis = minMillis;
+        mMaxLatencyMillis = maxMillis;
+    }
+
+    /**
+     * Waits as long as the server took when the capture was recorded, times the scale, unless
+     * setLatency() was given a range. 0 turns this off.
+     */
+    public void setRecordedLatencyScale(double scale) {
+        mRecordedLatencyScale = scale;
+    }
+
+    /** Caps how fast bodies are read, or 0 for no cap. */
+    public void setBandwidth(long bytesPerSecond) {
+        mBytesPerSecond = bytesPerSecond;
+    }
+
+    /** The fraction of requests which fail with an IOException, as if the connection dropped. */
+    public void setFailureRate(double rate) {
+        mFailureRate = rate;
+    }
+
+    /** The fraction of requests answered with a 503. */
+    public void setServerErrorRate(double rate) {
+        mServerErrorRate = rate;
+    }
+
+    /** Requests answered from the store, or recorded into it. */
+    public long getServedCount() {
+        return mServed.get();
+    }
+
+    /** Requests which had no capture and got a 404. */
+    public long getMissedCount() {
+        return mMissed.get();
+    }
+
+    /** Requests failed or turned into 503s on purpose. */
+    public long getInjectedFailureCount() {
+        return mInjectedFailures.get();
+    }
+
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        if (mMode == Mode.RECORD) {
+            return record(request);
+        }
+        return replay(request);
+    }
+
+    private TransportResponse record(TransportRequest request) throws IOException {
+        long start = System.nanoTime();
+        TransportResponse response = mDelegate.execute(request);
+        long headers = System.nanoTime();
+        byte[] body = readFully(response);
+        long end = System.nanoTime();
+
+        List<Header> kept = new ArrayList<Header>();
+        for (int i = 0; i < response.getHeaderCount(); i++) {
+            String name = response.getHeaderName(i);
+            if (!isHopHeader(name)) {
+                kept.add(new BasicHeader(name, response.getHeaderValue(i)));
+            }
+        }
+        Capture capture = new Capture(CaptureStore.createKey(request.getMethod(),
+                request.getUri()), response.getStatusCode(), response.getReason(), kept, body,
+                (headers - start) / 1000000, (end - headers) / 1000000);
+        mStore.add(capture);
+        mServed.incrementAndGet();
+        if (DEBUG) LOG.log(Level.FINE, "Recorded " + capture.getKey());
+        return createResponse(capture, 0);
+    }
+
+    private TransportResponse replay(TransportRequest request) throws IOException {
+        Capture capture = mStore.find(request.getMethod(), request.getUri());
+        sleep(getLatency(capture));
+
+        Random random = mRandom;
+        if (mFailureRate > 0 && random.nextDouble() < mFailureRate) {
+            mInjectedFailures.incrementAndGet();
+            throw new IOException("Injected connection failure: " + request.getUri());
+        }
+        if (mServerErrorRate > 0 && random.nextDouble() < mServerErrorRate) {
+            mInjectedFailures.incrementAndGet();
+            return createResponse(503, "Service Unavailable");
+        }
+        if (capture == null) {
+            if (DEBUG) LOG.log(Level.FINE, "No capture for " + request.getUri());
+            mMissed.incrementAndGet();
+            return createResponse(404, "Not Found");
+        }
+        mServed.incrementAndGet();
+        return createResponse(capture, mBytesPerSecond);
+    }
+
+    private long getLatency(Capture capture) {
+        long min = mMinLatencyMillis;
+        long max = mMaxLatencyMillis;
+        if (min >= 0) {
+            return min + (long) (mRandom.nextDouble() * (max - min));
+        }
+        if (capture != null && mRecordedLatencyScale > 0) {
+            return (long) (capture.getLatencyMillis() * mRecordedLatencyScale);
+        }
+        return 0;
+    }
+
+    private static TransportResponse createResponse(Capture capture, long bytesPerSecond) {
+        TransportResponse response = new TransportResponse(PROTOCOL, capture.getStatusCode(),
+                capture.getReason());
+        for (Header header : capture.getHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        byte[] body = capture.getBody();
+        InputStream content = new ByteArrayInputStream(body);
+        if (bytesPerSecond > 0) {
+            content = new ThrottledInputStream(content, bytesPerSecond);
+        }
+        response.setBody(content, body.length);
+        return response;
+    }
+
+    private static TransportResponse createResponse(int statusCode, String reason) {
+        return new TransportResponse(PROTOCOL, statusCode, reason);
+    }
+
+    private static byte[] readFully(TransportResponse response) throws IOException {
+        InputStream in = response.getBody();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean isHopHeader(String name) {
+        for (int i = 0; i < HOP_HEADERS.length; i++) {
+            if (HOP_HEADERS[i].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during injected delay.");
+        }
+    }
+
+    /**
+     * Holds reads back so that the body arrives no faster than the given rate.
+     */
+    private static class ThrottledInputStream extends FilterInputStream {
+        private static final int MAX_READ = 1024;
+
+        private final long mBytesPerSecond;
+        private long mStart = -1;
+        private long mBytesRead;
+
+        ThrottledInputStream(InputStream in, long bytesPerSecond) {
+            super(in);
+            mBytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (mStart < 0) {
+                mStart = System.nanoTime();
+            }
+            int read = super.read(b, off, Math.min(len, MAX_READ));
+            if (read > 0) {
+                mBytesRead += read;
+                long due = mStart + mBytesRead * 1000000000L / mBytesPerSecond;
+                sleep((due - System.nanoTime()) / 1000000);
+            }
+            return read;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 
 /**
  * @date July 13, 2010
@@ -30,4 +32,16 @@ public abstract class AbstractParser<T extends FoursquareType> implements Parser
     public Group parse(JSONArray array) throws JSONException {
         throw new JSONException("Unexpected JSONArray parse type encountered.");
     }
+
+    /**
+     * Parsers which sit on the hot path (venues, checkins, users) override this to fill their
+     * type directly from the stream. Everyone else gets the next object read into a JSONObject
+     * and handed to parse(JSONObject), so every parser can be used in streaming mode.
+     */
+    public T parse(JSONStreamReader reader) throws JSONException, IOException {
+        if (reader.peek() == JSONStreamReader.Token.BEGIN_ARRAY) {
+            throw new JSONException("Unexpected JSONArray parse type encountered.");
+        }
+        return parse(reader.readJSONObject());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Badge;
@@ -8,31 +9,110 @@ import com.joelapenna.foursquare.types.Badge;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/badge.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class BadgeParser extends AbstractParser<Badge> {
 
+    private final Projection mProjection;
+
+    public BadgeParser() {
+        this(Projection.ALL);
+    }
+
+    public BadgeParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Badge parse(JSONObject json) throws JSONException {
-        
         Badge obj = new Badge();
-        if (json.has("description")) {
-            obj.setDescription(json.getString("description"));
-        } 
-        if (json.has("icon")) {
-            obj.setIcon(json.getString("icon"));
-        } 
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("name")) {
-            obj.setName(json.getString("name"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -1724546052: // description
+                    if (key.equals("description")) {
+                        obj.setDescription(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3226745: // icon
+                    if (key.equals("icon")) {
+                        obj.setIcon(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3373707: // name
+                    if (key.equals("name")) {
+                        obj.setName(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+            }
         }
-        
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Badge parse(JSONStreamReader reader) throws JSONException, IOException {
+        Badge obj = new Badge();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -1724546052: // description
+                        if (key.equals("description")) {
+                            obj.setDescription(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3226745: // icon
+                        if (key.equals("icon")) {
+                            obj.setIcon(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3373707: // name
+                        if (key.equals("name")) {
+                            obj.setName(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "BadgeParser(" + mProjection + ")";
+    }
+}
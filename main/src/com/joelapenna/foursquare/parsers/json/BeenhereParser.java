@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Beenhere;
@@ -8,24 +9,86 @@ import com.joelapenna.foursquare.types.Beenhere;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/beenhere.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class BeenhereParser extends AbstractParser<Beenhere> {
-    
+
+    private final Projection mProjection;
+
+    public BeenhereParser() {
+        this(Projection.ALL);
+    }
+
+    public BeenhereParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Beenhere parse(JSONObject json) throws JSONException {
         Beenhere obj = new Beenhere();
-        if (json.has("friends")) {
-            obj.setFriends(json.getBoolean("friends"));
-        } 
-        if (json.has("me")) {
-            obj.setMe(json.getBoolean("me"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -600094315: // friends
+                    if (key.equals("friends")) {
+                        obj.setFriends(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+                case 3480: // me
+                    if (key.equals("me")) {
+                        obj.setMe(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Beenhere parse(JSONStreamReader reader) throws JSONException, IOException {
+        Beenhere obj = new Beenhere();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -600094315: // friends
+                        if (key.equals("friends")) {
+                            obj.setFriends(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                    case 3480: // me
+                        if (key.equals("me")) {
+                            obj.setMe(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "BeenhereParser(" + mProjection + ")";
+    }
+}
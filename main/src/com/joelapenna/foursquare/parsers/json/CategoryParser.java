@@ -4,15 +4,18 @@
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.parsers.json.CategoryParser;
-import com.joelapenna.foursquare.parsers.json.GroupParser;
 import com.joelapenna.foursquare.types.Category;
 import com.joelapenna.foursquare.util.IconUtils;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 
 /**
+ * Every venue in a list carries its category, so the category's strings are pooled.
+ *
  * @date July 13, 2010
  * @author Mark Wyszomierski (markww@gmail.com)
  *
@@ -23,13 +26,13 @@ public class CategoryParser extends AbstractParser<Category> {
     public Category parse(JSONObject json) throws JSONException {
         Category obj = new Category();
         if (json.has("id")) {
-            obj.setId(json.getString("id"));
+            obj.setId(Parsers.STRINGS.intern(json.getString("id")));
         } 
         if (json.has("fullpathname")) {
-            obj.setFullPathName(json.getString("fullpathname"));
+            obj.setFullPathName(Parsers.STRINGS.intern(json.getString("fullpathname")));
         } 
         if (json.has("nodename")) {
-            obj.setNodeName(json.getString("nodename"));
+            obj.setNodeName(Parsers.STRINGS.intern(json.getString("nodename")));
         } 
         if (json.has("iconurl")) {
             // TODO: Remove this once api v2 allows icon request.
@@ -37,14 +40,42 @@ public class CategoryParser extends AbstractParser<Category> {
             if (IconUtils.get().getRequestHighDensityIcons()) {
                 iconUrl = iconUrl.replace(".png", "_64.png");
             }
-            obj.setIconUrl(iconUrl);
+            obj.setIconUrl(Parsers.STRINGS.intern(iconUrl));
         } 
         if (json.has("categories")) {
-            obj.setChildCategories(
-                new GroupParser(
-                    new CategoryParser()).parse(json.getJSONArray("categories")));
+            obj.setChildCategories(Parsers.CATEGORY_GROUP.parse(json.getJSONArray("categories")));
         }
         
         return obj;
     }
+
+    @Override
+    public Category parse(JSONStreamReader reader) throws JSONException, IOException {
+        Category obj = new Category();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("id")) {
+                obj.setId(reader.nextString(Parsers.STRINGS));
+            } else if (key.equals("fullpathname")) {
+                obj.setFullPathName(reader.nextString(Parsers.STRINGS));
+            } else if (key.equals("nodename")) {
+                obj.setNodeName(reader.nextString(Parsers.STRINGS));
+            } else if (key.equals("iconurl")) {
+                // TODO: Remove this once api v2 allows icon request.
+                String iconUrl = reader.nextString();
+                if (iconUrl != null && IconUtils.get().getRequestHighDensityIcons()) {
+                    iconUrl = iconUrl.replace(".png", "_64.png");
+                }
+                obj.setIconUrl(reader.intern(Parsers.STRINGS, iconUrl));
+            } else if (key.equals("categories")) {
+                obj.setChildCategories(Parsers.CATEGORY_GROUP.parse(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return obj;
+    }
 }
\ No newline at end of file
@@ -1,53 +1,183 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/checkin.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class CheckinParser extends AbstractParser<Checkin> {
 
+    private final Projection mProjection;
+
+    public CheckinParser() {
+        this(Projection.ALL);
+    }
+
+    public CheckinParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Checkin parse(JSONObject json) throws JSONException {
-        
         Checkin obj = new Checkin();
-        if (json.has("created")) {
-            obj.setCreated(json.getString("created"));
-        } 
-        if (json.has("display")) {
-            obj.setDisplay(json.getString("display"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3441010: // ping
+                    if (key.equals("ping")) {
+                        obj.setPing(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+                case 3599307: // user
+                    if (key.equals("user")) {
+                        obj.setUser((User) mProjection.parser(key, Parsers.USER)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 109413593: // shout
+                    if (key.equals("shout")) {
+                        obj.setShout(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 112093807: // venue
+                    if (key.equals("venue")) {
+                        obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 288459765: // distance
+                    if (key.equals("distance")) {
+                        obj.setDistance(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1028554472: // created
+                    if (key.equals("created")) {
+                        obj.setCreated(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1671764162: // display
+                    if (key.equals("display")) {
+                        obj.setDisplay(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 2094631710: // ismayor
+                    if (key.equals("ismayor")) {
+                        obj.setIsmayor(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        if (json.has("distance")) {
-            obj.setDistance(json.getString("distance"));
-        } 
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("ismayor")) {
-            obj.setIsmayor(json.getBoolean("ismayor"));
-        } 
-        if (json.has("ping")) {
-            obj.setPing(json.getBoolean("ping"));
-        } 
-        if (json.has("shout")) {
-            obj.setShout(json.getString("shout"));
-        } 
-        if (json.has("user")) {
-            obj.setUser(new UserParser().parse(json.getJSONObject("user")));
-        } 
-        if (json.has("venue")) {
-            obj.setVenue(new VenueParser().parse(json.getJSONObject("venue")));
+        return obj;
+    }
+
+    @Override
+    public Checkin parse(JSONStreamReader reader) throws JSONException, IOException {
+        Checkin obj = new Checkin();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3441010: // ping
+                        if (key.equals("ping")) {
+                            obj.setPing(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                    case 3599307: // user
+                        if (key.equals("user")) {
+                            obj.setUser((User) mProjection.parser(key, Parsers.USER).parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 109413593: // shout
+                        if (key.equals("shout")) {
+                            obj.setShout(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 112093807: // venue
+                        if (key.equals("venue")) {
+                            obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 288459765: // distance
+                        if (key.equals("distance")) {
+                            obj.setDistance(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1028554472: // created
+                        if (key.equals("created")) {
+                            obj.setCreated(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1671764162: // display
+                        if (key.equals("display")) {
+                            obj.setDisplay(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 2094631710: // ismayor
+                        if (key.equals("ismayor")) {
+                            obj.setIsmayor(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "CheckinParser(" + mProjection + ")";
+    }
+}
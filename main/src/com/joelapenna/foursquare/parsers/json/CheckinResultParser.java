@@ -1,58 +1,191 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.CheckinResult;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Mayor;
+import com.joelapenna.foursquare.types.Venue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/checkin_result.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class CheckinResultParser extends AbstractParser<CheckinResult> {
-    
+
+    private final Projection mProjection;
+
+    public CheckinResultParser() {
+        this(Projection.ALL);
+    }
+
+    public CheckinResultParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public CheckinResult parse(JSONObject json) throws JSONException {
         CheckinResult obj = new CheckinResult();
-        if (json.has("badges")) {
-            obj.setBadges(
-                new GroupParser(
-                    new BadgeParser()).parse(json.getJSONArray("badges")));
-        } 
-        if (json.has("created")) {
-            obj.setCreated(json.getString("created"));
-        } 
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("markup")) {
-            obj.setMarkup(json.getString("markup"));
-        } 
-        if (json.has("mayor")) {
-            obj.setMayor(new MayorParser().parse(json.getJSONObject("mayor")));
-        } 
-        if (json.has("message")) {
-            obj.setMessage(json.getString("message"));
-        } 
-        if (json.has("scores")) {
-            obj.setScoring(
-                new GroupParser(
-                    new ScoreParser()).parse(json.getJSONArray("scores")));
-        } 
-        if (json.has("specials")) {
-            obj.setSpecials(
-                new GroupParser(
-                    new SpecialParser()).parse(json.getJSONArray("specials")));
-        } 
-        if (json.has("venue")) {
-            obj.setVenue(new VenueParser().parse(json.getJSONObject("venue")));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -2132879654: // specials
+                    if (key.equals("specials")) {
+                        obj.setSpecials(mProjection.parser(key, Parsers.SPECIAL_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case -1396647632: // badges
+                    if (key.equals("badges")) {
+                        obj.setBadges(mProjection.parser(key, Parsers.BADGE_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case -1081305560: // markup
+                    if (key.equals("markup")) {
+                        obj.setMarkup(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -907766751: // scores
+                    if (key.equals("scores")) {
+                        obj.setScoring(mProjection.parser(key, Parsers.SCORE_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 103673352: // mayor
+                    if (key.equals("mayor")) {
+                        obj.setMayor((Mayor) mProjection.parser(key, Parsers.MAYOR)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 112093807: // venue
+                    if (key.equals("venue")) {
+                        obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 954925063: // message
+                    if (key.equals("message")) {
+                        obj.setMessage(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1028554472: // created
+                    if (key.equals("created")) {
+                        obj.setCreated(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public CheckinResult parse(JSONStreamReader reader) throws JSONException, IOException {
+        CheckinResult obj = new CheckinResult();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -2132879654: // specials
+                        if (key.equals("specials")) {
+                            obj.setSpecials((Group) mProjection.parser(key, Parsers.SPECIAL_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case -1396647632: // badges
+                        if (key.equals("badges")) {
+                            obj.setBadges((Group) mProjection.parser(key, Parsers.BADGE_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case -1081305560: // markup
+                        if (key.equals("markup")) {
+                            obj.setMarkup(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -907766751: // scores
+                        if (key.equals("scores")) {
+                            obj.setScoring((Group) mProjection.parser(key, Parsers.SCORE_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 103673352: // mayor
+                        if (key.equals("mayor")) {
+                            obj.setMayor((Mayor) mProjection.parser(key, Parsers.MAYOR)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 112093807: // venue
+                        if (key.equals("venue")) {
+                            obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 954925063: // message
+                        if (key.equals("message")) {
+                            obj.setMessage(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1028554472: // created
+                        if (key.equals("created")) {
+                            obj.setCreated(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-            
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "CheckinResultParser(" + mProjection + ")";
+    }
+}
@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.City;
@@ -8,37 +9,134 @@ import com.joelapenna.foursquare.types.City;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/city.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class CityParser extends AbstractParser<City> {
 
+    private final Projection mProjection;
+
+    public CityParser() {
+        this(Projection.ALL);
+    }
+
+    public CityParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public City parse(JSONObject json) throws JSONException {
-        
         City obj = new City();
-        if (json.has("geolat")) {
-            obj.setGeolat(json.getString("geolat"));
-        } 
-        if (json.has("geolong")) {
-            obj.setGeolong(json.getString("geolong"));
-        } 
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("name")) {
-            obj.setName(json.getString("name"));
-        } 
-        if (json.has("shortname")) {
-            obj.setShortname(json.getString("shortname"));
-        } 
-        if (json.has("timezone")) {
-            obj.setTimezone(json.getString("timezone"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -2076227591: // timezone
+                    if (key.equals("timezone")) {
+                        obj.setTimezone(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -2027265785: // shortname
+                    if (key.equals("shortname")) {
+                        obj.setShortname(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -1249475410: // geolat
+                    if (key.equals("geolat")) {
+                        obj.setGeolat(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -79018675: // geolong
+                    if (key.equals("geolong")) {
+                        obj.setGeolong(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3373707: // name
+                    if (key.equals("name")) {
+                        obj.setName(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public City parse(JSONStreamReader reader) throws JSONException, IOException {
+        City obj = new City();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -2076227591: // timezone
+                        if (key.equals("timezone")) {
+                            obj.setTimezone(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -2027265785: // shortname
+                        if (key.equals("shortname")) {
+                            obj.setShortname(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -1249475410: // geolat
+                        if (key.equals("geolat")) {
+                            obj.setGeolat(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -79018675: // geolong
+                        if (key.equals("geolong")) {
+                            obj.setGeolong(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3373707: // name
+                        if (key.equals("name")) {
+                            obj.setName(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "CityParser(" + mProjection + ")";
+    }
+}
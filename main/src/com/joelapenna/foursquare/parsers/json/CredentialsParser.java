@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Credentials;
@@ -8,24 +9,86 @@ import com.joelapenna.foursquare.types.Credentials;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/credentials.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class CredentialsParser extends AbstractParser<Credentials> {
-    
+
+    private final Projection mProjection;
+
+    public CredentialsParser() {
+        this(Projection.ALL);
+    }
+
+    public CredentialsParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Credentials parse(JSONObject json) throws JSONException {
         Credentials obj = new Credentials();
-        if (json.has("oauth_token")) {
-            obj.setOauthToken(json.getString("oauth_token"));
-        } 
-        if (json.has("oauth_token_secret")) {
-            obj.setOauthTokenSecret(json.getString("oauth_token_secret"));
-        } 
-        
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -1829429154: // oauth_token_secret
+                    if (key.equals("oauth_token_secret")) {
+                        obj.setOauthTokenSecret(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 445095505: // oauth_token
+                    if (key.equals("oauth_token")) {
+                        obj.setOauthToken(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Credentials parse(JSONStreamReader reader) throws JSONException, IOException {
+        Credentials obj = new Credentials();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -1829429154: // oauth_token_secret
+                        if (key.equals("oauth_token_secret")) {
+                            obj.setOauthTokenSecret(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 445095505: // oauth_token
+                        if (key.equals("oauth_token")) {
+                            obj.setOauthToken(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "CredentialsParser(" + mProjection + ")";
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.types.Deferred;
+import com.joelapenna.foursquare.types.FoursquareType;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The raw json of a deferred field and the parser for it. The text is parsed once, on the first
+ * get(), and dropped afterwards. The value was well formed when it was read off the wire, so a
+ * failure here is logged and the field is left null rather than thrown from a getter.
+ *
+ * @date October 18, 2010
+ */
+public class DeferredParse<T extends FoursquareType> implements Deferred<T> {
+
+    private static final Logger LOG = Logger.getLogger(DeferredParse.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    private Parser<? extends FoursquareType> mParser;
+    private String mRaw;
+    private T mValue;
+
+    public DeferredParse(String raw, Parser<? extends FoursquareType> parser) {
+        mRaw = raw;
+        mParser = parser;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized T get() {
+        if (mRaw != null) {
+            if (DEBUG) LOG.log(Level.FINE, "Parsing deferred field with " + mParser);
+            JSONStreamReader reader = new JSONStreamReader(new StringReader(mRaw));
+            try {
+                mValue = (T) mParser.parse(reader);
+            } catch (JSONException e) {
+                LOG.log(Level.WARNING, "Could not parse deferred field", e);
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not parse deferred field", e);
+            }
+            mRaw = null;
+            mParser = null;
+        }
+        return mValue;
+    }
+}
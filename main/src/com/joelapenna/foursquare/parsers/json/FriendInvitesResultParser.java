@@ -23,9 +23,7 @@ public class FriendInvitesResultParser extends AbstractParser<FriendInvitesResul
         
         FriendInvitesResult obj = new FriendInvitesResult();
         if (json.has("users")) {
-            obj.setContactsOnFoursquare(
-                new GroupParser(
-                    new UserParser()).parse(json.getJSONArray("users")));
+            obj.setContactsOnFoursquare(Parsers.USER_GROUP.parse(json.getJSONArray("users")));
         } 
         if (json.has("emails")) {
             Emails emails = new Emails();
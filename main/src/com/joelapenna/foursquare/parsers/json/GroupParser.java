@@ -11,6 +11,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.logging.Level;
 
@@ -24,7 +25,7 @@ import java.util.logging.Level;
  */
 public class GroupParser extends AbstractParser<Group> {
 
-    private Parser<? extends FoursquareType> mSubParser;
+    private final Parser<? extends FoursquareType> mSubParser;
 
     public GroupParser(Parser<? extends FoursquareType> subParser) {
         mSubParser = subParser;
@@ -80,4 +81,45 @@ public class GroupParser extends AbstractParser<Group> {
             group.add(item);
         }
     }
+
+    /**
+     * Streaming form of the two parse methods above, we may see either a straight array or an
+     * object with a 'type' attribute and an array.
+     */
+    @Override
+    public Group parse(JSONStreamReader reader) throws JSONException, IOException {
+        Group<FoursquareType> group = new Group<FoursquareType>();
+        if (reader.peek() == JSONStreamReader.Token.BEGIN_ARRAY) {
+            parse(group, reader);
+            return group;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("type")) {
+                group.setType(reader.nextString());
+            } else if (reader.peek() == JSONStreamReader.Token.BEGIN_ARRAY) {
+                parse(group, reader);
+            } else {
+                throw new JSONException("Could not parse data.");
+            }
+        }
+        reader.endObject();
+
+        return group;
+    }
+
+    private void parse(Group group, JSONStreamReader reader) throws JSONException, IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            group.add(mSubParser.parse(reader));
+        }
+        reader.endArray();
+    }
+
+    @Override
+    public String toString() {
+        return "Group(" + mSubParser + ")";
+    }
 }
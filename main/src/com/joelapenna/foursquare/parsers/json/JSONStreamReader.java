@@ -0,0 +1,672 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A forward-only pull reader over a JSON character stream. Parsers walk the tokens as they come
+ * off the wire instead of waiting for the whole response to be buffered and built into an
+ * org.json tree. The method names follow the JsonReader found in later platform releases so the
+ * two can be swapped once we raise our minimum sdk.
+ *
+ * Values are read leniently, the same way org.json coerces them: nextString() will return
+ * numbers and booleans as their literal text, nextInt() will parse quoted numbers, etc.
+ *
+ * @date October 18, 2010
+ */
+public class JSONStreamReader implements Closeable {
+
+    public enum Token {
+        BEGIN_ARRAY,
+        END_ARRAY,
+        BEGIN_OBJECT,
+        END_OBJECT,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int SCOPE_EMPTY_DOCUMENT = 0;
+    private static final int SCOPE_NONEMPTY_DOCUMENT = 1;
+    private static final int SCOPE_EMPTY_ARRAY = 2;
+    private static final int SCOPE_NONEMPTY_ARRAY = 3;
+    private static final int SCOPE_EMPTY_OBJECT = 4;
+    private static final int SCOPE_DANGLING_NAME = 5;
+    private static final int SCOPE_NONEMPTY_OBJECT = 6;
+
+    private final Reader mIn;
+    private final char[] mBuffer = new char[1024];
+    private int mPos = 0;
+    private int mLimit = 0;
+
+    private int[] mStack = new int[32];
+    private int mStackSize = 0;
+
+    /** The token returned by peek() but not yet consumed, and its text if it has any. */
+    private Token mPeeked;
+    private String mPeekedText;
+
+    /** Values read through a StringPool which were replaced by a pooled copy, and their size. */
+    private int mPooledCount;
+    private long mPooledBytes;
+
+    public JSONStreamReader(Reader in) {
+        if (in == null) {
+            throw new NullPointerException("in == null");
+        }
+        mIn = in;
+        push(SCOPE_EMPTY_DOCUMENT);
+    }
+
+    public Token peek() throws JSONException, IOException {
+        if (mPeeked != null) {
+            return mPeeked;
+        }
+
+        int c;
+        switch (mStack[mStackSize - 1]) {
+            case SCOPE_EMPTY_DOCUMENT:
+                mStack[mStackSize - 1] = SCOPE_NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace();
+                if (c == -1) {
+                    throw syntaxError("Empty document");
+                }
+                return readValue(c);
+
+            case SCOPE_NONEMPTY_DOCUMENT:
+                c = nextNonWhitespace();
+                if (c != -1) {
+                    throw syntaxError("Expected end of document");
+                }
+                mPeeked = Token.END_DOCUMENT;
+                return mPeeked;
+
+            case SCOPE_EMPTY_ARRAY:
+                mStack[mStackSize - 1] = SCOPE_NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    mPeeked = Token.END_ARRAY;
+                    return mPeeked;
+                }
+                return readValue(c);
+
+            case SCOPE_NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    mPeeked = Token.END_ARRAY;
+                    return mPeeked;
+                } else if (c != ',') {
+                    throw syntaxError("Unterminated array");
+                }
+                return readValue(nextNonWhitespace());
+
+            case SCOPE_EMPTY_OBJECT:
+            case SCOPE_NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    mPeeked = Token.END_OBJECT;
+                    return mPeeked;
+                }
+                if (mStack[mStackSize - 1] == SCOPE_NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Unterminated object");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected name");
+                }
+                mStack[mStackSize - 1] = SCOPE_DANGLING_NAME;
+                mPeekedText = readString();
+                mPeeked = Token.NAME;
+                return mPeeked;
+
+            case SCOPE_DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                mStack[mStackSize - 1] = SCOPE_NONEMPTY_OBJECT;
+                return readValue(nextNonWhitespace());
+
+            default:
+                throw new IllegalStateException("Corrupt reader stack.");
+        }
+    }
+
+    public boolean hasNext() throws JSONException, IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY
+                && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws JSONException, IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(SCOPE_EMPTY_OBJECT);
+    }
+
+    public void endObject() throws JSONException, IOException {
+        expect(Token.END_OBJECT);
+        mStackSize--;
+    }
+
+    public void beginArray() throws JSONException, IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(SCOPE_EMPTY_ARRAY);
+    }
+
+    public void endArray() throws JSONException, IOException {
+        expect(Token.END_ARRAY);
+        mStackSize--;
+    }
+
+    public String nextName() throws JSONException, IOException {
+        expect(Token.NAME);
+        return mPeekedText;
+    }
+
+    /**
+     * Returns the next value as a string. Numbers and booleans are returned as their literal text,
+     * a json null is returned as null.
+     */
+    public String nextString() throws JSONException, IOException {
+        Token token = peek();
+        switch (token) {
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                mPeeked = null;
+                return mPeekedText;
+            case NULL:
+                mPeeked = null;
+                return null;
+            default:
+                throw syntaxError("Expected a string but was " + token);
+        }
+    }
+
+    /**
+     * Returns the next value as a string, the pool's copy of it if it has one.
+     */
+    public String nextString(StringPool pool) throws JSONException, IOException {
+        return intern(pool, nextString());
+    }
+
+    /**
+     * Returns the pool's copy of a value read from this reader, counting it toward
+     * getPooledBytes(). For values which are changed between being read and stored.
+     */
+    public String intern(StringPool pool, String value) {
+        String canonical = pool.intern(value);
+        if (canonical != value) {
+            mPooledCount++;
+            mPooledBytes += StringPool.sizeOf(value);
+        }
+        return canonical;
+    }
+
+    /** How many values read so far were replaced by a pooled copy. */
+    public int getPooledCount() {
+        return mPooledCount;
+    }
+
+    /** An estimate of the heap saved by the values counted by getPooledCount(). */
+    public long getPooledBytes() {
+        return mPooledBytes;
+    }
+
+    public boolean nextBoolean() throws JSONException, IOException {
+        Token token = peek();
+        if (token == Token.BOOLEAN || token == Token.STRING) {
+            mPeeked = null;
+            if ("true".equalsIgnoreCase(mPeekedText)) {
+                return true;
+            } else if ("false".equalsIgnoreCase(mPeekedText)) {
+                return false;
+            }
+        }
+        throw syntaxError("Expected a boolean but was " + token);
+    }
+
+    public int nextInt() throws JSONException, IOException {
+        String text = nextNumberText();
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            try {
+                return (int)Double.parseDouble(text);
+            } catch (NumberFormatException ex) {
+                throw syntaxError("Expected an int but was " + text);
+            }
+        }
+    }
+
+    public long nextLong() throws JSONException, IOException {
+        String text = nextNumberText();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return (long)Double.parseDouble(text);
+            } catch (NumberFormatException ex) {
+                throw syntaxError("Expected a long but was " + text);
+            }
+        }
+    }
+
+    public double nextDouble() throws JSONException, IOException {
+        String text = nextNumberText();
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a double but was " + text);
+        }
+    }
+
+    public void nextNull() throws JSONException, IOException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Skips the next value, recursively skipping any nested objects or arrays.
+     */
+    public void skipValue() throws JSONException, IOException {
+        int depth = 0;
+        do {
+            Token token = peek();
+            if (token == Token.BEGIN_ARRAY) {
+                beginArray();
+                depth++;
+            } else if (token == Token.BEGIN_OBJECT) {
+                beginObject();
+                depth++;
+            } else if (token == Token.END_ARRAY) {
+                endArray();
+                depth--;
+            } else if (token == Token.END_OBJECT) {
+                endObject();
+                depth--;
+            } else if (token == Token.END_DOCUMENT) {
+                throw syntaxError("Unexpected end of document");
+            } else {
+                mPeeked = null;
+            }
+        } while (depth != 0);
+    }
+
+    /**
+     * Reads the next value back out as compact json text, so it can be kept and parsed later with
+     * a reader of its own. Whitespace is dropped and strings are re-escaped, the text is
+     * equivalent to what was on the wire but not necessarily identical to it.
+     */
+    public String nextRawValue() throws JSONException, IOException {
+        StringBuilder raw = new StringBuilder();
+        int depth = 0;
+        do {
+            Token token = peek();
+            if (token == Token.END_ARRAY) {
+                endArray();
+                raw.append(']');
+                depth--;
+                continue;
+            } else if (token == Token.END_OBJECT) {
+                endObject();
+                raw.append('}');
+                depth--;
+                continue;
+            } else if (token == Token.END_DOCUMENT) {
+                throw syntaxError("Unexpected end of document");
+            }
+
+            // Anything else follows a comma unless it opens a scope or follows a name.
+            int length = raw.length();
+            if (length > 0) {
+                char last = raw.charAt(length - 1);
+                if (last != '[' && last != '{' && last != ':') {
+                    raw.append(',');
+                }
+            }
+            switch (token) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    raw.append('[');
+                    depth++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    raw.append('{');
+                    depth++;
+                    break;
+                case NAME:
+                    appendQuoted(raw, nextName());
+                    raw.append(':');
+                    break;
+                case STRING:
+                    appendQuoted(raw, nextString());
+                    break;
+                case NULL:
+                    nextNull();
+                    raw.append("null");
+                    break;
+                default:
+                    // Numbers and booleans, as their literal text.
+                    raw.append(nextString());
+                    break;
+            }
+        } while (depth != 0);
+        return raw.toString();
+    }
+
+    /**
+     * Reads the next object into an org.json tree. Used by parsers which have not been given a
+     * streaming implementation of their own.
+     */
+    public JSONObject readJSONObject() throws JSONException, IOException {
+        JSONObject json = new JSONObject();
+        beginObject();
+        while (hasNext()) {
+            String name = nextName();
+            json.put(name, readJSONValue());
+        }
+        endObject();
+        return json;
+    }
+
+    /**
+     * Reads the next array into an org.json tree.
+     */
+    public JSONArray readJSONArray() throws JSONException, IOException {
+        JSONArray array = new JSONArray();
+        beginArray();
+        while (hasNext()) {
+            array.put(readJSONValue());
+        }
+        endArray();
+        return array;
+    }
+
+    public void close() throws IOException {
+        mPeeked = null;
+        mStackSize = 0;
+        mIn.close();
+    }
+
+    private Object readJSONValue() throws JSONException, IOException {
+        Token token = peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                return readJSONObject();
+            case BEGIN_ARRAY:
+                return readJSONArray();
+            case STRING:
+                return nextString();
+            case BOOLEAN:
+                return nextBoolean() ? Boolean.TRUE : Boolean.FALSE;
+            case NULL:
+                nextNull();
+                return JSONObject.NULL;
+            case NUMBER:
+                // Match org.json's JSONTokener, which narrows integral values to the
+                // smallest boxed type which can hold them.
+                String text = nextString();
+                if (text.indexOf('.') == -1 && text.indexOf('e') == -1
+                        && text.indexOf('E') == -1) {
+                    try {
+                        long value = Long.parseLong(text);
+                        if (value <= Integer.MAX_VALUE && value >= Integer.MIN_VALUE) {
+                            return Integer.valueOf((int)value);
+                        }
+                        return Long.valueOf(value);
+                    } catch (NumberFormatException e) {
+                        // Fall through to double.
+                    }
+                }
+                try {
+                    return Double.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw syntaxError("Invalid number " + text);
+                }
+            default:
+                throw syntaxError("Unexpected token " + token);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0, m = value.length(); i < m; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int)c));
+                    } else {
+                        out.append(c);
+                    }
+                    break;
+            }
+        }
+        out.append('"');
+    }
+
+    private String nextNumberText() throws JSONException, IOException {
+        Token token = peek();
+        if (token != Token.NUMBER && token != Token.STRING) {
+            throw syntaxError("Expected a number but was " + token);
+        }
+        mPeeked = null;
+        return mPeekedText;
+    }
+
+    private void expect(Token expected) throws JSONException, IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw syntaxError("Expected " + expected + " but was " + token);
+        }
+        mPeeked = null;
+    }
+
+    private void push(int scope) {
+        if (mStackSize == mStack.length) {
+            int[] stack = new int[mStackSize * 2];
+            System.arraycopy(mStack, 0, stack, 0, mStackSize);
+            mStack = stack;
+        }
+        mStack[mStackSize++] = scope;
+    }
+
+    private Token readValue(int c) throws JSONException, IOException {
+        switch (c) {
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            case '{':
+                mPeeked = Token.BEGIN_OBJECT;
+                return mPeeked;
+            case '[':
+                mPeeked = Token.BEGIN_ARRAY;
+                return mPeeked;
+            case '"':
+                mPeekedText = readString();
+                mPeeked = Token.STRING;
+                return mPeeked;
+            default:
+                // Step back so the literal includes the character we just read.
+                mPos--;
+                mPeekedText = readLiteral();
+                if (mPeekedText.length() == 0) {
+                    throw syntaxError("Expected value");
+                } else if (mPeekedText.equals("true") || mPeekedText.equals("false")) {
+                    mPeeked = Token.BOOLEAN;
+                } else if (mPeekedText.equals("null")) {
+                    mPeeked = Token.NULL;
+                } else {
+                    char first = mPeekedText.charAt(0);
+                    if (first != '-' && (first < '0' || first > '9')) {
+                        throw syntaxError("Unexpected literal " + mPeekedText);
+                    }
+                    mPeeked = Token.NUMBER;
+                }
+                return mPeeked;
+        }
+    }
+
+    /**
+     * Reads a quoted string whose opening quote has already been consumed. Strings which sit
+     * wholly in the buffer and contain no escapes are copied out directly.
+     */
+    private String readString() throws JSONException, IOException {
+        StringBuilder builder = null;
+        while (true) {
+            int start = mPos;
+            while (mPos < mLimit) {
+                char c = mBuffer[mPos++];
+                if (c == '"') {
+                    if (builder == null) {
+                        return new String(mBuffer, start, mPos - start - 1);
+                    }
+                    builder.append(mBuffer, start, mPos - start - 1);
+                    return builder.toString();
+                } else if (c == '\\') {
+                    if (builder == null) {
+                        builder = new StringBuilder();
+                    }
+                    builder.append(mBuffer, start, mPos - start - 1);
+                    builder.append(readEscape());
+                    start = mPos;
+                }
+            }
+            if (builder == null) {
+                builder = new StringBuilder();
+            }
+            builder.append(mBuffer, start, mPos - start);
+            if (!fill(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private char readEscape() throws JSONException, IOException {
+        if (mPos == mLimit && !fill(1)) {
+            throw syntaxError("Unterminated escape sequence");
+        }
+        char c = mBuffer[mPos++];
+        switch (c) {
+            case 'u':
+                if (mPos + 4 > mLimit && !fill(4)) {
+                    throw syntaxError("Unterminated escape sequence");
+                }
+                int result = 0;
+                for (int i = mPos, end = mPos + 4; i < end; i++) {
+                    int digit = Character.digit(mBuffer[i], 16);
+                    if (digit == -1) {
+                        throw syntaxError("Invalid escape sequence");
+                    }
+                    result = (result << 4) + digit;
+                }
+                mPos += 4;
+                return (char)result;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * Reads an unquoted literal (number, true, false, null) up to the next delimiter.
+     */
+    private String readLiteral() throws IOException {
+        StringBuilder builder = null;
+        while (true) {
+            int start = mPos;
+            while (mPos < mLimit) {
+                char c = mBuffer[mPos];
+                if (c == ',' || c == '}' || c == ']' || c == ':' || c == ' ' || c == '\t'
+                        || c == '\n' || c == '\r') {
+                    if (builder == null) {
+                        return new String(mBuffer, start, mPos - start);
+                    }
+                    builder.append(mBuffer, start, mPos - start);
+                    return builder.toString();
+                }
+                mPos++;
+            }
+            if (builder == null) {
+                builder = new StringBuilder();
+            }
+            builder.append(mBuffer, start, mPos - start);
+            if (!fill(1)) {
+                return builder.toString();
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (mPos < mLimit || fill(1)) {
+            char c = mBuffer[mPos++];
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves any unread characters to the front of the buffer and reads until at least minimum
+     * characters are available. Returns false if the stream ended first.
+     */
+    private boolean fill(int minimum) throws IOException {
+        mLimit -= mPos;
+        if (mLimit > 0) {
+            System.arraycopy(mBuffer, mPos, mBuffer, 0, mLimit);
+        }
+        mPos = 0;
+
+        int read;
+        while (mLimit < minimum) {
+            read = mIn.read(mBuffer, mLimit, mBuffer.length - mLimit);
+            if (read == -1) {
+                return false;
+            }
+            mLimit += read;
+        }
+        return true;
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message);
+    }
+}
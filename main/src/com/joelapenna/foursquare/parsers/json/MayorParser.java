@@ -1,41 +1,132 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Mayor;
+import com.joelapenna.foursquare.types.User;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/mayor.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class MayorParser extends AbstractParser<Mayor> {
-    
+
+    private final Projection mProjection;
+
+    public MayorParser() {
+        this(Projection.ALL);
+    }
+
+    public MayorParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Mayor parse(JSONObject json) throws JSONException {
-        
         Mayor obj = new Mayor();
-        if (json.has("checkins")) {
-            obj.setCheckins(json.getString("checkins"));
-        } 
-        if (json.has("count")) {
-            obj.setCount(json.getString("count"));
-        } 
-        if (json.has("message")) {
-            obj.setMessage(json.getString("message"));
-        } 
-        if (json.has("type")) {
-            obj.setType(json.getString("type"));
-        } 
-        if (json.has("user")) {
-            obj.setUser(new UserParser().parse(json.getJSONObject("user")));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case 3575610: // type
+                    if (key.equals("type")) {
+                        obj.setType(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3599307: // user
+                    if (key.equals("user")) {
+                        obj.setUser((User) mProjection.parser(key, Parsers.USER)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 94851343: // count
+                    if (key.equals("count")) {
+                        obj.setCount(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 954925063: // message
+                    if (key.equals("message")) {
+                        obj.setMessage(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1536898534: // checkins
+                    if (key.equals("checkins")) {
+                        obj.setCheckins(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Mayor parse(JSONStreamReader reader) throws JSONException, IOException {
+        Mayor obj = new Mayor();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case 3575610: // type
+                        if (key.equals("type")) {
+                            obj.setType(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3599307: // user
+                        if (key.equals("user")) {
+                            obj.setUser((User) mProjection.parser(key, Parsers.USER).parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 94851343: // count
+                        if (key.equals("count")) {
+                            obj.setCount(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 954925063: // message
+                        if (key.equals("message")) {
+                            obj.setMessage(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1536898534: // checkins
+                        if (key.equals("checkins")) {
+                            obj.setCheckins(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-                    
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "MayorParser(" + mProjection + ")";
+    }
+}
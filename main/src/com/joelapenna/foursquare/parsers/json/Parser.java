@@ -11,6 +11,8 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * @date July 13, 2010
  * @author Mark Wyszomierski (markww@gmail.com)
@@ -19,4 +21,9 @@ public interface Parser<T extends FoursquareType> {
 
     public abstract T parse(JSONObject json) throws JSONException;
     public Group parse(JSONArray array) throws JSONException;
+
+    /**
+     * Parses the next value straight off a token stream without building an org.json tree.
+     */
+    public T parse(JSONStreamReader reader) throws JSONException, IOException;
 }
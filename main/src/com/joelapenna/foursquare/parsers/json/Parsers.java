@@ -0,0 +1,63 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+/**
+ * Shared parser instances. None of the parsers keep anything between calls (a GroupParser's
+ * sub-parser is fixed when it's built), so one of each can serve every thread and every nested
+ * field, rather than each venue in a response building its own category, stats, checkin and
+ * tip parsers. Use these instead of constructing parsers.
+ *
+ * @date October 18, 2010
+ */
+public final class Parsers {
+
+    /**
+     * Canonical copies of the string fields marked pooled in the type descriptors. Sized for a
+     * few hundred venues' and friends' worth of distinct cities, categories, badges and photos.
+     */
+    public static final StringPool STRINGS = new StringPool(4096);
+
+    public static final BadgeParser BADGE = new BadgeParser();
+    public static final BeenhereParser BEENHERE = new BeenhereParser();
+    public static final CategoryParser CATEGORY = new CategoryParser();
+    public static final CheckinParser CHECKIN = new CheckinParser();
+    public static final CheckinResultParser CHECKIN_RESULT = new CheckinResultParser();
+    public static final CityParser CITY = new CityParser();
+    public static final CredentialsParser CREDENTIALS = new CredentialsParser();
+    public static final DataParser DATA = new DataParser();
+    public static final FriendInvitesResultParser FRIEND_INVITES_RESULT =
+        new FriendInvitesResultParser();
+    public static final MayorParser MAYOR = new MayorParser();
+    public static final RankParser RANK = new RankParser();
+    public static final ResponseParser RESPONSE = new ResponseParser();
+    public static final ScoreParser SCORE = new ScoreParser();
+    public static final SettingsParser SETTINGS = new SettingsParser();
+    public static final SpecialParser SPECIAL = new SpecialParser();
+    public static final StatsParser STATS = new StatsParser();
+    public static final TipParser TIP = new TipParser();
+    public static final TipStatsParser TIP_STATS = new TipStatsParser();
+    public static final TodoParser TODO = new TodoParser();
+    public static final TypesParser TYPES = new TypesParser();
+    public static final UserParser USER = new UserParser();
+    public static final VenueParser VENUE = new VenueParser();
+
+    public static final GroupParser BADGE_GROUP = new GroupParser(BADGE);
+    public static final GroupParser CATEGORY_GROUP = new GroupParser(CATEGORY);
+    public static final GroupParser CHECKIN_GROUP = new GroupParser(CHECKIN);
+    public static final GroupParser CITY_GROUP = new GroupParser(CITY);
+    public static final GroupParser SCORE_GROUP = new GroupParser(SCORE);
+    public static final GroupParser SPECIAL_GROUP = new GroupParser(SPECIAL);
+    public static final GroupParser TIP_GROUP = new GroupParser(TIP);
+    public static final GroupParser TODO_GROUP = new GroupParser(TODO);
+    public static final GroupParser USER_GROUP = new GroupParser(USER);
+    public static final GroupParser VENUE_GROUP = new GroupParser(VENUE);
+
+    /** The /venues response: groups ("Nearby", "Matching Places", ...) of venues. */
+    public static final GroupParser VENUE_GROUP_GROUP = new GroupParser(VENUE_GROUP);
+
+    private Parsers() {
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+import com.joelapenna.foursquare.types.FoursquareType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The fields of a response a caller actually needs. A parser built with a projection skips the
+ * keys it doesn't include without building anything for them, and for keys it defers, keeps the
+ * raw json of the value and only parses it the first time the type's getter is called. A nested
+ * object or group can be given a parser of its own, so a checkin list can carry a trimmed venue.
+ * <p>
+ * Projections are immutable, each method returns a new one. Build them once, alongside the
+ * parsers which use them, and share them:
+ *
+ * <pre>
+ * Projection.of("id", "name", "address", "distance", "primarycategory", "stats")
+ *         .defer("tips", "todos");
+ * </pre>
+ *
+ * Only generated parsers understand projections. The JSONObject path applies the include list
+ * but parses deferred keys straight away, the tree is already in memory by then.
+ *
+ * @date October 18, 2010
+ */
+public final class Projection {
+
+    /** Every field, nothing deferred. The projection parsers use when they are given none. */
+    public static final Projection ALL = new Projection(null,
+            Collections.<String> emptySet(),
+            Collections.<String, Parser<? extends FoursquareType>> emptyMap());
+
+    /** The included keys, or null for every key. */
+    private final Set<String> mIncludes;
+    private final Set<String> mDeferred;
+    private final Map<String, Parser<? extends FoursquareType>> mNested;
+
+    private Projection(Set<String> includes, Set<String> deferred,
+            Map<String, Parser<? extends FoursquareType>> nested) {
+        mIncludes = includes;
+        mDeferred = deferred;
+        mNested = nested;
+    }
+
+    /**
+     * A projection of only the given keys, everything else is skipped.
+     */
+    public static Projection of(String... keys) {
+        return new Projection(new HashSet<String>(Arrays.asList(keys)), ALL.mDeferred,
+                ALL.mNested);
+    }
+
+    /**
+     * Returns a copy which also includes the given keys but leaves them unparsed until they're
+     * asked for. Only keys marked deferrable in the type's descriptor can be deferred, any other
+     * key is parsed as usual.
+     */
+    public Projection defer(String... keys) {
+        Set<String> includes = null;
+        if (mIncludes != null) {
+            includes = new HashSet<String>(mIncludes);
+            includes.addAll(Arrays.asList(keys));
+        }
+        Set<String> deferred = new HashSet<String>(mDeferred);
+        deferred.addAll(Arrays.asList(keys));
+        return new Projection(includes, deferred, mNested);
+    }
+
+    /**
+     * Returns a copy which parses the value under key with the given parser instead of the
+     * default one for its type. Used to project nested objects and groups.
+     */
+    public Projection nest(String key, Parser<? extends FoursquareType> parser) {
+        Set<String> includes = null;
+        if (mIncludes != null) {
+            includes = new HashSet<String>(mIncludes);
+            includes.add(key);
+        }
+        Map<String, Parser<? extends FoursquareType>> nested =
+            new HashMap<String, Parser<? extends FoursquareType>>(mNested);
+        nested.put(key, parser);
+        return new Projection(includes, mDeferred, nested);
+    }
+
+    public boolean includes(String key) {
+        return mIncludes == null || mIncludes.contains(key);
+    }
+
+    public boolean defers(String key) {
+        return mDeferred.contains(key);
+    }
+
+    /**
+     * The parser to use for the value under key, fallback unless one was nested for it.
+     */
+    public Parser<? extends FoursquareType> parser(String key,
+            Parser<? extends FoursquareType> fallback) {
+        Parser<? extends FoursquareType> parser = mNested.get(key);
+        return (parser != null) ? parser : fallback;
+    }
+
+    /**
+     * Describes the projection, in the same order for equal projections. Requests for the same
+     * url are only shared between callers whose parsers describe themselves the same way.
+     */
+    @Override
+    public String toString() {
+        if (this == ALL) {
+            return "*";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append((mIncludes == null) ? "*" : new TreeSet<String>(mIncludes).toString());
+        if (!mDeferred.isEmpty()) {
+            sb.append(" defer ").append(new TreeSet<String>(mDeferred));
+        }
+        for (String key : new TreeSet<String>(mNested.keySet())) {
+            sb.append(' ').append(key).append('=').append(mNested.get(key));
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Rank;
@@ -8,28 +9,98 @@ import com.joelapenna.foursquare.types.Rank;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/rank.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class RankParser extends AbstractParser<Rank> {
-    
+
+    private final Projection mProjection;
+
+    public RankParser() {
+        this(Projection.ALL);
+    }
+
+    public RankParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Rank parse(JSONObject json) throws JSONException {
-        
         Rank obj = new Rank();
-        if (json.has("city")) {
-            obj.setCity(json.getString("city"));
-        } 
-        if (json.has("message")) {
-            obj.setMessage(json.getString("message"));
-        } 
-        if (json.has("position")) {
-            obj.setPosition(json.getString("position"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case 3053931: // city
+                    if (key.equals("city")) {
+                        obj.setCity(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 747804969: // position
+                    if (key.equals("position")) {
+                        obj.setPosition(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 954925063: // message
+                    if (key.equals("message")) {
+                        obj.setMessage(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Rank parse(JSONStreamReader reader) throws JSONException, IOException {
+        Rank obj = new Rank();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case 3053931: // city
+                        if (key.equals("city")) {
+                            obj.setCity(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 747804969: // position
+                        if (key.equals("position")) {
+                            obj.setPosition(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 954925063: // message
+                        if (key.equals("message")) {
+                            obj.setMessage(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "RankParser(" + mProjection + ")";
+    }
+}
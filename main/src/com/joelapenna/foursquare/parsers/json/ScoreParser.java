@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Score;
@@ -8,27 +9,98 @@ import com.joelapenna.foursquare.types.Score;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/score.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class ScoreParser extends AbstractParser<Score> {
-    
+
+    private final Projection mProjection;
+
+    public ScoreParser() {
+        this(Projection.ALL);
+    }
+
+    public ScoreParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Score parse(JSONObject json) throws JSONException {
         Score obj = new Score();
-        if (json.has("icon")) {
-            obj.setIcon(json.getString("icon"));
-        } 
-        if (json.has("message")) {
-            obj.setMessage(json.getString("message"));
-        } 
-        if (json.has("points")) {
-            obj.setPoints(json.getString("points"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -982754077: // points
+                    if (key.equals("points")) {
+                        obj.setPoints(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3226745: // icon
+                    if (key.equals("icon")) {
+                        obj.setIcon(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 954925063: // message
+                    if (key.equals("message")) {
+                        obj.setMessage(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Score parse(JSONStreamReader reader) throws JSONException, IOException {
+        Score obj = new Score();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -982754077: // points
+                        if (key.equals("points")) {
+                            obj.setPoints(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3226745: // icon
+                        if (key.equals("icon")) {
+                            obj.setIcon(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 954925063: // message
+                        if (key.equals("message")) {
+                            obj.setMessage(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "ScoreParser(" + mProjection + ")";
+    }
+}
@@ -1,6 +1,7 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Settings;
@@ -8,33 +9,122 @@ import com.joelapenna.foursquare.types.Settings;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/settings.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class SettingsParser extends AbstractParser<Settings> {
-    
+
+    private final Projection mProjection;
+
+    public SettingsParser() {
+        this(Projection.ALL);
+    }
+
+    public SettingsParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Settings parse(JSONObject json) throws JSONException {
         Settings obj = new Settings();
-        if (json.has("feeds_key")) {
-            obj.setFeedsKey(json.getString("feeds_key"));
-        } 
-        if (json.has("get_pings")) {
-            obj.setGetPings(json.getBoolean("get_pings"));
-        } 
-        if (json.has("pings")) {
-            obj.setPings(json.getString("pings"));
-        } 
-        if (json.has("sendtofacebook")) {
-            obj.setSendtofacebook(json.getBoolean("sendtofacebook"));
-        } 
-        if (json.has("sendtotwitter")) {
-            obj.setSendtotwitter(json.getBoolean("sendtotwitter"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -1746037488: // sendtotwitter
+                    if (key.equals("sendtotwitter")) {
+                        obj.setSendtotwitter(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+                case -1625929291: // feeds_key
+                    if (key.equals("feeds_key")) {
+                        obj.setFeedsKey(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 106671425: // pings
+                    if (key.equals("pings")) {
+                        obj.setPings(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 546505673: // sendtofacebook
+                    if (key.equals("sendtofacebook")) {
+                        obj.setSendtofacebook(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+                case 1143621400: // get_pings
+                    if (key.equals("get_pings")) {
+                        obj.setGetPings(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Settings parse(JSONStreamReader reader) throws JSONException, IOException {
+        Settings obj = new Settings();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -1746037488: // sendtotwitter
+                        if (key.equals("sendtotwitter")) {
+                            obj.setSendtotwitter(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                    case -1625929291: // feeds_key
+                        if (key.equals("feeds_key")) {
+                            obj.setFeedsKey(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 106671425: // pings
+                        if (key.equals("pings")) {
+                            obj.setPings(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 546505673: // sendtofacebook
+                        if (key.equals("sendtofacebook")) {
+                            obj.setSendtofacebook(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                    case 1143621400: // get_pings
+                        if (key.equals("get_pings")) {
+                            obj.setGetPings(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "SettingsParser(" + mProjection + ")";
+    }
+}
@@ -1,38 +1,121 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Special;
+import com.joelapenna.foursquare.types.Venue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/special.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class SpecialParser extends AbstractParser<Special> {
 
+    private final Projection mProjection;
+
+    public SpecialParser() {
+        this(Projection.ALL);
+    }
+
+    public SpecialParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Special parse(JSONObject json) throws JSONException {
-        
         Special obj = new Special();
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("message")) {
-            obj.setMessage(json.getString("message"));
-        } 
-        if (json.has("type")) {
-            obj.setType(json.getString("type"));
-        } 
-        if (json.has("venue")) {
-            obj.setVenue(new VenueParser().parse(json.getJSONObject("venue")));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3575610: // type
+                    if (key.equals("type")) {
+                        obj.setType(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 112093807: // venue
+                    if (key.equals("venue")) {
+                        obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 954925063: // message
+                    if (key.equals("message")) {
+                        obj.setMessage(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Special parse(JSONStreamReader reader) throws JSONException, IOException {
+        Special obj = new Special();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3575610: // type
+                        if (key.equals("type")) {
+                            obj.setType(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 112093807: // venue
+                        if (key.equals("venue")) {
+                            obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 954925063: // message
+                        if (key.equals("message")) {
+                            obj.setMessage(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "SpecialParser(" + mProjection + ")";
+    }
+}
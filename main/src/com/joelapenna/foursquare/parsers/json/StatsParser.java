@@ -1,37 +1,124 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
+import com.joelapenna.foursquare.types.Beenhere;
+import com.joelapenna.foursquare.types.Mayor;
 import com.joelapenna.foursquare.types.Stats;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
- *
+ * Auto-generated by util/gen_parser.py from captures/types/v1/stats.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class StatsParser extends AbstractParser<Stats> {
-    
+
+    private final Projection mProjection;
+
+    public StatsParser() {
+        this(Projection.ALL);
+    }
+
+    public StatsParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Stats parse(JSONObject json) throws JSONException {
         Stats obj = new Stats();
-        if (json.has("beenhere")) {
-            obj.setBeenhere(new BeenhereParser().parse(json.getJSONObject("beenhere")));
-        } 
-        if (json.has("checkins")) {
-            obj.setCheckins(json.getString("checkins"));
-        } 
-        if (json.has("herenow")) {
-            obj.setHereNow(json.getString("herenow"));
-        } 
-        if (json.has("mayor")) {
-            obj.setMayor(new MayorParser().parse(json.getJSONObject("mayor")));
-        } 
-        
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case 103673352: // mayor
+                    if (key.equals("mayor")) {
+                        obj.setMayor((Mayor) mProjection.parser(key, Parsers.MAYOR)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 811046118: // herenow
+                    if (key.equals("herenow")) {
+                        obj.setHereNow(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1436610076: // beenhere
+                    if (key.equals("beenhere")) {
+                        obj.setBeenhere((Beenhere) mProjection.parser(key, Parsers.BEENHERE)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 1536898534: // checkins
+                    if (key.equals("checkins")) {
+                        obj.setCheckins(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Stats parse(JSONStreamReader reader) throws JSONException, IOException {
+        Stats obj = new Stats();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case 103673352: // mayor
+                        if (key.equals("mayor")) {
+                            obj.setMayor((Mayor) mProjection.parser(key, Parsers.MAYOR)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 811046118: // herenow
+                        if (key.equals("herenow")) {
+                            obj.setHereNow(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1436610076: // beenhere
+                        if (key.equals("beenhere")) {
+                            obj.setBeenhere((Beenhere) mProjection.parser(key, Parsers.BEENHERE)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 1536898534: // checkins
+                        if (key.equals("checkins")) {
+                            obj.setCheckins(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "StatsParser(" + mProjection + ")";
+    }
+}
@@ -6,6 +6,7 @@ package com.joelapenna.foursquare.parsers.json;
 import org.json.JSONArray;
 import org.json.JSONException;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,4 +26,15 @@ public class StringArrayParser {
         
         return array; 
     }
+
+    public static List<String> parse(JSONStreamReader reader) throws JSONException, IOException {
+        List<String> array = new ArrayList<String>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            array.add(reader.nextString());
+        }
+        reader.endArray();
+
+        return array;
+    }
 }
\ No newline at end of file
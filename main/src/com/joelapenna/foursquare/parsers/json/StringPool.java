@@ -0,0 +1,124 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canonical copies of strings which repeat across a response, category names and icon urls, city
+ * and state, badge icons, a friend's photo url on each of their checkins. Parsers pass values of
+ * those fields through intern() so every venue in a list shares one copy instead of holding its
+ * own.
+ * <p>
+ * The pool is a fixed table of weak references indexed by hash, a new value takes over its slot
+ * from whatever was there. So it's bounded, never keeps a response alive (an entry goes once no
+ * parsed object refers to it), and a lookup is one hash and one equals() with no lock. Two values
+ * sharing a slot evict each other, which only costs the saving, never correctness. String.intern()
+ * is neither bounded nor collectable on older vms.
+ *
+ * @date October 18, 2010
+ */
+public class StringPool {
+
+    /** Rough heap cost of a String beyond its chars: the object, its char[] header, padding. */
+    private static final int STRING_OVERHEAD = 40;
+
+    private final WeakReference<String>[] mTable;
+    private final int mMask;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+    private final AtomicLong mSavedBytes = new AtomicLong();
+
+    /**
+     * @param maxSize the most strings held, rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public StringPool(int maxSize) {
+        int size = 1;
+        while (size < maxSize) {
+            size <<= 1;
+        }
+        mTable = new WeakReference[size];
+        mMask = size - 1;
+    }
+
+    /**
+     * Returns the pooled copy of value, making value the pooled copy if there is none. Null is
+     * returned as is. Safe to call from any thread, racing callers may both miss and one of their
+     * copies wins the slot.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        // Spread the high bits down, urls differ mostly near their end.
+        int slot = (hash ^ (hash >>> 16)) & mMask;
+        WeakReference<String> ref = mTable[slot];
+        if (ref != null) {
+            String canonical = ref.get();
+            if (canonical == value) {
+                return canonical;
+            } else if (canonical != null && canonical.equals(value)) {
+                mHits.incrementAndGet();
+                mSavedBytes.addAndGet(sizeOf(value));
+                return canonical;
+            }
+        }
+        mMisses.incrementAndGet();
+        mTable[slot] = new WeakReference<String>(value);
+        return value;
+    }
+
+    /** How many strings the pool holds now, scans the table. */
+    public int getSize() {
+        int size = 0;
+        for (int i = 0; i < mTable.length; i++) {
+            WeakReference<String> ref = mTable[i];
+            if (ref != null && ref.get() != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int getMaxSize() {
+        return mTable.length;
+    }
+
+    /** Values replaced by a pooled copy. */
+    public long getHits() {
+        return mHits.get();
+    }
+
+    /** Values which had no pooled copy. */
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    /** An estimate of the heap saved by every hit so far, see sizeOf(). */
+    public long getSavedBytes() {
+        return mSavedBytes.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < mTable.length; i++) {
+            mTable[i] = null;
+        }
+        mHits.set(0);
+        mMisses.set(0);
+        mSavedBytes.set(0);
+    }
+
+    /**
+     * An estimate of the heap a string takes on a 32 bit vm, the figure a hit is counted as
+     * saving.
+     */
+    public static int sizeOf(String value) {
+        return STRING_OVERHEAD + 2 * value.length();
+    }
+}
@@ -1,64 +1,173 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
 import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.types.Venue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
+ * Auto-generated by util/gen_parser.py from captures/types/v1/tip.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class TipParser extends AbstractParser<Tip> {
-  
+
+    private final Projection mProjection;
+
+    public TipParser() {
+        this(Projection.ALL);
+    }
+
+    public TipParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Tip parse(JSONObject json) throws JSONException {
-  
         Tip obj = new Tip();
-        if (json.has("created")) {
-            obj.setCreated(json.getString("created"));
-        }
-        if (json.has("distance")) {
-            obj.setDistance(json.getString("distance"));
-        } 
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        }
-        if (json.has("stats")) {
-            obj.setStats(new TipParser.StatsParser().parse(json.getJSONObject("stats")));
-        }
-        if (json.has("status")) {
-            obj.setStatus(json.getString("status"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -892481550: // status
+                    if (key.equals("status")) {
+                        obj.setStatus(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3556653: // text
+                    if (key.equals("text")) {
+                        obj.setText(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3599307: // user
+                    if (key.equals("user")) {
+                        obj.setUser((User) mProjection.parser(key, Parsers.USER)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 109757599: // stats
+                    if (key.equals("stats")) {
+                        obj.setStats((Tip.Stats) mProjection.parser(key, Parsers.TIP_STATS)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 112093807: // venue
+                    if (key.equals("venue")) {
+                        obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 288459765: // distance
+                    if (key.equals("distance")) {
+                        obj.setDistance(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1028554472: // created
+                    if (key.equals("created")) {
+                        obj.setCreated(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        if (json.has("text")) {
-            obj.setText(json.getString("text"));
-        } 
-        if (json.has("user")) {
-            obj.setUser(new UserParser().parse(json.getJSONObject("user")));
-        } 
-        if (json.has("venue")) {
-            obj.setVenue(new VenueParser().parse(json.getJSONObject("venue")));
-        }   
-        
         return obj;
     }
-        
-    public static class StatsParser extends AbstractParser<Tip.Stats> {
-        @Override
-        public Tip.Stats parse(JSONObject json) throws JSONException {
-            Tip.Stats stats = new Tip.Stats();
-            if (json.has("donecount")) {
-                stats.setDoneCount(json.getInt("donecount"));
-            } 
-            if (json.has("todocount")) {
-                stats.setTodoCount(json.getInt("todocount"));               
+
+    @Override
+    public Tip parse(JSONStreamReader reader) throws JSONException, IOException {
+        Tip obj = new Tip();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -892481550: // status
+                        if (key.equals("status")) {
+                            obj.setStatus(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3556653: // text
+                        if (key.equals("text")) {
+                            obj.setText(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3599307: // user
+                        if (key.equals("user")) {
+                            obj.setUser((User) mProjection.parser(key, Parsers.USER).parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 109757599: // stats
+                        if (key.equals("stats")) {
+                            obj.setStats((Tip.Stats) mProjection.parser(key, Parsers.TIP_STATS)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 112093807: // venue
+                        if (key.equals("venue")) {
+                            obj.setVenue((Venue) mProjection.parser(key, Parsers.VENUE)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 288459765: // distance
+                        if (key.equals("distance")) {
+                            obj.setDistance(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1028554472: // created
+                        if (key.equals("created")) {
+                            obj.setCreated(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
             }
-            
-            return stats;
+            reader.skipValue();
         }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "TipParser(" + mProjection + ")";
     }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.parsers.json;
+
+import com.joelapenna.foursquare.types.Tip;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Auto-generated by util/gen_parser.py from captures/types/v1/tip_stats.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
+ */
+public class TipStatsParser extends AbstractParser<Tip.Stats> {
+
+    private final Projection mProjection;
+
+    public TipStatsParser() {
+        this(Projection.ALL);
+    }
+
+    public TipStatsParser(Projection projection) {
+        mProjection = projection;
+    }
+
+    @Override
+    public Tip.Stats parse(JSONObject json) throws JSONException {
+        Tip.Stats obj = new Tip.Stats();
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -1499126647: // todocount
+                    if (key.equals("todocount")) {
+                        obj.setTodoCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case 1649151693: // donecount
+                    if (key.equals("donecount")) {
+                        obj.setDoneCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public Tip.Stats parse(JSONStreamReader reader) throws JSONException, IOException {
+        Tip.Stats obj = new Tip.Stats();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -1499126647: // todocount
+                        if (key.equals("todocount")) {
+                            obj.setTodoCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case 1649151693: // donecount
+                        if (key.equals("donecount")) {
+                            obj.setDoneCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "TipStatsParser(" + mProjection + ")";
+    }
+}
@@ -1,34 +1,108 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
+import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date September 2, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
+ * Auto-generated by util/gen_parser.py from captures/types/v1/todo.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class TodoParser extends AbstractParser<Todo> {
-  
+
+    private final Projection mProjection;
+
+    public TodoParser() {
+        this(Projection.ALL);
+    }
+
+    public TodoParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Todo parse(JSONObject json) throws JSONException {
-  
         Todo obj = new Todo();
-        if (json.has("created")) {
-            obj.setCreated(json.getString("created"));
-        }
-        if (json.has("tip")) {
-            obj.setTip(new TipParser().parse(json.getJSONObject("tip")));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -868385823: // todoid
+                    if (key.equals("todoid")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 114843: // tip
+                    if (key.equals("tip")) {
+                        obj.setTip((Tip) mProjection.parser(key, Parsers.TIP)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 1028554472: // created
+                    if (key.equals("created")) {
+                        obj.setCreated(json.getString(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        if (json.has("todoid")) {
-            obj.setId(json.getString("todoid"));
+        return obj;
+    }
+
+    @Override
+    public Todo parse(JSONStreamReader reader) throws JSONException, IOException {
+        Todo obj = new Todo();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -868385823: // todoid
+                        if (key.equals("todoid")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 114843: // tip
+                        if (key.equals("tip")) {
+                            obj.setTip((Tip) mProjection.parser(key, Parsers.TIP).parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 1028554472: // created
+                        if (key.equals("created")) {
+                            obj.setCreated(reader.nextString());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
-        
+        reader.endObject();
         return obj;
     }
+
+    @Override
+    public String toString() {
+        return "TodoParser(" + mProjection + ")";
+    }
 }
@@ -9,6 +9,8 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 
 /**
  * @date July 13, 2010
@@ -34,4 +36,15 @@ public class TypesParser extends AbstractParser<Types> {
         
         return obj;
     }
+
+    public Types parseAsJSONArray(JSONStreamReader reader) throws JSONException, IOException {
+        Types obj = new Types();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            obj.add(reader.nextString());
+        }
+        reader.endArray();
+
+        return obj;
+    }
 }
\ No newline at end of file
@@ -1,115 +1,384 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
-import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.types.Checkin;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Settings;
 import com.joelapenna.foursquare.types.User;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
+ * Auto-generated by util/gen_parser.py from captures/types/v1/user.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class UserParser extends AbstractParser<User> {
 
+    private final Projection mProjection;
+
+    public UserParser() {
+        this(Projection.ALL);
+    }
+
+    public UserParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public User parse(JSONObject json) throws JSONException {
-
-        User user = new User();
-        if (json.has("badges")) {
-            user.setBadges(
-                new GroupParser(
-                    new BadgeParser()).parse(json.getJSONArray("badges")));
-        }  
-        if (json.has("badgecount")) {
-            user.setBadgeCount(json.getInt("badgecount"));
-        }
-        if (json.has("checkin")) {
-            user.setCheckin(new CheckinParser().parse(json.getJSONObject("checkin")));
-        }
-        if (json.has("checkincount")) {
-            user.setCheckinCount(json.getInt("checkincount"));
-        }
-        if (json.has("created")) {
-            user.setCreated(json.getString("created"));
-        }
-        if (json.has("email")) {
-            user.setEmail(json.getString("email"));
-        }
-        if (json.has("facebook")) {
-            user.setFacebook(json.getString("facebook"));
-        }
-        if (json.has("firstname")) {
-            user.setFirstname(json.getString("firstname"));
-        }
-        if (json.has("followercount")) {
-            user.setFollowerCount(json.getInt("followercount"));
-        }
-        if (json.has("friendcount")) {
-            user.setFriendCount(json.getInt("friendcount"));
+        User obj = new User();
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -1992509100: // tipcount
+                    if (key.equals("tipcount")) {
+                        obj.setTipCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case -1499126647: // todocount
+                    if (key.equals("todocount")) {
+                        obj.setTodoCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case -1458646495: // lastname
+                    if (key.equals("lastname")) {
+                        obj.setLastname(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -1396647632: // badges
+                    if (key.equals("badges")) {
+                        obj.setBadges(mProjection.parser(key, Parsers.BADGE_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case -1249512767: // gender
+                    if (key.equals("gender")) {
+                        obj.setGender(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case -916346253: // twitter
+                    if (key.equals("twitter")) {
+                        obj.setTwitter(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -485238799: // hometown
+                    if (key.equals("hometown")) {
+                        obj.setHometown(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 44361735: // mayorcount
+                    if (key.equals("mayorcount")) {
+                        obj.setMayorCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case 96619420: // email
+                    if (key.equals("email")) {
+                        obj.setEmail(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 103673352: // mayor
+                    if (key.equals("mayor")) {
+                        obj.setMayorships(mProjection.parser(key, Parsers.VENUE_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 106642798: // phone
+                    if (key.equals("phone")) {
+                        obj.setPhone(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 106642994: // photo
+                    if (key.equals("photo")) {
+                        obj.setPhoto(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 110844025: // types
+                    if (key.equals("types")) {
+                        obj.setTypes(Parsers.TYPES.parseAsJSONArray(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 133788987: // firstname
+                    if (key.equals("firstname")) {
+                        obj.setFirstname(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 217355522: // checkincount
+                    if (key.equals("checkincount")) {
+                        obj.setCheckinCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case 497130182: // facebook
+                    if (key.equals("facebook")) {
+                        obj.setFacebook(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 658304016: // friendstatus
+                    if (key.equals("friendstatus")) {
+                        obj.setFriendstatus(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 742314029: // checkin
+                    if (key.equals("checkin")) {
+                        obj.setCheckin((Checkin) mProjection.parser(key, Parsers.CHECKIN)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 1028554472: // created
+                    if (key.equals("created")) {
+                        obj.setCreated(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 1084457804: // badgecount
+                    if (key.equals("badgecount")) {
+                        obj.setBadgeCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case 1178528741: // friendsincommon
+                    if (key.equals("friendsincommon")) {
+                        obj.setFriendsInCommon(mProjection.parser(key, Parsers.USER_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 1391802673: // friendcount
+                    if (key.equals("friendcount")) {
+                        obj.setFriendCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+                case 1434631203: // settings
+                    if (key.equals("settings")) {
+                        obj.setSettings((Settings) mProjection.parser(key, Parsers.SETTINGS)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 2014286769: // followercount
+                    if (key.equals("followercount")) {
+                        obj.setFollowerCount(json.getInt(key));
+                        continue;
+                    }
+                    break;
+            }
         }
-        if (json.has("friendsincommon")) {
-            user.setFriendsInCommon(
-                new GroupParser(
-                    new UserParser()).parse(json.getJSONArray("friendsincommon")));
-        }  
-        if (json.has("friendstatus")) {
-            user.setFriendstatus(json.getString("friendstatus"));
-        }
-        if (json.has("gender")) {
-            user.setGender(json.getString("gender"));
-        }
-        if (json.has("hometown")) {
-            user.setHometown(json.getString("hometown"));
-        }
-        if (json.has("id")) {
-            user.setId(json.getString("id"));
-        } 
-        if (json.has("lastname")) {
-            user.setLastname(json.getString("lastname"));
-        }
-        if (json.has("mayor")) {
-            user.setMayorships(
-                new GroupParser(
-                    new VenueParser()).parse(json.getJSONArray("mayor")));
-        }
-        if (json.has("mayorcount")) {
-            user.setMayorCount(json.getInt("mayorcount"));
-        }
-        if (json.has("phone")) {
-            user.setPhone(json.getString("phone"));
-        }
-        if (json.has("photo")) {
-            user.setPhoto(json.getString("photo"));
-        }
-        if (json.has("settings")) {
-            user.setSettings(new SettingsParser().parse(json.getJSONObject("settings")));
-        } 
-        if (json.has("tipcount")) {
-            user.setTipCount(json.getInt("tipcount"));
-        }
-        if (json.has("todocount")) {
-            user.setTodoCount(json.getInt("todocount"));
-        }
-        if (json.has("twitter")) {
-            user.setTwitter(json.getString("twitter"));
-        } 
-        if (json.has("types")) {
-            user.setTypes(new TypesParser().parseAsJSONArray(json.getJSONArray("types")));
+        return obj;
+    }
+
+    @Override
+    public User parse(JSONStreamReader reader) throws JSONException, IOException {
+        User obj = new User();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -1992509100: // tipcount
+                        if (key.equals("tipcount")) {
+                            obj.setTipCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case -1499126647: // todocount
+                        if (key.equals("todocount")) {
+                            obj.setTodoCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case -1458646495: // lastname
+                        if (key.equals("lastname")) {
+                            obj.setLastname(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -1396647632: // badges
+                        if (key.equals("badges")) {
+                            obj.setBadges((Group) mProjection.parser(key, Parsers.BADGE_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case -1249512767: // gender
+                        if (key.equals("gender")) {
+                            obj.setGender(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case -916346253: // twitter
+                        if (key.equals("twitter")) {
+                            obj.setTwitter(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -485238799: // hometown
+                        if (key.equals("hometown")) {
+                            obj.setHometown(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 44361735: // mayorcount
+                        if (key.equals("mayorcount")) {
+                            obj.setMayorCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case 96619420: // email
+                        if (key.equals("email")) {
+                            obj.setEmail(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 103673352: // mayor
+                        if (key.equals("mayor")) {
+                            obj.setMayorships((Group) mProjection.parser(key, Parsers.VENUE_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 106642798: // phone
+                        if (key.equals("phone")) {
+                            obj.setPhone(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 106642994: // photo
+                        if (key.equals("photo")) {
+                            obj.setPhoto(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 110844025: // types
+                        if (key.equals("types")) {
+                            obj.setTypes(Parsers.TYPES.parseAsJSONArray(reader));
+                            continue;
+                        }
+                        break;
+                    case 133788987: // firstname
+                        if (key.equals("firstname")) {
+                            obj.setFirstname(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 217355522: // checkincount
+                        if (key.equals("checkincount")) {
+                            obj.setCheckinCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case 497130182: // facebook
+                        if (key.equals("facebook")) {
+                            obj.setFacebook(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 658304016: // friendstatus
+                        if (key.equals("friendstatus")) {
+                            obj.setFriendstatus(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 742314029: // checkin
+                        if (key.equals("checkin")) {
+                            obj.setCheckin((Checkin) mProjection.parser(key, Parsers.CHECKIN)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 1028554472: // created
+                        if (key.equals("created")) {
+                            obj.setCreated(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 1084457804: // badgecount
+                        if (key.equals("badgecount")) {
+                            obj.setBadgeCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case 1178528741: // friendsincommon
+                        if (key.equals("friendsincommon")) {
+                            obj.setFriendsInCommon(
+                                    (Group) mProjection.parser(key, Parsers.USER_GROUP)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 1391802673: // friendcount
+                        if (key.equals("friendcount")) {
+                            obj.setFriendCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                    case 1434631203: // settings
+                        if (key.equals("settings")) {
+                            obj.setSettings((Settings) mProjection.parser(key, Parsers.SETTINGS)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 2014286769: // followercount
+                        if (key.equals("followercount")) {
+                            obj.setFollowerCount(reader.nextInt());
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
         }
- 
-        return user;
+        reader.endObject();
+        return obj;
+    }
+
+    @Override
+    public String toString() {
+        return "UserParser(" + mProjection + ")";
     }
-    
-    //@Override
-    //public String getObjectName() {
-    //    return "user";
-    //}
-}
\ No newline at end of file
+}
@@ -1,98 +1,360 @@
 /**
  * Copyright 2010 Mark Wyszomierski
  */
+
 package com.joelapenna.foursquare.parsers.json;
 
+import com.joelapenna.foursquare.types.Category;
+import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquare.types.Stats;
 import com.joelapenna.foursquare.types.Tags;
 import com.joelapenna.foursquare.types.Venue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 
 /**
- * @date July 13, 2010
- * @author Mark Wyszomierski (markww@gmail.com)
+ * Auto-generated by util/gen_parser.py from captures/types/v1/venue.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
 public class VenueParser extends AbstractParser<Venue> {
- 
+
+    private final Projection mProjection;
+
+    public VenueParser() {
+        this(Projection.ALL);
+    }
+
+    public VenueParser(Projection projection) {
+        mProjection = projection;
+    }
+
     @Override
     public Venue parse(JSONObject json) throws JSONException {
-
         Venue obj = new Venue();
-        if (json.has("address")) {
-            obj.setAddress(json.getString("address"));
-        } 
-        if (json.has("checkins")) {
-            obj.setCheckins(
-                new GroupParser(
-                    new CheckinParser()).parse(json.getJSONArray("checkins")));
-        } 
-        if (json.has("city")) {
-            obj.setCity(json.getString("city"));
-        } 
-        if (json.has("cityid")) {
-            obj.setCityid(json.getString("cityid"));
-        } 
-        if (json.has("crossstreet")) {
-            obj.setCrossstreet(json.getString("crossstreet"));
-        } 
-        if (json.has("distance")) {
-            obj.setDistance(json.getString("distance"));
-        } 
-        if (json.has("geolat")) {
-            obj.setGeolat(json.getString("geolat"));
-        }
-        if (json.has("geolong")) {
-            obj.setGeolong(json.getString("geolong"));
-        } 
-        if (json.has("hasTodo")) {
-        	obj.setHasTodo(json.getBoolean("hasTodo"));
-        }
-        if (json.has("id")) {
-            obj.setId(json.getString("id"));
-        } 
-        if (json.has("name")) {
-            obj.setName(json.getString("name"));
-        } 
-        if (json.has("phone")) {
-            obj.setPhone(json.getString("phone"));
-        } 
-        if (json.has("primarycategory")) {
-             obj.setCategory(new CategoryParser().parse(json.getJSONObject("primarycategory")));
-        } 
-        if (json.has("specials")) {
-            obj.setSpecials(
-                new GroupParser(
-                    new SpecialParser()).parse(json.getJSONArray("specials")));
-        } 
-        if (json.has("state")) {
-            obj.setState(json.getString("state"));
-        } 
-        if (json.has("stats")) {
-             obj.setStats(new StatsParser().parse(json.getJSONObject("stats")));
-        } 
-        if (json.has("tags")) {
-            obj.setTags(
-                new Tags(StringArrayParser.parse(json.getJSONArray("tags"))));
-        }
-        if (json.has("tips")) {
-            obj.setTips(
-                new GroupParser(
-                    new TipParser()).parse(json.getJSONArray("tips")));
-        } 
-        if (json.has("todos")) {
-            obj.setTodos(
-                new GroupParser(
-                    new TodoParser()).parse(json.getJSONArray("todos")));
-        } 
-        if (json.has("twitter")) {
-            obj.setTwitter(json.getString("twitter"));
-        } 
-        if (json.has("zip")) {
-            obj.setZip(json.getString("zip"));
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+                case -2132879654: // specials
+                    if (key.equals("specials")) {
+                        obj.setSpecials(mProjection.parser(key, Parsers.SPECIAL_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case -1360136250: // cityid
+                    if (key.equals("cityid")) {
+                        obj.setCityid(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case -1249475410: // geolat
+                    if (key.equals("geolat")) {
+                        obj.setGeolat(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -1147692044: // address
+                    if (key.equals("address")) {
+                        obj.setAddress(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -916346253: // twitter
+                    if (key.equals("twitter")) {
+                        obj.setTwitter(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -549799869: // crossstreet
+                    if (key.equals("crossstreet")) {
+                        obj.setCrossstreet(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case -79018675: // geolong
+                    if (key.equals("geolong")) {
+                        obj.setGeolong(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3355: // id
+                    if (key.equals("id")) {
+                        obj.setId(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 120609: // zip
+                    if (key.equals("zip")) {
+                        obj.setZip(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3053931: // city
+                    if (key.equals("city")) {
+                        obj.setCity(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 3373707: // name
+                    if (key.equals("name")) {
+                        obj.setName(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 3552281: // tags
+                    if (key.equals("tags")) {
+                        obj.setTags(new Tags(StringArrayParser.parse(json.getJSONArray(key))));
+                        continue;
+                    }
+                    break;
+                case 3560248: // tips
+                    if (key.equals("tips")) {
+                        obj.setTips(mProjection.parser(key, Parsers.TIP_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 106642798: // phone
+                    if (key.equals("phone")) {
+                        obj.setPhone(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 109757585: // state
+                    if (key.equals("state")) {
+                        obj.setState(Parsers.STRINGS.intern(json.getString(key)));
+                        continue;
+                    }
+                    break;
+                case 109757599: // stats
+                    if (key.equals("stats")) {
+                        obj.setStats((Stats) mProjection.parser(key, Parsers.STATS)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 110534893: // todos
+                    if (key.equals("todos")) {
+                        obj.setTodos(mProjection.parser(key, Parsers.TODO_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+                case 288459765: // distance
+                    if (key.equals("distance")) {
+                        obj.setDistance(json.getString(key));
+                        continue;
+                    }
+                    break;
+                case 696947200: // hasTodo
+                    if (key.equals("hasTodo")) {
+                        obj.setHasTodo(json.getBoolean(key));
+                        continue;
+                    }
+                    break;
+                case 1239066880: // primarycategory
+                    if (key.equals("primarycategory")) {
+                        obj.setCategory((Category) mProjection.parser(key, Parsers.CATEGORY)
+                                .parse(json.getJSONObject(key)));
+                        continue;
+                    }
+                    break;
+                case 1536898534: // checkins
+                    if (key.equals("checkins")) {
+                        obj.setCheckins(mProjection.parser(key, Parsers.CHECKIN_GROUP)
+                                .parse(json.getJSONArray(key)));
+                        continue;
+                    }
+                    break;
+            }
         }
+        return obj;
+    }
 
+    @Override
+    public Venue parse(JSONStreamReader reader) throws JSONException, IOException {
+        Venue obj = new Venue();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+                    case -2132879654: // specials
+                        if (key.equals("specials")) {
+                            if (mProjection.defers(key)) {
+                                obj.setDeferredSpecials(new DeferredParse(reader.nextRawValue(),
+                                        mProjection.parser(key, Parsers.SPECIAL_GROUP)));
+                            } else {
+                                obj.setSpecials(
+                                        (Group) mProjection.parser(key, Parsers.SPECIAL_GROUP)
+                                        .parse(reader));
+                            }
+                            continue;
+                        }
+                        break;
+                    case -1360136250: // cityid
+                        if (key.equals("cityid")) {
+                            obj.setCityid(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case -1249475410: // geolat
+                        if (key.equals("geolat")) {
+                            obj.setGeolat(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -1147692044: // address
+                        if (key.equals("address")) {
+                            obj.setAddress(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -916346253: // twitter
+                        if (key.equals("twitter")) {
+                            obj.setTwitter(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -549799869: // crossstreet
+                        if (key.equals("crossstreet")) {
+                            obj.setCrossstreet(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case -79018675: // geolong
+                        if (key.equals("geolong")) {
+                            obj.setGeolong(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3355: // id
+                        if (key.equals("id")) {
+                            obj.setId(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 120609: // zip
+                        if (key.equals("zip")) {
+                            obj.setZip(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3053931: // city
+                        if (key.equals("city")) {
+                            obj.setCity(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 3373707: // name
+                        if (key.equals("name")) {
+                            obj.setName(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 3552281: // tags
+                        if (key.equals("tags")) {
+                            obj.setTags(new Tags(StringArrayParser.parse(reader)));
+                            continue;
+                        }
+                        break;
+                    case 3560248: // tips
+                        if (key.equals("tips")) {
+                            if (mProjection.defers(key)) {
+                                obj.setDeferredTips(new DeferredParse(reader.nextRawValue(),
+                                        mProjection.parser(key, Parsers.TIP_GROUP)));
+                            } else {
+                                obj.setTips((Group) mProjection.parser(key, Parsers.TIP_GROUP)
+                                        .parse(reader));
+                            }
+                            continue;
+                        }
+                        break;
+                    case 106642798: // phone
+                        if (key.equals("phone")) {
+                            obj.setPhone(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 109757585: // state
+                        if (key.equals("state")) {
+                            obj.setState(reader.nextString(Parsers.STRINGS));
+                            continue;
+                        }
+                        break;
+                    case 109757599: // stats
+                        if (key.equals("stats")) {
+                            obj.setStats((Stats) mProjection.parser(key, Parsers.STATS)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 110534893: // todos
+                        if (key.equals("todos")) {
+                            if (mProjection.defers(key)) {
+                                obj.setDeferredTodos(new DeferredParse(reader.nextRawValue(),
+                                        mProjection.parser(key, Parsers.TODO_GROUP)));
+                            } else {
+                                obj.setTodos((Group) mProjection.parser(key, Parsers.TODO_GROUP)
+                                        .parse(reader));
+                            }
+                            continue;
+                        }
+                        break;
+                    case 288459765: // distance
+                        if (key.equals("distance")) {
+                            obj.setDistance(reader.nextString());
+                            continue;
+                        }
+                        break;
+                    case 696947200: // hasTodo
+                        if (key.equals("hasTodo")) {
+                            obj.setHasTodo(reader.nextBoolean());
+                            continue;
+                        }
+                        break;
+                    case 1239066880: // primarycategory
+                        if (key.equals("primarycategory")) {
+                            obj.setCategory((Category) mProjection.parser(key, Parsers.CATEGORY)
+                                    .parse(reader));
+                            continue;
+                        }
+                        break;
+                    case 1536898534: // checkins
+                        if (key.equals("checkins")) {
+                            if (mProjection.defers(key)) {
+                                obj.setDeferredCheckins(new DeferredParse(reader.nextRawValue(),
+                                        mProjection.parser(key, Parsers.CHECKIN_GROUP)));
+                            } else {
+                                obj.setCheckins(
+                                        (Group) mProjection.parser(key, Parsers.CHECKIN_GROUP)
+                                        .parse(reader));
+                            }
+                            continue;
+                        }
+                        break;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
         return obj;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String toString() {
+        return "VenueParser(" + mProjection + ")";
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.queue;
+
+import com.joelapenna.foursquare.types.CheckinResult;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.types.Response;
+import com.joelapenna.foursquare.types.Tip;
+import com.joelapenna.foursquare.types.Todo;
+import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.ServerDates;
+
+/**
+ * Builds what a queued write hands back straight away: the result the server would most likely
+ * have returned, filled in with only what is known locally. Anything the server assigns (ids,
+ * badges, scores, mayorships) is missing, and new objects get the write's local id instead.
+ *
+ * @date October 18, 2010
+ */
+class OptimisticResults {
+
+    static final String CHECKIN_MESSAGE =
+        "Your check-in has been saved and will be sent as soon as possible.";
+
+    private static final String STATUS_TODO = "todo";
+    private static final String STATUS_DONE = "done";
+
+    private OptimisticResults() {
+    }
+
+    static FoursquareType create(PendingWrite write) {
+        String created = ServerDates.format(write.getCreated());
+        switch (write.getType()) {
+            case CHECKIN: {
+                CheckinResult result = new CheckinResult();
+                result.setId(write.getLocalId());
+                result.setCreated(created);
+                result.setMessage(CHECKIN_MESSAGE);
+                if (write.getArg(0) != null) {
+                    result.setVenue(createVenue(write.getArg(0), write.getArg(1)));
+                }
+                return result;
+            }
+            case ADD_TIP: {
+                Tip tip = createTip(write.getLocalId(), STATUS_TODO.equals(write.getArg(2))
+                        ? STATUS_TODO : null);
+                tip.setText(write.getArg(1));
+                tip.setCreated(created);
+                tip.setVenue(createVenue(write.getArg(0), null));
+                return tip;
+            }
+            case MARK_TODO: {
+                Todo todo = new Todo();
+                todo.setId(write.getLocalId());
+                todo.setCreated(created);
+                todo.setTip(createTip(write.getArg(0), STATUS_TODO));
+                return todo;
+            }
+            case MARK_DONE:
+                return createTip(write.getArg(0), STATUS_DONE);
+            case UNMARK_TODO:
+                return createTip(write.getArg(0), null);
+            default: {
+                Response response = new Response();
+                response.setValue("ok");
+                return response;
+            }
+        }
+    }
+
+    private static Tip createTip(String id, String status) {
+        Tip tip = new Tip();
+        tip.setId(id);
+        tip.setStatus(status);
+        return tip;
+    }
+
+    private static Venue createVenue(String id, String name) {
+        Venue venue = new Venue();
+        venue.setId(id);
+        venue.setName(name);
+        return venue;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.queue;
+
+/**
+ * A mutating api call waiting in the WriteQueue. The call's arguments are kept as strings in
+ * the order the matching FoursquareHttpApiV1 method takes them, so a write can be journaled to
+ * disk and sent after the process has been restarted.
+ *
+ * @date October 18, 2010
+ */
+public class PendingWrite {
+
+    /**
+     * The calls which can be queued. When a write arrives while another with the same key
+     * (see getKey()) is still pending, a type which supersedes replaces the older write,
+     * otherwise the new one is a duplicate and is dropped.
+     */
+    public enum Type {
+        /** venueId, venueName, geolat, geolong, geohacc, geovacc, geoalt, shout, isPrivate,
+         * tellFollowers, twitter, facebook. */
+        CHECKIN(12, false),
+        /** venueId, text, type, geolat, geolong, geohacc, geovacc, geoalt. */
+        ADD_TIP(8, false),
+        /** tipId. The tip ones share a key, the last of them for a tip is the one sent. */
+        MARK_TODO(1, true),
+        MARK_DONE(1, true),
+        UNMARK_TODO(1, true),
+        /** venueId. */
+        FLAG_CLOSED(1, false),
+        FLAG_DUPLICATE(1, false),
+        /** venueId, name, address, crossstreet, city, state, zip, phone, categoryId, geolat,
+         * geolong, geohacc, geovacc, geoalt. */
+        PROPOSE_EDIT(14, true);
+
+        private final int mArgCount;
+        private final boolean mSupersedes;
+
+        private Type(int argCount, boolean supersedes) {
+            mArgCount = argCount;
+            mSupersedes = supersedes;
+        }
+
+        public int getArgCount() {
+            return mArgCount;
+        }
+
+        public boolean supersedes() {
+            return mSupersedes;
+        }
+    }
+
+    private static final String LOCAL_ID_PREFIX = "local-";
+
+    private final long mId;
+    private final Type mType;
+    private final long mCreated;
+    private final String[] mArgs;
+    private int mAttempts;
+
+    PendingWrite(long id, Type type, long created, String[] args, int attempts) {
+        if (args.length != type.getArgCount()) {
+            throw new IllegalArgumentException(type + " takes " + type.getArgCount()
+                    + " arguments, got " + args.length);
+        }
+        mId = id;
+        mType = type;
+        mCreated = created;
+        mArgs = args;
+        mAttempts = attempts;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public Type getType() {
+        return mType;
+    }
+
+    /** When the write was queued, in milliseconds since the epoch. */
+    public long getCreated() {
+        return mCreated;
+    }
+
+    public String getArg(int index) {
+        return mArgs[index];
+    }
+
+    public boolean getBooleanArg(int index) {
+        return Boolean.parseBoolean(mArgs[index]);
+    }
+
+    /** How many times sending this write has failed so far. */
+    public int getAttempts() {
+        return mAttempts;
+    }
+
+    /**
+     * The id handed out in this write's optimistic result (for ADD_TIP, the new tip's id),
+     * until the server has assigned the real one.
+     */
+    public String getLocalId() {
+        return LOCAL_ID_PREFIX + mId;
+    }
+
+    public static boolean isLocalId(String id) {
+        return id != null && id.startsWith(LOCAL_ID_PREFIX);
+    }
+
+    String getKey() {
+        // Every type's first argument is the tip or venue it acts on.
+        String target = mArgs[0];
+        switch (mType) {
+            case MARK_TODO:
+            case MARK_DONE:
+            case UNMARK_TODO:
+                return "tip:" + target;
+            case CHECKIN:
+                // A checkin is only a duplicate of one with the same venue and shout.
+                return mType + ":" + target + ":" + mArgs[7];
+            case ADD_TIP:
+                return mType + ":" + target + ":" + mArgs[1];
+            default:
+                return mType + ":" + target;
+        }
+    }
+
+    String[] getArgs() {
+        return mArgs;
+    }
+
+    void incrementAttempts() {
+        mAttempts++;
+    }
+
+    /**
+     * Swaps a local id handed out for an earlier write for the one the server assigned.
+     */
+    boolean replaceId(String localId, String id) {
+        boolean replaced = false;
+        for (int i = 0; i < mArgs.length; i++) {
+            if (localId.equals(mArgs[i])) {
+                mArgs[i] = id;
+                replaced = true;
+            }
+        }
+        return replaced;
+    }
+
+    @Override
+    public String toString() {
+        return mType + "#" + mId + " (attempts=" + mAttempts + ")";
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.queue;
+
+import com.joelapenna.foursquare.Foursquare;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An append-only log of the WriteQueue's contents. Each record either puts a write (adding it,
+ * or updating one with the same id) or removes one, and every append is synced to disk before
+ * it returns, so a write the caller was told about survives the process being killed.
+ * <p>
+ * Replaying the records rebuilds the pending writes in the order they were first queued. A
+ * record cut short by a crash ends the replay there. Once the log holds mostly dead records it
+ * is rewritten with just the live ones.
+ *
+ * @date October 18, 2010
+ */
+class WriteJournal {
+    private static final Logger LOG = Logger.getLogger(WriteJournal.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    private static final int MAGIC = 0x34737177; // "4sqw"
+    private static final int VERSION = 1;
+
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_REMOVE = 2;
+
+    /** Compact once there are this many dead records, and more of them than live ones. */
+    private static final int COMPACT_THRESHOLD = 32;
+
+    private final File mFile;
+    private final ByteArrayOutputStream mRecord = new ByteArrayOutputStream(256);
+    private final DataOutputStream mRecordOut = new DataOutputStream(mRecord);
+    private FileOutputStream mOut;
+    private int mDeadRecords;
+
+    WriteJournal(File file) {
+        mFile = file;
+    }
+
+    /**
+     * Reads back the writes left pending by an earlier run, then leaves the journal open for
+     * appending.
+     */
+    LinkedHashMap<Long, PendingWrite> open() throws IOException {
+        LinkedHashMap<Long, PendingWrite> writes = new LinkedHashMap<Long, PendingWrite>();
+        if (mFile.exists()) {
+            replay(writes);
+        }
+        // Always start from a freshly written file, which also drops any torn record at the end.
+        rewrite(writes.values());
+        return writes;
+    }
+
+    void put(PendingWrite write) throws IOException {
+        mRecord.reset();
+        mRecordOut.writeByte(RECORD_PUT);
+        writeBody(mRecordOut, write);
+        append();
+    }
+
+    void remove(long id) throws IOException {
+        mRecord.reset();
+        mRecordOut.writeByte(RECORD_REMOVE);
+        mRecordOut.writeLong(id);
+        append();
+        mDeadRecords++;
+    }
+
+    /**
+     * Rewrites the journal with just the given writes if enough of it is dead.
+     */
+    void compactIfNeeded(Collection<PendingWrite> live) throws IOException {
+        if (mDeadRecords >= COMPACT_THRESHOLD && mDeadRecords > live.size()) {
+            rewrite(live);
+        }
+    }
+
+    void close() {
+        if (mOut != null) {
+            try {
+                mOut.close();
+            } catch (IOException e) {
+                // Nothing was left unsynced.
+            }
+            mOut = null;
+        }
+    }
+
+    private void append() throws IOException {
+        if (mOut == null) {
+            mOut = new FileOutputStream(mFile, true);
+        }
+        mRecord.writeTo(mOut);
+        mOut.getFD().sync();
+    }
+
+    private void replay(LinkedHashMap<Long, PendingWrite> writes) throws IOException {
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        } catch (FileNotFoundException e) {
+            return;
+        }
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOG.log(Level.WARNING, "Discarding unreadable write journal: " + mFile);
+                return;
+            }
+            while (true) {
+                byte record = in.readByte();
+                if (record == RECORD_PUT) {
+                    PendingWrite write = readBody(in);
+                    writes.put(write.getId(), write);
+                } else if (record == RECORD_REMOVE) {
+                    writes.remove(in.readLong());
+                } else {
+                    LOG.log(Level.WARNING, "Bad record in write journal, stopping replay.");
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            // The end of the journal, or a record torn by a crash.
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Error reading write journal, stopping replay.", e);
+        } finally {
+            in.close();
+        }
+        if (DEBUG) LOG.log(Level.FINE, "Replayed " + writes.size() + " pending writes.");
+    }
+
+    private void rewrite(Collection<PendingWrite> writes) throws IOException {
+        close();
+        File tmp = new File(mFile.getPath() + ".tmp");
+        FileOutputStream fileOut = new FileOutputStream(tmp);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (PendingWrite write : writes) {
+                out.writeByte(RECORD_PUT);
+                writeBody(out, write);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            fileOut.close();
+        }
+        if (!tmp.renameTo(mFile)) {
+            throw new IOException("Could not replace write journal " + mFile);
+        }
+        mDeadRecords = 0;
+    }
+
+    private static void writeBody(DataOutputStream out, PendingWrite write) throws IOException {
+        out.writeLong(write.getId());
+        out.writeUTF(write.getType().name());
+        out.writeLong(write.getCreated());
+        out.writeInt(write.getAttempts());
+        String[] args = write.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            out.writeBoolean(args[i] != null);
+            if (args[i] != null) {
+                out.writeUTF(args[i]);
+            }
+        }
+    }
+
+    private static PendingWrite readBody(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        PendingWrite.Type type;
+        try {
+            type = PendingWrite.Type.valueOf(in.readUTF());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown write type in journal.");
+        }
+        long created = in.readLong();
+        int attempts = in.readInt();
+        String[] args = new String[type.getArgCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return new PendingWrite(id, type, created, args, attempts);
+    }
+}
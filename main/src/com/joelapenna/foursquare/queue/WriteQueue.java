@@ -0,0 +1,318 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.queue;
+
+import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.error.FoursquareCredentialsException;
+import com.joelapenna.foursquare.error.FoursquareError;
+import com.joelapenna.foursquare.error.FoursquareParseException;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquare.types.Tip;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent outbox for mutating api calls. submit() journals the write to disk and returns
+ * an optimistic result at once, so a checkin only costs the caller a local disk write. A single
+ * background thread then drains the queue through the Sender:
+ * <ul>
+ * <li>in order: the oldest write is always sent first, and a failure which might go away
+ * (no network, a server error) stops the drain so nothing overtakes it,</li>
+ * <li>deduplicated: a write matching one still pending is dropped, or replaces it if the newer
+ * one supersedes it (marking a tip todo, then done, only sends the done),</li>
+ * <li>batched: the v1 api has no batch endpoint, so everything pending goes out back to back
+ * in one pass over the same kept-alive connection, with the journal compacted once at the end.
+ * </li>
+ * </ul>
+ * A failed drain is retried with exponential backoff; call drain() when connectivity returns to
+ * go right away. Writes the server rejects are dropped and reported to the Listener.
+ *
+ * @date October 18, 2010
+ */
+public class WriteQueue {
+    private static final Logger LOG = Logger.getLogger(WriteQueue.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    /** Server errors and the like are given up on after this many tries. */
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 15 * 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 15 * 60 * 1000;
+
+    /**
+     * Sends a write to the server, returning its real result.
+     */
+    public interface Sender {
+        public FoursquareType send(PendingWrite write) throws Exception;
+    }
+
+    /**
+     * Hears how queued writes turned out. Called on the queue's background thread.
+     */
+    public interface Listener {
+        public void onSent(PendingWrite write, FoursquareType result);
+
+        /** The write was rejected or failed too many times, and has been dropped. */
+        public void onDropped(PendingWrite write, Exception e);
+    }
+
+    private final Object mLock = new Object();
+    private final WriteJournal mJournal;
+    private final LinkedHashMap<Long, PendingWrite> mWrites;
+    private final ScheduledExecutorService mExecutor;
+    private final AtomicBoolean mDrainQueued = new AtomicBoolean();
+    private final Runnable mDrainTask = new Runnable() {
+        public void run() {
+            mDrainQueued.set(false);
+            drainPending();
+        }
+    };
+
+    private volatile Sender mSender;
+    private volatile Listener mListener;
+    private long mNextId;
+    private long mRetryDelay = MIN_RETRY_DELAY_MILLIS;
+    private ScheduledFuture<?> mRetry;
+
+    /**
+     * Opens the queue journaled in the given file, picking up any writes left pending by an
+     * earlier run. Nothing is sent until a Sender is set.
+     */
+    public WriteQueue(File journal) throws IOException {
+        mJournal = new WriteJournal(journal);
+        mWrites = mJournal.open();
+        long maxId = 0;
+        for (Long id : mWrites.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+        // Ids double as local object ids, so keep them unique across runs too.
+        mNextId = Math.max(maxId + 1, System.currentTimeMillis());
+        mExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "WriteQueue");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public void setSender(Sender sender) {
+        mSender = sender;
+        drain();
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Journals a write and starts sending it in the background.
+     *
+     * @param args the write's arguments, see PendingWrite.Type
+     * @return what the call would most likely have returned
+     * @throws IOException if the write couldn't be saved, in which case it is not queued
+     */
+    public FoursquareType submit(PendingWrite.Type type, String... args) throws IOException {
+        PendingWrite write;
+        synchronized (mLock) {
+            write = new PendingWrite(mNextId++, type, System.currentTimeMillis(), args, 0);
+            String key = write.getKey();
+            for (Iterator<PendingWrite> it = mWrites.values().iterator(); it.hasNext();) {
+                PendingWrite pending = it.next();
+                if (pending.getKey().equals(key)) {
+                    if (!type.supersedes()) {
+                        if (DEBUG) LOG.log(Level.FINE, "Dropping duplicate of " + pending);
+                        return OptimisticResults.create(pending);
+                    }
+                    if (DEBUG) LOG.log(Level.FINE, write + " supersedes " + pending);
+                    mJournal.remove(pending.getId());
+                    it.remove();
+                }
+            }
+            mJournal.put(write);
+            mWrites.put(write.getId(), write);
+        }
+        if (DEBUG) LOG.log(Level.FINE, "Queued " + write);
+        drain();
+        return OptimisticResults.create(write);
+    }
+
+    /**
+     * Starts sending whatever is pending, unless a drain is already waiting to run.
+     */
+    public void drain() {
+        if (mSender != null && mDrainQueued.compareAndSet(false, true)) {
+            mExecutor.execute(mDrainTask);
+        }
+    }
+
+    /** A snapshot of the writes still to be sent, oldest first. */
+    public List<PendingWrite> getPending() {
+        synchronized (mLock) {
+            return new ArrayList<PendingWrite>(mWrites.values());
+        }
+    }
+
+    public int size() {
+        synchronized (mLock) {
+            return mWrites.size();
+        }
+    }
+
+    /**
+     * Forgets every pending write, e.g. when the user logs out.
+     */
+    public void clear() throws IOException {
+        synchronized (mLock) {
+            for (Long id : mWrites.keySet()) {
+                mJournal.remove(id);
+            }
+            mWrites.clear();
+            mJournal.compactIfNeeded(mWrites.values());
+        }
+    }
+
+    public void shutdown() {
+        mExecutor.shutdownNow();
+        synchronized (mLock) {
+            mJournal.close();
+        }
+    }
+
+    private void drainPending() {
+        Sender sender = mSender;
+        if (sender == null) {
+            return;
+        }
+        try {
+            while (true) {
+                PendingWrite write;
+                synchronized (mLock) {
+                    if (mWrites.isEmpty()) {
+                        break;
+                    }
+                    write = mWrites.values().iterator().next();
+                }
+                if (!send(sender, write)) {
+                    return;
+                }
+            }
+            synchronized (mLock) {
+                mRetryDelay = MIN_RETRY_DELAY_MILLIS;
+                mJournal.compactIfNeeded(mWrites.values());
+            }
+        } catch (IOException e) {
+            // E.g. the disk is full. Back off and try again, as when the network is down:
+            // nothing else would drain the rest of the queue before the next submit().
+            LOG.log(Level.WARNING, "Error updating write journal.", e);
+            scheduleRetry();
+        }
+    }
+
+    /**
+     * Sends one write and updates the queue with how it went.
+     *
+     * @return true to go on with the next write
+     */
+    private boolean send(Sender sender, PendingWrite write) throws IOException {
+        if (DEBUG) LOG.log(Level.FINE, "Sending " + write);
+        FoursquareType result;
+        try {
+            result = sender.send(write);
+        } catch (FoursquareCredentialsException e) {
+            // Nothing can go until the user logs in again, which will call drain().
+            if (DEBUG) LOG.log(Level.FINE, "Not logged in, holding " + write);
+            return false;
+        } catch (FoursquareError e) {
+            dropped(write, e);
+            return true;
+        } catch (FoursquareParseException e) {
+            dropped(write, e);
+            return true;
+        } catch (IOException e) {
+            // Offline or timed out. Keep trying for as long as it takes.
+            if (DEBUG) LOG.log(Level.FINE, "Couldn't send " + write + ": " + e);
+            scheduleRetry();
+            return false;
+        } catch (Exception e) {
+            synchronized (mLock) {
+                write.incrementAttempts();
+                if (write.getAttempts() < MAX_ATTEMPTS) {
+                    if (mWrites.containsKey(write.getId())) {
+                        mJournal.put(write);
+                    }
+                    scheduleRetry();
+                    return false;
+                }
+            }
+            dropped(write, e);
+            return true;
+        }
+
+        synchronized (mLock) {
+            removeLocked(write);
+            if (write.getType() == PendingWrite.Type.ADD_TIP && result instanceof Tip) {
+                // Later writes may refer to the tip by the local id it was handed out with.
+                String id = ((Tip) result).getId();
+                for (PendingWrite pending : mWrites.values()) {
+                    if (id != null && pending.replaceId(write.getLocalId(), id)) {
+                        mJournal.put(pending);
+                    }
+                }
+            }
+        }
+        Listener listener = mListener;
+        if (listener != null) {
+            listener.onSent(write, result);
+        }
+        return true;
+    }
+
+    private void dropped(PendingWrite write, Exception e) throws IOException {
+        LOG.log(Level.WARNING, "Dropping " + write + ": " + e);
+        synchronized (mLock) {
+            removeLocked(write);
+        }
+        Listener listener = mListener;
+        if (listener != null) {
+            listener.onDropped(write, e);
+        }
+    }
+
+    private void removeLocked(PendingWrite write) throws IOException {
+        // A newer write may have superseded this one while it was being sent.
+        if (mWrites.remove(write.getId()) != null) {
+            mJournal.remove(write.getId());
+        }
+    }
+
+    private void scheduleRetry() {
+        synchronized (mLock) {
+            if (mRetry != null) {
+                mRetry.cancel(false);
+            }
+            if (DEBUG) LOG.log(Level.FINE, "Retrying in " + mRetryDelay + "ms");
+            mRetry = mExecutor.schedule(new Runnable() {
+                public void run() {
+                    drain();
+                }
+            }, mRetryDelay, TimeUnit.MILLISECONDS);
+            mRetryDelay = Math.min(mRetryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+}
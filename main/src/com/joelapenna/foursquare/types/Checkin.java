@@ -4,10 +4,7 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
+import com.joelapenna.foursquare.util.ParseUtils;
 
 /**
  * Auto-generated: 2009-11-22 20:21:34.324313
@@ -15,11 +12,13 @@ import android.os.Parcelable;
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Checkin implements FoursquareType, Parcelable {
+public class Checkin implements FoursquareType {
 
     private String mCreated;
+    private long mCreatedMillis = ParseUtils.UNKNOWN;
     private String mDisplay;
     private String mDistance;
+    private int mDistanceMeters = ParseUtils.UNKNOWN;
     private String mId;
     private boolean mIsmayor;
     private boolean mPing;
@@ -31,41 +30,20 @@ public class Checkin implements FoursquareType, Parcelable {
         mPing = false;
     }
     
-    private Checkin(Parcel in) {
-        mCreated = ParcelUtils.readStringFromParcel(in);
-        mDisplay = ParcelUtils.readStringFromParcel(in);
-        mDistance = ParcelUtils.readStringFromParcel(in);
-        mId = ParcelUtils.readStringFromParcel(in);
-        mIsmayor = in.readInt() == 1;
-        mPing = in.readInt() == 1;
-        mShout = ParcelUtils.readStringFromParcel(in);
-        
-        if (in.readInt() == 1) {
-            mUser = in.readParcelable(User.class.getClassLoader());
-        }
-        
-        if (in.readInt() == 1) {
-            mVenue = in.readParcelable(Venue.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Checkin> CREATOR = new Parcelable.Creator<Checkin>() {
-        public Checkin createFromParcel(Parcel in) {
-            return new Checkin(in);
-        }
-
-        @Override
-        public Checkin[] newArray(int size) {
-            return new Checkin[size];
-        }
-    };
-
     public String getCreated() {
         return mCreated;
     }
 
     public void setCreated(String created) {
         mCreated = created;
+        mCreatedMillis = ParseUtils.toMillis(created);
+    }
+
+    /**
+     * When this was created, in milliseconds since the epoch, or ParseUtils.UNKNOWN.
+     */
+    public long getCreatedMillis() {
+        return mCreatedMillis;
     }
 
     public String getDisplay() {
@@ -82,6 +60,14 @@ public class Checkin implements FoursquareType, Parcelable {
     
     public void setDistance(String distance) {
         mDistance = distance;
+        mDistanceMeters = ParseUtils.toInt(distance);
+    }
+
+    /**
+     * The distance from the location the checkins were asked for, or ParseUtils.UNKNOWN.
+     */
+    public int getDistanceMeters() {
+        return mDistanceMeters;
     }
 
     public String getId() {
@@ -131,34 +117,4 @@ public class Checkin implements FoursquareType, Parcelable {
     public void setVenue(Venue venue) {
         mVenue = venue;
     }
-
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mCreated);
-        ParcelUtils.writeStringToParcel(out, mDisplay);
-        ParcelUtils.writeStringToParcel(out, mDistance);
-        ParcelUtils.writeStringToParcel(out, mId);
-        out.writeInt(mIsmayor ? 1 : 0);
-        out.writeInt(mPing ? 1 : 0);
-        ParcelUtils.writeStringToParcel(out, mShout);
-        
-        if (mUser != null) {
-            out.writeInt(1);
-            out.writeParcelable(mUser, flags);
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mVenue != null) {
-            out.writeInt(1);
-            out.writeParcelable(mVenue, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-    
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
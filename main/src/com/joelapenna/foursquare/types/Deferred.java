@@ -0,0 +1,20 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.types;
+
+/**
+ * A field value which hasn't been built yet. Types hold one of these in place of a field the
+ * caller said it might not need, and swap it for the real value the first time the field's getter
+ * is called.
+ *
+ * @date October 18, 2010
+ */
+public interface Deferred<T> {
+
+    /**
+     * Builds the value, or returns the one already built. Safe to call from any thread.
+     */
+    public T get();
+}
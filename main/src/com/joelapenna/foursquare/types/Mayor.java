@@ -4,18 +4,13 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * Auto-generated: 2009-11-12 21:45:35.140783
  *
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Mayor implements FoursquareType, Parcelable {
+public class Mayor implements FoursquareType {
 
     private String mCheckins;
     private String mCount;
@@ -26,28 +21,6 @@ public class Mayor implements FoursquareType, Parcelable {
     public Mayor() {
     }
     
-    private Mayor(Parcel in) {
-        mCheckins = ParcelUtils.readStringFromParcel(in);
-        mCount = ParcelUtils.readStringFromParcel(in);
-        mMessage = ParcelUtils.readStringFromParcel(in);
-        mType = ParcelUtils.readStringFromParcel(in);
-        
-        if (in.readInt() == 1) {
-            mUser = in.readParcelable(User.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Mayor> CREATOR = new Parcelable.Creator<Mayor>() {
-        public Mayor createFromParcel(Parcel in) {
-            return new Mayor(in);
-        }
-
-        @Override
-        public Mayor[] newArray(int size) {
-            return new Mayor[size];
-        }
-    };
-
     public String getCheckins() {
         return mCheckins;
     }
@@ -87,24 +60,4 @@ public class Mayor implements FoursquareType, Parcelable {
     public void setUser(User user) {
         mUser = user;
     }
-
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mCheckins);
-        ParcelUtils.writeStringToParcel(out, mCount);
-        ParcelUtils.writeStringToParcel(out, mMessage);
-        ParcelUtils.writeStringToParcel(out, mType);
-        
-        if (mUser != null) {
-            out.writeInt(1);
-            out.writeParcelable(mUser, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
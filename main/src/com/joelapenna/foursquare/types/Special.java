@@ -4,18 +4,13 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * Auto-generated: 2010-01-09 17:54:53.266438
  *
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Special implements FoursquareType, Parcelable {
+public class Special implements FoursquareType {
 
     private String mId;
     private String mMessage;
@@ -25,27 +20,6 @@ public class Special implements FoursquareType, Parcelable {
     public Special() {
     }
     
-    private Special(Parcel in) {
-        mId = ParcelUtils.readStringFromParcel(in);
-        mMessage = ParcelUtils.readStringFromParcel(in);
-        mType = ParcelUtils.readStringFromParcel(in);
-        
-        if (in.readInt() == 1) {
-            mVenue = in.readParcelable(Venue.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Special> CREATOR = new Parcelable.Creator<Special>() {
-        public Special createFromParcel(Parcel in) {
-            return new Special(in);
-        }
-
-        @Override
-        public Special[] newArray(int size) {
-            return new Special[size];
-        }
-    };
-
     public String getId() {
         return mId;
     }
@@ -77,23 +51,4 @@ public class Special implements FoursquareType, Parcelable {
     public void setVenue(Venue venue) {
         mVenue = venue;
     }
-
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mId);
-        ParcelUtils.writeStringToParcel(out, mMessage);
-        ParcelUtils.writeStringToParcel(out, mType);
-        
-        if (mVenue != null) {
-            out.writeInt(1);
-            out.writeParcelable(mVenue, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
@@ -4,10 +4,7 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
+import com.joelapenna.foursquare.util.ParseUtils;
 
 /**
  * Auto-generated: 2009-11-12 21:45:34.803921
@@ -15,34 +12,17 @@ import android.os.Parcelable;
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Stats implements FoursquareType, Parcelable {
+public class Stats implements FoursquareType {
 
     private Beenhere mBeenhere;
     private String mCheckins;
     private String mHereNow;
+    private int mHereNowCount;
     private Mayor mMayor;
 
     public Stats() {
     }
     
-    private Stats(Parcel in) {
-        mBeenhere = in.readParcelable(Beenhere.class.getClassLoader());
-        mCheckins = ParcelUtils.readStringFromParcel(in);
-        mHereNow = ParcelUtils.readStringFromParcel(in);
-        mMayor = in.readParcelable(Mayor.class.getClassLoader());
-    }
-    
-    public static final Parcelable.Creator<Stats> CREATOR = new Parcelable.Creator<Stats>() {
-        public Stats createFromParcel(Parcel in) {
-            return new Stats(in);
-        }
-
-        @Override
-        public Stats[] newArray(int size) {
-            return new Stats[size];
-        }
-    };
-
     public Beenhere getBeenhere() {
         return mBeenhere;
     }
@@ -65,6 +45,14 @@ public class Stats implements FoursquareType, Parcelable {
 
     public void setHereNow(String herenow) {
         mHereNow = herenow;
+        mHereNowCount = Math.max(0, ParseUtils.toInt(herenow));
+    }
+
+    /**
+     * How many people are here now, zero if we weren't told.
+     */
+    public int getHereNowCount() {
+        return mHereNowCount;
     }
     
     public Mayor getMayor() {
@@ -74,17 +62,4 @@ public class Stats implements FoursquareType, Parcelable {
     public void setMayor(Mayor mayor) {
         mMayor = mayor;
     }
-
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        out.writeParcelable(mBeenhere, flags);
-        ParcelUtils.writeStringToParcel(out, mCheckins);
-        ParcelUtils.writeStringToParcel(out, mHereNow);
-        out.writeParcelable(mMayor, flags);
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
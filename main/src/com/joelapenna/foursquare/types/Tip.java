@@ -4,10 +4,7 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
+import com.joelapenna.foursquare.util.ParseUtils;
 
 /**
  * Auto-generated: 2009-11-12 21:45:35.385718
@@ -15,9 +12,10 @@ import android.os.Parcelable;
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Tip implements FoursquareType, Parcelable {
+public class Tip implements FoursquareType {
 
     private String mCreated;
+    private long mCreatedMillis = ParseUtils.UNKNOWN;
     private String mDistance;
     private String mId;
     private Tip.Stats mStats;
@@ -26,48 +24,23 @@ public class Tip implements FoursquareType, Parcelable {
     private User mUser;
     private Venue mVenue;
 
-
     public Tip() {
     }
 
-    private Tip(Parcel in) {
-        mCreated = ParcelUtils.readStringFromParcel(in);
-        mDistance = ParcelUtils.readStringFromParcel(in);
-        mId = ParcelUtils.readStringFromParcel(in);
-        
-        if (in.readInt() == 1) {
-            mStats = in.readParcelable(Tip.Stats.class.getClassLoader());
-        }
-        
-        mStatus = ParcelUtils.readStringFromParcel(in);
-        mText = ParcelUtils.readStringFromParcel(in);
-        
-        if (in.readInt() == 1) {
-            mUser = in.readParcelable(User.class.getClassLoader());
-        }
-        
-        if (in.readInt() == 1) {
-            mVenue = in.readParcelable(Venue.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Tip> CREATOR = new Parcelable.Creator<Tip>() {
-        public Tip createFromParcel(Parcel in) {
-            return new Tip(in);
-        }
-
-        @Override
-        public Tip[] newArray(int size) {
-            return new Tip[size];
-        }
-    };
-    
     public String getCreated() {
         return mCreated;
     }
 
     public void setCreated(String created) {
         mCreated = created;
+        mCreatedMillis = ParseUtils.toMillis(created);
+    }
+
+    /**
+     * When this was created, in milliseconds since the epoch, or ParseUtils.UNKNOWN.
+     */
+    public long getCreatedMillis() {
+        return mCreatedMillis;
     }
 
     public String getDistance() {
@@ -126,44 +99,7 @@ public class Tip implements FoursquareType, Parcelable {
         mVenue = venue;
     }
 
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mCreated);
-        ParcelUtils.writeStringToParcel(out, mDistance);
-        ParcelUtils.writeStringToParcel(out, mId);
-        
-        if (mStats != null) {
-            out.writeInt(1);
-            out.writeParcelable(mStats, flags);
-        } else {
-            out.writeInt(0);
-        }
-
-        ParcelUtils.writeStringToParcel(out, mStatus);
-        ParcelUtils.writeStringToParcel(out, mText);
-        
-        if (mUser != null) {
-            out.writeInt(1); 
-            out.writeParcelable(mUser, flags);
-        } else {
-            out.writeInt(0);
-        }
-         
-        if (mVenue != null) {
-            out.writeInt(1);
-            out.writeParcelable(mVenue, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-    
-    
-    public static class Stats implements FoursquareType, Parcelable {
+    public static class Stats implements FoursquareType {
 
         private int mDoneCount;
         private int mTodoCount;
@@ -171,22 +107,6 @@ public class Tip implements FoursquareType, Parcelable {
         public Stats() {
         }
 
-        private Stats(Parcel in) {
-            mDoneCount = in.readInt();
-            mTodoCount = in.readInt();
-        }
-        
-        public static final Parcelable.Creator<Tip.Stats> CREATOR = new Parcelable.Creator<Tip.Stats>() {
-            public Tip.Stats createFromParcel(Parcel in) {
-                return new Tip.Stats(in);
-            }
-
-            @Override
-            public Tip.Stats[] newArray(int size) {
-                return new Tip.Stats[size];
-            }
-        };
-        
         public int getDoneCount() {
             return mDoneCount;
         }
@@ -203,19 +123,9 @@ public class Tip implements FoursquareType, Parcelable {
             mTodoCount = todoCount;
         }
 
-        @Override
-        public void writeToParcel(Parcel out, int flags) {
-            out.writeInt(mDoneCount);
-            out.writeInt(mTodoCount);
-        }
-
-        @Override
-        public int describeContents() {
-            return 0;
-        }
     }
     
-    public static class Status implements FoursquareType, Parcelable {
+    public static class Status implements FoursquareType {
 
         private int mDone;
         private int mTodo;
@@ -223,22 +133,6 @@ public class Tip implements FoursquareType, Parcelable {
         public Status() {
         }
 
-        private Status(Parcel in) {
-            mDone = in.readInt();
-            mTodo = in.readInt();
-        }
-        
-        public static final Parcelable.Creator<Tip.Status> CREATOR = new Parcelable.Creator<Tip.Status>() {
-            public Tip.Status createFromParcel(Parcel in) {
-                return new Tip.Status(in);
-            }
-
-            @Override
-            public Tip.Status[] newArray(int size) {
-                return new Tip.Status[size];
-            }
-        };
-        
         public int getDone() {
             return mDone;
         }
@@ -255,15 +149,5 @@ public class Tip implements FoursquareType, Parcelable {
             mTodo = todo;
         }
 
-        @Override
-        public void writeToParcel(Parcel out, int flags) {
-            out.writeInt(mDone);
-            out.writeInt(mTodo);
-        }
-
-        @Override
-        public int describeContents() {
-            return 0;
-        }
     }
 }
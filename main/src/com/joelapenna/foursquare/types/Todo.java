@@ -4,16 +4,11 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * @date September 2, 2010
  * @author Mark Wyszomierski (markww@gmail.com)
  */
-public class Todo implements FoursquareType, Parcelable {
+public class Todo implements FoursquareType {
 
     private String mCreated;
     private String mId;
@@ -22,25 +17,6 @@ public class Todo implements FoursquareType, Parcelable {
     public Todo() {
     }
 
-    private Todo(Parcel in) {
-        mCreated = ParcelUtils.readStringFromParcel(in);
-        mId = ParcelUtils.readStringFromParcel(in);
-        if (in.readInt() == 1) {
-            mTip = in.readParcelable(Tip.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Todo> CREATOR = new Parcelable.Creator<Todo>() {
-        public Todo createFromParcel(Parcel in) {
-            return new Todo(in);
-        }
-
-        @Override
-        public Todo[] newArray(int size) {
-            return new Todo[size];
-        }
-    };
-    
     public String getCreated() {
         return mCreated;
     }
@@ -64,22 +40,4 @@ public class Todo implements FoursquareType, Parcelable {
     public void setTip(Tip tip) {
         mTip = tip;
     }
-
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mCreated);
-        ParcelUtils.writeStringToParcel(out, mId);
-        
-        if (mTip != null) {
-            out.writeInt(1);
-            out.writeParcelable(mTip, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
@@ -4,18 +4,13 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * Auto-generated: 2010-01-14 11:02:51.892579
  *
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class User implements FoursquareType, Parcelable {
+public class User implements FoursquareType {
 
     private Group<Badge> mBadges;
     private int mBadgeCount;
@@ -47,74 +42,6 @@ public class User implements FoursquareType, Parcelable {
     public User() {
     }
 
-    private User(Parcel in) {
-        mBadgeCount = in.readInt();
-        mCheckinCount = in.readInt();
-        mCreated = ParcelUtils.readStringFromParcel(in);
-        mEmail = ParcelUtils.readStringFromParcel(in);
-        mFacebook = ParcelUtils.readStringFromParcel(in);
-        mFirstname = ParcelUtils.readStringFromParcel(in);
-        mFollowerCount = in.readInt();
-        mFriendCount = in.readInt();
-        mFriendstatus = ParcelUtils.readStringFromParcel(in);
-        mGender = ParcelUtils.readStringFromParcel(in);
-        mHometown = ParcelUtils.readStringFromParcel(in);
-        mId = ParcelUtils.readStringFromParcel(in);
-        mLastname = ParcelUtils.readStringFromParcel(in);
-        mPhone = ParcelUtils.readStringFromParcel(in);
-        mPhoto = ParcelUtils.readStringFromParcel(in);
-        mTipCount = in.readInt();
-        mTodoCount = in.readInt();
-        mTwitter = ParcelUtils.readStringFromParcel(in);
-        
-        mBadges = new Group<Badge>();
-        int numBadges = in.readInt();
-        for (int i = 0; i < numBadges; i++) {
-            Badge badge = in.readParcelable(Badge.class.getClassLoader());
-            mBadges.add(badge);
-        }
-        
-        if (in.readInt() == 1) {
-            mCheckin = in.readParcelable(Checkin.class.getClassLoader());
-        }
-        
-        if (in.readInt() == 1) {
-            mSettings = in.readParcelable(Settings.class.getClassLoader());
-        }
-        
-        mMayorships = new Group<Venue>();
-        int numMayorships = in.readInt();
-        for (int i = 0; i < numMayorships; i++) {
-            Venue venue = in.readParcelable(Venue.class.getClassLoader());
-            mMayorships.add(venue);
-        }
-        
-        mTypes = new Types();
-        int numTypes = in.readInt();
-        for (int i = 0; i < numTypes; i++) {
-            String type = in.readString();
-            mTypes.add(type);
-        }
-        
-        mFriendsInCommon = new Group<User>();
-        int numFriendsinCommon = in.readInt();
-        for (int i = 0; i < numFriendsinCommon; i++) {
-            User user = in.readParcelable(User.class.getClassLoader());
-            mFriendsInCommon.add(user);
-        }
-    }
-    
-    public static final User.Creator<User> CREATOR = new Parcelable.Creator<User>() {
-        public User createFromParcel(Parcel in) {
-            return new User(in);
-        }
-
-        @Override
-        public User[] newArray(int size) {
-            return new User[size];
-        }
-    };
-
     public Group<Badge> getBadges() {
         return mBadges;
     }
@@ -314,81 +241,4 @@ public class User implements FoursquareType, Parcelable {
     public void setTwitter(String twitter) {
         mTwitter = twitter;
     }
- 
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        out.writeInt(mBadgeCount);
-        out.writeInt(mCheckinCount);
-        ParcelUtils.writeStringToParcel(out, mCreated);
-        ParcelUtils.writeStringToParcel(out, mEmail);
-        ParcelUtils.writeStringToParcel(out, mFacebook);
-        ParcelUtils.writeStringToParcel(out, mFirstname);
-        out.writeInt(mFollowerCount);
-        out.writeInt(mFriendCount);
-        ParcelUtils.writeStringToParcel(out, mFriendstatus);
-        ParcelUtils.writeStringToParcel(out, mGender);
-        ParcelUtils.writeStringToParcel(out, mHometown);
-        ParcelUtils.writeStringToParcel(out, mId);
-        ParcelUtils.writeStringToParcel(out, mLastname);
-        ParcelUtils.writeStringToParcel(out, mPhone);
-        ParcelUtils.writeStringToParcel(out, mPhoto);
-        out.writeInt(mTipCount);
-        out.writeInt(mTodoCount);
-        ParcelUtils.writeStringToParcel(out, mTwitter);
-        
-        if (mBadges != null) {
-            out.writeInt(mBadges.size());
-            for (int i = 0; i < mBadges.size(); i++) {
-                out.writeParcelable(mBadges.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mCheckin != null) {
-            out.writeInt(1);
-            out.writeParcelable(mCheckin, flags);
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mSettings != null) {
-            out.writeInt(1);
-            out.writeParcelable(mSettings, flags);
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mMayorships != null) {
-            out.writeInt(mMayorships.size());
-            for (int i = 0; i < mMayorships.size(); i++) {
-                out.writeParcelable(mMayorships.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-
-        if (mTypes != null) {
-            out.writeInt(mTypes.size());
-            for (int i = 0; i < mTypes.size(); i++) {
-                out.writeString(mTypes.get(i));
-            }
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mFriendsInCommon != null) {
-            out.writeInt(mFriendsInCommon.size());
-            for (int i = 0; i < mFriendsInCommon.size(); i++) {
-                out.writeParcelable(mFriendsInCommon.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
 }
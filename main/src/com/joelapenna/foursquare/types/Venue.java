@@ -4,10 +4,7 @@
 
 package com.joelapenna.foursquare.types;
 
-import com.joelapenna.foursquare.util.ParcelUtils;
-
-import android.os.Parcel;
-import android.os.Parcelable;
+import com.joelapenna.foursquare.util.ParseUtils;
 
 /**
  * Auto-generated: 2009-11-17 09:33:51.550183
@@ -15,26 +12,33 @@ import android.os.Parcelable;
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com), implemented Parcelable.
  */
-public class Venue implements FoursquareType, Parcelable {
+public class Venue implements FoursquareType {
 
     private String mAddress;
-    private Group<Checkin> mCheckins;
+    private volatile Group<Checkin> mCheckins;
+    private volatile Deferred<Group<Checkin>> mDeferredCheckins;
     private String mCity;
     private String mCityid;
     private String mCrossstreet;
     private String mDistance;
+    private int mDistanceMeters = ParseUtils.UNKNOWN;
     private String mGeolat;
+    private int mGeolatE6 = ParseUtils.NO_E6;
     private String mGeolong;
+    private int mGeolongE6 = ParseUtils.NO_E6;
     private boolean mHasTodo;
     private String mId;
     private String mName;
     private String mPhone;
-    private Group<Special> mSpecials;
+    private volatile Group<Special> mSpecials;
+    private volatile Deferred<Group<Special>> mDeferredSpecials;
     private String mState;
     private Stats mStats;
     private Tags mTags;
-    private Group<Tip> mTips;
-    private Group<Todo> mTodos;
+    private volatile Group<Tip> mTips;
+    private volatile Deferred<Group<Tip>> mDeferredTips;
+    private volatile Group<Todo> mTodos;
+    private volatile Deferred<Group<Todo>> mDeferredTodos;
     private String mTwitter;
     private String mZip;
     private Category mCategory;
@@ -42,79 +46,6 @@ public class Venue implements FoursquareType, Parcelable {
     public Venue() {
     }
 
-    private Venue(Parcel in) {
-        mAddress = ParcelUtils.readStringFromParcel(in);
-        mCity = ParcelUtils.readStringFromParcel(in);
-        mCityid = ParcelUtils.readStringFromParcel(in);
-        mCrossstreet = ParcelUtils.readStringFromParcel(in);
-        mDistance = ParcelUtils.readStringFromParcel(in);
-        mGeolat = ParcelUtils.readStringFromParcel(in);
-        mGeolong = ParcelUtils.readStringFromParcel(in);
-        mHasTodo = in.readInt() == 1;
-        mId = ParcelUtils.readStringFromParcel(in);
-        mName = ParcelUtils.readStringFromParcel(in);
-        mPhone = ParcelUtils.readStringFromParcel(in);
-        mState = ParcelUtils.readStringFromParcel(in);
-        mTwitter = ParcelUtils.readStringFromParcel(in);
-        mZip = ParcelUtils.readStringFromParcel(in);
-
-        mCheckins = new Group<Checkin>();
-        int numCheckins = in.readInt();
-        for (int i = 0; i < numCheckins; i++) {
-            Checkin checkin = in.readParcelable(Checkin.class.getClassLoader());
-            mCheckins.add(checkin); 
-        }
-        
-        int numSpecials = in.readInt();
-        if (numSpecials > 0) {
-            mSpecials = new Group<Special>();
-            for (int i = 0; i < numSpecials; i++) {
-                Special special = in.readParcelable(Special.class.getClassLoader());
-                mSpecials.add(special);
-            }
-        }
-        
-        if (in.readInt() == 1) {
-            mStats = in.readParcelable(Stats.class.getClassLoader());
-        }
-        
-        mTags = new Tags();
-        int numTags = in.readInt();
-        for (int i = 0; i < numTags; i++) {
-            String tag = in.readString();
-            mTags.add(tag);
-        }
-  
-        mTips = new Group<Tip>();
-        int numTips = in.readInt();
-        for (int i = 0; i < numTips; i++) {
-            Tip tip = in.readParcelable(Tip.class.getClassLoader());
-            mTips.add(tip);
-        }
-
-        mTodos = new Group<Todo>();
-        int numTodos = in.readInt();
-        for (int i = 0; i < numTodos; i++) {
-            Todo todo = in.readParcelable(Todo.class.getClassLoader());
-            mTodos.add(todo);
-        }
-
-        if (in.readInt() == 1) {
-            mCategory = in.readParcelable(Category.class.getClassLoader());
-        }
-    }
-    
-    public static final Parcelable.Creator<Venue> CREATOR = new Parcelable.Creator<Venue>() {
-        public Venue createFromParcel(Parcel in) {
-            return new Venue(in);
-        }
-
-        @Override
-        public Venue[] newArray(int size) {
-            return new Venue[size];
-        }
-    };
-    
     public String getAddress() {
         return mAddress;
     }
@@ -124,11 +55,25 @@ public class Venue implements FoursquareType, Parcelable {
     }
 
     public Group<Checkin> getCheckins() {
+        Deferred<Group<Checkin>> deferred = mDeferredCheckins;
+        if (deferred != null) {
+            mCheckins = deferred.get();
+            mDeferredCheckins = null;
+        }
         return mCheckins;
     }
 
     public void setCheckins(Group<Checkin> checkins) {
         mCheckins = checkins;
+        mDeferredCheckins = null;
+    }
+
+    /**
+     * Leaves the checkins to be built the first time they're asked for, see Projection.
+     */
+    public void setDeferredCheckins(Deferred<Group<Checkin>> checkins) {
+        mCheckins = null;
+        mDeferredCheckins = checkins;
     }
 
     public String getCity() {
@@ -161,6 +106,14 @@ public class Venue implements FoursquareType, Parcelable {
 
     public void setDistance(String distance) {
         mDistance = distance;
+        mDistanceMeters = ParseUtils.toInt(distance);
+    }
+
+    /**
+     * The distance from the location the venue was asked for, or ParseUtils.UNKNOWN.
+     */
+    public int getDistanceMeters() {
+        return mDistanceMeters;
     }
 
     public String getGeolat() {
@@ -169,6 +122,14 @@ public class Venue implements FoursquareType, Parcelable {
 
     public void setGeolat(String geolat) {
         mGeolat = geolat;
+        mGeolatE6 = ParseUtils.toE6(geolat);
+    }
+
+    /**
+     * The latitude in microdegrees, or ParseUtils.NO_E6.
+     */
+    public int getGeolatE6() {
+        return mGeolatE6;
     }
 
     public String getGeolong() {
@@ -177,6 +138,21 @@ public class Venue implements FoursquareType, Parcelable {
 
     public void setGeolong(String geolong) {
         mGeolong = geolong;
+        mGeolongE6 = ParseUtils.toE6(geolong);
+    }
+
+    /**
+     * The longitude in microdegrees, or ParseUtils.NO_E6.
+     */
+    public int getGeolongE6() {
+        return mGeolongE6;
+    }
+
+    /**
+     * True if both coordinates were given and could be read.
+     */
+    public boolean hasGeolocation() {
+        return mGeolatE6 != ParseUtils.NO_E6 && mGeolongE6 != ParseUtils.NO_E6;
     }
 
     public boolean getHasTodo() {
@@ -212,11 +188,25 @@ public class Venue implements FoursquareType, Parcelable {
     }
     
     public Group<Special> getSpecials() {
+        Deferred<Group<Special>> deferred = mDeferredSpecials;
+        if (deferred != null) {
+            mSpecials = deferred.get();
+            mDeferredSpecials = null;
+        }
         return mSpecials;
     }
 
     public void setSpecials(Group<Special> specials) {
         mSpecials = specials;
+        mDeferredSpecials = null;
+    }
+
+    /**
+     * Leaves the specials to be built the first time they're asked for, see Projection.
+     */
+    public void setDeferredSpecials(Deferred<Group<Special>> specials) {
+        mSpecials = null;
+        mDeferredSpecials = specials;
     }
     
     public String getState() {
@@ -244,19 +234,47 @@ public class Venue implements FoursquareType, Parcelable {
     }
 
     public Group<Tip> getTips() {
+        Deferred<Group<Tip>> deferred = mDeferredTips;
+        if (deferred != null) {
+            mTips = deferred.get();
+            mDeferredTips = null;
+        }
         return mTips;
     }
 
     public void setTips(Group<Tip> tips) {
         mTips = tips;
+        mDeferredTips = null;
+    }
+
+    /**
+     * Leaves the tips to be built the first time they're asked for, see Projection.
+     */
+    public void setDeferredTips(Deferred<Group<Tip>> tips) {
+        mTips = null;
+        mDeferredTips = tips;
     }
 
     public Group<Todo> getTodos() {
+        Deferred<Group<Todo>> deferred = mDeferredTodos;
+        if (deferred != null) {
+            mTodos = deferred.get();
+            mDeferredTodos = null;
+        }
         return mTodos;
     }
 
     public void setTodos(Group<Todo> todos) {
         mTodos = todos;
+        mDeferredTodos = null;
+    }
+
+    /**
+     * Leaves the todos to be built the first time they're asked for, see Projection.
+     */
+    public void setDeferredTodos(Deferred<Group<Todo>> todos) {
+        mTodos = null;
+        mDeferredTodos = todos;
     }
 
     public String getTwitter() {
@@ -282,87 +300,4 @@ public class Venue implements FoursquareType, Parcelable {
     public void setCategory(Category category) {
         mCategory = category;
     }
-    
-    
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        ParcelUtils.writeStringToParcel(out, mAddress);
-        ParcelUtils.writeStringToParcel(out, mCity);
-        ParcelUtils.writeStringToParcel(out, mCityid);
-        ParcelUtils.writeStringToParcel(out, mCrossstreet);
-        ParcelUtils.writeStringToParcel(out, mDistance);
-        ParcelUtils.writeStringToParcel(out, mGeolat);
-        ParcelUtils.writeStringToParcel(out, mGeolong);
-        out.writeInt(mHasTodo ? 1 : 0);
-        ParcelUtils.writeStringToParcel(out, mId);
-        ParcelUtils.writeStringToParcel(out, mName);
-        ParcelUtils.writeStringToParcel(out, mPhone);
-        ParcelUtils.writeStringToParcel(out, mState);
-        ParcelUtils.writeStringToParcel(out, mTwitter);
-        ParcelUtils.writeStringToParcel(out, mZip);
-
-        if (mCheckins != null) {
-            out.writeInt(mCheckins.size());
-            for (int i = 0; i < mCheckins.size(); i++) {
-                out.writeParcelable(mCheckins.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mSpecials != null) {
-            out.writeInt(mSpecials.size());
-            for (int i = 0; i < mSpecials.size(); i++) {
-                out.writeParcelable((Special)mSpecials.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-        
-        if (mStats != null) {
-            out.writeInt(1);
-            out.writeParcelable(mStats, flags);
-        } else {
-            out.writeInt(0);    
-        }
-        
-        if (mTags != null) {
-            out.writeInt(mTags.size());
-            for (int i = 0; i < mTags.size(); i++) {
-                out.writeString(mTags.get(i));
-            }
-        } else {
-            out.writeInt(0);
-        }
-  
-        if (mTips != null) {
-            out.writeInt(mTips.size());
-            for (int i = 0; i < mTips.size(); i++) {
-                out.writeParcelable((Tip)mTips.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-
-        if (mTodos != null) {
-            out.writeInt(mTodos.size());
-            for (int i = 0; i < mTodos.size(); i++) {
-                out.writeParcelable((Todo)mTodos.get(i), flags);
-            }
-        } else {
-            out.writeInt(0);
-        }
-            
-        if (mCategory != null) {
-            out.writeInt(1);
-            out.writeParcelable(mCategory, flags);
-        } else {
-            out.writeInt(0);
-        }
-    }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-}
\ No newline at end of file
+}
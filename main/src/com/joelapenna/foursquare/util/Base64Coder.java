@@ -12,7 +12,7 @@
 // Please contact the author if you need another license.
 // This module is provided "as is", without warranties of any kind.
 
-package com.joelapenna.foursquared.util;
+package com.joelapenna.foursquare.util;
 
 /**
  * A Base64 Encoder/Decoder.
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A date pattern, "h:mm a" or "E MMM d", with the labels it has produced kept by the minute or the
+ * day they stand for. A list of fifty checkins from this evening needs only a handful of distinct
+ * labels, so most calls are a map lookup instead of a SimpleDateFormat.format().
+ * <p>
+ * Safe to share between threads, calls are serialized on the cache. The time zone is the
+ * default when the cache is built, call clear() if it changes.
+ *
+ * @date October 18, 2010
+ */
+public class DateLabelCache {
+
+    /** Bucket sizes, a pattern must not show anything finer than its bucket. */
+    public static final long MINUTE = 60 * 1000L;
+    public static final long DAY = 24 * 60 * MINUTE;
+
+    private static final int DEFAULT_MAX_SIZE = 64;
+
+    private final SimpleDateFormat mFormat;
+    private final long mBucket;
+    private final Map<Long, String> mLabels;
+
+    public DateLabelCache(String pattern, long bucket) {
+        this(pattern, bucket, DEFAULT_MAX_SIZE);
+    }
+
+    public DateLabelCache(String pattern, long bucket, final int maxSize) {
+        mFormat = new SimpleDateFormat(pattern);
+        mBucket = bucket;
+        mLabels = new LinkedHashMap<Long, String>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized String format(long millis) {
+        // Buckets are local minutes or days, so a day label changes at local midnight.
+        TimeZone zone = mFormat.getTimeZone();
+        long local = millis + zone.getOffset(millis);
+        Long key = Long.valueOf((local >= 0) ? local / mBucket : (local + 1) / mBucket - 1);
+        String label = mLabels.get(key);
+        if (label == null) {
+            label = mFormat.format(new Date(millis));
+            mLabels.put(key, label);
+        }
+        return label;
+    }
+
+    public String format(Date date) {
+        return format(date.getTime());
+    }
+
+    /**
+     * Forgets every label and picks up the current default time zone.
+     */
+    public synchronized void clear() {
+        mLabels.clear();
+        mFormat.setTimeZone(TimeZone.getDefault());
+    }
+}
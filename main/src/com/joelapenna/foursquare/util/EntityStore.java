@@ -0,0 +1,168 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsed objects by type and id, one instance for each, so screens can hand each other an id
+ * and look the object up instead of copying it (and everything hanging off it) through an
+ * intent. Whoever receives the id gets the very instance the sender had, changes either side
+ * makes are seen by both.
+ * <p>
+ * The store never keeps an object alive by itself. With SOFT retention an object no screen
+ * holds any more stays until the vm needs the memory, with WEAK it goes at the next gc. A lookup
+ * may therefore miss, and callers need a way back: the app saves a snapshot in the activity's
+ * state, or refetches by id.
+ * <p>
+ * Safe to use from any thread.
+ *
+ * @date October 18, 2010
+ */
+public class EntityStore {
+
+    public enum Retention {
+        WEAK, SOFT
+    }
+
+    private final Retention mRetention;
+    private final Map<Key, Reference<Object>> mEntities = new HashMap<Key, Reference<Object>>();
+    private final ReferenceQueue<Object> mCleared = new ReferenceQueue<Object>();
+
+    private long mHits;
+    private long mMisses;
+
+    public EntityStore(Retention retention) {
+        mRetention = retention;
+    }
+
+    /**
+     * Makes entity the instance for its type and id, replacing any earlier one. Returns entity.
+     */
+    public synchronized <T> T put(Class<T> type, String id, T entity) {
+        if (id == null || entity == null) {
+            throw new IllegalArgumentException("An entity and its id are required.");
+        }
+        purge();
+        Key key = new Key(type, id);
+        mEntities.put(key, (mRetention == Retention.SOFT)
+                ? new SoftEntry(key, entity, mCleared)
+                : new WeakEntry(key, entity, mCleared));
+        return entity;
+    }
+
+    /**
+     * The instance for type and id, or null if there never was one or it has been collected.
+     */
+    public synchronized <T> T get(Class<T> type, String id) {
+        if (id == null) {
+            return null;
+        }
+        purge();
+        Reference<Object> ref = mEntities.get(new Key(type, id));
+        Object entity = (ref != null) ? ref.get() : null;
+        if (entity == null) {
+            mMisses++;
+            return null;
+        }
+        mHits++;
+        return type.cast(entity);
+    }
+
+    public synchronized void remove(Class<?> type, String id) {
+        mEntities.remove(new Key(type, id));
+    }
+
+    /** Entities held now, some may be collected before the next call. */
+    public synchronized int size() {
+        purge();
+        return mEntities.size();
+    }
+
+    public synchronized long getHits() {
+        return mHits;
+    }
+
+    /** Lookups which found nothing, ids never stored or collected since. */
+    public synchronized long getMisses() {
+        return mMisses;
+    }
+
+    public synchronized void clear() {
+        mEntities.clear();
+        purge();
+    }
+
+    /** Drops the entries whose entities have been collected. */
+    private void purge() {
+        Reference<?> ref;
+        while ((ref = mCleared.poll()) != null) {
+            Key key = ((Entry) ref).getKey();
+            // The key may have been given a new entity since this one was collected.
+            if (mEntities.get(key) == ref) {
+                mEntities.remove(key);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> mType;
+        private final String mId;
+
+        Key(Class<?> type, String id) {
+            mType = type;
+            mId = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mType == other.mType && mId.equals(other.mId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mType.hashCode() + mId.hashCode();
+        }
+    }
+
+    private interface Entry {
+        Key getKey();
+    }
+
+    private static final class SoftEntry extends SoftReference<Object> implements Entry {
+        private final Key mKey;
+
+        SoftEntry(Key key, Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            mKey = key;
+        }
+
+        public Key getKey() {
+            return mKey;
+        }
+    }
+
+    private static final class WeakEntry extends WeakReference<Object> implements Entry {
+        private final Key mKey;
+
+        WeakEntry(Key key, Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            mKey = key;
+        }
+
+        public Key getKey() {
+            return mKey;
+        }
+    }
+}
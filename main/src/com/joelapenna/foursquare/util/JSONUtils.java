@@ -8,6 +8,7 @@ import com.joelapenna.foursquare.Foursquare;
 import com.joelapenna.foursquare.error.FoursquareCredentialsException;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.error.FoursquareParseException;
+import com.joelapenna.foursquare.parsers.json.JSONStreamReader;
 import com.joelapenna.foursquare.parsers.json.Parser;
 import com.joelapenna.foursquare.parsers.json.TipParser;
 import com.joelapenna.foursquare.types.FoursquareType;
@@ -17,6 +18,8 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -66,4 +69,42 @@ public class JSONUtils {
             throw new FoursquareException("Error parsing JSON response: " + ex.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Takes a parser and a json stream, and returns a foursquare type. The stream is read token
+     * by token and handed straight to the parser, so we never hold the raw response or an
+     * org.json tree of it in memory. The stream is closed before returning.
+     */
+    public static FoursquareType consume(Parser<? extends FoursquareType> parser,
+            InputStream in, String charset) throws FoursquareCredentialsException,
+            FoursquareParseException, FoursquareException, IOException {
+
+        JSONStreamReader reader = new JSONStreamReader(new InputStreamReader(in, charset));
+        try {
+            // Same as above, the response is a single-keyed object wrapping either an
+            // object or an array, or an error string.
+            reader.beginObject();
+            if (reader.hasNext()) {
+                String key = reader.nextName();
+                if (key.equals("error")) {
+                    throw new FoursquareException(reader.nextString());
+                } else {
+                    FoursquareType result = parser.parse(reader);
+                    if (DEBUG) {
+                        LOG.log(Level.FINE, "Pooled " + reader.getPooledCount()
+                                + " repeated strings, saving about " + reader.getPooledBytes()
+                                + " bytes");
+                    }
+                    return result;
+                }
+            } else {
+                throw new FoursquareException("Error parsing JSON response, object had no single child key.");
+            }
+
+        } catch (JSONException ex) {
+            throw new FoursquareException("Error parsing JSON response: " + ex.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.util;
+
+/**
+ * Converts the numbers and dates the v1 api sends as strings into primitives. The types call these
+ * from their setters, so each value is converted once when it's parsed (or unparcelled) rather
+ * than by every comparator, adapter and overlay which reads it.
+ *
+ * @date October 18, 2010
+ */
+public class ParseUtils {
+
+    /** Returned by toE6() for a missing or malformed coordinate. */
+    public static final int NO_E6 = Integer.MIN_VALUE;
+
+    /** Returned by toInt() and toMillis() for a missing or malformed value. */
+    public static final int UNKNOWN = -1;
+
+    private ParseUtils() {
+    }
+
+    /**
+     * Degrees to microdegrees, the int form GeoPoint takes, rounded to the nearest.
+     */
+    public static int toE6(String degrees) {
+        if (degrees == null || degrees.length() == 0) {
+            return NO_E6;
+        }
+        try {
+            return (int)Math.round(Double.parseDouble(degrees) * 1E6);
+        } catch (NumberFormatException e) {
+            return NO_E6;
+        }
+    }
+
+    /**
+     * A whole number such as a distance or a count. Decimals are truncated.
+     */
+    public static int toInt(String value) {
+        if (value == null || value.length() == 0) {
+            return UNKNOWN;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            try {
+                return (int)Double.parseDouble(value);
+            } catch (NumberFormatException ex) {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * A created date, "Mon, 08 Jun 09 01:53:09 +0000", to milliseconds since the epoch.
+     */
+    public static long toMillis(String created) {
+        return ServerDates.parse(created);
+    }
+}
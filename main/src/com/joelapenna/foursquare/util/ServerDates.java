@@ -0,0 +1,210 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.util;
+
+/**
+ * Reads and writes the v1 api's timestamps, "Mon, 08 Jun 09 01:53:09 +0000", without
+ * SimpleDateFormat. The format is fixed (english names, numeric zone), so a hand-written scan of
+ * the characters does the job with no allocation, no Calendar and no lock, and is safe to call
+ * from any thread. Every created date in a response goes through here once, see ParseUtils.
+ * <p>
+ * Two digit years are taken as 1970 to 2069, the window SimpleDateFormat would pick for any date
+ * the api has sent. A four digit year is read as is. The day name is skipped, not checked.
+ *
+ * @date October 18, 2010
+ */
+public class ServerDates {
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    /** Day names from the epoch's, a Thursday. */
+    private static final String[] DAYS = {
+            "Thu", "Fri", "Sat", "Sun", "Mon", "Tue", "Wed"
+    };
+
+    private ServerDates() {
+    }
+
+    /**
+     * Milliseconds since the epoch for a created date, or ParseUtils.UNKNOWN if it isn't one.
+     */
+    public static long parse(String created) {
+        if (created == null) {
+            return ParseUtils.UNKNOWN;
+        }
+        int length = created.length();
+        // Skip the day name, it's implied by the date.
+        int pos = created.indexOf(',') + 1;
+        while (pos < length && created.charAt(pos) == ' ') {
+            pos++;
+        }
+
+        int dayStart = pos;
+        int day = 0;
+        while (pos < length && isDigit(created.charAt(pos))) {
+            day = day * 10 + created.charAt(pos++) - '0';
+        }
+        if (pos == dayStart || pos - dayStart > 2 || day < 1 || day > 31 || !skip(created, pos)) {
+            return ParseUtils.UNKNOWN;
+        }
+        pos++;
+
+        int month = month(created, pos);
+        if (month < 0 || !skip(created, pos + 3)) {
+            return ParseUtils.UNKNOWN;
+        }
+        pos += 4;
+
+        int yearStart = pos;
+        int year = 0;
+        while (pos < length && isDigit(created.charAt(pos))) {
+            year = year * 10 + created.charAt(pos++) - '0';
+        }
+        if (pos - yearStart == 2) {
+            year += (year < 70) ? 2000 : 1900;
+        } else if (pos - yearStart != 4) {
+            return ParseUtils.UNKNOWN;
+        }
+        if (!skip(created, pos)) {
+            return ParseUtils.UNKNOWN;
+        }
+        pos++;
+
+        // HH:mm:ss, fixed width.
+        if (pos + 8 > length || created.charAt(pos + 2) != ':' || created.charAt(pos + 5) != ':') {
+            return ParseUtils.UNKNOWN;
+        }
+        int hours = twoDigits(created, pos);
+        int minutes = twoDigits(created, pos + 3);
+        int seconds = twoDigits(created, pos + 6);
+        if (hours > 23 || minutes > 59 || seconds > 60 || hours < 0 || minutes < 0
+                || seconds < 0) {
+            return ParseUtils.UNKNOWN;
+        }
+        pos += 8;
+
+        int offsetMinutes = 0;
+        if (pos < length) {
+            if (!skip(created, pos)) {
+                return ParseUtils.UNKNOWN;
+            }
+            pos++;
+            offsetMinutes = zone(created, pos);
+            if (offsetMinutes == Integer.MIN_VALUE) {
+                return ParseUtils.UNKNOWN;
+            }
+        }
+
+        long days = daysFromCivil(year, month + 1, day);
+        return days * MILLIS_PER_DAY
+                + ((hours * 60L + minutes - offsetMinutes) * 60L + seconds) * 1000L;
+    }
+
+    /**
+     * Formats millis as the api expects a created date, in UTC.
+     */
+    public static String format(long millis) {
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        int secondOfDay = (int)((millis - days * MILLIS_PER_DAY) / 1000);
+
+        // Civil date from days since the epoch, the inverse of daysFromCivil().
+        long z = days + 719468;
+        long era = floorDiv(z, 146097);
+        int dayOfEra = (int)(z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = (mp < 10) ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + ((month <= 2) ? 1 : 0);
+
+        StringBuilder sb = new StringBuilder(31);
+        sb.append(DAYS[(int)(days - floorDiv(days, 7) * 7)]).append(", ");
+        appendTwoDigits(sb, day);
+        sb.append(' ').append(MONTHS[month - 1]).append(' ');
+        appendTwoDigits(sb, (int)(year % 100));
+        sb.append(' ');
+        appendTwoDigits(sb, secondOfDay / 3600);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay / 60 % 60);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        sb.append(" +0000");
+        return sb.toString();
+    }
+
+    /** Days since 1970-01-01 for a proleptic gregorian date, month from 1. */
+    private static long daysFromCivil(long year, int month, int day) {
+        year -= (month <= 2) ? 1 : 0;
+        long era = floorDiv(year, 400);
+        int yearOfEra = (int)(year - era * 400);
+        int dayOfYear = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /** Month from 0, or -1. */
+    private static int month(String s, int pos) {
+        if (pos + 3 > s.length()) {
+            return -1;
+        }
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (s.regionMatches(true, pos, MONTHS[i], 0, 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** "+hhmm", "-hhmm", "GMT", "UTC" or "Z" in minutes east of UTC, or Integer.MIN_VALUE. */
+    private static int zone(String s, int pos) {
+        int remaining = s.length() - pos;
+        if (remaining == 5 && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+            int hours = twoDigits(s, pos + 1);
+            int minutes = twoDigits(s, pos + 3);
+            if (hours < 0 || minutes < 0 || minutes > 59) {
+                return Integer.MIN_VALUE;
+            }
+            int offset = hours * 60 + minutes;
+            return (s.charAt(pos) == '-') ? -offset : offset;
+        } else if ((remaining == 3 && (s.startsWith("GMT", pos) || s.startsWith("UTC", pos)))
+                || (remaining == 1 && s.charAt(pos) == 'Z')) {
+            return 0;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /** Two digits at pos, or -1. */
+    private static int twoDigits(String s, int pos) {
+        char tens = s.charAt(pos);
+        char units = s.charAt(pos + 1);
+        if (!isDigit(tens) || !isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + units - '0';
+    }
+
+    private static boolean skip(String s, int pos) {
+        return pos < s.length() && s.charAt(pos) == ' ';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char)('0' + value / 10)).append((char)('0' + value % 10));
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+}
@@ -16,16 +16,7 @@ public class VenueUtils {
     }
 
     public static final boolean hasValidLocation(Venue venue) {
-        boolean valid = false;
-        if (venue != null) {
-            String geoLat = venue.getGeolat();
-            String geoLong = venue.getGeolong();
-            if (!(geoLat == null || geoLat.length() == 0 || geoLong == null || geoLong.length() == 0)) {
-                if (geoLat != "0" || geoLong != "0") {
-                    valid = true;
-                }
-            }
-        }
-        return valid;
+        return venue != null && venue.hasGeolocation()
+                && (venue.getGeolatE6() != 0 || venue.getGeolongE6() != 0);
     }
 }
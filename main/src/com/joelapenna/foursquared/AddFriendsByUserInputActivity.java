@@ -9,6 +9,7 @@ import com.facebook.android.FacebookUtil;
 import com.facebook.android.FacebookWebViewActivity;
 import com.facebook.android.Facebook.PreparedUrl;
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.FriendInvitesResult;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
@@ -16,6 +17,7 @@ import com.joelapenna.foursquared.util.AddressBookEmailBuilder;
 import com.joelapenna.foursquared.util.AddressBookUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.AddressBookEmailBuilder.ContactSimple;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.FriendSearchAddFriendAdapter;
 import com.joelapenna.foursquared.widget.FriendSearchInviteNonFoursquareUserAdapter;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
@@ -264,7 +266,7 @@ public class AddFriendsByUserInputActivity extends Activity {
 
     private void userInfo(User user) {
         Intent intent = new Intent(AddFriendsByUserInputActivity.this, UserDetailsActivity.class);
-        intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, user);
+        TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER, user);
         startActivity(intent);
     }
     
@@ -20,11 +20,14 @@ import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.joelapenna.foursquare.codec.Codecs;
+import com.joelapenna.foursquare.queue.PendingWrite;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.StringFormatters;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 /**
  * Lets the user add a tip to a venue.
@@ -57,8 +60,9 @@ public class AddTipActivity extends Activity {
         	mStateHolder.setActivityForTasks(this);
         } else {
         	mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-    	    	mStateHolder.setVenue((Venue)getIntent().getParcelableExtra(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+    	    	mStateHolder.setVenue(venue);
             } else {
     	    	Log.e(TAG, "AddTipActivity must be given a venue parcel as intent extras.");
     	    	finish();
@@ -156,8 +160,10 @@ public class AddTipActivity extends Activity {
                 		mVenueId, mTipText, "tip", 
                 		LocationUtils.createFoursquareLocation(foursquared.getLastKnownLocation()));
                 
-                // So fetch the full tip for convenience.
-                Tip tipFull = foursquared.getFoursquare().tipDetail(tip.getId());
+                // So fetch the full tip for convenience. A tip still waiting in the write queue
+                // isn't on the server yet, so that one is used as is.
+                Tip tipFull = PendingWrite.isLocalId(tip.getId()) ? tip
+                        : foursquared.getFoursquare().tipDetail(tip.getId());
                 
                 return tipFull;
                 
@@ -174,7 +180,7 @@ public class AddTipActivity extends Activity {
         	mActivity.mStateHolder.setIsRunningTaskAddTip(false);
         	if (tip != null) {
         		Intent intent = new Intent();
-        		intent.putExtra(EXTRA_TIP_RETURNED, tip);
+        		TypeExtras.put(intent, EXTRA_TIP_RETURNED, Codecs.TIP, tip);
         		mActivity.setResult(Activity.RESULT_OK, intent);
         		mActivity.finish();
         	} else {
@@ -19,12 +19,15 @@ import android.widget.Button;
 import android.widget.EditText;
 import android.widget.TextView;
 
+import com.joelapenna.foursquare.codec.Codecs;
+import com.joelapenna.foursquare.queue.PendingWrite;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.StringFormatters;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 /**
  * Lets the user add a todo for a venue.
@@ -57,8 +60,9 @@ public class AddTodoActivity extends Activity {
         	mStateHolder.setActivityForTasks(this);
         } else {
         	mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-    	    	mStateHolder.setVenue((Venue)getIntent().getParcelableExtra(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+    	    	mStateHolder.setVenue(venue);
             } else {
     	    	Log.e(TAG, "AddTodoActivity must be given a venue parcel as intent extras.");
     	    	finish();
@@ -156,8 +160,10 @@ public class AddTodoActivity extends Activity {
 	                		mVenueId, mTipText, "todo", 
 	                		LocationUtils.createFoursquareLocation(foursquared.getLastKnownLocation()));
 	                
-	                // So fetch the full tip for convenience.
-	                Tip tipFull = foursquared.getFoursquare().tipDetail(tip.getId());
+	                // So fetch the full tip for convenience. A tip still waiting in the write queue
+	                // isn't on the server yet, so that one is used as is.
+	                Tip tipFull = PendingWrite.isLocalId(tip.getId()) ? tip
+	                        : foursquared.getFoursquare().tipDetail(tip.getId());
 	                
 	                // The addtip API returns a tip instead of a todo, unlike the mark/todo endpoint,
 	                // so we create a dummy todo object for now to wrap the tip.
@@ -190,7 +196,7 @@ public class AddTodoActivity extends Activity {
         	mActivity.mStateHolder.setIsRunningTaskAddTip(false);
         	if (todo != null) {
         		Intent intent = new Intent();
-        		intent.putExtra(EXTRA_TODO_RETURNED, todo);
+        		TypeExtras.put(intent, EXTRA_TODO_RETURNED, Codecs.TODO, todo);
         		mActivity.setResult(Activity.RESULT_OK, intent);
         		mActivity.finish();
         	} else {
@@ -5,6 +5,7 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.Category;
 import com.joelapenna.foursquare.types.Group;
@@ -12,6 +13,7 @@ import com.joelapenna.foursquare.types.Response;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 import android.app.Activity;
 import android.app.AlertDialog;
@@ -211,7 +213,7 @@ public class AddVenueActivity extends Activity {
             
             // If passed the venue parcelable, then we are in 'edit' mode.
             if (getIntent().getExtras() != null && getIntent().getExtras().containsKey(EXTRA_VENUE_TO_EDIT)) {
-                Venue venue = getIntent().getExtras().getParcelable(EXTRA_VENUE_TO_EDIT);
+                Venue venue = TypeExtras.get(getIntent(), EXTRA_VENUE_TO_EDIT, Codecs.VENUE);
                 if (venue != null) {
                     mStateHolder.setVenueBeingEdited(venue);
                     setFields(venue);
@@ -388,7 +390,8 @@ public class AddVenueActivity extends Activity {
                 // If they added the venue ok, then send them to an activity displaying it
                 // so they can play around with it.
                 Intent intent = new Intent(AddVenueActivity.this, VenueActivity.class);
-                intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+                TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE,
+                        venue);
                 startActivity(intent);
                 finish();
             } else {
@@ -4,8 +4,10 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Badge;
 import com.joelapenna.foursquare.types.Group;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.BadgeWithIconListAdapter;
 
 import android.app.Activity;
@@ -26,8 +28,6 @@ import android.widget.AdapterView;
 import android.widget.GridView;
 import android.widget.AdapterView.OnItemClickListener;
 
-import java.util.ArrayList;
-
 /**
  * Shows a listing of all the badges the user has earned. Right not it shows only
  * the earned badges, we can add an additional display flag to also display badges
@@ -74,18 +74,17 @@ public class BadgesActivity extends Activity {
         } else {
             if (getIntent().hasExtra(EXTRA_BADGE_ARRAY_LIST_PARCEL) && getIntent().hasExtra(EXTRA_USER_NAME)) {
 
-                mStateHolder = new StateHolder(getIntent().getStringExtra(EXTRA_USER_NAME));
-                
-                // Can't jump from ArrayList to Group, argh.
-                ArrayList<Badge> badges = getIntent().getExtras().getParcelableArrayList(
-                        EXTRA_BADGE_ARRAY_LIST_PARCEL);
-                Group<Badge> group = new Group<Badge>();
-                for (Badge it : badges) {
-                    group.add(it);
+                Group<Badge> badges = TypeExtras.get(getIntent(), EXTRA_BADGE_ARRAY_LIST_PARCEL,
+                        Codecs.BADGE_GROUP);
+                if (badges == null) {
+                    Log.e(TAG, "BadgesActivity's badge group is from another build.");
+                    finish();
+                    return;
                 }
-                mStateHolder.setBadges(group);
+                mStateHolder = new StateHolder(getIntent().getStringExtra(EXTRA_USER_NAME));
+                mStateHolder.setBadges(badges);
             } else {
-                Log.e(TAG, "BadgesActivity requires a badge ArrayList pareclable in its intent extras.");
+                Log.e(TAG, "BadgesActivity requires a badge group in its intent extras.");
                 finish();
                 return;
             }
@@ -5,6 +5,7 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Badge;
 import com.joelapenna.foursquare.types.CheckinResult;
 import com.joelapenna.foursquare.types.Group;
@@ -13,8 +14,9 @@ import com.joelapenna.foursquare.types.Score;
 import com.joelapenna.foursquare.types.Special;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
-import com.joelapenna.foursquared.util.Base64Coder;
+import com.joelapenna.foursquare.util.Base64Coder;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.BadgeWithIconListAdapter;
 import com.joelapenna.foursquared.widget.ScoreListAdapter;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
@@ -355,7 +357,8 @@ public class CheckinResultDialog extends Dialog
                     if (venue != null) {
                         Intent intent = new Intent(getContext(), VenueActivity.class);
                         intent.setAction(Intent.ACTION_VIEW);
-                        intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+                        TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL,
+                                Codecs.VENUE, venue);
                         getContext().startActivity(intent);
                     }
                 }
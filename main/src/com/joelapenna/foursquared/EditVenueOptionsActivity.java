@@ -5,8 +5,10 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Response;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 import android.app.Activity;
 import android.app.ProgressDialog;
@@ -71,7 +73,7 @@ public class EditVenueOptionsActivity extends Activity {
         } else {
             if (getIntent().getExtras() != null) {
                 if (getIntent().getExtras().containsKey(EXTRA_VENUE_PARCELABLE)) {
-                    Venue venue = (Venue)getIntent().getExtras().getParcelable(EXTRA_VENUE_PARCELABLE);
+                    Venue venue = TypeExtras.get(getIntent(), EXTRA_VENUE_PARCELABLE, Codecs.VENUE);
                     if (venue != null) {
                         mStateHolder = new StateHolder(venue);
                     } else {
@@ -128,7 +130,8 @@ public class EditVenueOptionsActivity extends Activity {
             @Override
             public void onClick(View v) {
                 Intent intent = new Intent(EditVenueOptionsActivity.this, AddVenueActivity.class);
-                intent.putExtra(AddVenueActivity.EXTRA_VENUE_TO_EDIT, mStateHolder.getVenue());
+                TypeExtras.put(intent, AddVenueActivity.EXTRA_VENUE_TO_EDIT, Codecs.VENUE,
+                        mStateHolder.getVenue());
                 startActivityForResult(intent, REQUEST_CODE_ACTIVITY_ADD_VENUE);
             }
         });
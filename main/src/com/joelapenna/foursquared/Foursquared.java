@@ -5,9 +5,17 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.async.AsyncFoursquare;
+import com.joelapenna.foursquare.async.PriorityRequestExecutor;
+import com.joelapenna.foursquare.async.RequestExecutor;
 import com.joelapenna.foursquare.error.FoursquareError;
 import com.joelapenna.foursquare.error.FoursquareException;
+import com.joelapenna.foursquare.queue.PendingWrite;
+import com.joelapenna.foursquare.queue.WriteQueue;
+import com.joelapenna.foursquare.types.CheckinResult;
+import com.joelapenna.foursquare.types.FoursquareType;
 import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.util.EntityStore;
 import com.joelapenna.foursquare.util.IconUtils;
 import com.joelapenna.foursquared.app.FoursquaredService;
 import com.joelapenna.foursquared.error.LocationException;
@@ -15,10 +23,14 @@ import com.joelapenna.foursquared.location.BestLocationListener;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.preferences.Preferences;
 import com.joelapenna.foursquared.util.JavaLoggingHandler;
+import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.NullDiskCache;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
 
 import android.app.Application;
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
 import android.appwidget.AppWidgetManager;
 import android.content.BroadcastReceiver;
 import android.content.Context;
@@ -31,6 +43,7 @@ import android.content.pm.PackageManager;
 import android.content.pm.PackageManager.NameNotFoundException;
 import android.location.Location;
 import android.location.LocationManager;
+import android.net.ConnectivityManager;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
@@ -42,6 +55,8 @@ import android.util.Log;
 import java.io.File;
 import java.io.IOException;
 import java.util.Observer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,6 +76,9 @@ public class Foursquared extends Application {
     public static final String INTENT_ACTION_LOGGED_OUT = "com.joelapenna.foursquared.intent.action.LOGGED_OUT";
     public static final String INTENT_ACTION_LOGGED_IN = "com.joelapenna.foursquared.intent.action.LOGGED_IN";
 
+    /** Clear of PingsService.NOTIFICATION_ID_CHECKINS. */
+    private static final int NOTIFICATION_ID_CHECKIN_SENT = 16;
+
     private String mVersion = null;
 
     private TaskHandler mTaskHandler;
@@ -70,6 +88,13 @@ public class Foursquared extends Application {
     private RemoteResourceManager mRemoteResourceManager;
 
     private Foursquare mFoursquare;
+    private AsyncFoursquare mAsyncFoursquare;
+    private RequestExecutor mRequestExecutor;
+    private WriteQueue mWriteQueue;
+
+    // Objects screens hand each other by id, see EntityHandles. Soft, so a venue the user backs
+    // out of can still be found again for a while.
+    private EntityStore mEntityStore = new EntityStore(EntityStore.Retention.SOFT);
 
     private BestLocationListener mBestLocationListener = new BestLocationListener();
     
@@ -113,6 +138,22 @@ public class Foursquared extends Application {
         mTaskThread.start();
         mTaskHandler = new TaskHandler(mTaskThread.getLooper());
 
+        // Shared by every screen issuing requests through getAsyncFoursquare(). Callbacks are
+        // delivered on the main thread so they can touch views directly.
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+        mRequestExecutor = new PriorityRequestExecutor(
+                PriorityRequestExecutor.DEFAULT_MAX_CONCURRENT,
+                Executors.defaultThreadFactory(),
+                new Executor() {
+                    public void execute(Runnable command) {
+                        mainHandler.post(command);
+                    }
+                });
+
+        // Checkins, tips and the like are saved here and sent in the background, so they
+        // survive a bad connection.
+        loadWriteQueue(mainHandler);
+
         // Set up storage cache.
         loadResourceManagers();
 
@@ -122,6 +163,9 @@ public class Foursquared extends Application {
         // Catch logins or logouts.
         new LoggedInOutBroadcastReceiver().register();
 
+        // Send any queued writes once we're back online.
+        new ConnectivityBroadcastReceiver().register();
+
         // Log into Foursquare, if we can.
         loadFoursquare();
     }
@@ -134,6 +178,14 @@ public class Foursquared extends Application {
         return mFoursquare;
     }
 
+    /**
+     * The same Foursquare instance as getFoursquare(), but with calls that return immediately
+     * and report back on the main thread.
+     */
+    public AsyncFoursquare getAsyncFoursquare() {
+        return mAsyncFoursquare;
+    }
+
     public String getUserId() {
         return Preferences.getUserId(mPrefs);
     }
@@ -175,6 +227,10 @@ public class Foursquared extends Application {
         return mRemoteResourceManager;
     }
 
+    public EntityStore getEntityStore() {
+        return mEntityStore;
+    }
+
     public BestLocationListener requestLocationUpdates(boolean gps) {
         mBestLocationListener.register(
                 (LocationManager) getSystemService(Context.LOCATION_SERVICE), gps);
@@ -231,6 +287,8 @@ public class Foursquared extends Application {
         } else {
             mFoursquare = new Foursquare(Foursquare.createHttpApi(mVersion, false));
         }
+        mAsyncFoursquare = new AsyncFoursquare(mFoursquare, mRequestExecutor);
+        mFoursquare.setWriteQueue(mWriteQueue);
 
         if (FoursquaredSettings.DEBUG) Log.d(TAG, "loadCredentials()");
         String phoneNumber = mPrefs.getString(Preferences.PREFERENCE_LOGIN, null);
@@ -278,6 +336,56 @@ public class Foursquared extends Application {
         }
     }
 
+    private void loadWriteQueue(final Handler mainHandler) {
+        try {
+            mWriteQueue = new WriteQueue(new File(getFilesDir(), "write_queue"));
+        } catch (IOException e) {
+            // Without the journal, writes just go straight to the server as they used to.
+            Log.e(TAG, "Could not open the write queue.", e);
+            return;
+        }
+        mWriteQueue.setListener(new WriteQueue.Listener() {
+            public void onSent(PendingWrite write, FoursquareType result) {
+                if (DEBUG) Log.d(TAG, "Sent queued write: " + write);
+                if (write.getType() == PendingWrite.Type.CHECKIN
+                        && result instanceof CheckinResult) {
+                    notifyCheckinSent((CheckinResult) result);
+                }
+            }
+
+            public void onDropped(PendingWrite write, final Exception e) {
+                mainHandler.post(new Runnable() {
+                    public void run() {
+                        NotificationsUtil.ToastReasonForFailure(Foursquared.this, e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * A queued checkin only showed the user that it was saved, so tell them how it went once
+     * it's been sent. Tapping the notification opens the venue.
+     */
+    private void notifyCheckinSent(CheckinResult result) {
+        Intent intent;
+        if (result.getVenue() != null && result.getVenue().getId() != null) {
+            intent = new Intent(this, VenueActivity.class);
+            intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_ID, result.getVenue().getId());
+        } else {
+            intent = new Intent(this, MainActivity.class);
+        }
+        PendingIntent pi = PendingIntent.getActivity(this, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT);
+        String title = getResources().getString(R.string.checkin_title_result);
+        Notification notification = new Notification(R.drawable.notification_icon, title,
+                System.currentTimeMillis());
+        notification.setLatestEventInfo(this, title, result.getMessage(), pi);
+        notification.flags |= Notification.FLAG_AUTO_CANCEL;
+        NotificationManager mgr = (NotificationManager)getSystemService(NOTIFICATION_SERVICE);
+        mgr.notify(NOTIFICATION_ID_CHECKIN_SENT, notification);
+    }
+
     private void loadResourceManagers() {
         // We probably don't have SD card access if we get an
         // IllegalStateException. If it did, lets
@@ -349,6 +457,21 @@ public class Foursquared extends Application {
         public void onReceive(Context context, Intent intent) {
             if (INTENT_ACTION_LOGGED_IN.equals(intent.getAction())) {
                 requestUpdateUser();
+                if (mWriteQueue != null) {
+                    mWriteQueue.drain();
+                }
+            } else if (INTENT_ACTION_LOGGED_OUT.equals(intent.getAction())) {
+                mEntityStore.clear();
+
+                // Whatever is still queued belongs to the user who just left.
+                if (mWriteQueue != null && getFoursquare() != null
+                        && !getFoursquare().hasLoginAndPassword()) {
+                    try {
+                        mWriteQueue.clear();
+                    } catch (IOException e) {
+                        Log.e(TAG, "Could not clear the write queue.", e);
+                    }
+                }
             }
         }
 
@@ -363,6 +486,23 @@ public class Foursquared extends Application {
         }
     }
 
+    private class ConnectivityBroadcastReceiver extends BroadcastReceiver {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            boolean noConnectivity = intent.getBooleanExtra(
+                    ConnectivityManager.EXTRA_NO_CONNECTIVITY, false);
+            if (!noConnectivity && mWriteQueue != null) {
+                if (DEBUG) Log.d(TAG, "Connectivity changed, sending queued writes.");
+                mWriteQueue.drain();
+            }
+        }
+
+        public void register() {
+            registerReceiver(this, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        }
+    }
+
     private class TaskHandler extends Handler {
 
         private static final int MESSAGE_UPDATE_USER = 1;
@@ -5,9 +5,11 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.FriendRequestsAdapter;
 
 import android.app.ListActivity;
@@ -193,7 +195,7 @@ public class FriendRequestsActivity extends ListActivity {
 
     private void infoFriendRequest(User user) {
         Intent intent = new Intent(this, UserDetailsActivity.class);
-        intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, user);
+        TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER, user);
         startActivity(intent);
     }
 
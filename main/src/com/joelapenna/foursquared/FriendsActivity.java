@@ -4,6 +4,7 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
@@ -13,6 +14,7 @@ import com.joelapenna.foursquared.util.CheckinTimestampSort;
 import com.joelapenna.foursquared.util.Comparators;
 import com.joelapenna.foursquared.util.MenuUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UiUtil;
 import com.joelapenna.foursquared.widget.CheckinListAdapter;
 import com.joelapenna.foursquared.widget.SegmentedButton;
@@ -170,10 +172,9 @@ public class FriendsActivity extends LoadableListActivityWithViewAndHeader {
                 return true;
             default:
                 if (item.getTitle().equals("Map")) {
-                	Checkin[] checkins = (Checkin[])mStateHolder.getCheckins().toArray(
-                			new Checkin[mStateHolder.getCheckins().size()]);
                 	Intent intentMap = new Intent(FriendsActivity.this, FriendsMapActivity.class);
-                	intentMap.putExtra(FriendsMapActivity.EXTRA_CHECKIN_PARCELS, checkins);
+                	TypeExtras.put(intentMap, FriendsMapActivity.EXTRA_CHECKIN_PARCELS,
+                	        Codecs.CHECKIN_GROUP, mStateHolder.getCheckins());
                 	startActivity(intentMap);
                     return true;
                 } else if (item.getTitle().equals(mMenuMoreSubitems.get(MENU_MORE_LEADERBOARD))) {
@@ -248,7 +249,8 @@ public class FriendsActivity extends LoadableListActivityWithViewAndHeader {
                 Checkin checkin = (Checkin) parent.getAdapter().getItem(position);
                 if (checkin.getUser() != null) {
                     Intent intent = new Intent(FriendsActivity.this, UserDetailsActivity.class);
-                    intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, checkin.getUser());
+                    TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER,
+                            checkin.getUser());
                     intent.putExtra(UserDetailsActivity.EXTRA_SHOW_ADD_FRIEND_OPTIONS, true);
                     startActivity(intent);
                 }
@@ -320,33 +322,24 @@ public class FriendsActivity extends LoadableListActivityWithViewAndHeader {
         CheckinTimestampSort timestamps = new CheckinTimestampSort();
         for (Checkin it : checkins) {
 
-            // If we can't parse the distance value, it's possible that we
+            // If there's no distance value, it's possible that we
             // did not have a geolocation for the device at the time the
             // search was run. In this case just assume this friend is nearby
             // to sort them in the time buckets.
-            int meters = 0;
-            try {
-                meters = Integer.parseInt(it.getDistance());
-            } catch (NumberFormatException ex) {
-                if (DEBUG) Log.d(TAG, "Couldn't parse distance for checkin during friend search.");
-                meters = 0;
-            }
+            int meters = Math.max(0, it.getDistanceMeters());
   
             if (meters > CITY_RADIUS_IN_METERS) {
                 other.add(it);
             } else {
-                try { 
-                    Date date = new Date(it.getCreated());
-                    if (date.after(timestamps.getBoundaryRecent())) {
-                        recent.add(it);
-                    } else if (date.after(timestamps.getBoundaryToday())) {
-                        today.add(it); 
-                    } else if (date.after(timestamps.getBoundaryYesterday())) {
-                        yesterday.add(it);
-                    } else {
-                        older.add(it);
-                    }
-                } catch (Exception ex) {
+                // An unknown date is negative, so it lands in older.
+                Date date = new Date(it.getCreatedMillis());
+                if (date.after(timestamps.getBoundaryRecent())) {
+                    recent.add(it);
+                } else if (date.after(timestamps.getBoundaryToday())) {
+                    today.add(it); 
+                } else if (date.after(timestamps.getBoundaryYesterday())) {
+                    yesterday.add(it);
+                } else {
                     older.add(it);
                 }
             }
@@ -396,13 +389,7 @@ public class FriendsActivity extends LoadableListActivityWithViewAndHeader {
         CheckinListAdapter adapter = new CheckinListAdapter(this, 
                 ((Foursquared) getApplication()).getRemoteResourceManager());
         for (Checkin it : checkins) {
-            int meters = 0;
-            try {
-                meters = Integer.parseInt(it.getDistance());
-            } catch (NumberFormatException ex) {
-                if (DEBUG) Log.d(TAG, "Couldn't parse distance for checkin during friend search.");
-                meters = 0;
-            }
+            int meters = Math.max(0, it.getDistanceMeters());
   
             if (meters < CITY_RADIUS_IN_METERS) {
                 nearby.add(it);
@@ -13,7 +13,6 @@ import java.util.Map;
 import android.content.Intent;
 import android.location.Location;
 import android.os.Bundle;
-import android.os.Parcelable;
 import android.util.Log;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -25,9 +24,11 @@ import com.google.android.maps.MapController;
 import com.google.android.maps.MapView;
 import com.google.android.maps.MyLocationOverlay;
 import com.google.android.maps.OverlayItem;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.ParseUtils;
 import com.joelapenna.foursquare.util.VenueUtils;
 import com.joelapenna.foursquared.maps.CheckinGroup;
 import com.joelapenna.foursquared.maps.CheckinGroupItemizedOverlay;
@@ -35,6 +36,7 @@ import com.joelapenna.foursquared.maps.CheckinGroupItemizedOverlay.CheckinGroupO
 import com.joelapenna.foursquared.maps.CrashFixMyLocationOverlay;
 import com.joelapenna.foursquared.util.CheckinTimestampSort;
 import com.joelapenna.foursquared.util.GeoUtils;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UiUtil;
 import com.joelapenna.foursquared.widget.MapCalloutView;
 
@@ -67,13 +69,9 @@ public class FriendsMapActivity extends MapActivity {
         if (getLastNonConfigurationInstance() != null) {
             mStateHolder = (StateHolder) getLastNonConfigurationInstance();
         } else {
-        	if (getIntent().hasExtra(EXTRA_CHECKIN_PARCELS)) {
-        		Parcelable[] parcelables = getIntent().getParcelableArrayExtra(EXTRA_CHECKIN_PARCELS);
-        		Group<Checkin> checkins = new Group<Checkin>();
-        		for (int i = 0; i < parcelables.length; i++) {
-        			checkins.add((Checkin)parcelables[i]);
-        		}
-        		
+        	Group<Checkin> checkins = TypeExtras.get(getIntent(), EXTRA_CHECKIN_PARCELS,
+        	        Codecs.CHECKIN_GROUP);
+        	if (checkins != null) {
         		mStateHolder = new StateHolder();
         		mStateHolder.setCheckins(checkins);
         	} else {
@@ -122,7 +120,8 @@ public class FriendsMapActivity extends MapActivity {
             public void onClick(View view) {
                 Intent intent = new Intent(FriendsMapActivity.this, VenueActivity.class);
                 intent.setAction(Intent.ACTION_VIEW);
-                intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, mTappedVenue);
+                TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE,
+                        mTappedVenue);
                 startActivity(intent);
             }
         });
@@ -163,24 +162,17 @@ public class FriendsMapActivity extends MapActivity {
             Venue venue = checkin.getVenue();
             if (VenueUtils.hasValidLocation(venue)) {
                 // Make sure the venue is within city radius.
-                try {
-                    int distance = Integer.parseInt(checkin.getDistance());
-                    if (distance > FriendsActivity.CITY_RADIUS_IN_METERS) {
-                        continue;
-                    }
-                } catch (NumberFormatException ex) {
-                    // Distance was invalid, ignore this checkin.
+                // Checkins with an invalid distance are ignored.
+                int distance = checkin.getDistanceMeters();
+                if (distance == ParseUtils.UNKNOWN
+                        || distance > FriendsActivity.CITY_RADIUS_IN_METERS) {
                     continue;
                 }
                 
-                // Make sure the checkin happened within the last three hours.
-                try {
-                    Date date = new Date(checkin.getCreated());
-                    if (date.before(timestamps.getBoundaryRecent())) {
-                        continue;
-                    }
-                } catch (Exception ex) {
-                    // Timestamps was invalid, ignore this checkin.
+                // Make sure the checkin happened within the last three hours. An invalid
+                // timestamp is negative, so those are ignored too.
+                Date date = new Date(checkin.getCreatedMillis());
+                if (date.before(timestamps.getBoundaryRecent())) {
                     continue;
                 }
                 
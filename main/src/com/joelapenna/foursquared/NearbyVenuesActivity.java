@@ -12,9 +12,9 @@ import com.joelapenna.foursquared.app.LoadableListActivity;
 import com.joelapenna.foursquared.location.BestLocationListener;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.preferences.Preferences;
+import com.joelapenna.foursquared.util.EntityHandles;
 import com.joelapenna.foursquared.util.MenuUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
-import com.joelapenna.foursquared.util.VenueUtils;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
 import com.joelapenna.foursquared.widget.VenueListAdapter;
 
@@ -248,9 +248,10 @@ public class NearbyVenuesActivity extends LoadableListActivity {
     private void startItemActivity(Venue venue) {
         Intent intent = new Intent(NearbyVenuesActivity.this, VenueActivity.class);
         if (mStateHolder.isFullyLoadedVenue(venue.getId())) {
-        	intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE, venue);
+        	EntityHandles.putVenue(this, intent, VenueActivity.INTENT_EXTRA_VENUE_HANDLE, venue);
         } else {
-        	intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+        	EntityHandles.putVenue(this, intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL_HANDLE,
+        	        venue);
         }
         startActivityForResult(intent, RESULT_CODE_ACTIVITY_VENUE);
     }
@@ -273,9 +274,12 @@ public class NearbyVenuesActivity extends LoadableListActivity {
         switch (requestCode) {
             case RESULT_CODE_ACTIVITY_VENUE:
                 if (resultCode == Activity.RESULT_OK && data.hasExtra(VenueActivity.EXTRA_VENUE_RETURNED)) {
-                	Venue venue = (Venue)data.getParcelableExtra(VenueActivity.EXTRA_VENUE_RETURNED);
-                	mStateHolder.updateVenue(venue);
-                	mListAdapter.notifyDataSetInvalidated();
+                	Venue venue = EntityHandles.getVenue(this, data,
+                	        VenueActivity.EXTRA_VENUE_RETURNED, null);
+                	if (venue != null) {
+                	    mStateHolder.updateVenue(venue);
+                	    mListAdapter.notifyDataSetInvalidated();
+                	}
                 }
                 break;
         }
@@ -397,7 +401,8 @@ public class NearbyVenuesActivity extends LoadableListActivity {
                 
                 // Get the venues.
                 Group<Group<Venue>> results = mFoursquare.venues(LocationUtils
-                        .createFoursquareLocation(location), mQuery, 30);
+                        .createFoursquareLocation(location), mQuery, 30,
+                        VenueListAdapter.FIELDS);
                 
                 // Try to get our reverse geolocation.
                 mReverseGeoLoc = getGeocode(mActivity, location);
@@ -523,13 +528,15 @@ public class NearbyVenuesActivity extends LoadableListActivity {
         		for (int j = 0; j < it.size(); j++) {
         			if (it.get(j).getId().equals(venue.getId())) {
         				// The /venue api call does not supply the venue's distance value,
-        				// so replace it manually here.
+        				// so replace it manually here. The venue is VenueActivity's own
+        				// instance, handed back through the EntityStore, no need to copy it.
         				Venue replaced = it.get(j);
-        				Venue replacer = VenueUtils.cloneVenue(venue);
-        				replacer.setDistance(replaced.getDistance());
+        				if (venue != replaced) {
+        				    venue.setDistance(replaced.getDistance());
+        				}
         				
-        				it.set(j, replacer);
-        				mFullyLoadedVenueIds.add(replacer.getId());
+        				it.set(j, venue);
+        				mFullyLoadedVenueIds.add(venue.getId());
         			}
         		}
         	}
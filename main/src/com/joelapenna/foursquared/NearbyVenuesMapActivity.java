@@ -10,19 +10,20 @@ import com.google.android.maps.MapController;
 import com.google.android.maps.MapView;
 import com.google.android.maps.MyLocationOverlay;
 import com.google.android.maps.OverlayItem;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.maps.CrashFixMyLocationOverlay;
 import com.joelapenna.foursquared.maps.VenueItemizedOverlayWithIcons;
 import com.joelapenna.foursquared.maps.VenueItemizedOverlayWithIcons.VenueItemizedOverlayTapListener;
 import com.joelapenna.foursquared.util.GeoUtils;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UiUtil;
 import com.joelapenna.foursquared.widget.MapCalloutView;
 
 import android.content.Intent;
 import android.location.Location;
 import android.os.Bundle;
-import android.os.Parcelable;
 import android.util.Log;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -62,15 +63,9 @@ public class NearbyVenuesMapActivity extends MapActivity {
         if (retained != null && retained instanceof StateHolder) {
             mStateHolder = (StateHolder) retained;
         } else {
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUES)) {
-                Parcelable[] parcelables = getIntent().getParcelableArrayExtra(
-                        INTENT_EXTRA_VENUES);
-                
-                Group<Venue> venues = new Group<Venue>();
-                for (int i = 0; i < parcelables.length; i++) {
-                    venues.add((Venue)parcelables[i]);
-                }
-                
+            Group<Venue> venues = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUES,
+                    Codecs.VENUE_GROUP);
+            if (venues != null) {
                 mStateHolder = new StateHolder(venues);
             } else {
                 Log.e(TAG, TAG + " requires venue array in intent extras.");
@@ -188,9 +183,8 @@ public class NearbyVenuesMapActivity extends MapActivity {
                 // We have no location information at all, so we'll just show the map at a high
                 // zoom level and the user can zoom in as they wish.
                 Venue venue = mStateHolder.getVenues().get(0);
-                mMapController.animateTo(new GeoPoint(
-                        (int)(Float.valueOf(venue.getGeolat()) * 1E6), 
-                        (int)(Float.valueOf(venue.getGeolong()) * 1E6)));
+                mMapController.animateTo(new GeoPoint(venue.getGeolatE6(),
+                        venue.getGeolongE6()));
                 mMapController.setZoom(8);
             }
         }
@@ -208,8 +202,7 @@ public class NearbyVenuesMapActivity extends MapActivity {
             mCallout.setMessage(venue.getAddress());
             mCallout.setVisibility(View.VISIBLE);
 
-            mMapController.animateTo(GeoUtils.stringLocationToGeoPoint(
-                    venue.getGeolat(), venue.getGeolong()));
+            mMapController.animateTo(GeoUtils.venueToGeoPoint(venue));
         }
 
         @Override
@@ -12,6 +12,7 @@ import com.joelapenna.foursquared.error.LocationException;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.providers.VenueQuerySuggestionsProvider;
 import com.joelapenna.foursquared.util.Comparators;
+import com.joelapenna.foursquared.util.EntityHandles;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.TabsUtil;
 import com.joelapenna.foursquared.util.UiUtil;
@@ -270,7 +271,8 @@ public class SearchVenuesActivity extends TabActivity {
     void startItemActivity(Venue venue) {
         Intent intent = new Intent(SearchVenuesActivity.this, VenueActivity.class);
         intent.setAction(Intent.ACTION_VIEW);
-        intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+        EntityHandles.putVenue(this, intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL_HANDLE,
+                venue);
         startActivity(intent);
     }
 
@@ -417,7 +419,8 @@ public class SearchVenuesActivity extends TabActivity {
             Location location = ((Foursquared) getApplication()).getLastKnownLocationOrThrow();
 
             Group<Group<Venue>> groups = foursquare.venues(LocationUtils
-                    .createFoursquareLocation(location), mSearchHolder.query, 30);
+                    .createFoursquareLocation(location), mSearchHolder.query, 30,
+                    VenueListAdapter.FIELDS);
             for (int i = 0; i < groups.size(); i++) {
                 Collections.sort(groups.get(i), Comparators.getVenueDistanceComparator());
             }
@@ -5,6 +5,8 @@
  */
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.Foursquare;
+
 import android.app.Activity;
 import android.app.AlertDialog;
 import android.app.ProgressDialog;
@@ -217,6 +219,8 @@ public class SendLogActivity extends Activity
                     log.delete(0, keepOffset);
                 } 
                 
+                log.insert(0, getRequestMetrics());
+                
                 if (mAdditonalInfo != null){
                     log.insert(0, mAdditonalInfo);
                 }
@@ -234,6 +238,20 @@ public class SendLogActivity extends Activity
         }
     }
     
+    /**
+     * Api latency and error figures gathered since the app started, so reports of slowness
+     * come with numbers attached.
+     */
+    private String getRequestMetrics(){
+        Foursquare foursquare = ((Foursquared) getApplication()).getFoursquare();
+        if (foursquare == null){
+            return "";
+        }
+        return "Request metrics:" + LINE_SEPARATOR 
+            + foursquare.getRequestMetrics().toString().replace("\n", LINE_SEPARATOR) 
+            + LINE_SEPARATOR;
+    }
+    
     void showErrorDialog(String errorMessage){
         new AlertDialog.Builder(this)
         .setTitle(getString(R.string.app_name))
@@ -23,6 +23,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.FoursquareType;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
@@ -30,6 +31,7 @@ import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.util.StringFormatters;
 import com.joelapenna.foursquared.util.TipUtils;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 /**
  * Shows actions a user can perform on a tip, which includes marking a tip
@@ -99,8 +101,8 @@ public class TipActivity extends Activity {
         } else {
             mStateHolder = new StateHolder();
             if (getIntent().getExtras() != null) {
-            	if (getIntent().hasExtra(EXTRA_TIP_PARCEL)) {
-            		Tip tip = getIntent().getExtras().getParcelable(EXTRA_TIP_PARCEL);
+            	Tip tip = TypeExtras.get(getIntent(), EXTRA_TIP_PARCEL, Codecs.TIP);
+            	if (tip != null) {
             		mStateHolder.setTip(tip);
             	} else {
                     Log.e(TAG, "TipActivity requires a tip pareclable in its intent extras.");
@@ -192,7 +194,7 @@ public class TipActivity extends Activity {
         
         String created = getResources().getString(
                 R.string.tip_activity_created, 
-                StringFormatters.getTipAge(getResources(), tip.getCreated()));
+                StringFormatters.getTipAge(getResources(), tip.getCreatedMillis()));
         TextView tvDate = (TextView)findViewById(R.id.tipActivityDate);
         tvDate.setText(created);
         
@@ -288,7 +290,7 @@ public class TipActivity extends Activity {
     private void showVenueDetailsActivity(Venue venue) {
         Intent intent = new Intent(this, VenueActivity.class);
         intent.setAction(Intent.ACTION_VIEW);
-        intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+        TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE, venue);
         startActivity(intent);
     }
     
@@ -309,9 +311,10 @@ public class TipActivity extends Activity {
     
     private void prepareResultIntent(Tip tip, Todo todo) {
         Intent intent = new Intent();
-        intent.putExtra(EXTRA_TIP_RETURNED, tip);
+        TypeExtras.put(intent, EXTRA_TIP_RETURNED, Codecs.TIP, tip);
         if (todo != null) {
-        	intent.putExtra(EXTRA_TODO_RETURNED, todo); // tip is also a part of the to-do.
+        	// tip is also a part of the to-do.
+        	TypeExtras.put(intent, EXTRA_TODO_RETURNED, Codecs.TODO, todo);
         }
         mStateHolder.setPreparedResult(intent);
         setPreparedResultIntent();
@@ -331,12 +334,13 @@ public class TipActivity extends Activity {
         	// link between them will be lost, they'll appear as two separate
         	// tip object instances (ids etc will all be the same though).
         	if (tipOrTodo instanceof Tip) {
-        		Tip tip = (Tip)tipOrTodo;
+        		Tip tip = withTipDetails((Tip)tipOrTodo);
         		mStateHolder.setTip(tip);
             	prepareResultIntent(tip, null);
         	} else {
         		Todo todo = (Todo)tipOrTodo;
-        		Tip tip = todo.getTip();
+        		Tip tip = withTipDetails(todo.getTip());
+        		todo.setTip(tip);
         		mStateHolder.setTip(tip);
             	prepareResultIntent(tip, todo);
         	}
@@ -350,6 +354,19 @@ public class TipActivity extends Activity {
         ensureUi();
     }
     
+    /**
+     * A change saved to the write queue comes back as just the tip's id and new status, so
+     * carry that over to the tip we already have.
+     */
+    private Tip withTipDetails(Tip result) {
+        if (result.getText() != null) {
+            return result;
+        }
+        Tip tip = mStateHolder.getTip();
+        tip.setStatus(result.getStatus());
+        return tip;
+    }
+    
     private static class TipTask extends AsyncTask<String, Void, FoursquareType> {
         private TipActivity mActivity;
         private String mTipId;
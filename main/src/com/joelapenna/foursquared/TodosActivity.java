@@ -5,6 +5,7 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Tip;
@@ -14,6 +15,7 @@ import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.MenuUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.TipUtils;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.SegmentedButton;
 import com.joelapenna.foursquared.widget.SegmentedButton.OnClickListenerSegmentedButton;
 import com.joelapenna.foursquared.widget.TodosListAdapter;
@@ -218,7 +220,7 @@ public class TodosActivity extends LoadableListActivityWithViewAndHeader {
                 Todo todo = (Todo) parent.getAdapter().getItem(position);
                 if (todo.getTip() != null) {
                     Intent intent = new Intent(TodosActivity.this, TipActivity.class);
-                    intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, todo.getTip());
+                    TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, todo.getTip());
                     startActivityForResult(intent, ACTIVITY_TIP);
                 }
             }
@@ -260,7 +262,7 @@ public class TodosActivity extends LoadableListActivityWithViewAndHeader {
     	// state holder by the linked tip ID for update.
     	if (requestCode == ACTIVITY_TIP && resultCode == Activity.RESULT_OK) {
         	if (data.hasExtra(TipActivity.EXTRA_TIP_RETURNED)) {
-        		updateTodo((Tip)data.getParcelableExtra(TipActivity.EXTRA_TIP_RETURNED));
+        		updateTodo(TypeExtras.get(data, TipActivity.EXTRA_TIP_RETURNED, Codecs.TIP));
         	}
     	}
     }
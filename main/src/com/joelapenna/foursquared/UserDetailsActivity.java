@@ -5,6 +5,7 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquared.location.LocationUtils;
@@ -12,6 +13,7 @@ import com.joelapenna.foursquared.util.MenuUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
 import com.joelapenna.foursquared.util.StringFormatters;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UiUtil;
 import com.joelapenna.foursquared.util.UserUtils;
 import com.joelapenna.foursquared.widget.PhotoStrip;
@@ -115,7 +117,12 @@ public class UserDetailsActivity extends Activity {
             mStateHolder = new StateHolder();
             if (getIntent().hasExtra(EXTRA_USER_PARCEL)) {
                 Log.i(TAG, "Starting " + TAG + " with full user parcel.");
-                User user = getIntent().getExtras().getParcelable(EXTRA_USER_PARCEL);
+                User user = TypeExtras.get(getIntent(), EXTRA_USER_PARCEL, Codecs.USER);
+                if (user == null) {
+                    Log.e(TAG, TAG + "'s user parcel is from another build.");
+                    finish();
+                    return;
+                }
                 mStateHolder.setUser(user);
                 mStateHolder.setLoadType(LOAD_TYPE_USER_PARTIAL);
             } else if (getIntent().hasExtra(EXTRA_USER_ID)) {
@@ -564,8 +571,8 @@ public class UserDetailsActivity extends Activity {
     private void startBadgesActivity() {
         if (mStateHolder.getUser() != null) {
             Intent intent = new Intent(UserDetailsActivity.this, BadgesActivity.class);
-            intent.putParcelableArrayListExtra(BadgesActivity.EXTRA_BADGE_ARRAY_LIST_PARCEL,
-                    mStateHolder.getUser().getBadges());
+            TypeExtras.put(intent, BadgesActivity.EXTRA_BADGE_ARRAY_LIST_PARCEL,
+                    Codecs.BADGE_GROUP, mStateHolder.getUser().getBadges());
             intent.putExtra(BadgesActivity.EXTRA_USER_NAME, mStateHolder.getUser().getFirstname());
             startActivity(intent);
         }
@@ -612,7 +619,8 @@ public class UserDetailsActivity extends Activity {
         Intent intent = null;
         if (user.getFriendsInCommon() != null && user.getFriendsInCommon().size() > 0) {
             intent = new Intent(UserDetailsActivity.this, UserDetailsFriendsInCommonActivity.class);
-            intent.putExtra(UserDetailsFriendsInCommonActivity.EXTRA_USER_PARCEL, mStateHolder.getUser());
+            TypeExtras.put(intent, UserDetailsFriendsInCommonActivity.EXTRA_USER_PARCEL,
+                    Codecs.USER, mStateHolder.getUser());
         } else {
             intent = new Intent(UserDetailsActivity.this, UserDetailsFriendsActivity.class);
             intent.putExtra(UserDetailsFriendsActivity.EXTRA_USER_ID, mStateHolder.getUser().getId());
@@ -640,7 +648,8 @@ public class UserDetailsActivity extends Activity {
         if (user.getCheckin() != null && 
             user.getCheckin().getVenue() != null) {
             Intent intent = new Intent(this, VenueActivity.class);
-            intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, user.getCheckin().getVenue());
+            TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE,
+                    user.getCheckin().getVenue());
             startActivity(intent);
         }
     }
@@ -710,7 +719,8 @@ public class UserDetailsActivity extends Activity {
                 return true;
             case MENU_PINGS:
                 Intent intentPings = new Intent(this, UserDetailsPingsActivity.class);
-                intentPings.putExtra(UserDetailsPingsActivity.EXTRA_USER_PARCEL, mStateHolder.getUser());
+                TypeExtras.put(intentPings, UserDetailsPingsActivity.EXTRA_USER_PARCEL, Codecs.USER,
+                        mStateHolder.getUser());
                 startActivityForResult(intentPings, ACTIVITY_REQUEST_CODE_PINGS);
                 return true;
         }
@@ -722,7 +732,8 @@ public class UserDetailsActivity extends Activity {
         switch (requestCode) {
             case ACTIVITY_REQUEST_CODE_PINGS:
                 if (resultCode == Activity.RESULT_OK) {
-                    User user = (User)data.getParcelableExtra(UserDetailsPingsActivity.EXTRA_USER_RETURNED);
+                    User user = TypeExtras.get(data, UserDetailsPingsActivity.EXTRA_USER_RETURNED,
+                            Codecs.USER);
                     if (user != null) {
                         mStateHolder.getUser().getSettings().setGetPings(user.getSettings().getGetPings());
                     }
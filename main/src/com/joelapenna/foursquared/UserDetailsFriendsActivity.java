@@ -5,11 +5,13 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquared.app.LoadableListActivity;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.FriendListAdapter;
 
 import android.content.BroadcastReceiver;
@@ -115,7 +117,7 @@ public class UserDetailsFriendsActivity extends LoadableListActivity {
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 User user = (User) parent.getAdapter().getItem(position);
                 Intent intent = new Intent(UserDetailsFriendsActivity.this, UserDetailsActivity.class);
-                intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, user);
+                TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER, user);
                 intent.putExtra(UserDetailsActivity.EXTRA_SHOW_ADD_FRIEND_OPTIONS, true);
                 startActivity(intent);
             }
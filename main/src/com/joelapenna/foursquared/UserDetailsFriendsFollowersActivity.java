@@ -5,11 +5,13 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquared.app.LoadableListActivityWithViewAndHeader;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UserUtils;
 import com.joelapenna.foursquared.widget.FriendActionableListAdapter;
 import com.joelapenna.foursquared.widget.SegmentedButton;
@@ -197,7 +199,7 @@ public class UserDetailsFriendsFollowersActivity extends LoadableListActivityWit
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 User user = (User) parent.getAdapter().getItem(position);
                 Intent intent = new Intent(UserDetailsFriendsFollowersActivity.this, UserDetailsActivity.class);
-                intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, user);
+                TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER, user);
                 startActivity(intent);
             }
         });
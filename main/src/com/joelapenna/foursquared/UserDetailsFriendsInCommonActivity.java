@@ -5,11 +5,13 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquared.app.LoadableListActivityWithViewAndHeader;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.FriendListAdapter;
 import com.joelapenna.foursquared.widget.SegmentedButton;
 import com.joelapenna.foursquared.widget.SegmentedButton.OnClickListenerSegmentedButton;
@@ -77,8 +79,9 @@ public class UserDetailsFriendsInCommonActivity extends LoadableListActivityWith
             mStateHolder.setActivity(this);
         } else {
             mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(EXTRA_USER_PARCEL)) {
-                 mStateHolder.setUser((User)getIntent().getParcelableExtra(EXTRA_USER_PARCEL));
+            User user = TypeExtras.get(getIntent(), EXTRA_USER_PARCEL, Codecs.USER);
+            if (user != null) {
+                 mStateHolder.setUser(user);
                  if (mStateHolder.getUser().getFriendsInCommon() == null || 
                      mStateHolder.getUser().getFriendsInCommon().size() == 0) {
                      Log.e(TAG, TAG + " requires user parcel have friends in common size > 0.");
@@ -183,7 +186,7 @@ public class UserDetailsFriendsInCommonActivity extends LoadableListActivityWith
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 User user = (User) parent.getAdapter().getItem(position);
                 Intent intent = new Intent(UserDetailsFriendsInCommonActivity.this, UserDetailsActivity.class);
-                intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, user);
+                TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER, user);
                 intent.putExtra(UserDetailsActivity.EXTRA_SHOW_ADD_FRIEND_OPTIONS, true);
                 startActivity(intent);
             }
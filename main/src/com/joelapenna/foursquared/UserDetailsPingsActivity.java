@@ -5,9 +5,11 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.Settings;
 import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquared.util.TypeExtras;
 
 import android.app.Activity;
 import android.content.BroadcastReceiver;
@@ -67,8 +69,8 @@ public class UserDetailsPingsActivity extends Activity {
         } else {
             mStateHolder = new StateHolder();
             if (getIntent().getExtras() != null) {
-                if (getIntent().hasExtra(EXTRA_USER_PARCEL)) {
-                    User user = getIntent().getExtras().getParcelable(EXTRA_USER_PARCEL);
+                User user = TypeExtras.get(getIntent(), EXTRA_USER_PARCEL, Codecs.USER);
+                if (user != null) {
                     mStateHolder.setUser(user);
                 } else {
                     Log.e(TAG, TAG + " requires a user pareclable in its intent extras.");
@@ -148,7 +150,7 @@ public class UserDetailsPingsActivity extends Activity {
     
     private void prepareResultIntent() {
         Intent intent = new Intent();
-        intent.putExtra(EXTRA_USER_RETURNED, mStateHolder.getUser());
+        TypeExtras.put(intent, EXTRA_USER_RETURNED, Codecs.USER, mStateHolder.getUser());
         mStateHolder.setPreparedResult(intent);
         setPreparedResultIntent();
     }
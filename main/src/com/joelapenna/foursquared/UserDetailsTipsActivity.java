@@ -5,12 +5,14 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.error.FoursquareException;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquared.app.LoadableListActivityWithViewAndHeader;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.SegmentedButton;
 import com.joelapenna.foursquared.widget.SegmentedButton.OnClickListenerSegmentedButton;
 import com.joelapenna.foursquared.widget.TipsListAdapter;
@@ -207,7 +209,7 @@ public class UserDetailsTipsActivity extends LoadableListActivityWithViewAndHead
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 Tip tip = (Tip) parent.getAdapter().getItem(position);
                 Intent intent = new Intent(UserDetailsTipsActivity.this, TipActivity.class);
-                intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, tip);
+                TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, tip);
                 startActivityForResult(intent, ACTIVITY_TIP);
             }
         });
@@ -251,7 +253,7 @@ public class UserDetailsTipsActivity extends LoadableListActivityWithViewAndHead
         if (requestCode == ACTIVITY_TIP && resultCode == Activity.RESULT_OK) {
             if (data.hasExtra(TipActivity.EXTRA_TIP_RETURNED)) {
                 Log.i(TAG, "onActivityResult(), return tip intent extra found, processing.");
-                updateTip((Tip)data.getParcelableExtra(TipActivity.EXTRA_TIP_RETURNED));
+                updateTip(TypeExtras.get(data, TipActivity.EXTRA_TIP_RETURNED, Codecs.TIP));
             } else {
                 Log.i(TAG, "onActivityResult(), no return tip intent extra found.");
             }
@@ -5,11 +5,13 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.app.LoadableListActivity;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.HistoryListAdapter;
 
 import android.content.BroadcastReceiver;
@@ -149,7 +151,8 @@ public class UserHistoryActivity extends LoadableListActivity {
                 Venue venue = checkin.getVenue();
                 Intent intent = new Intent(this, VenueActivity.class);
                 intent.setAction(Intent.ACTION_VIEW);
-                intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+                TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE,
+                        venue);
                 startActivity(intent);
             } else {
                 Log.e(TAG, "Venue has no ID to start venue activity.");
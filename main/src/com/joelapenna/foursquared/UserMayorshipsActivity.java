@@ -5,12 +5,14 @@
 package com.joelapenna.foursquared;
 
 import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.app.LoadableListActivity;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.util.NotificationsUtil;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
 import com.joelapenna.foursquared.widget.VenueListAdapter;
 
@@ -26,12 +28,10 @@ import android.widget.AdapterView;
 import android.widget.AdapterView.OnItemClickListener;
 import android.widget.ListView;
 
-import java.util.ArrayList;
-
 /**
  * Shows a list of venues that the specified user is mayor of.
  * We can fetch these ourselves given a userId, or work from
- * a venue array parcel.
+ * a venue group passed in the intent extras.
  * 
  * @date March 15, 2010
  * @author Mark Wyszomierski (markww@gmail.com)
@@ -81,16 +81,10 @@ public class UserMayorshipsActivity extends LoadableListActivity {
                 return;
             }
             
-            if (getIntent().getExtras().containsKey(EXTRA_VENUE_LIST_PARCEL)) {
-                // Can't jump from ArrayList to Group, argh.
-                ArrayList<Venue> venues = getIntent().getExtras().getParcelableArrayList(
-                        EXTRA_VENUE_LIST_PARCEL);
-                Group<Venue> group = new Group<Venue>();
-                for (Venue it : venues) {
-                    group.add(it);
-                }
-                mStateHolder.setVenues(group);
-                
+            Group<Venue> venues = TypeExtras.get(getIntent(), EXTRA_VENUE_LIST_PARCEL,
+                    Codecs.VENUE_GROUP);
+            if (venues != null) {
+                mStateHolder.setVenues(venues);
             } else {
                 mStateHolder.startTaskVenues(this);
             }
@@ -138,7 +132,8 @@ public class UserMayorshipsActivity extends LoadableListActivity {
                 
                 Intent intent = new Intent(UserMayorshipsActivity.this, VenueActivity.class);
                 intent.setAction(Intent.ACTION_VIEW);
-                intent.putExtra(VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, venue);
+                TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE_PARTIAL, Codecs.VENUE,
+                        venue);
                 startActivity(intent);
             }
         });
@@ -4,6 +4,8 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.async.VenueBundleLoader;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Mayor;
@@ -14,9 +16,11 @@ import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.location.LocationUtils;
 import com.joelapenna.foursquared.preferences.Preferences;
+import com.joelapenna.foursquared.util.EntityHandles;
 import com.joelapenna.foursquared.util.NotificationsUtil;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
 import com.joelapenna.foursquared.util.StringFormatters;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UserUtils;
 import com.joelapenna.foursquared.util.VenueUtils;
 import com.joelapenna.foursquared.widget.PhotoStrip;
@@ -30,7 +34,6 @@ import android.content.SharedPreferences;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.net.Uri;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
 import android.preference.PreferenceManager;
@@ -67,6 +70,12 @@ import java.util.Observer;
  * a venue id or partial venue object. This way the parent can also cache the full venue 
  * object for next time they want to display this venue activity.
  * 
+ * Within the app, prefer INTENT_EXTRA_VENUE_HANDLE or INTENT_EXTRA_VENUE_PARTIAL_HANDLE, which
+ * carry only the venue id and look the venue up in the app's EntityStore, over the parcel
+ * extras, which copy the venue and everything hanging off it. EXTRA_VENUE_RETURNED is such a
+ * handle too, read it with EntityHandles.getVenue(). If the process was killed and the venue
+ * can't be found any more, it's fetched again by its id.
+ * 
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com)
  *         -Replaced shout activity with CheckinGatherInfoActivity (3/10/2010).
@@ -97,6 +106,10 @@ public class VenueActivity extends Activity {
             + ".VenueActivity.INTENT_EXTRA_VENUE_PARTIAL";
     public static final String INTENT_EXTRA_VENUE = Foursquared.PACKAGE_NAME
             + ".VenueActivity.INTENT_EXTRA_VENUE";
+    public static final String INTENT_EXTRA_VENUE_HANDLE = Foursquared.PACKAGE_NAME
+            + ".VenueActivity.INTENT_EXTRA_VENUE_HANDLE";
+    public static final String INTENT_EXTRA_VENUE_PARTIAL_HANDLE = Foursquared.PACKAGE_NAME
+            + ".VenueActivity.INTENT_EXTRA_VENUE_PARTIAL_HANDLE";
     
     public static final String EXTRA_VENUE_RETURNED = Foursquared.PACKAGE_NAME
             + ".VenueActivity.EXTRA_VENUE_RETURNED";
@@ -132,22 +145,48 @@ public class VenueActivity extends Activity {
             prepareResultIntent();
         } else {
         	mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
+        	String handle = getVenueHandleName();
+        	if (handle != null) {
+        	    Venue venue = EntityHandles.getVenue(this, getIntent(), handle, savedInstanceState);
+        	    if (venue == null) {
+        	        // Lost with the process, fetch it again.
+        	        mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_ID);
+        	        mStateHolder.setVenueId(EntityHandles.getId(getIntent(), handle));
+        	        mStateHolder.startTaskVenue(this);
+        	    } else if (handle.equals(INTENT_EXTRA_VENUE_HANDLE)) {
+        	        mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_FULL);
+        	        mStateHolder.setVenue(venue);
+        	    } else {
+        	        mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_PARTIAL);
+        	        mStateHolder.setVenue(venue);
+        	        mStateHolder.startTaskVenue(this);
+        	    }
+        	} else if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
             	mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_FULL);
-    	    	mStateHolder.setVenue((Venue)getIntent().getParcelableExtra(INTENT_EXTRA_VENUE));
+    	    	mStateHolder.setVenue(TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE,
+    	    	        Codecs.VENUE));
             } else if (getIntent().hasExtra(INTENT_EXTRA_VENUE_PARTIAL)) {
             	mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_PARTIAL);
-    	    	mStateHolder.setVenue((Venue)getIntent().getParcelableExtra(INTENT_EXTRA_VENUE_PARTIAL));
-    	    	mStateHolder.startTaskVenue(this);
+    	    	mStateHolder.setVenue(TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE_PARTIAL,
+    	    	        Codecs.VENUE));
+    	    	if (mStateHolder.getVenue() != null) {
+    	    		mStateHolder.startTaskVenue(this);
+    	    	}
     	    } else if (getIntent().hasExtra(INTENT_EXTRA_VENUE_ID)) {
             	mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_ID);
     	    	mStateHolder.setVenueId(getIntent().getStringExtra(INTENT_EXTRA_VENUE_ID));
     	    	mStateHolder.startTaskVenue(this);
     	    } else {
-    	    	Log.e(TAG, "VenueActivity must be given a venue id or a venue parcel as intent extras.");
+    	    	Log.e(TAG, "VenueActivity must be given a venue id, handle or parcel as intent extras.");
     	    	finish();
     	    	return;
     	    }
+        	if (mStateHolder.getVenue() == null
+        	        && mStateHolder.getLoadType() != StateHolder.LOAD_TYPE_VENUE_ID) {
+        	    Log.e(TAG, "VenueActivity's venue parcel is from another build.");
+        	    finish();
+        	    return;
+        	}
         }
 
         mRrm = ((Foursquared) getApplication()).getRemoteResourceManager();
@@ -157,11 +196,24 @@ public class VenueActivity extends Activity {
         ensureUi();
     }
 
+    @Override
+    public void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        String handle = getVenueHandleName();
+        Venue venue = mStateHolder.getVenue();
+        if (handle != null && venue != null) {
+            EntityHandles.saveVenue(outState, handle, venue);
+        }
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
         unregisterReceiver(mLoggedOutReceiver);
         
+        if (isFinishing()) {
+            mStateHolder.cancelTasks();
+        }
         mHandler.removeCallbacks(mRunnableMayorPhoto);
         if (mRrm != null) {
             mRrm.deleteObserver(mResourcesObserver);
@@ -399,12 +451,33 @@ public class VenueActivity extends Activity {
     	}
     }
     
+    /**
+     * While we only have a partial venue, show which friends are here as soon as we know.
+     * ensureUi() replaces this with the full list of people once the venue detail arrives.
+     */
+    private void ensureUiFriendsHere(Group<Checkin> checkins) {
+        if (checkins.size() == 0) {
+            return;
+        }
+        View viewCheckins = findViewById(R.id.venueActivityCheckins);
+        TextView tvPeopleText = (TextView)findViewById(R.id.venueActivityPeopleText);
+        PhotoStrip psPeoplePhotos = (PhotoStrip)findViewById(R.id.venueActivityPeoplePhotos);
+        
+        tvPeopleText.setText(getResources().getString(
+            checkins.size() == 1 ?
+                R.string.venue_activity_people_count_friend_single : 
+                R.string.venue_activity_people_count_friend_plural,
+                checkins.size()));
+        psPeoplePhotos.setCheckinsAndRemoteResourcesManager(checkins, mRrm);
+        viewCheckins.setVisibility(View.VISIBLE);
+    }
+    
     private void setClickHandlerMayor(View view) {
         view.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
                 Intent intent = new Intent(VenueActivity.this, UserDetailsActivity.class);
-                intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, 
+                TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER,
                         mStateHolder.getVenue().getStats().getMayor().getUser());
                 intent.putExtra(UserDetailsActivity.EXTRA_SHOW_ADD_FRIEND_OPTIONS, true);
                 startActivity(intent);
@@ -417,7 +490,8 @@ public class VenueActivity extends Activity {
             @Override
             public void onClick(View v) {
                 Intent intent = new Intent(VenueActivity.this, VenueCheckinsActivity.class);
-                intent.putExtra(VenueCheckinsActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+                EntityHandles.putVenue(VenueActivity.this, intent,
+                        VenueCheckinsActivity.INTENT_EXTRA_VENUE_HANDLE, mStateHolder.getVenue());
                 startActivity(intent);
             }
         });
@@ -438,12 +512,13 @@ public class VenueActivity extends Activity {
                     tip.setVenue(venue);
                     
                     intent = new Intent(VenueActivity.this, TipActivity.class);
-                    intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, tip);
+                    TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, tip);
                     intent.putExtra(TipActivity.EXTRA_VENUE_CLICKABLE, false);
                     startActivityForResult(intent, RESULT_CODE_ACTIVITY_TIP);
                 } else {
                     intent = new Intent(VenueActivity.this, VenueTipsActivity.class);
-                    intent.putExtra(VenueTipsActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+                    TypeExtras.put(intent, VenueTipsActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+                            mStateHolder.getVenue());
                     startActivityForResult(intent, RESULT_CODE_ACTIVITY_TIPS);
                 }
             }
@@ -455,7 +530,8 @@ public class VenueActivity extends Activity {
             @Override
             public void onClick(View v) {
                 Intent intent = new Intent(VenueActivity.this, VenueMapActivity.class);
-                intent.putExtra(VenueMapActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+                TypeExtras.put(intent, VenueMapActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+                        mStateHolder.getVenue());
                 startActivity(intent);
             }
         });
@@ -466,11 +542,21 @@ public class VenueActivity extends Activity {
     	
     	Intent intent = new Intent();
         if (venue != null) {
-        	intent.putExtra(EXTRA_VENUE_RETURNED, venue);
+        	EntityHandles.putVenue(this, intent, EXTRA_VENUE_RETURNED, venue);
         }
         setResult(Activity.RESULT_OK, intent);
     }
     
+    /** The extra we were handed a venue handle under, or null if we weren't. */
+    private String getVenueHandleName() {
+        if (getIntent().hasExtra(INTENT_EXTRA_VENUE_HANDLE)) {
+            return INTENT_EXTRA_VENUE_HANDLE;
+        } else if (getIntent().hasExtra(INTENT_EXTRA_VENUE_PARTIAL_HANDLE)) {
+            return INTENT_EXTRA_VENUE_PARTIAL_HANDLE;
+        }
+        return null;
+    }
+    
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         super.onCreateOptionsMenu(menu);
@@ -507,18 +593,20 @@ public class VenueActivity extends Activity {
         switch (item.getItemId()) {
 	        case MENU_TIP_ADD:
 	        	Intent intentTip = new Intent(VenueActivity.this, AddTipActivity.class);
-	        	intentTip.putExtra(AddTipActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+	        	TypeExtras.put(intentTip, AddTipActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+	        	        mStateHolder.getVenue());
 	            startActivityForResult(intentTip, RESULT_CODE_ACTIVITY_ADD_TIP);
 	            return true;
             case MENU_TODO_ADD:   
             	Intent intentTodo = new Intent(VenueActivity.this, AddTodoActivity.class);
-            	intentTodo.putExtra(AddTodoActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+            	TypeExtras.put(intentTodo, AddTodoActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+            	        mStateHolder.getVenue());
                 startActivityForResult(intentTodo, RESULT_CODE_ACTIVITY_ADD_TODO);
                 return true;
             case MENU_EDIT_VENUE:
                 Intent intentEditVenue = new Intent(this, EditVenueOptionsActivity.class);
-                intentEditVenue.putExtra(
-                        EditVenueOptionsActivity.EXTRA_VENUE_PARCELABLE, mStateHolder.getVenue());
+                TypeExtras.put(intentEditVenue, EditVenueOptionsActivity.EXTRA_VENUE_PARCELABLE,
+                        Codecs.VENUE, mStateHolder.getVenue());
                 startActivity(intentEditVenue);
                 return true;
             case MENU_CALL:
@@ -535,7 +623,8 @@ public class VenueActivity extends Activity {
                 return true;
             case MENU_SHARE:
                 Intent intentShare = new Intent(this, VenueShareActivity.class);
-                intentShare.putExtra(VenueShareActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+                TypeExtras.put(intentShare, VenueShareActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+                        mStateHolder.getVenue());
                 startActivity(intentShare);
                 return true;
         }
@@ -559,7 +648,7 @@ public class VenueActivity extends Activity {
                 break;
             case RESULT_CODE_ACTIVITY_ADD_TIP:
             	if (resultCode == Activity.RESULT_OK) {
-            		Tip tip = data.getParcelableExtra(AddTipActivity.EXTRA_TIP_RETURNED);
+            		Tip tip = TypeExtras.get(data, AddTipActivity.EXTRA_TIP_RETURNED, Codecs.TIP);
             		VenueUtils.addTip(mStateHolder.getVenue(), tip);
             		ensureUiTipAdded();
             		prepareResultIntent();
@@ -569,7 +658,8 @@ public class VenueActivity extends Activity {
             	break;
             case RESULT_CODE_ACTIVITY_ADD_TODO:
             	if (resultCode == Activity.RESULT_OK) {
-            		Todo todo = data.getParcelableExtra(AddTodoActivity.EXTRA_TODO_RETURNED);
+            		Todo todo = TypeExtras.get(data, AddTodoActivity.EXTRA_TODO_RETURNED,
+            		        Codecs.TODO);
             		VenueUtils.addTodo(mStateHolder.getVenue(), todo.getTip(), todo);
             		ensureUiTodosHere();
             		prepareResultIntent();
@@ -580,9 +670,10 @@ public class VenueActivity extends Activity {
             case RESULT_CODE_ACTIVITY_TIP:
             case RESULT_CODE_ACTIVITY_TODO:
             	if (resultCode == Activity.RESULT_OK && data.hasExtra(TipActivity.EXTRA_TIP_RETURNED)) {
-    	    		Tip tip = (Tip)data.getParcelableExtra(TipActivity.EXTRA_TIP_RETURNED);
+    	    		Tip tip = TypeExtras.get(data, TipActivity.EXTRA_TIP_RETURNED, Codecs.TIP);
     	    		Todo todo = data.hasExtra(TipActivity.EXTRA_TODO_RETURNED) ? 
-    	    				(Todo)data.getParcelableExtra(TipActivity.EXTRA_TODO_RETURNED) : null;
+    	    				TypeExtras.get(data, TipActivity.EXTRA_TODO_RETURNED,
+    	    				        Codecs.TODO) : null;
     	    		VenueUtils.handleTipChange(mStateHolder.getVenue(), tip, todo);
             		ensureUiTodosHere();
             		prepareResultIntent();
@@ -590,7 +681,8 @@ public class VenueActivity extends Activity {
             	break;
             case RESULT_CODE_ACTIVITY_TIPS:
             	if (resultCode == Activity.RESULT_OK && data.hasExtra(VenueTipsActivity.INTENT_EXTRA_RETURN_VENUE)) {
-            		Venue venue = (Venue)data.getParcelableExtra(VenueTipsActivity.INTENT_EXTRA_RETURN_VENUE);
+            		Venue venue = TypeExtras.get(data, VenueTipsActivity.INTENT_EXTRA_RETURN_VENUE,
+            		        Codecs.VENUE);
         			VenueUtils.replaceTipsAndTodos(mStateHolder.getVenue(), venue);
             		ensureUiTodosHere();
             		prepareResultIntent();
@@ -598,7 +690,8 @@ public class VenueActivity extends Activity {
             	break;
             case RESULT_CODE_ACTIVITY_TODOS:
             	if (resultCode == Activity.RESULT_OK && data.hasExtra(VenueTodosActivity.INTENT_EXTRA_RETURN_VENUE)) {
-        			Venue venue = (Venue)data.getParcelableExtra(VenueTodosActivity.INTENT_EXTRA_RETURN_VENUE);
+        			Venue venue = TypeExtras.get(data, VenueTodosActivity.INTENT_EXTRA_RETURN_VENUE,
+        			        Codecs.VENUE);
         			VenueUtils.replaceTipsAndTodos(mStateHolder.getVenue(), venue);
             		ensureUiTodosHere();
             		prepareResultIntent();
@@ -656,12 +749,13 @@ public class VenueActivity extends Activity {
         	Todo todo = (Todo) todos.get(0);
         	
         	Intent intent = new Intent(VenueActivity.this, TipActivity.class);
-            intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, todo.getTip());
+            TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, todo.getTip());
             intent.putExtra(TipActivity.EXTRA_VENUE_CLICKABLE, false);
             startActivityForResult(intent, RESULT_CODE_ACTIVITY_TODO);
     	} else if (todos.size() > 1) {
     		Intent intent = new Intent(VenueActivity.this, VenueTodosActivity.class);
-	        intent.putExtra(VenueTodosActivity.INTENT_EXTRA_VENUE, mStateHolder.getVenue());
+	        TypeExtras.put(intent, VenueTodosActivity.INTENT_EXTRA_VENUE, Codecs.VENUE,
+	                mStateHolder.getVenue());
 	        startActivityForResult(intent, RESULT_CODE_ACTIVITY_TODOS);
     	}
     }
@@ -698,54 +792,74 @@ public class VenueActivity extends Activity {
         return count;
     }
 
-    private static class TaskVenue extends AsyncTask<String, Void, Venue> {
+    /**
+     * Receives the parts of the venue bundle as they arrive. The venue detail replaces whatever
+     * partial venue we were showing and ends the load as far as the screen is concerned; the
+     * user's todos and friends here can arrive before or after it and are merged into whichever
+     * venue we're showing.
+     */
+    private static class VenueBundleListener implements VenueBundleLoader.Listener {
 
         private VenueActivity mActivity;
-        private Exception mReason;
 
-        public TaskVenue(VenueActivity activity) {
+        public VenueBundleListener(VenueActivity activity) {
         	mActivity = activity;
         }
-        
+
         @Override
-        protected void onPreExecute() {
+        public void onVenue(Venue venue) {
+        	if (mActivity != null) {
+        		mActivity.mStateHolder.setIsRunningTaskVenue(false);
+        		if (mActivity.mStateHolder.getTodoHere()) {
+        			venue.setHasTodo(true);
+        		}
+        		mActivity.mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_FULL);
+        		mActivity.mStateHolder.setVenue(venue);
+        		mActivity.prepareResultIntent();
+        		mActivity.ensureUi();
+        	}
         }
 
         @Override
-        protected Venue doInBackground(String... params) {
-            try {
-            	Foursquared foursquared = (Foursquared)mActivity.getApplication();
-                return foursquared.getFoursquare().venue(
-                        params[0],
-                        LocationUtils.createFoursquareLocation(foursquared.getLastKnownLocation()));
-            } catch (Exception e) {
-                Log.e(TAG, "Error getting venue details.", e);
-                mReason = e;
-            }
-            return null;
+        public void onTodos(Group<Todo> todos) {
+        	// Only ever set, never cleared: the list is capped, so a todo here may not be in it.
+        	if (mActivity != null && todos.size() > 0) {
+        		mActivity.mStateHolder.setTodoHere(true);
+        		Venue venue = mActivity.mStateHolder.getVenue();
+        		if (venue != null) {
+        			venue.setHasTodo(true);
+        			mActivity.ensureUiTodosHere();
+        		}
+        	}
         }
 
         @Override
-        protected void onPostExecute(Venue venue) {
-        	if (mActivity != null) {
-	        	mActivity.mStateHolder.setIsRunningTaskVenue(false);
-	        	if (venue != null) {
-	        		mActivity.mStateHolder.setLoadType(StateHolder.LOAD_TYPE_VENUE_FULL);
-	        		mActivity.mStateHolder.setVenue(venue);
-	        		mActivity.prepareResultIntent();
-	        		mActivity.ensureUi();
-	        		
-	        	} else {
-	        		NotificationsUtil.ToastReasonForFailure(mActivity, mReason);
-	        		mActivity.finish();
-	        	}
+        public void onFriendsHere(Group<Checkin> checkins) {
+        	if (mActivity != null 
+        			&& mActivity.mStateHolder.getLoadType() == StateHolder.LOAD_TYPE_VENUE_PARTIAL) {
+        		mActivity.ensureUiFriendsHere(checkins);
         	}
         }
 
         @Override
-        protected void onCancelled() {
+        public void onError(VenueBundleLoader.Part part, Exception e) {
+        	if (part == VenueBundleLoader.Part.VENUE) {
+        		Log.e(TAG, "Error getting venue details.", e);
+        		if (mActivity != null) {
+        			mActivity.mStateHolder.setIsRunningTaskVenue(false);
+        			NotificationsUtil.ToastReasonForFailure(mActivity, e);
+        			mActivity.finish();
+        		}
+        	} else {
+        		// The venue detail carries the same information, we'll get it there.
+        		if (DEBUG) Log.d(TAG, "Error getting " + part + " for venue.", e);
+        	}
         }
-        
+
+        @Override
+        public void onComplete() {
+        }
+
         public void setActivity(VenueActivity activity) {
         	mActivity = activity;
         }
@@ -757,8 +871,10 @@ public class VenueActivity extends Activity {
         private String mVenueId;
         private boolean mCheckedInHere;
         
-        private TaskVenue mTaskVenue;
+        private VenueBundleListener mVenueBundleListener;
+        private VenueBundleLoader.Load mVenueBundleLoad;
         private boolean mIsRunningTaskVenue;
+        private boolean mTodoHere;
         private int mLoadType;
         
         public static final int LOAD_TYPE_VENUE_ID      = 0;
@@ -793,21 +909,40 @@ public class VenueActivity extends Activity {
         	mIsRunningTaskVenue = isRunningTaskVenue;
         }
         
+        public boolean getTodoHere() {
+        	return mTodoHere;
+        }
+        
+        public void setTodoHere(boolean todoHere) {
+        	mTodoHere = todoHere;
+        }
+        
         public void startTaskVenue(VenueActivity activity) {
         	if (!mIsRunningTaskVenue) {
         		mIsRunningTaskVenue = true;
-	            mTaskVenue = new TaskVenue(activity);
-	            if (mLoadType == LOAD_TYPE_VENUE_ID) {
-	            	mTaskVenue.execute(mVenueId); 
-	            } else if (mLoadType == LOAD_TYPE_VENUE_PARTIAL) {
-	            	mTaskVenue.execute(mVenue.getId());
-	            }
+        		mVenueBundleListener = new VenueBundleListener(activity);
+        		Foursquared foursquared = (Foursquared)activity.getApplication();
+        		String venueId = mLoadType == LOAD_TYPE_VENUE_ID ? mVenueId : mVenue.getId();
+        		mVenueBundleLoad = new VenueBundleLoader(foursquared.getAsyncFoursquare()).load(
+        				venueId,
+        				foursquared.getUserId(),
+        				LocationUtils.createFoursquareLocation(foursquared.getLastKnownLocation()),
+        				mVenueBundleListener);
         	}
         }
         
         public void setActivityForTasks(VenueActivity activity) {
-        	if (mTaskVenue != null) {
-        		mTaskVenue.setActivity(activity);
+        	if (mVenueBundleListener != null) {
+        		mVenueBundleListener.setActivity(activity);
+        	}
+        }
+        
+        public void cancelTasks() {
+        	if (mVenueBundleListener != null) {
+        		mVenueBundleListener.setActivity(null);
+        	}
+        	if (mVenueBundleLoad != null) {
+        		mVenueBundleLoad.cancel();
         	}
         }
         
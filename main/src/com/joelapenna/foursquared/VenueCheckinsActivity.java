@@ -4,11 +4,14 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.app.LoadableListActivity;
+import com.joelapenna.foursquared.util.EntityHandles;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UserUtils;
 import com.joelapenna.foursquared.widget.CheckinListAdapter;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
@@ -25,6 +28,9 @@ import android.widget.AdapterView.OnItemClickListener;
 import android.widget.ListView;
 
 /**
+ * Shows the checkins of a venue given either as a parcel (INTENT_EXTRA_VENUE) or as a handle to
+ * the app's instance of it (INTENT_EXTRA_VENUE_HANDLE, see EntityHandles).
+ * 
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com)
  *   -refactored for display of straight checkins list (September 16, 2010).
@@ -36,6 +42,8 @@ public class VenueCheckinsActivity extends LoadableListActivity {
 
     public static final String INTENT_EXTRA_VENUE = Foursquared.PACKAGE_NAME
             + ".VenueCheckinsActivity.INTENT_EXTRA_VENUE";
+    public static final String INTENT_EXTRA_VENUE_HANDLE = Foursquared.PACKAGE_NAME
+            + ".VenueCheckinsActivity.INTENT_EXTRA_VENUE_HANDLE";
 
     private SeparatedListAdapter mListAdapter;
     private StateHolder mStateHolder;
@@ -58,9 +66,24 @@ public class VenueCheckinsActivity extends LoadableListActivity {
         if (retained != null && retained instanceof StateHolder) {
             mStateHolder = (StateHolder) retained;
         } else {
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-                mStateHolder = new StateHolder(
-            	    (Venue)getIntent().getExtras().getParcelable(INTENT_EXTRA_VENUE),
+            if (getIntent().hasExtra(INTENT_EXTRA_VENUE_HANDLE)) {
+                Venue venue = EntityHandles.getVenue(this, getIntent(),
+                        INTENT_EXTRA_VENUE_HANDLE, savedInstanceState);
+                if (venue == null) {
+                    Log.e(TAG, "VenueCheckinsActivity's venue handle no longer refers to a venue.");
+                    finish();
+                    return;
+                }
+                mStateHolder = new StateHolder(venue,
+                    ((Foursquared) getApplication()).getUserId());
+            } else if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
+                Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+                if (venue == null) {
+                    Log.e(TAG, "VenueCheckinsActivity's venue parcel is from another build.");
+                    finish();
+                    return;
+                }
+                mStateHolder = new StateHolder(venue,
             	    ((Foursquared) getApplication()).getUserId());
             } else {
                 Log.e(TAG, "VenueCheckinsActivity requires a venue parcel its intent extras.");
@@ -82,6 +105,14 @@ public class VenueCheckinsActivity extends LoadableListActivity {
         }
     }
     
+    @Override
+    public void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (getIntent().hasExtra(INTENT_EXTRA_VENUE_HANDLE) && mStateHolder != null) {
+            EntityHandles.saveVenue(outState, INTENT_EXTRA_VENUE_HANDLE, mStateHolder.getVenue());
+        }
+    }
+    
     @Override
     public Object onRetainNonConfigurationInstance() {
         return mStateHolder;
@@ -138,7 +169,8 @@ public class VenueCheckinsActivity extends LoadableListActivity {
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 Checkin checkin = (Checkin) parent.getAdapter().getItem(position);
                 Intent intent = new Intent(VenueCheckinsActivity.this, UserDetailsActivity.class);
-                intent.putExtra(UserDetailsActivity.EXTRA_USER_PARCEL, checkin.getUser());
+                TypeExtras.put(intent, UserDetailsActivity.EXTRA_USER_PARCEL, Codecs.USER,
+                        checkin.getUser());
                 intent.putExtra(UserDetailsActivity.EXTRA_SHOW_ADD_FRIEND_OPTIONS, true);
                 startActivity(intent);
             }
@@ -149,12 +181,14 @@ public class VenueCheckinsActivity extends LoadableListActivity {
     
     private static class StateHolder {
         
+        private Venue mVenue;
         private String mVenueName;
         private Group<Checkin> mYou;
         private Group<Checkin> mFriends;
         private Group<Checkin> mOthers;
         
         public StateHolder(Venue venue, String loggedInUserId) {
+            mVenue = venue;
             mVenueName = venue.getName();
             mYou = new Group<Checkin>();
             mFriends = new Group<Checkin>();
@@ -175,6 +209,10 @@ public class VenueCheckinsActivity extends LoadableListActivity {
             }
         }
         
+        public Venue getVenue() {
+            return mVenue;
+        }
+        
         public String getVenueName() {
             return mVenueName;
         }
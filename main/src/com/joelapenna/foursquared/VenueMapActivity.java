@@ -9,11 +9,13 @@ import com.google.android.maps.MapActivity;
 import com.google.android.maps.MapController;
 import com.google.android.maps.MapView;
 import com.google.android.maps.MyLocationOverlay;
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquare.util.VenueUtils;
 import com.joelapenna.foursquared.maps.CrashFixMyLocationOverlay;
 import com.joelapenna.foursquared.maps.VenueItemizedOverlay;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UiUtil;
 
 import android.os.Bundle;
@@ -47,8 +49,9 @@ public class VenueMapActivity extends MapActivity {
             mStateHolder = (StateHolder) retained;
         } else {
             mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-            	mStateHolder.setVenue((Venue)getIntent().getExtras().getParcelable(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+            	mStateHolder.setVenue(venue);
             } else {
                 Log.e(TAG, "VenueMapActivity requires a venue parcel its intent extras.");
                 finish();
@@ -4,7 +4,9 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.VenueUtils;
 
 import android.app.Activity;
@@ -72,8 +74,9 @@ public class VenueShareActivity extends Activity {
             mStateHolder = (StateHolder) retained;
         } else {
             mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-                mStateHolder.setVenue((Venue)getIntent().getExtras().getParcelable(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+                mStateHolder.setVenue(venue);
             } else {
                 Log.e(TAG, "VenueShareActivity requires a venue parcel its intent extras.");
                 finish();
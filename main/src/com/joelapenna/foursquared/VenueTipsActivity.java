@@ -4,11 +4,13 @@
 
 package com.joelapenna.foursquared;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.app.LoadableListActivity;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.UserUtils;
 import com.joelapenna.foursquared.util.VenueUtils;
 import com.joelapenna.foursquared.widget.SeparatedListAdapter;
@@ -74,8 +76,9 @@ public class VenueTipsActivity extends LoadableListActivity {
             setPreparedResultIntent();
         } else {
             mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-            	mStateHolder.setVenue((Venue)getIntent().getExtras().getParcelable(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+            	mStateHolder.setVenue(venue);
             } else {
                 Log.e(TAG, "VenueTipsActivity requires a venue parcel its intent extras.");
                 finish();
@@ -150,7 +153,7 @@ public class VenueTipsActivity extends LoadableListActivity {
             	tip.setVenue(venue);
             	
                 Intent intent = new Intent(VenueTipsActivity.this, TipActivity.class);
-                intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, tip);
+                TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, tip);
                 intent.putExtra(TipActivity.EXTRA_VENUE_CLICKABLE, false);
                 startActivityForResult(intent, ACTIVITY_TIP);
             }
@@ -163,9 +166,9 @@ public class VenueTipsActivity extends LoadableListActivity {
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
     	if (requestCode == ACTIVITY_TIP && resultCode == Activity.RESULT_OK) {
     		if (data.hasExtra(TipActivity.EXTRA_TIP_RETURNED)) {
-	    		Tip tip = (Tip)data.getParcelableExtra(TipActivity.EXTRA_TIP_RETURNED);
+	    		Tip tip = TypeExtras.get(data, TipActivity.EXTRA_TIP_RETURNED, Codecs.TIP);
 	    		Todo todo = data.hasExtra(TipActivity.EXTRA_TODO_RETURNED) ? 
-	    				(Todo)data.getParcelableExtra(TipActivity.EXTRA_TODO_RETURNED) : null;
+	    				TypeExtras.get(data, TipActivity.EXTRA_TODO_RETURNED, Codecs.TODO) : null;
 	    		updateTip(tip, todo);
     		}
         }
@@ -179,7 +182,7 @@ public class VenueTipsActivity extends LoadableListActivity {
     
     private void prepareResultIntent() {
     	Intent intent = new Intent();
-    	intent.putExtra(INTENT_EXTRA_RETURN_VENUE, mStateHolder.getVenue());
+    	TypeExtras.put(intent, INTENT_EXTRA_RETURN_VENUE, Codecs.VENUE, mStateHolder.getVenue());
     	mStateHolder.setPreparedResult(intent);
     	setPreparedResultIntent();
     }
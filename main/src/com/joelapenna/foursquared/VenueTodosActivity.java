@@ -16,11 +16,13 @@ import android.widget.AdapterView;
 import android.widget.AdapterView.OnItemClickListener;
 import android.widget.ListView;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.app.LoadableListActivity;
+import com.joelapenna.foursquared.util.TypeExtras;
 import com.joelapenna.foursquared.util.VenueUtils;
 import com.joelapenna.foursquared.widget.TodosListAdapter;
 
@@ -63,8 +65,9 @@ public class VenueTodosActivity extends LoadableListActivity {
             setPreparedResultIntent();
         } else {
             mStateHolder = new StateHolder();
-            if (getIntent().hasExtra(INTENT_EXTRA_VENUE)) {
-            	mStateHolder.setVenue((Venue)getIntent().getExtras().getParcelable(INTENT_EXTRA_VENUE));
+            Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+            if (venue != null) {
+            	mStateHolder.setVenue(venue);
             } else {
                 Log.e(TAG, "VenueTodosActivity requires a venue parcel its intent extras.");
                 finish();
@@ -119,7 +122,7 @@ public class VenueTodosActivity extends LoadableListActivity {
                 	todo.getTip().setVenue(venue);
                 	
                     Intent intent = new Intent(VenueTodosActivity.this, TipActivity.class);
-                    intent.putExtra(TipActivity.EXTRA_TIP_PARCEL, todo.getTip());
+                    TypeExtras.put(intent, TipActivity.EXTRA_TIP_PARCEL, Codecs.TIP, todo.getTip());
                     intent.putExtra(TipActivity.EXTRA_VENUE_CLICKABLE, false);
                     startActivityForResult(intent, ACTIVITY_TIP);
             	}
@@ -130,9 +133,9 @@ public class VenueTodosActivity extends LoadableListActivity {
     @Override
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
     	if (requestCode == ACTIVITY_TIP && resultCode == Activity.RESULT_OK) {
-    		Tip tip = (Tip)data.getParcelableExtra(TipActivity.EXTRA_TIP_RETURNED);
+    		Tip tip = TypeExtras.get(data, TipActivity.EXTRA_TIP_RETURNED, Codecs.TIP);
     		Todo todo = data.hasExtra(TipActivity.EXTRA_TODO_RETURNED) ? 
-    				(Todo)data.getParcelableExtra(TipActivity.EXTRA_TODO_RETURNED) : null;
+    				TypeExtras.get(data, TipActivity.EXTRA_TODO_RETURNED, Codecs.TODO) : null;
 			updateTip(tip, todo);
         }
     }
@@ -153,7 +156,7 @@ public class VenueTodosActivity extends LoadableListActivity {
     
     private void prepareResultIntent() {
     	Intent intent = new Intent();
-    	intent.putExtra(INTENT_EXTRA_RETURN_VENUE, mStateHolder.getVenue());
+    	TypeExtras.put(intent, INTENT_EXTRA_RETURN_VENUE, Codecs.VENUE, mStateHolder.getVenue());
     	mStateHolder.setPreparedResult(intent);
     	setPreparedResultIntent();
     }
@@ -7,6 +7,7 @@ import com.joelapenna.foursquare.Foursquare;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.util.ParseUtils;
 import com.joelapenna.foursquared.Foursquared;
 import com.joelapenna.foursquared.FriendsActivity;
 import com.joelapenna.foursquared.MainActivity;
@@ -30,7 +31,6 @@ import android.text.TextUtils;
 import android.util.Log;
 import android.widget.RemoteViews;
 
-import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -152,8 +152,8 @@ public class PingsService extends WakefulIntentService {
                 }
                 
                 // Check against date times.
-                try {
-                    Date dateCheckin = StringFormatters.DATE_FORMAT.parse(it.getCreated()); 
+                if (it.getCreatedMillis() != ParseUtils.UNKNOWN) {
+                    Date dateCheckin = new Date(it.getCreatedMillis());
 
                     if (DEBUG) {
                         Log.d(TAG, "  Comaring date times for checkin.");
@@ -167,8 +167,8 @@ public class PingsService extends WakefulIntentService {
                     } else {
                         if (DEBUG) Log.d(TAG, "  Checkin is older than last run time.");
                     }
-                } catch (ParseException ex) {
-                    if (DEBUG) Log.e(TAG, "  Error parsing checkin timestamp: " + it.getCreated(), ex);
+                } else {
+                    if (DEBUG) Log.e(TAG, "  Error parsing checkin timestamp: " + it.getCreated());
                 }
             }
 
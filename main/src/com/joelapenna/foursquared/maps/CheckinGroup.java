@@ -43,8 +43,8 @@ public class CheckinGroup implements FoursquareType {
             
             Venue venue = checkin.getVenue();
             mVenue = venue;
-            mLatE6 = (int)(Double.parseDouble(venue.getGeolat()) * 1E6);
-            mLonE6 = (int)(Double.parseDouble(venue.getGeolong()) * 1E6);
+            mLatE6 = venue.getGeolatE6();
+            mLonE6 = venue.getGeolongE6();
         } else {
             mDescription += ", " + StringFormatters.getUserAbbreviatedName(user);
         }
@@ -28,9 +28,8 @@ public class CheckinItemizedOverlay extends BaseGroupItemizedOverlay<Checkin> {
     protected OverlayItem createItem(int i) {
         Checkin checkin = (Checkin)group.get(i);
         if (DEBUG) Log.d(TAG, "creating checkin overlayItem: " + checkin.getVenue().getName());
-        int lat = (int)(Double.parseDouble(checkin.getVenue().getGeolat()) * 1E6);
-        int lng = (int)(Double.parseDouble(checkin.getVenue().getGeolong()) * 1E6);
-        GeoPoint point = new GeoPoint(lat, lng);
+        GeoPoint point = new GeoPoint(checkin.getVenue().getGeolatE6(),
+                checkin.getVenue().getGeolongE6());
         return new CheckinOverlayItem(point, checkin);
     }
 
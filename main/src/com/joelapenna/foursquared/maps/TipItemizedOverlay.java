@@ -28,9 +28,8 @@ public class TipItemizedOverlay extends BaseGroupItemizedOverlay<Tip> {
     protected OverlayItem createItem(int i) {
         Tip tip = (Tip)group.get(i);
         if (DEBUG) Log.d(TAG, "creating tip overlayItem: " + tip.getVenue().getName());
-        int lat = (int)(Double.parseDouble(tip.getVenue().getGeolat()) * 1E6);
-        int lng = (int)(Double.parseDouble(tip.getVenue().getGeolong()) * 1E6);
-        GeoPoint point = new GeoPoint(lat, lng);
+        GeoPoint point = new GeoPoint(tip.getVenue().getGeolatE6(),
+                tip.getVenue().getGeolongE6());
         return new TipOverlayItem(point, tip);
     }
 
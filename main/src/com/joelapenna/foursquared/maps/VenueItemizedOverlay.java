@@ -32,9 +32,7 @@ public class VenueItemizedOverlay extends BaseGroupItemizedOverlay<Venue> {
     protected OverlayItem createItem(int i) {
         Venue venue = (Venue)group.get(i);
         if (DEBUG) Log.d(TAG, "creating venue overlayItem: " + venue.getName());
-        int lat = (int)(Double.parseDouble(venue.getGeolat()) * 1E6);
-        int lng = (int)(Double.parseDouble(venue.getGeolong()) * 1E6);
-        GeoPoint point = new GeoPoint(lat, lng);
+        GeoPoint point = new GeoPoint(venue.getGeolatE6(), venue.getGeolongE6());
         return new VenueOverlayItem(point, venue);
     }
 
@@ -69,8 +67,8 @@ public class VenueItemizedOverlay extends BaseGroupItemizedOverlay<Venue> {
         for (int i = 0; i < group.size(); i++) {
             Venue venue = (Venue)group.get(i);
             if (VenueUtils.hasValidLocation(venue)) {
-                int lat = (int)(Double.parseDouble(venue.getGeolat()) * 1E6);
-                int lon = (int)(Double.parseDouble(venue.getGeolong()) * 1E6);
+                int lat = venue.getGeolatE6();
+                int lon = venue.getGeolongE6();
 
                 // LatSpan
                 if (lat > maxLat || maxLat == 0) {
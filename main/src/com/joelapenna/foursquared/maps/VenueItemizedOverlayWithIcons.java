@@ -52,8 +52,7 @@ public class VenueItemizedOverlayWithIcons extends BaseGroupItemizedOverlay<Venu
     @Override
     protected OverlayItem createItem(int i) {
         Venue venue = (Venue)group.get(i);
-        GeoPoint point = GeoUtils.stringLocationToGeoPoint(
-                venue.getGeolat(), venue.getGeolong());
+        GeoPoint point = GeoUtils.venueToGeoPoint(venue);
         return new VenueOverlayItem(point, venue, mContext, mRrm);
     }
 
@@ -7,6 +7,7 @@ package com.joelapenna.foursquared.providers;
 import com.joelapenna.foursquare.Foursquare;
 import com.joelapenna.foursquare.error.FoursquareError;
 import com.joelapenna.foursquare.error.FoursquareException;
+import com.joelapenna.foursquare.parsers.json.Projection;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Venue;
 import com.joelapenna.foursquared.Foursquared;
@@ -69,6 +70,9 @@ public class GlobalSearchProvider extends ContentProvider {
     // from API level 5)
     private static final int VENUE_QUERY_LIMIT = 30;
 
+    /** Suggestions only show a venue's name and address. */
+    private static final Projection VENUE_FIELDS = Projection.of("id", "name", "address");
+
     private Foursquare mFoursquare;
 
     @Override
@@ -95,7 +99,7 @@ public class GlobalSearchProvider extends ContentProvider {
                 try {
                     venueGroups = mFoursquare.venues(LocationUtils
                             .createFoursquareLocation(getBestRecentLocation()), query,
-                            VENUE_QUERY_LIMIT);
+                            VENUE_QUERY_LIMIT, VENUE_FIELDS);
                 } catch (FoursquareError e) {
                     if (DEBUG) Log.e(TAG, "Could not get venue list for query: " + query, e);
                     return cursor;
@@ -8,14 +8,16 @@ import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.ParseUtils;
+import com.joelapenna.foursquare.util.ServerDates;
 
-import java.text.ParseException;
 import java.util.Comparator;
 
 /**
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com)
  *   -Updated getVenueDistanceComparator() to do numeric comparison. (2010-03-23)
+ *   -Compare the distances and dates the types parse once. (2010-10-18)
  */
 public class Comparators {
 
@@ -34,23 +36,9 @@ public class Comparators {
                  */
                 @Override
                 public int compare(Venue object1, Venue object2) {
-                    // TODO: In practice we're pretty much guaranteed to get valid locations
-                    // from foursquare, but.. what if we don't, what's a good fail behavior
-                    // here?
-                    try {
-                        int d1 = Integer.parseInt(object1.getDistance());
-                        int d2 = Integer.parseInt(object2.getDistance());
-                        
-                        if (d1 < d2) {
-                            return -1;
-                        } else if (d1 > d2) {
-                            return 1;
-                        } else {
-                            return 0;
-                        }
-                    } catch (NumberFormatException ex) {
-                        return object1.getDistance().compareTo(object2.getDistance());
-                    }
+                    // Venues without a distance sort after those with one.
+                    return compareDistances(object1.getDistanceMeters(),
+                            object2.getDistanceMeters());
                 }
             };
         }
@@ -83,12 +71,8 @@ public class Comparators {
                  */
                 @Override
                 public int compare(User object1, User object2) {
-                    try {
-                        return StringFormatters.DATE_FORMAT.parse(object2.getCreated()).compareTo(
-                                StringFormatters.DATE_FORMAT.parse(object1.getCreated()));
-                    } catch (ParseException e) {
-                        return 0;
-                    }
+                    return compareNewestFirst(ServerDates.parse(object1.getCreated()),
+                            ServerDates.parse(object2.getCreated()));
                 }
             };
         }
@@ -104,12 +88,8 @@ public class Comparators {
                  */
                 @Override
                 public int compare(Checkin object1, Checkin object2) {
-                    try {
-                        return StringFormatters.DATE_FORMAT.parse(object2.getCreated()).compareTo(
-                                StringFormatters.DATE_FORMAT.parse(object1.getCreated()));
-                    } catch (ParseException e) {
-                        return 0;
-                    }
+                    return compareNewestFirst(object1.getCreatedMillis(),
+                            object2.getCreatedMillis());
                 }
             };
         }
@@ -125,19 +105,8 @@ public class Comparators {
                  */
                 @Override
                 public int compare(Checkin object1, Checkin object2) {
-                    try {
-                        int d1 = Integer.parseInt(object1.getDistance());
-                        int d2 = Integer.parseInt(object2.getDistance());
-                        if (d1 > d2) {
-                            return 1;
-                        } else if (d2 > d1) {
-                            return -1;
-                        } else {
-                            return 0;
-                        }
-                    } catch (NumberFormatException ex) {
-                        return 0;
-                    }
+                    return compareDistances(object1.getDistanceMeters(),
+                            object2.getDistanceMeters());
                 }
             };
         }
@@ -153,16 +122,36 @@ public class Comparators {
                  */
                 @Override
                 public int compare(Tip object1, Tip object2) {
-                    try {
-                        return StringFormatters.DATE_FORMAT.parse(object2.getCreated()).compareTo(
-                                StringFormatters.DATE_FORMAT.parse(object1.getCreated()));
-                    } catch (ParseException e) {
-                        return 0;
-                    }
+                    return compareNewestFirst(object1.getCreatedMillis(),
+                            object2.getCreatedMillis());
                 }
             };
         }
         return sTipRecencyComparator;
     }
 
+    /**
+     * Nearest first, unknown distances (ParseUtils.UNKNOWN) last.
+     */
+    private static int compareDistances(int d1, int d2) {
+        if (d1 == d2) {
+            return 0;
+        } else if (d1 == ParseUtils.UNKNOWN) {
+            return 1;
+        } else if (d2 == ParseUtils.UNKNOWN) {
+            return -1;
+        }
+        return (d1 < d2) ? -1 : 1;
+    }
+
+    /**
+     * Newest first. Unknown dates (ParseUtils.UNKNOWN) are negative, so they sort last.
+     */
+    private static int compareNewestFirst(long created1, long created2) {
+        if (created1 == created2) {
+            return 0;
+        }
+        return (created1 > created2) ? -1 : 1;
+    }
+
 }
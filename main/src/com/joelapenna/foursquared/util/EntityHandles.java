@@ -0,0 +1,102 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquared.util;
+
+import com.joelapenna.foursquare.codec.Codecs;
+import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.EntityStore;
+import com.joelapenna.foursquared.Foursquared;
+import com.joelapenna.foursquared.FoursquaredSettings;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Hands venues between activities by id through the application's EntityStore, instead of
+ * parcelling the venue and its checkins, tips, todos and specials into the intent. The receiver
+ * gets the sender's own instance.
+ * <p>
+ * The store only holds what some screen still refers to, so after the process has been killed
+ * and an activity is recreated from its intent, the id alone finds nothing. For that case the
+ * activity writes a binary snapshot of its venue into its saved state (saveVenue()), which
+ * getVenue() falls back to. If neither has it, getVenue() returns null and the caller can
+ * refetch by getId().
+ *
+ * @date October 18, 2010
+ */
+public class EntityHandles {
+    private static final String TAG = "EntityHandles";
+    private static final boolean DEBUG = FoursquaredSettings.DEBUG;
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    /**
+     * Stores venue and puts its id, the handle, in the intent under name.
+     */
+    public static void putVenue(Context context, Intent intent, String name, Venue venue) {
+        getStore(context).put(Venue.class, venue.getId(), venue);
+        intent.putExtra(name, venue.getId());
+    }
+
+    /**
+     * The venue the handle under name refers to, from the store, else from the snapshot
+     * saveVenue() left in savedInstanceState (which may be null). Null if neither has it.
+     */
+    public static Venue getVenue(Context context, Intent intent, String name,
+            Bundle savedInstanceState) {
+        String id = getId(intent, name);
+        EntityStore store = getStore(context);
+        Venue venue = store.get(Venue.class, id);
+        if (venue == null && savedInstanceState != null) {
+            venue = restoreVenue(savedInstanceState, name);
+            if (venue != null && id != null && id.equals(venue.getId())) {
+                store.put(Venue.class, id, venue);
+            } else {
+                venue = null;
+            }
+        }
+        if (DEBUG) Log.d(TAG, "getVenue " + id + ": " + (venue != null ? "found" : "missing"));
+        return venue;
+    }
+
+    /** The id the handle under name carries. */
+    public static String getId(Intent intent, String name) {
+        return intent.getStringExtra(name);
+    }
+
+    /**
+     * Writes a snapshot of venue to outState, for getVenue() to fall back on if the process is
+     * killed while the activity is in the background.
+     */
+    public static void saveVenue(Bundle outState, String name, Venue venue) {
+        ByteBuffer snapshot = Codecs.encode(Codecs.VENUE, venue);
+        byte[] bytes = new byte[snapshot.remaining()];
+        snapshot.get(bytes);
+        outState.putByteArray(name + SNAPSHOT_SUFFIX, bytes);
+    }
+
+    private static Venue restoreVenue(Bundle savedInstanceState, String name) {
+        byte[] bytes = savedInstanceState.getByteArray(name + SNAPSHOT_SUFFIX);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return Codecs.decode(Codecs.VENUE, ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            // Written by an older build, before an upgrade.
+            if (DEBUG) Log.d(TAG, "Dropping venue snapshot.", e);
+            return null;
+        }
+    }
+
+    private static EntityStore getStore(Context context) {
+        return ((Foursquared) context.getApplicationContext()).getEntityStore();
+    }
+}
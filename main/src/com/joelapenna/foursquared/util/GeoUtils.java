@@ -5,6 +5,7 @@
 package com.joelapenna.foursquared.util;
 
 import com.google.android.maps.GeoPoint;
+import com.joelapenna.foursquare.types.Venue;
 
 import android.content.Context;
 import android.location.Location;
@@ -52,6 +53,18 @@ public class GeoUtils {
         }
     }
     
+    /**
+     * The venue's location, from the coordinates it parsed when it was built. Null if it has
+     * none.
+     */
+    public static GeoPoint venueToGeoPoint(Venue venue) {
+        if (venue.hasGeolocation()) {
+            return new GeoPoint(venue.getGeolatE6(), venue.getGeolongE6());
+        } else {
+            return null;
+        }
+    }
+
     public static GeoPoint stringLocationToGeoPoint(String strlat, String strlon) {
         try {
             double lat = Double.parseDouble(strlat);
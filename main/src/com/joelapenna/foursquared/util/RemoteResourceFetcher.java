@@ -4,6 +4,7 @@
 
 package com.joelapenna.foursquared.util;
 
+import com.joelapenna.foursquare.http.ConnectionPool;
 import com.joelapenna.foursquared.FoursquaredSettings;
 
 import org.apache.http.Header;
@@ -11,16 +12,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.conn.ClientConnectionManager;
-import org.apache.http.conn.scheme.PlainSocketFactory;
-import org.apache.http.conn.scheme.Scheme;
-import org.apache.http.conn.scheme.SchemeRegistry;
-import org.apache.http.conn.scheme.SocketFactory;
 import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
-import org.apache.http.params.BasicHttpParams;
-import org.apache.http.params.HttpConnectionParams;
-import org.apache.http.params.HttpParams;
 
 import android.net.Uri;
 import android.util.Log;
@@ -82,18 +74,35 @@ class RemoteResourceFetcher extends Observable {
     private Callable<Request> newRequestCall(final Request request) {
         return new Callable<Request>() {
             public Request call() {
+                HttpGet httpGet = new HttpGet(request.uri.toString());
+                HttpEntity entity = null;
                 try {
                     if (DEBUG) Log.d(TAG, "Requesting: " + request.uri);
-                    HttpGet httpGet = new HttpGet(request.uri.toString());
                     httpGet.addHeader("Accept-Encoding", "gzip");
                     HttpResponse response = mHttpClient.execute(httpGet);
-                    HttpEntity entity = response.getEntity();
+                    entity = response.getEntity();
                     InputStream is = getUngzippedContent(entity);
                     mResourceCache.store(request.hash, is);
                     if (DEBUG) Log.d(TAG, "Request successful: " + request.uri);
                 } catch (IOException e) {
                     if (DEBUG) Log.d(TAG, "IOException", e);
+                    httpGet.abort();
+                    entity = null;
+                } catch (RuntimeException e) {
+                    httpGet.abort();
+                    entity = null;
+                    throw e;
                 } finally {
+                    // The cache gives up quietly when it can't write, which can leave the
+                    // response part read. Read out the rest so the connection goes back to the
+                    // pool, or drop it if that fails too.
+                    if (entity != null) {
+                        try {
+                            entity.consumeContent();
+                        } catch (IOException e) {
+                            httpGet.abort();
+                        }
+                    }
                     if (DEBUG) Log.d(TAG, "Request finished: " + request.uri);
                     mActiveRequestsMap.remove(request);
                     notifyObservers(request.uri);
@@ -131,35 +140,13 @@ class RemoteResourceFetcher extends Observable {
     }
 
     /**
-     * Create a thread-safe client. This client does not do redirecting, to allow us to capture
-     * correct "error" codes.
+     * Create a thread-safe client which shares its connections with the api client.
      *
      * @return HttpClient
      */
     public static final DefaultHttpClient createHttpClient() {
-        // Shamelessly cribbed from AndroidHttpClient
-        HttpParams params = new BasicHttpParams();
-
-        // Turn off stale checking. Our connections break all the time anyway,
-        // and it's not worth it to pay the penalty of checking every time.
-        HttpConnectionParams.setStaleCheckingEnabled(params, false);
-
         // Default connection and socket timeout of 10 seconds. Tweak to taste.
-        HttpConnectionParams.setConnectionTimeout(params, 10 * 1000);
-        HttpConnectionParams.setSoTimeout(params, 10 * 1000);
-        HttpConnectionParams.setSocketBufferSize(params, 8192);
-
-        // Sets up the http part of the service.
-        final SchemeRegistry supportedSchemes = new SchemeRegistry();
-
-        // Register the "http" protocol scheme, it is required
-        // by the default operator to look up socket factories.
-        final SocketFactory sf = PlainSocketFactory.getSocketFactory();
-        supportedSchemes.register(new Scheme("http", sf, 80));
-
-        final ClientConnectionManager ccm = new ThreadSafeClientConnManager(params,
-                supportedSchemes);
-        return new DefaultHttpClient(ccm, params);
+        return ConnectionPool.getInstance().createHttpClient(10 * 1000, true);
     }
 
     private static class Request {
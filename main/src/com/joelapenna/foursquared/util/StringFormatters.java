@@ -7,11 +7,7 @@ package com.joelapenna.foursquared.util;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Date;
 
 import android.content.res.Resources;
 import android.text.TextUtils;
@@ -20,29 +16,33 @@ import android.text.format.DateUtils;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.User;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.DateLabelCache;
+import com.joelapenna.foursquare.util.ParseUtils;
+import com.joelapenna.foursquare.util.ServerDates;
 import com.joelapenna.foursquared.R;
 
 /**
  * @author Joe LaPenna (joe@joelapenna.com)
  * @author Mark Wyszomierski (markww@gmail.com)
  *   -Added date formats for today/yesterday/older contexts.
+ *   -Dates are parsed with ServerDates and formatted through DateLabelCache, both thread safe.
  */
 public class StringFormatters {
 
-    public static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat(
-            "EEE, dd MMM yy HH:mm:ss Z");
-    
+    // These are used from the ui and from services at once, so they're caches which lock around
+    // their SimpleDateFormat rather than bare SimpleDateFormats.
+
     /** Should look like "9:09 AM". */
-    public static final SimpleDateFormat DATE_FORMAT_TODAY = new SimpleDateFormat(
-            "h:mm a");
+    public static final DateLabelCache DATE_FORMAT_TODAY = new DateLabelCache(
+            "h:mm a", DateLabelCache.MINUTE);
 
     /** Should look like "Sun 1:56 PM". */
-    public static final SimpleDateFormat DATE_FORMAT_YESTERDAY = new SimpleDateFormat(
-            "E h:mm a");
+    public static final DateLabelCache DATE_FORMAT_YESTERDAY = new DateLabelCache(
+            "E h:mm a", DateLabelCache.MINUTE);
 
     /** Should look like "Sat Mar 20". */
-    public static final SimpleDateFormat DATE_FORMAT_OLDER = new SimpleDateFormat(
-            "E MMM d");
+    public static final DateLabelCache DATE_FORMAT_OLDER = new DateLabelCache(
+            "E MMM d", DateLabelCache.DAY);
     
     public static String getVenueLocationFull(Venue venue) {
     	StringBuilder sb = new StringBuilder();
@@ -103,11 +103,7 @@ public class StringFormatters {
     
     public static String getCheckinMessageLine3(Checkin checkin) {
         if (!TextUtils.isEmpty(checkin.getCreated())) {
-            try {
-                return getTodayTimeString(checkin.getCreated());
-            } catch (Exception ex) {
-                return checkin.getCreated();
-            }
+            return getTodayTimeString(checkin.getCreated());
         } else {
             return "";
         }
@@ -138,46 +134,52 @@ public class StringFormatters {
     }
 
     public static CharSequence getRelativeTimeSpanString(String created) {
-        try {
-            return DateUtils.getRelativeTimeSpanString(DATE_FORMAT.parse(created).getTime(),
-                    new Date().getTime(), DateUtils.MINUTE_IN_MILLIS,
-                    DateUtils.FORMAT_ABBREV_RELATIVE);
-        } catch (ParseException e) {
+        long millis = ServerDates.parse(created);
+        if (millis == ParseUtils.UNKNOWN) {
             return created;
         }
+        return getRelativeTimeSpanString(millis);
+    }
+
+    public static CharSequence getRelativeTimeSpanString(long created) {
+        return DateUtils.getRelativeTimeSpanString(created, System.currentTimeMillis(),
+                DateUtils.MINUTE_IN_MILLIS, DateUtils.FORMAT_ABBREV_RELATIVE);
     }
 
     /**
      * Returns a format that will look like: "9:09 AM".
      */
     public static String getTodayTimeString(String created) {
-        try {
-            return DATE_FORMAT_TODAY.format(DATE_FORMAT.parse(created));
-        } catch (ParseException e) {
-            return created;
-        }
+        long millis = ServerDates.parse(created);
+        return (millis == ParseUtils.UNKNOWN) ? created : DATE_FORMAT_TODAY.format(millis);
+    }
+
+    public static String getTodayTimeString(long created) {
+        return DATE_FORMAT_TODAY.format(created);
     }
     
     /**
      * Returns a format that will look like: "Sun 1:56 PM".
      */
     public static String getYesterdayTimeString(String created) {
-        try {
-            return DATE_FORMAT_YESTERDAY.format(DATE_FORMAT.parse(created));
-        } catch (ParseException e) {
-            return created;
-        }
+        long millis = ServerDates.parse(created);
+        return (millis == ParseUtils.UNKNOWN) ? created : DATE_FORMAT_YESTERDAY.format(millis);
+    }
+
+    public static String getYesterdayTimeString(long created) {
+        return DATE_FORMAT_YESTERDAY.format(created);
     }
     
     /**
      * Returns a format that will look like: "Sat Mar 20".
      */
     public static String getOlderTimeString(String created) {
-        try {
-            return DATE_FORMAT_OLDER.format(DATE_FORMAT.parse(created));
-        } catch (ParseException e) {
-            return created;
-        }
+        long millis = ServerDates.parse(created);
+        return (millis == ParseUtils.UNKNOWN) ? created : DATE_FORMAT_OLDER.format(millis);
+    }
+
+    public static String getOlderTimeString(long created) {
+        return DATE_FORMAT_OLDER.format(created);
     }
     
     /**
@@ -195,10 +197,16 @@ public class StringFormatters {
     }
     
     public static String getTipAge(Resources res, String created) {
+        return getTipAge(res, ServerDates.parse(created));
+    }
+
+    public static String getTipAge(Resources res, long created) {
+        if (created == ParseUtils.UNKNOWN) {
+            return "";
+        }
         Calendar then = Calendar.getInstance();
-        then.setTime(new Date(created));
+        then.setTimeInMillis(created);
         Calendar now = Calendar.getInstance();
-        now.setTime(new Date(System.currentTimeMillis()));
         
         if (now.get(Calendar.YEAR) == then.get(Calendar.YEAR)) {
             if (now.get(Calendar.MONTH) == then.get(Calendar.MONTH)) {
@@ -229,7 +237,6 @@ public class StringFormatters {
     }
     
     public static String createServerDateFormatV1() {
-    	DateFormat df = new SimpleDateFormat("EEE, dd MMM yy HH:mm:ss Z");
-    	return df.format(new Date());
+        return ServerDates.format(System.currentTimeMillis());
     }
 }
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquared.util;
+
+import com.joelapenna.foursquare.codec.Codec;
+import com.joelapenna.foursquare.codec.Codecs;
+import com.joelapenna.foursquare.types.FoursquareType;
+import com.joelapenna.foursquared.FoursquaredSettings;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Puts foursquare types into intents and bundles, and gets them back out. The types belong to
+ * the api client, which builds without Android, so they aren't Parcelable themselves. Instead
+ * each goes in as a byte[] extra holding its snapshot (see Codecs), written and read with the
+ * codec the caller names, e.g.:
+ *
+ * <pre>
+ * TypeExtras.put(intent, VenueActivity.INTENT_EXTRA_VENUE, Codecs.VENUE, venue);
+ * Venue venue = TypeExtras.get(getIntent(), INTENT_EXTRA_VENUE, Codecs.VENUE);
+ * </pre>
+ *
+ * Within the app, prefer handing a venue over with EntityHandles, which copies nothing.
+ *
+ * @date October 18, 2010
+ */
+public class TypeExtras {
+    private static final String TAG = "TypeExtras";
+    private static final boolean DEBUG = FoursquaredSettings.DEBUG;
+
+    private TypeExtras() {
+    }
+
+    /** Puts value, which may be null, into intent under name. */
+    public static <T extends FoursquareType> void put(Intent intent, String name, Codec<T> codec,
+            T value) {
+        intent.putExtra(name, encode(codec, value));
+    }
+
+    /** Puts value, which may be null, into bundle under name. */
+    public static <T extends FoursquareType> void put(Bundle bundle, String name, Codec<T> codec,
+            T value) {
+        bundle.putByteArray(name, encode(codec, value));
+    }
+
+    /**
+     * The value put() left in intent under name, or null if there's none or it was written by
+     * another build, in which case callers fetch it again or give up as if it were missing.
+     */
+    public static <T extends FoursquareType> T get(Intent intent, String name, Codec<T> codec) {
+        return decode(codec, name, intent.getByteArrayExtra(name));
+    }
+
+    /** The value put() left in bundle under name, or null as for get(Intent...). */
+    public static <T extends FoursquareType> T get(Bundle bundle, String name, Codec<T> codec) {
+        return decode(codec, name, bundle.getByteArray(name));
+    }
+
+    private static <T extends FoursquareType> byte[] encode(Codec<T> codec, T value) {
+        if (value == null) {
+            return null;
+        }
+        ByteBuffer snapshot = Codecs.encode(codec, value);
+        byte[] bytes = new byte[snapshot.remaining()];
+        snapshot.get(bytes);
+        return bytes;
+    }
+
+    private static <T extends FoursquareType> T decode(Codec<T> codec, String name,
+            byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return Codecs.decode(codec, ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            // Written by an older build: Android keeps intents and saved state across an
+            // upgrade, e.g. an activity relaunched from recents.
+            if (DEBUG) Log.d(TAG, "Dropping unreadable extra " + name, e);
+            return null;
+        }
+    }
+}
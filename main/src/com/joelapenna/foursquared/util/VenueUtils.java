@@ -4,14 +4,16 @@
 
 package com.joelapenna.foursquared.util;
 
-import android.os.Parcel;
 import android.text.TextUtils;
 
+import com.joelapenna.foursquare.codec.Codecs;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Tip;
 import com.joelapenna.foursquare.types.Todo;
 import com.joelapenna.foursquare.types.Venue;
 
+import java.io.IOException;
+
 /**
  * @date September 16, 2010
  * @author Mark Wyszomierski (markww@gmail.com)
@@ -131,25 +133,16 @@ public class VenueUtils {
     }
     
     /**
-     * Creates a copy of the passed venue. This should really be implemented
-     * as a copy constructor.
+     * Creates a copy of the passed venue, by way of its snapshot. This should really be
+     * implemented as a copy constructor.
      */
     public static Venue cloneVenue(Venue venue) {
-    	Parcel p1 = Parcel.obtain();
-    	Parcel p2 = Parcel.obtain();
-    	byte[] bytes = null;
-    	
-    	p1.writeValue(venue);
-    	bytes = p1.marshall();
-    	
-    	p2.unmarshall(bytes, 0, bytes.length);
-        p2.setDataPosition(0);
-        Venue venueNew = (Venue)p2.readValue(Venue.class.getClassLoader());
-    	
-        p1.recycle();
-        p2.recycle();
-        
-        return venueNew;
+        try {
+            return Codecs.decode(Codecs.VENUE, Codecs.encode(Codecs.VENUE, venue));
+        } catch (IOException e) {
+            // Read straight back from what was just written.
+            throw new IllegalStateException(e);
+        }
     }
     
     public static String toStringVenueShare(Venue venue) {
@@ -8,6 +8,7 @@ import com.joelapenna.foursquare.Foursquare;
 import com.joelapenna.foursquare.types.Checkin;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.User;
+import com.joelapenna.foursquare.util.ParseUtils;
 import com.joelapenna.foursquared.R;
 import com.joelapenna.foursquared.util.CheckinTimestampSort;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
@@ -143,16 +144,19 @@ public class CheckinListAdapter extends BaseCheckinAdapter implements Observable
                 mRrm.request(photoUri);
             }
 
-            Date date = new Date(it.getCreated());
-            if (date.after(timestamps.getBoundaryRecent())) {
+            long created = it.getCreatedMillis();
+            Date date = new Date(created);
+            if (created == ParseUtils.UNKNOWN) {
+                mCachedTimestamps.put(it.getId(), it.getCreated());
+            } else if (date.after(timestamps.getBoundaryRecent())) {
                 mCachedTimestamps.put(it.getId(), 
-                    StringFormatters.getRelativeTimeSpanString(it.getCreated()).toString());
+                    StringFormatters.getRelativeTimeSpanString(created).toString());
             } else if (date.after(timestamps.getBoundaryToday())) {
-                mCachedTimestamps.put(it.getId(), StringFormatters.getTodayTimeString(it.getCreated()));
+                mCachedTimestamps.put(it.getId(), StringFormatters.getTodayTimeString(created));
             } else if (date.after(timestamps.getBoundaryYesterday())) {
-                mCachedTimestamps.put(it.getId(), StringFormatters.getYesterdayTimeString(it.getCreated()));
+                mCachedTimestamps.put(it.getId(), StringFormatters.getYesterdayTimeString(created));
             } else {
-                mCachedTimestamps.put(it.getId(), StringFormatters.getOlderTimeString(it.getCreated()));
+                mCachedTimestamps.put(it.getId(), StringFormatters.getOlderTimeString(created));
             }
         }
     }
@@ -210,7 +210,7 @@ public class TipsListAdapter extends BaseGroupAdapter<Tip>
         
         mCachedTimestamps.clear();
         for (Tip it : g) {
-            String formatted = StringFormatters.getTipAge(mResources, it.getCreated()); 
+            String formatted = StringFormatters.getTipAge(mResources, it.getCreatedMillis()); 
             mCachedTimestamps.put(it.getId(), formatted);
         }
     }
@@ -4,10 +4,12 @@
 
 package com.joelapenna.foursquared.widget;
 
+import com.joelapenna.foursquare.parsers.json.Projection;
 import com.joelapenna.foursquare.types.Category;
 import com.joelapenna.foursquare.types.Group;
 import com.joelapenna.foursquare.types.Stats;
 import com.joelapenna.foursquare.types.Venue;
+import com.joelapenna.foursquare.util.ParseUtils;
 import com.joelapenna.foursquared.FoursquaredSettings;
 import com.joelapenna.foursquared.R;
 import com.joelapenna.foursquared.util.RemoteResourceManager;
@@ -38,6 +40,14 @@ import java.util.Observer;
 public class VenueListAdapter extends BaseVenueAdapter implements ObservableAdapter {
     private static final String TAG = "VenueListAdapter";
     private static final boolean DEBUG = FoursquaredSettings.DEBUG;
+
+    /**
+     * The venue fields to fetch for this list. It only shows the name, address, category, distance
+     * and stats, so a venue's checkins, specials, tips and todos are kept as raw json and parsed
+     * only if the venue is opened (or parcelled, which builds them).
+     */
+    public static final Projection FIELDS =
+        Projection.ALL.defer("checkins", "specials", "tips", "todos");
     
     private LayoutInflater mInflater;
     private RemoteResourceManager mRrm;
@@ -131,21 +141,18 @@ public class VenueListAdapter extends BaseVenueAdapter implements ObservableAdap
         }
         
         // Show venue distance.
-        if (venue.getDistance() != null) {
-            holder.venueDistance.setText(venue.getDistance() + " meters");
+        if (venue.getDistanceMeters() != ParseUtils.UNKNOWN) {
+            holder.venueDistance.setText(venue.getDistanceMeters() + " meters");
         } else {
             holder.venueDistance.setText("");
         }
         
         // If more than two people here, then show trending text.
         Stats stats = venue.getStats();
-        if (stats != null && 
-           !stats.getHereNow().equals("0") &&
-           !stats.getHereNow().equals("1") &&
-           !stats.getHereNow().equals("2")) {
+        if (stats != null && stats.getHereNowCount() > 2) {
             holder.iconTrending.setVisibility(View.VISIBLE);
             holder.venueCheckinCount.setVisibility(View.VISIBLE);
-            holder.venueCheckinCount.setText(stats.getHereNow() + " people here");
+            holder.venueCheckinCount.setText(stats.getHereNowCount() + " people here");
         } else {
             holder.iconTrending.setVisibility(View.GONE);
             holder.venueCheckinCount.setVisibility(View.GONE);
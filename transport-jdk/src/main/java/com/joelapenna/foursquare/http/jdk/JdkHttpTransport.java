@@ -0,0 +1,248 @@
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.http.jdk;
+
+import com.joelapenna.foursquare.Foursquare;
+import com.joelapenna.foursquare.http.HttpTransport;
+import com.joelapenna.foursquare.http.TransportRequest;
+import com.joelapenna.foursquare.http.TransportResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A transport over the JDK's own HttpClient, for running the api client on a desktop or server
+ * JVM. It asks for HTTP/2 and falls back to HTTP/1.1 when the server doesn't speak it (through
+ * ALPN over https, the h2c upgrade over plain http). Over HTTP/2 each request is a stream on
+ * one connection to the host, so any number of threads calling the api share that connection
+ * instead of each holding a socket from a pool, and a slow response doesn't hold up the rest.
+ * <p>
+ * The client does its socket i/o on its own threads. execute() only blocks its caller until the
+ * response headers are in, executeAsync() doesn't block at all.
+ *
+ * @date October 18, 2010
+ */
+public class JdkHttpTransport implements HttpTransport {
+    private static final Logger LOG = Logger.getLogger(JdkHttpTransport.class.getCanonicalName());
+    private static final boolean DEBUG = Foursquare.DEBUG;
+
+    /** The same as the api's HttpClient. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    /** Bodies up to this size are written out before the request goes, larger ones streamed. */
+    private static final long MAX_BUFFERED_BODY = 64 * 1024;
+    private static final int PIPE_SIZE = 8192;
+    /** Streamed bodies written at once, across every transport. Any more wait their turn. */
+    private static final int MAX_BODY_WRITERS = 4;
+
+    private static final ThreadPoolExecutor BODY_WRITERS = createBodyWriters();
+
+    /** Headers the client sets itself and refuses from callers, or that HTTP/2 forbids. */
+    private static final String[] CLIENT_HEADERS = {
+            "Connection", "Content-Length", "Expect", "Host", "Keep-Alive", "Transfer-Encoding",
+            "Upgrade"
+    };
+
+    private static final Function<HttpResponse<InputStream>, TransportResponse> TO_RESPONSE =
+        new Function<HttpResponse<InputStream>, TransportResponse>() {
+            public TransportResponse apply(HttpResponse<InputStream> response) {
+                return toTransportResponse(response);
+            }
+        };
+
+    private final HttpClient mClient;
+    private final Duration mTimeout;
+
+    public JdkHttpTransport() {
+        this(createClient(DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param client e.g. from createClient(), which must not follow redirects: the api wants
+     *            to see the real status codes
+     * @param timeout how long to wait for a response's headers
+     */
+    public JdkHttpTransport(HttpClient client, Duration timeout) {
+        mClient = client;
+        mTimeout = timeout;
+    }
+
+    /**
+     * A client which prefers HTTP/2 and doesn't follow redirects.
+     */
+    public static HttpClient createClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public HttpClient getClient() {
+        return mClient;
+    }
+
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        try {
+            return toTransportResponse(mClient.send(toHttpRequest(request),
+                    BodyHandlers.ofInputStream()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted sending " + request);
+        }
+    }
+
+    /**
+     * Sends the request without waiting on it. The future completes once the headers are in,
+     * with the body still to be read, or fails with what execute() would have thrown. For
+     * requests made around the api rather than through it, e.g. fetching photos, which go out
+     * on the same connections as the api's.
+     */
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (IOException e) {
+            CompletableFuture<TransportResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return mClient.sendAsync(httpRequest, BodyHandlers.ofInputStream()).thenApply(TO_RESPONSE);
+    }
+
+    private HttpRequest toHttpRequest(TransportRequest request) throws IOException {
+        TransportRequest.Body body = request.getBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri())
+                .timeout(mTimeout)
+                .method(request.getMethod(), toBodyPublisher(body));
+        for (int i = 0; i < request.getHeaderCount(); i++) {
+            String name = request.getHeaderName(i);
+            if (!isClientHeader(name)) {
+                builder.header(name, request.getHeaderValue(i));
+            }
+        }
+        if (body != null && body.getContentType() != null
+                && request.getFirstHeader("Content-Type") == null) {
+            builder.header("Content-Type", body.getContentType());
+        }
+        return builder.build();
+    }
+
+    private static BodyPublisher toBodyPublisher(final TransportRequest.Body body)
+            throws IOException {
+        if (body == null) {
+            return BodyPublishers.noBody();
+        }
+        long length = body.getContentLength();
+        if (length >= 0 && length <= MAX_BUFFERED_BODY) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) length);
+            body.writeTo(out);
+            return BodyPublishers.ofByteArray(out.toByteArray());
+        }
+        BodyPublisher publisher = BodyPublishers.ofInputStream(new Supplier<InputStream>() {
+            public InputStream get() {
+                return pipe(body);
+            }
+        });
+        return (length > 0) ? BodyPublishers.fromPublisher(publisher, length) : publisher;
+    }
+
+    /**
+     * The body as a stream, written on one of the body writer threads so that a large upload (a
+     * photo, say) isn't held in memory and its progress is reported as it goes out.
+     */
+    private static InputStream pipe(final TransportRequest.Body body) {
+        final PipedOutputStream out = new PipedOutputStream();
+        PipedInputStream in;
+        try {
+            in = new PipedInputStream(out, PIPE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        BODY_WRITERS.execute(new Runnable() {
+            public void run() {
+                try {
+                    body.writeTo(out);
+                } catch (IOException e) {
+                    // The request fails short of its length, or was given up on already.
+                    if (DEBUG) LOG.log(Level.FINE, "Failed writing request body", e);
+                } finally {
+                    try {
+                        out.close();
+                    } catch (IOException e) {
+                        // Nothing left to tell.
+                    }
+                }
+            }
+        });
+        return in;
+    }
+
+    private static ThreadPoolExecutor createBodyWriters() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_BODY_WRITERS, MAX_BODY_WRITERS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r,
+                                "JdkHttpTransport body writer " + mCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static TransportResponse toTransportResponse(HttpResponse<InputStream> httpResponse) {
+        String protocol = (httpResponse.version() == HttpClient.Version.HTTP_2) ? "HTTP/2"
+                : "HTTP/1.1";
+        // Neither version hands over a reason phrase.
+        TransportResponse response = new TransportResponse(protocol, httpResponse.statusCode(),
+                null);
+        for (Map.Entry<String, List<String>> header : httpResponse.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        response.setBody(httpResponse.body(),
+                httpResponse.headers().firstValueAsLong("Content-Length").orElse(-1));
+        if (DEBUG) LOG.log(Level.FINE, "Response " + response + " for " + httpResponse.uri());
+        return response;
+    }
+
+    private static boolean isClientHeader(String name) {
+        for (int i = 0; i < CLIENT_HEADERS.length; i++) {
+            if (CLIENT_HEADERS[i].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,8 +6,11 @@ from xml.dom import minidom
 from xml.dom import pulldom
 
 BOOLEAN = "boolean"
+INT = "int"
 STRING = "String"
 GROUP = "Group"
+TAGS = "Tags"
+TYPES_LIST = "Types"
 
 
 # Interfaces that all FoursquareTypes implement.
@@ -37,6 +40,7 @@ COMPLEX = [
     'Group',
     'Badge',
     'Beenhere',
+    'Category',
     'Checkin',
     'CheckinResponse',
     'City',
@@ -47,26 +51,64 @@ COMPLEX = [
     'Score',
     'Scoring',
     'Settings',
+    'Special',
     'Stats',
     'Tags',
     'Tip',
+    'Tip.Stats',
+    'Todo',
+    'Types',
     'User',
     'Venue',
 ]
-TYPES = COMPLEX + ['boolean']
+TYPES = COMPLEX + [BOOLEAN, INT]
+
+
+def CamelCase(name):
+  """venue_id -> VenueId"""
+  return ''.join([word.capitalize() for word in name.split('_')])
+
+
+def ConstantName(type_name):
+  """CheckinResult -> CHECKIN_RESULT, Tip.Stats -> TIP_STATS"""
+  name = type_name.replace('.', '')
+  return ''.join([(c if i == 0 or not c.isupper() else '_' + c)
+                  for i, c in enumerate(name)]).upper()
+
+
+def JavaHashCode(s):
+  """The value String.hashCode() returns for s, for switching on keys."""
+  h = 0
+  for c in s:
+    h = (31 * h + ord(c)) & 0xFFFFFFFF
+  if h >= 0x80000000:
+    h -= 0x100000000
+  return h
 
 
 def WalkNodesForAttributes(path):
   """Parse the xml file getting all attributes.
   <venue>
     <attribute>value</attribute>
+    <primarycategory type="Category" setter="Category"></primarycategory>
+    <tips type="Group" child="Tip"></tips>
   </venue>
 
+  A "class" attribute on the top node overrides the java type name, e.g.
+  <tip_stats class="Tip.Stats">. "setter" names the setter when it isn't the
+  camel-cased attribute name, and "child" the element type of a Group.
+  deferrable="true" lets a Projection leave the value as raw json until the
+  type's getter is first called, the type needs a setDeferredX() for it.
+  pooled="true" marks a string which repeats across a response, the parser
+  passes it through Parsers.STRINGS. "getter" names the getter when it isn't
+  getX(), or x() for a boolean.
+
   Returns:
     type_name - The java-style name the top node will have. "Venue"
     top_node_name - unadultured name of the xml stanza, probably the type of
     java class we're creating. "venue"
-    attributes - {'attribute': 'value'}
+    attributes - {'attribute': (type, [child], setter, deferrable, pooled,
+                                getter)}
   """
   doc = pulldom.parse(path)
 
@@ -80,35 +122,44 @@ def WalkNodesForAttributes(path):
     if level > 0:
       if event == pulldom.END_ELEMENT:
         level-=1
-        logging.warn('(%s) Skip end: %s' % (str(level), node))
+        logging.warning('(%s) Skip end: %s' % (str(level), node))
         continue
       elif event == pulldom.START_ELEMENT:
-        logging.warn('(%s) Skipping: %s' % (str(level), node))
+        logging.warning('(%s) Skipping: %s' % (str(level), node))
         level+=1
         continue
 
     if event == pulldom.START_ELEMENT:
-      logging.warn('Parsing: ' + node.tagName)
+      logging.warning('Parsing: ' + node.tagName)
       # Get the type name to use.
       if type_name is None:
-        type_name = ''.join([word.capitalize()
-                             for word in node.tagName.split('_')])
+        type_name = (node.getAttribute('class') or CamelCase(node.tagName))
         top_node_name = node.tagName
-        logging.warn('Found Top Node Name: ' + top_node_name)
+        logging.warning('Found Top Node Name: ' + top_node_name)
         continue
 
       typ = node.getAttribute('type')
       child = node.getAttribute('child')
+      setter = node.getAttribute('setter') or CamelCase(node.tagName)
+      deferrable = node.getAttribute('deferrable') == 'true'
+      pooled = node.getAttribute('pooled') == 'true'
+      getter = node.getAttribute('getter')
       # We don't want to walk complex types.
       if typ in COMPLEX:
-        logging.warn('Found Complex: ' + node.tagName)
+        logging.warning('Found Complex: ' + node.tagName)
         level = 1
       elif typ not in TYPES:
-        logging.warn('Found String: ' + typ)
+        logging.warning('Found String: ' + typ)
         typ = STRING
       else:
-        logging.warn('Found Type: ' + typ)
-      logging.warn('Adding: ' + str((node, typ)))
-      attributes.setdefault(node.tagName, (typ, [child]))
-  logging.warn('Attr: ' + str((type_name, top_node_name, attributes)))
+        logging.warning('Found Type: ' + typ)
+      if not getter:
+        if typ == BOOLEAN:
+          getter = setter[0].lower() + setter[1:]
+        else:
+          getter = 'get' + setter
+      logging.warning('Adding: ' + str((node, typ)))
+      attributes.setdefault(node.tagName, (typ, [child], setter, deferrable,
+                                              pooled, getter))
+  logging.warning('Attr: ' + str((type_name, top_node_name, attributes)))
   return type_name, top_node_name, attributes
@@ -1,31 +1,25 @@
 #!/usr/bin/python
 
-import datetime
 import sys
-import textwrap
 
 import common
 
-from xml.dom import pulldom
-
 HEADER = """\
 /**
- * Copyright 2009 Joe LaPenna
+ * Copyright 2010 Mark Wyszomierski
  */
 
 package com.joelapenna.foursquare.types;
-%(imports)s
-/**
- * Auto-generated: %(timestamp)s
- *
- * @author Joe LaPenna (joe@joelapenna.com)
+
+%(imports)s/**
+ * Auto-generated by util/gen_class.py from captures/types/v1/%(top_node_name)s.xml.
  */
 public class %(type_name)s implements %(interfaces)s {
 """
 
 
 GETTER = """\
-public %(attribute_type)s get%(camel_name)s() {
+public %(attribute_type)s %(getter)s() {
     return %(field_name)s;
 }
 """
@@ -36,90 +30,121 @@ public void set%(camel_name)s(%(attribute_type)s %(attribute_name)s) {
 }
 """
 
-BOOLEAN_GETTER = """\
-public %(attribute_type)s %(attribute_name)s() {
+# A deferrable field is built on the first call to its getter. Both of its fields are volatile
+# so a thread which sees the deferral cleared also sees the value another thread stored first.
+DEFERRED_GETTER = """\
+public %(attribute_type)s %(getter)s() {
+    Deferred<%(attribute_type)s> deferred = mDeferred%(camel_name)s;
+    if (deferred != null) {
+        %(field_name)s = deferred.get();
+        mDeferred%(camel_name)s = null;
+    }
     return %(field_name)s;
 }
 """
 
+DEFERRED_SETTER = """\
+public void set%(camel_name)s(%(attribute_type)s %(attribute_name)s) {
+    %(field_name)s = %(attribute_name)s;
+    mDeferred%(camel_name)s = null;
+}
+
+public void setDeferred%(camel_name)s(Deferred<%(attribute_type)s> %(attribute_name)s) {
+    %(field_name)s = null;
+    mDeferred%(camel_name)s = %(attribute_name)s;
+}
+"""
+
 
 def main():
   type_name, top_node_name, attributes = common.WalkNodesForAttributes(
       sys.argv[1])
-  GenerateClass(type_name, attributes)
+  GenerateClass(type_name, top_node_name, attributes)
 
 
-def GenerateClass(type_name, attributes):
+def GenerateClass(type_name, top_node_name, attributes):
+  names = sorted(attributes)
   lines = []
-  for attribute_name in sorted(attributes):
-    typ, children = attributes[attribute_name]
-    lines.extend(Field(attribute_name, typ).split('\n'))
+  for name in names:
+    lines.extend(Field(name, attributes[name]).split('\n'))
 
   lines.append('')
-  lines.extend(Constructor(type_name).split('\n'))
+  lines.extend(Constructors(type_name).split('\n'))
   lines.append('')
 
   # getters and setters
-  for attribute_name in sorted(attributes):
-    attribute_type, children = attributes[attribute_name]
-    lines.extend(Accessors(attribute_name, attribute_type).split('\n'))
+  for name in names:
+    lines.extend(Accessors(name, attributes[name]).split('\n'))
 
-  print Header(type_name)
-  #print '    ' + '\n    '.join(lines)
+  print(Header(type_name, top_node_name, attributes))
   for line in lines:
     if not line:
-      print line
+      print(line)
     else:
-      print '    ' + line
-  print Footer()
+      print('    ' + line)
+  print(Footer())
 
 
-def AccessorReplacements(attribute_name, attribute_type):
+def AccessorReplacements(name, attribute):
+  typ, children, setter, deferrable, pooled, getter = attribute
   # CamelCaseClassName
-  camel_name = ''.join([word.capitalize()
-                        for word in attribute_name.split('_')])
+  camel_name = setter
   # camelCaseLocalName
   attribute_name = (camel_name[0].lower() + camel_name[1:])
   # mFieldName
   field_attribute_name = 'm' + camel_name
 
+  sub_type = children[0] or common.CamelCase(name)[:-1]
+  if typ == common.GROUP:
+    attribute_type = 'Group<%s>' % sub_type
+  else:
+    attribute_type = typ
+
   return {
       'attribute_name': attribute_name,
       'camel_name': camel_name,
       'field_name': field_attribute_name,
-      'attribute_type': attribute_type
+      'attribute_type': attribute_type,
+      'sub_type': sub_type,
+      'getter': getter,
   }
 
 
-def Header(type_name):
+def Header(type_name, top_node_name, attributes):
   interfaces = common.INTERFACES.get(type_name, common.DEFAULT_INTERFACES)
   import_names = common.CLASS_IMPORTS.get(type_name,
       common.DEFAULT_CLASS_IMPORTS)
+  imports = ''
   if import_names:
-    imports = ';\n'.join(imports) + ';'
-  else:
-    imports = ''
+    imports = ';\n'.join(sorted(import_names)) + ';\n\n'
   return HEADER % {'type_name': type_name,
+                   'top_node_name': top_node_name,
                    'interfaces': ', '.join(interfaces),
-                   'imports': imports,
-                   'timestamp': datetime.datetime.now()}
+                   'imports': imports}
 
 
-def Field(attribute_name, attribute_type):
+def Field(name, attribute):
   """Print the field declarations."""
-  replacements = AccessorReplacements(attribute_name, attribute_type)
-  return 'private %(attribute_type)s %(field_name)s;' % replacements
+  replacements = AccessorReplacements(name, attribute)
+  if attribute[3]:
+    field = ('private volatile %(attribute_type)s %(field_name)s;\n'
+             'private volatile Deferred<%(attribute_type)s> mDeferred%(camel_name)s;'
+             % replacements)
+  else:
+    field = 'private %(attribute_type)s %(field_name)s;' % replacements
+  return field
 
 
-def Constructor(type_name):
-  return 'public %s() {\n}' % type_name
+def Constructors(type_name):
+  return '\n'.join(['public %s() {' % type_name, '}'])
 
 
-def Accessors(name, attribute_type):
+def Accessors(name, attribute):
   """Print the getter and setter definitions."""
-  replacements = AccessorReplacements(name, attribute_type)
-  if attribute_type == common.BOOLEAN:
-    return '%s\n%s' % (BOOLEAN_GETTER % replacements, SETTER % replacements)
+  replacements = AccessorReplacements(name, attribute)
+  if attribute[3]:
+    return '%s\n%s' % (DEFERRED_GETTER % replacements,
+                       DEFERRED_SETTER % replacements)
   else:
     return '%s\n%s' % (GETTER % replacements, SETTER % replacements)
 
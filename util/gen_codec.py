@@ -0,0 +1,187 @@
+#!/usr/bin/python
+
+import sys
+
+import common
+import gen_parser
+
+CODEC = """\
+/**
+ * Copyright 2010 Mark Wyszomierski
+ */
+
+package com.joelapenna.foursquare.codec;
+
+%(imports)s
+import java.io.IOException;
+
+/**
+ * Auto-generated by util/gen_codec.py from captures/types/v1/%(top_node_name)s.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * A leading varint bitmap has a bit for each field, in the order below, set when the field is
+ * present: not null, true or not zero. Only present fields follow it, a boolean is its bit alone.
+ *
+ * <pre>
+%(field_list)s
+ * </pre>
+ */
+public class %(codec_name)s implements Codec<%(type_name)s> {
+
+    /** Hash of the fields above, part of Codecs.SCHEMA. */
+    static final int SCHEMA = %(schema)d;
+
+    @Override
+    public void write(BinaryWriter out, %(type_name)s obj) {
+%(locals)s
+
+        long bits = 0;
+%(bits)s
+        out.writeVarLong(bits);
+
+%(writes)s
+    }
+
+    @Override
+    public %(type_name)s read(BinaryReader in) throws IOException {
+        %(type_name)s obj = new %(type_name)s();
+        long bits = in.readVarLong();
+%(reads)s
+        return obj;
+    }
+}"""
+
+INDENT = ' ' * 8
+
+PRESENT = {
+    common.BOOLEAN: '%(local)s',
+    common.INT: '%(local)s != 0',
+}
+
+WRITE = {
+    common.STRING: 'out.writeString(%(local)s);',
+    common.INT: 'out.writeVarInt(%(local)s);',
+    common.TAGS: 'out.writeStrings(%(local)s);',
+    common.TYPES_LIST: 'out.writeStrings(%(local)s);',
+}
+WRITE_COMPLEX = 'Codecs.%(constant)s.write(out, %(local)s);'
+
+READ = {
+    common.STRING: 'in.readString()',
+    common.INT: 'in.readVarInt()',
+    common.TAGS: 'in.readStrings(new Tags())',
+    common.TYPES_LIST: 'in.readStrings(new Types())',
+}
+READ_POOLED = 'in.readString(Parsers.STRINGS)'
+READ_COMPLEX = 'Codecs.%(constant)s.read(in)'
+
+PRESENT_CHECK = """\
+if (%(present)s) {
+    %(write)s
+}"""
+
+READ_FIELD = """\
+if ((bits & 1L << %(bit)d) != 0) {
+    obj.set%(setter)s(%(value)s);
+}"""
+
+
+def main():
+  type_name, top_node_name, attributes = common.WalkNodesForAttributes(
+      sys.argv[1])
+  GenerateClass(type_name, top_node_name, attributes)
+
+
+def GenerateClass(type_name, top_node_name, attributes):
+  names = sorted(attributes)
+  if len(names) > 64:
+    raise ValueError('%s has more fields than a bitmap holds' % type_name)
+
+  field_list = []
+  local_lines = []
+  bit_lines = []
+  write_lines = []
+  read_lines = []
+  for bit, name in enumerate(names):
+    typ, children, setter, deferrable, pooled, getter = attributes[name]
+    local = setter[0].lower() + setter[1:]
+    replacements = {
+        'bit': bit,
+        'local': local,
+        'setter': setter,
+        'constant': gen_parser.Constant(name, typ, children),
+        'present': PRESENT.get(typ, '%(local)s != null') % {'local': local},
+    }
+    field_list.append(' * %2d %s %s' % (bit, name, typ))
+    local_lines.append('%s %s = obj.%s();' % (JavaType(name, typ, children),
+                                            local, getter))
+    bit_lines.append('bits |= (%(present)s) ? 1L << %(bit)d : 0;'
+                     % replacements)
+
+    if typ == common.BOOLEAN:
+      read_lines.extend(('if ((bits & 1L << %(bit)d) != 0) {\n'
+                         '    obj.set%(setter)s(true);\n'
+                         '}' % replacements).split('\n'))
+      continue
+
+    if typ in WRITE:
+      replacements['write'] = WRITE[typ] % replacements
+    else:
+      replacements['write'] = WRITE_COMPLEX % replacements
+    write_lines.extend((PRESENT_CHECK % replacements).split('\n'))
+
+    if pooled:
+      replacements['value'] = READ_POOLED
+    elif typ in READ:
+      replacements['value'] = READ[typ]
+    else:
+      replacements['value'] = READ_COMPLEX % replacements
+    read_lines.extend((READ_FIELD % replacements).split('\n'))
+
+  # The type itself, and the outer class of each nested object and list.
+  classes = set([type_name.split('.')[0]])
+  imports = []
+  for name in names:
+    typ, children = attributes[name][0], attributes[name][1]
+    if typ == common.GROUP:
+      classes.add('Group')
+      classes.add((children[0] or common.CamelCase(name)[:-1]).split('.')[0])
+    elif typ in common.COMPLEX:
+      classes.add(typ.split('.')[0])
+    if attributes[name][4]:
+      imports.append('import com.joelapenna.foursquare.parsers.json.Parsers;')
+  imports.extend(['import com.joelapenna.foursquare.types.%s;' % c
+                  for c in classes])
+
+  print(CODEC % {
+      'type_name': type_name,
+      'top_node_name': top_node_name,
+      'codec_name': type_name.replace('.', '') + 'Codec',
+      'imports': '\n'.join(sorted(set(imports))) + '\n',
+      'field_list': '\n'.join(field_list),
+      'schema': Schema(names, attributes),
+      'locals': Indent(local_lines),
+      'bits': Indent(bit_lines),
+      'writes': Indent(write_lines),
+      'reads': Indent(read_lines),
+  })
+
+
+def JavaType(name, typ, children):
+  if typ == common.GROUP:
+    return 'Group<%s>' % (children[0] or common.CamelCase(name)[:-1])
+  return typ
+
+
+def Schema(names, attributes):
+  """A hash of each field's name and kind, in order, as Java would compute it."""
+  return common.JavaHashCode(';'.join(['%s:%s' % (name, attributes[name][0])
+                                       for name in names]))
+
+
+def Indent(lines):
+  return '\n'.join([(INDENT + line) if line else line for line in lines])
+
+
+if __name__ == '__main__':
+  main()
@@ -1,82 +1,129 @@
 #!/usr/bin/python
 
-import datetime
 import sys
-import textwrap
 
 import common
 
-from xml.dom import pulldom
-
 PARSER = """\
 /**
- * Copyright 2009 Joe LaPenna
+ * Copyright 2010 Mark Wyszomierski
  */
 
-package com.joelapenna.foursquare.parsers;
-
-import com.joelapenna.foursquare.Foursquare;
-import com.joelapenna.foursquare.error.FoursquareError;
-import com.joelapenna.foursquare.error.FoursquareParseException;
-import com.joelapenna.foursquare.types.%(type_name)s;
+package com.joelapenna.foursquare.parsers.json;
 
-import org.xmlpull.v1.XmlPullParser;
-import org.xmlpull.v1.XmlPullParserException;
+%(imports)s
+import org.json.JSONException;
+import org.json.JSONObject;
 
 import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Iterator;
 
 /**
- * Auto-generated: %(timestamp)s
- *
- * @author Joe LaPenna (joe@joelapenna.com)
- * @param <T>
+ * Auto-generated by util/gen_parser.py from captures/types/v1/%(top_node_name)s.xml. Change the
+ * descriptor and regenerate rather than editing this by hand.
+ * <p>
+ * Keys are dispatched on their hash code, so each key costs one hash and one equals() rather
+ * than a has() and a get() per known field. Unknown keys, and keys outside the parser's
+ * Projection, are skipped.
  */
-public class %(type_name)sParser extends AbstractParser<%(type_name)s> {
-    private static final Logger LOG = Logger.getLogger(%(type_name)sParser.class.getCanonicalName());
-    private static final boolean DEBUG = Foursquare.PARSER_DEBUG;
+public class %(parser_name)s extends AbstractParser<%(type_name)s> {
 
-    @Override
-    public %(type_name)s parseInner(XmlPullParser parser) throws XmlPullParserException, IOException,
-            FoursquareError, FoursquareParseException {
-        parser.require(XmlPullParser.START_TAG, null, null);
+    private final Projection mProjection;
 
-        %(type_name)s %(top_node_name)s = new %(type_name)s();
+    public %(parser_name)s() {
+        this(Projection.ALL);
+    }
 
-        while (parser.nextTag() == XmlPullParser.START_TAG) {
-            String name = parser.getName();
-            %(stanzas)s
+    public %(parser_name)s(Projection projection) {
+        mProjection = projection;
+    }
 
-            } else {
-                // Consume something we don't understand.
-                if (DEBUG) LOG.log(Level.FINE, "Found tag that we don't recognize: " + name);
-                skipSubTree(parser);
+    @Override
+    public %(type_name)s parse(JSONObject json) throws JSONException {
+        %(type_name)s obj = new %(type_name)s();
+        Iterator<String> it = (Iterator<String>) json.keys();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (!mProjection.includes(key)) {
+                continue;
+            }
+            switch (key.hashCode()) {
+%(object_cases)s
             }
         }
-        return %(top_node_name)s;
+        return obj;
     }
-}"""
-
-BOOLEAN_STANZA = """\
-            } else if ("%(name)s".equals(name)) {
-                %(top_node_name)s.set%(camel_name)s(Boolean.valueOf(parser.nextText()));
-"""
 
-GROUP_STANZA = """\
-            } else if ("%(name)s".equals(name)) {
-                %(top_node_name)s.set%(camel_name)s(new GroupParser(new %(sub_parser_camel_case)s()).parse(parser));
-"""
+    @Override
+    public %(type_name)s parse(JSONStreamReader reader) throws JSONException, IOException {
+        %(type_name)s obj = new %(type_name)s();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (mProjection.includes(key)) {
+                switch (key.hashCode()) {
+%(stream_cases)s
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return obj;
+    }
 
-COMPLEX_STANZA = """\
-            } else if ("%(name)s".equals(name)) {
-                %(top_node_name)s.set%(camel_name)s(new %(parser_name)s().parse(parser));
-"""
+    @Override
+    public String toString() {
+        return "%(parser_name)s(" + mProjection + ")";
+    }
+}"""
 
-STANZA = """\
-            } else if ("%(name)s".equals(name)) {
-                %(top_node_name)s.set%(camel_name)s(parser.nextText());
-"""
+CASE = """\
+%(indent)s    case %(hash)d: // %(names)s
+%(branches)s
+%(indent)s        break;"""
+
+BRANCH = """\
+%(indent)s        %(else)sif (key.equals("%(name)s")) {
+%(indent)s            obj.set%(setter)s(%(value)s);
+%(indent)s            continue;
+%(indent)s        }"""
+
+DEFERRABLE_BRANCH = """\
+%(indent)s        %(else)sif (key.equals("%(name)s")) {
+%(indent)s            if (mProjection.defers(key)) {
+%(indent)s                obj.setDeferred%(setter)s(new DeferredParse(reader.nextRawValue(),
+%(indent)s                        mProjection.parser(key, Parsers.%(constant)s)));
+%(indent)s            } else {
+%(indent)s                obj.set%(setter)s(%(value)s);
+%(indent)s            }
+%(indent)s            continue;
+%(indent)s        }"""
+
+# How to read a value of each kind, from a JSONObject and from a stream. Objects and groups go
+# through the projection, which may name a trimmed parser for them.
+OBJECT_VALUES = {
+    common.STRING: 'json.getString(key)',
+    common.BOOLEAN: 'json.getBoolean(key)',
+    common.INT: 'json.getInt(key)',
+    common.TAGS: 'new Tags(StringArrayParser.parse(json.getJSONArray(key)))',
+    common.TYPES_LIST: 'Parsers.TYPES.parseAsJSONArray(json.getJSONArray(key))',
+    common.GROUP: ('mProjection.parser(key, Parsers.%(constant)s)'
+                   '.parse(json.getJSONArray(key))'),
+}
+OBJECT_POOLED = 'Parsers.STRINGS.intern(json.getString(key))'
+OBJECT_COMPLEX = ('(%(type)s) mProjection.parser(key, Parsers.%(constant)s)'
+                  '.parse(json.getJSONObject(key))')
+
+STREAM_VALUES = {
+    common.STRING: 'reader.nextString()',
+    common.BOOLEAN: 'reader.nextBoolean()',
+    common.INT: 'reader.nextInt()',
+    common.TAGS: 'new Tags(StringArrayParser.parse(reader))',
+    common.TYPES_LIST: 'Parsers.TYPES.parseAsJSONArray(reader)',
+    common.GROUP: '(Group) mProjection.parser(key, Parsers.%(constant)s).parse(reader)',
+}
+STREAM_POOLED = 'reader.nextString(Parsers.STRINGS)'
+STREAM_COMPLEX = '(%(type)s) mProjection.parser(key, Parsers.%(constant)s).parse(reader)'
 
 
 def main():
@@ -91,58 +138,117 @@ def GenerateClass(type_name, top_node_name, attributes):
   top_node_name: the name of the object the parser returns.
   per common.WalkNodsForAttributes
   """
-  stanzas = []
+  # Keys which share a hash code share a case.
+  by_hash = {}
   for name in sorted(attributes):
-    typ, children = attributes[name]
-    replacements = Replacements(top_node_name, name, typ, children)
-    if typ == common.BOOLEAN:
-      stanzas.append(BOOLEAN_STANZA % replacements)
-
-    elif typ == common.GROUP:
-      stanzas.append(GROUP_STANZA % replacements)
-
-    elif typ in common.COMPLEX:
-      stanzas.append(COMPLEX_STANZA % replacements)
-
-    else:
-      stanzas.append(STANZA % replacements)
-  if stanzas:
-    # pop off the extranious } else for the first conditional stanza.
-    stanzas[0] = stanzas[0].replace('} else ', '', 1)
-
-  replacements = Replacements(top_node_name, name, typ, [None])
-  replacements['stanzas'] = '\n'.join(stanzas).strip()
-  print PARSER % replacements
-
-
-def Replacements(top_node_name, name, typ, children):
-  # CameCaseClassName
-  type_name = ''.join([word.capitalize() for word in top_node_name.split('_')])
-  # CamelCaseClassName
-  camel_name = ''.join([word.capitalize() for word in name.split('_')])
-  # camelCaseLocalName
-  attribute_name = camel_name.lower().capitalize()
-  # mFieldName
-  field_name = 'm' + camel_name
-
-  if children[0]:
-    sub_parser_camel_case = children[0] + 'Parser'
-  else:
-    sub_parser_camel_case = (camel_name[:-1] + 'Parser')
-
-  return {
+    by_hash.setdefault(common.JavaHashCode(name), []).append(name)
+
+  object_cases = []
+  stream_cases = []
+  for hash_code in sorted(by_hash):
+    names = by_hash[hash_code]
+    object_branches = []
+    stream_branches = []
+    for i, name in enumerate(names):
+      typ, children, setter, deferrable, pooled, getter = attributes[name]
+      replacements = {
+          'else': (i > 0) and '} else ' or '',
+          'name': name,
+          'setter': setter,
+          'constant': Constant(name, typ, children),
+      }
+      replacements['indent'] = ' ' * 12
+      if pooled:
+        replacements['value'] = OBJECT_POOLED
+      else:
+        replacements['value'] = Value(OBJECT_VALUES, OBJECT_COMPLEX, name, typ,
+                                      children)
+      object_branches.append(Wrap(BRANCH % replacements))
+      replacements['indent'] = ' ' * 16
+      if pooled:
+        replacements['value'] = STREAM_POOLED
+      else:
+        replacements['value'] = Value(STREAM_VALUES, STREAM_COMPLEX, name, typ,
+                                      children)
+      if deferrable:
+        stream_branches.append(Wrap(DEFERRABLE_BRANCH % replacements))
+      else:
+        stream_branches.append(Wrap(BRANCH % replacements))
+    object_cases.append(CASE % {'indent': ' ' * 12,
+                                'hash': hash_code,
+                                'names': ', '.join(names),
+                                'branches': Join(object_branches)})
+    stream_cases.append(CASE % {'indent': ' ' * 16,
+                                'hash': hash_code,
+                                'names': ', '.join(names),
+                                'branches': Join(stream_branches)})
+
+  # The type itself, and the outer class of each nested object we cast to.
+  classes = set([type_name.split('.')[0]])
+  types = [attribute[0] for attribute in attributes.values()]
+  for typ in types:
+    if typ in common.COMPLEX and typ not in (common.TAGS, common.TYPES_LIST):
+      classes.add(typ.split('.')[0])
+  if common.TAGS in types:
+    classes.add('Tags')
+  imports = ['import com.joelapenna.foursquare.types.%s;' % c for c in classes]
+
+  print(PARSER % {
       'type_name': type_name,
-      'name': name,
       'top_node_name': top_node_name,
-      'camel_name': camel_name,
-      'parser_name': typ + 'Parser',
-      'attribute_name': attribute_name,
-      'field_name': field_name,
-      'typ': typ,
-      'timestamp': datetime.datetime.now(),
-      'sub_parser_camel_case': sub_parser_camel_case,
-      'sub_type': children[0]
-  }
+      'parser_name': type_name.replace('.', '') + 'Parser',
+      'imports': '\n'.join(sorted(imports)) + '\n',
+      'object_cases': '\n'.join(object_cases),
+      'stream_cases': '\n'.join(stream_cases),
+  })
+
+
+def Constant(name, typ, children):
+  """The Parsers constant for an object or group attribute, None for others."""
+  if typ == common.GROUP:
+    sub_type = children[0] or common.CamelCase(name)[:-1]
+    return common.ConstantName(sub_type) + '_GROUP'
+  if typ in common.COMPLEX and typ not in (common.TAGS, common.TYPES_LIST):
+    return common.ConstantName(typ)
+  return None
+
+
+def Value(values, complex_value, name, typ, children):
+  replacements = {'type': typ, 'constant': Constant(name, typ, children)}
+  if typ in values:
+    return values[typ] % replacements
+  return complex_value % replacements
+
+
+def Wrap(code):
+  """Breaks lines longer than 100 columns before the .parse() call."""
+  lines = []
+  for line in code.split('\n'):
+    if len(line) > 100 and '.parse(' in line:
+      indent = len(line) - len(line.lstrip()) + 8
+      at = line.index('.parse(')
+      if at > 100:
+        # Still too long, start the value on a line of its own.
+        start = line.index('(') + 1
+        lines.append(line[:start])
+        line = ' ' * indent + line[start:]
+        at = line.index('.parse(')
+      lines.append(line[:at])
+      lines.append(' ' * indent + line[at:])
+    else:
+      lines.append(line)
+  return '\n'.join(lines)
+
+
+def Join(branches):
+  """Chains the branches for keys sharing a hash into one if/else."""
+  lines = []
+  for i, branch in enumerate(branches):
+    if i < len(branches) - 1:
+      # Drop the closing brace, the next branch opens with "} else if".
+      branch = branch[:branch.rindex('\n')]
+    lines.append(branch)
+  return '\n'.join(lines)
 
 
 if __name__ == '__main__':
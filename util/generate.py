@@ -1,4 +1,14 @@
 #!/usr/bin/python
+"""
+Regenerate the json parsers and binary codecs from the type descriptors in
+captures/types/v1.
+
+  python generate.py [--types] [descriptor.xml ...]
+
+With no descriptors, every one is regenerated. Parsers listed in HAND_WRITTEN
+are left alone, their codecs are still generated. --types regenerates the type
+classes too, which overwrites any hand edits made to them.
+"""
 
 import os
 import subprocess
@@ -7,21 +17,40 @@ import sys
 BASEDIR = '../main/src/com/joelapenna/foursquare'
 TYPESDIR = '../captures/types/v1'
 
-captures = sys.argv[1:]
+# Descriptors whose parsers do more than map keys onto setters.
+HAND_WRITTEN = [
+    'data.xml',  # status is "1" or "0"
+]
+
+# Descriptors for nested classes, which gen_class.py can't write.
+NESTED = [
+    'tip_stats.xml',  # Tip.Stats
+]
+
+args = sys.argv[1:]
+types = '--types' in args
+captures = [arg for arg in args if arg != '--types']
 if not captures:
-  captures = os.listdir(TYPESDIR)
+  captures = sorted([f for f in os.listdir(TYPESDIR) if f.endswith('.xml')])
 
 for f in captures:
   basename = f.split('.')[0]
   javaname = ''.join([c.capitalize() for c in basename.split('_')])
   fullpath = os.path.join(TYPESDIR, f)
   typepath = os.path.join(BASEDIR, 'types', javaname + '.java')
-  parserpath = os.path.join(BASEDIR, 'parsers', javaname + 'Parser.java')
+  parserpath = os.path.join(BASEDIR, 'parsers', 'json', javaname + 'Parser.java')
+  codecpath = os.path.join(BASEDIR, 'codec', javaname + 'Codec.java')
 
-  cmd = 'python gen_class.py %s > %s' % (fullpath, typepath)
-  print cmd
-  subprocess.call(cmd, stdout=sys.stdout, shell=True)
+  if types and f not in NESTED:
+    cmd = '%s gen_class.py %s > %s' % (sys.executable, fullpath, typepath)
+    print(cmd)
+    subprocess.call(cmd, stdout=sys.stdout, shell=True)
+
+  if f not in HAND_WRITTEN:
+    cmd = '%s gen_parser.py %s > %s' % (sys.executable, fullpath, parserpath)
+    print(cmd)
+    subprocess.call(cmd, stdout=sys.stdout, shell=True)
 
-  cmd = 'python gen_parser.py %s > %s' % (fullpath, parserpath)
-  print cmd
+  cmd = '%s gen_codec.py %s > %s' % (sys.executable, fullpath, codecpath)
+  print(cmd)
   subprocess.call(cmd, stdout=sys.stdout, shell=True)